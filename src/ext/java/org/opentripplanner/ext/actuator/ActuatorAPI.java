@@ -2,6 +2,10 @@ package org.opentripplanner.ext.actuator;
 
 import static org.apache.hc.core5.http.HttpHeaders.ACCEPT;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.std.ToStringSerializer;
 import io.micrometer.prometheus.PrometheusMeterRegistry;
 import io.prometheus.client.exporter.common.TextFormat;
 import jakarta.ws.rs.DefaultValue;
@@ -14,6 +18,10 @@ import jakarta.ws.rs.core.Context;
 import jakarta.ws.rs.core.MediaType;
 import jakarta.ws.rs.core.Response;
 import jakarta.ws.rs.core.UriInfo;
+import java.time.Duration;
+import java.time.Instant;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.routing.framework.SlowRequestRecorder;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.opentripplanner.updater.GraphUpdaterStatus;
 import org.slf4j.Logger;
@@ -24,6 +32,13 @@ public class ActuatorAPI {
 
   private static final Logger LOG = LoggerFactory.getLogger(ActuatorAPI.class);
 
+  private static final ObjectMapper SLOW_REQUEST_MAPPER = new ObjectMapper()
+    .registerModule(
+      new SimpleModule()
+        .addSerializer(Instant.class, ToStringSerializer.instance)
+        .addSerializer(Duration.class, ToStringSerializer.instance)
+    );
+
   /**
    * List the actuator endpoints available
    */
@@ -48,6 +63,10 @@ public class ActuatorAPI {
                 "prometheus" : {
                   "href" : "%1$s/prometheus",
                   "templated" : false
+                },
+                "slowRequests" : {
+                  "href" : "%1$s/slowRequests",
+                  "templated" : false
                 }
               }
             }""",
@@ -108,4 +127,30 @@ public class ActuatorAPI {
       .type(contentType)
       .build();
   }
+
+  /**
+   * Returns the slowest routing requests of the last minutes, with the time taken in each phase
+   * of the request and the main request parameters. The requests contain the locations of the
+   * users, so they are only recorded if the {@link OTPFeature#ActuatorAPISlowRequests} feature is
+   * enabled, otherwise 404 NOT FOUND is returned.
+   */
+  @GET
+  @Path("/slowRequests")
+  @Produces(MediaType.APPLICATION_JSON)
+  public Response slowRequests() throws JsonProcessingException {
+    if (OTPFeature.ActuatorAPISlowRequests.isOff()) {
+      throw new WebApplicationException(
+        Response
+          .status(Response.Status.NOT_FOUND)
+          .entity("The ActuatorAPISlowRequests feature is not enabled.\n")
+          .type("text/plain")
+          .build()
+      );
+    }
+    return Response
+      .status(Response.Status.OK)
+      .entity(SLOW_REQUEST_MAPPER.writeValueAsString(SlowRequestRecorder.global().slowRequests()))
+      .type("application/json")
+      .build();
+  }
 }
@@ -39,10 +39,12 @@ import org.opentripplanner.transit.service.TransitService;
 import org.opentripplanner.updater.spi.GraphUpdater;
 import org.opentripplanner.updater.spi.UpdateResult;
 import org.opentripplanner.updater.spi.WriteToGraphCallback;
+import org.opentripplanner.updater.trip.StreamingTripUpdateQueue;
 import org.opentripplanner.updater.trip.metrics.TripUpdateMetrics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.org.siri.siri20.EstimatedTimetableDeliveryStructure;
+import uk.org.siri.siri20.EstimatedVehicleJourney;
 import uk.org.siri.siri20.Siri;
 import uk.org.siri.www.siri.SiriType;
 
@@ -113,6 +115,11 @@ public class SiriETGooglePubsubUpdater implements GraphUpdater {
 
   private final OtpRetry retry;
 
+  /**
+   * Queue used to apply the streamed updates once the updater is primed.
+   */
+  private final StreamingTripUpdateQueue<EstimatedVehicleJourney> updateQueue;
+
   /**
    * Parent update manager. Is used to execute graph writer runnables.
    */
@@ -154,6 +161,7 @@ public class SiriETGooglePubsubUpdater implements GraphUpdater {
     this.fuzzyTripMatcher =
       config.fuzzyTripMatching() ? SiriFuzzyTripMatcher.of(transitService) : null;
     recordMetrics = TripUpdateMetrics.streaming(config);
+    this.updateQueue = SiriETUpdateQueue.of(configRef, feedId, this::applyUpdates);
 
     addShutdownHook();
     retry =
@@ -168,6 +176,7 @@ public class SiriETGooglePubsubUpdater implements GraphUpdater {
   @Override
   public void setGraphUpdaterManager(WriteToGraphCallback saveResultOnGraph) {
     this.saveResultOnGraph = saveResultOnGraph;
+    this.updateQueue.setGraphWriter(saveResultOnGraph);
   }
 
   @Override
@@ -366,31 +375,42 @@ public class SiriETGooglePubsubUpdater implements GraphUpdater {
         );
       }
 
-      var f = saveResultOnGraph.execute((graph, transitModel) -> {
-        var results = snapshotSource.applyEstimatedTimetable(
-          fuzzyTripMatcher,
-          entityResolver,
-          feedId,
-          false,
-          estimatedTimetableDeliveries
-        );
-
-        recordMetrics.accept(results);
-      });
-
-      if (!isPrimed()) {
+      if (isPrimed()) {
         try {
-          f.get();
+          SiriETUpdateQueue.offer(updateQueue, estimatedTimetableDeliveries);
         } catch (InterruptedException e) {
           Thread.currentThread().interrupt();
           throw new RuntimeException(e);
-        } catch (ExecutionException e) {
-          throw new RuntimeException(e);
         }
+        return;
+      }
+
+      // The initial data is applied directly, and we wait for it to complete
+      var f = saveResultOnGraph.execute((graph, transitModel) ->
+        applyUpdates(estimatedTimetableDeliveries)
+      );
+      try {
+        f.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } catch (ExecutionException e) {
+        throw new RuntimeException(e);
       }
     }
   }
 
+  private void applyUpdates(List<EstimatedTimetableDeliveryStructure> updates) {
+    var results = snapshotSource.applyEstimatedTimetable(
+      fuzzyTripMatcher,
+      entityResolver,
+      feedId,
+      false,
+      updates
+    );
+    recordMetrics.accept(results);
+  }
+
   class EstimatedTimetableMessageReceiver implements MessageReceiver {
 
     @Override
@@ -0,0 +1,80 @@
+package org.opentripplanner.ext.siri.updater;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.opentripplanner.updater.trip.StreamingTripUpdateQueue;
+import uk.org.siri.siri20.EstimatedTimetableDeliveryStructure;
+import uk.org.siri.siri20.EstimatedVehicleJourney;
+import uk.org.siri.siri20.EstimatedVersionFrameStructure;
+
+/**
+ * Put SIRI-ET messages received by the streaming updaters in a {@link StreamingTripUpdateQueue}.
+ * The deliveries are split into vehicle journeys, keyed by the journey reference, so a newer
+ * message for the same vehicle journey supersedes an older one not yet applied.
+ */
+public final class SiriETUpdateQueue {
+
+  private SiriETUpdateQueue() {}
+
+  /**
+   * Create a new queue. The pending journeys are wrapped in a single delivery before they are
+   * passed to {@code applyUpdates}.
+   */
+  public static StreamingTripUpdateQueue<EstimatedVehicleJourney> of(
+    String configRef,
+    String feedId,
+    Consumer<List<EstimatedTimetableDeliveryStructure>> applyUpdates
+  ) {
+    return new StreamingTripUpdateQueue<>(
+      configRef,
+      feedId,
+      StreamingTripUpdateQueue.DEFAULT_CAPACITY,
+      SiriETUpdateQueue::journeyKey,
+      (fullDataset, journeys) -> applyUpdates.accept(toDeliveries(journeys))
+    );
+  }
+
+  /**
+   * Add all vehicle journeys in the given deliveries to the queue. This blocks while the queue
+   * is full.
+   */
+  public static void offer(
+    StreamingTripUpdateQueue<EstimatedVehicleJourney> queue,
+    List<EstimatedTimetableDeliveryStructure> deliveries
+  ) throws InterruptedException {
+    List<EstimatedVehicleJourney> journeys = new ArrayList<>();
+    for (var delivery : deliveries) {
+      for (var frame : delivery.getEstimatedJourneyVersionFrames()) {
+        journeys.addAll(frame.getEstimatedVehicleJourneies());
+      }
+    }
+    queue.offer(journeys, false);
+  }
+
+  /**
+   * The key use the same references as the {@code EntityResolver} to identify the trip. Return
+   * {@code null} if the journey has no reference, then it is never superseded.
+   */
+  static String journeyKey(EstimatedVehicleJourney journey) {
+    var framedRef = journey.getFramedVehicleJourneyRef();
+    if (framedRef != null && framedRef.getDatedVehicleJourneyRef() != null) {
+      var date = framedRef.getDataFrameRef() == null ? "" : framedRef.getDataFrameRef().getValue();
+      return framedRef.getDatedVehicleJourneyRef() + "|" + date;
+    }
+    if (journey.getDatedVehicleJourneyRef() != null) {
+      return journey.getDatedVehicleJourneyRef().getValue();
+    }
+    return journey.getEstimatedVehicleJourneyCode();
+  }
+
+  private static List<EstimatedTimetableDeliveryStructure> toDeliveries(
+    List<EstimatedVehicleJourney> journeys
+  ) {
+    var frame = new EstimatedVersionFrameStructure();
+    frame.getEstimatedVehicleJourneies().addAll(journeys);
+    var delivery = new EstimatedTimetableDeliveryStructure();
+    delivery.getEstimatedJourneyVersionFrames().add(frame);
+    return List.of(delivery);
+  }
+}
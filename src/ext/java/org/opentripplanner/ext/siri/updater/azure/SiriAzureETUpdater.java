@@ -17,15 +17,19 @@ import java.util.function.Consumer;
 import javax.xml.stream.XMLStreamException;
 import org.apache.hc.core5.net.URIBuilder;
 import org.opentripplanner.ext.siri.SiriTimetableSnapshotSource;
+import org.opentripplanner.ext.siri.updater.SiriETUpdateQueue;
 import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.spi.ResultLogger;
 import org.opentripplanner.updater.spi.UpdateResult;
+import org.opentripplanner.updater.spi.WriteToGraphCallback;
+import org.opentripplanner.updater.trip.StreamingTripUpdateQueue;
 import org.opentripplanner.updater.trip.metrics.TripUpdateMetrics;
 import org.rutebanken.siri20.util.SiriXml;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import uk.org.siri.siri20.EstimatedTimetableDeliveryStructure;
+import uk.org.siri.siri20.EstimatedVehicleJourney;
 
 public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
 
@@ -39,6 +43,7 @@ public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
   private Instant startTime;
 
   private final Consumer<UpdateResult> recordMetrics;
+  private final StreamingTripUpdateQueue<EstimatedVehicleJourney> updateQueue;
 
   public SiriAzureETUpdater(
     SiriAzureETUpdaterParameters config,
@@ -49,6 +54,13 @@ public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
     this.fromDateTime = config.getFromDateTime();
     this.snapshotSource = snapshotSource;
     this.recordMetrics = TripUpdateMetrics.streaming(config);
+    this.updateQueue = SiriETUpdateQueue.of(config.configRef(), feedId, this::applyUpdates);
+  }
+
+  @Override
+  public void setGraphUpdaterManager(WriteToGraphCallback saveResultOnGraph) {
+    super.setGraphUpdaterManager(saveResultOnGraph);
+    this.updateQueue.setGraphWriter(saveResultOnGraph);
   }
 
   @Override
@@ -106,22 +118,27 @@ public class SiriAzureETUpdater extends AbstractAzureSiriUpdater {
         return;
       }
 
-      super.saveResultOnGraph.execute((graph, transitModel) -> {
-        var result = snapshotSource.applyEstimatedTimetable(
-          fuzzyTripMatcher(),
-          entityResolver(),
-          feedId,
-          false,
-          updates
-        );
-        ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
-        recordMetrics.accept(result);
-      });
+      SiriETUpdateQueue.offer(updateQueue, updates);
     } catch (JAXBException | XMLStreamException e) {
       LOG.error(e.getLocalizedMessage(), e);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      LOG.warn("Interrupted while queueing SIRI-ET message {}, {}", id, updateQueue);
     }
   }
 
+  private void applyUpdates(List<EstimatedTimetableDeliveryStructure> updates) {
+    var result = snapshotSource.applyEstimatedTimetable(
+      fuzzyTripMatcher(),
+      entityResolver(),
+      feedId,
+      false,
+      updates
+    );
+    ResultLogger.logUpdateResultErrors(feedId, "siri-et", result);
+    recordMetrics.accept(result);
+  }
+
   private void processHistory(String message, String id) {
     try {
       List<EstimatedTimetableDeliveryStructure> updates = getUpdates(message, id);
@@ -0,0 +1,73 @@
+package org.opentripplanner.astar;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.astar.model.BinHeap;
+
+/**
+ * Insert and extract elements from the A* priority queue. The keys increase slowly with some
+ * noise, like the weights of the states in a street search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BinHeapBenchmark {
+
+  /** The number of elements inserted into the heap in each benchmark call. */
+  @Param({ "1000", "100000" })
+  int size;
+
+  private double[] keys;
+  private Object[] elements;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    keys = new double[size];
+    elements = new Object[size];
+    for (int i = 0; i < size; ++i) {
+      keys[i] = i + random.nextDouble() * 100;
+      elements[i] = new Object();
+    }
+  }
+
+  @Benchmark
+  public void insertAllThenExtractAll(Blackhole bh) {
+    var heap = new BinHeap<Object>(1000);
+    for (int i = 0; i < size; ++i) {
+      heap.insert(elements[i], keys[i]);
+    }
+    while (!heap.empty()) {
+      bh.consume(heap.extract_min());
+    }
+  }
+
+  @Benchmark
+  public void interleaveInsertAndExtract(Blackhole bh) {
+    // Like the A* search, extract one element and insert a few neighbours
+    var heap = new BinHeap<Object>(1000);
+    heap.insert(elements[0], keys[0]);
+    int i = 1;
+    while (!heap.empty()) {
+      bh.consume(heap.extract_min());
+      for (int n = 0; n < 3 && i < size; ++n, ++i) {
+        heap.insert(elements[i], keys[i]);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package org.opentripplanner.astar;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.graph_builder.module.osm.OsmModule;
+import org.opentripplanner.openstreetmap.OsmProvider;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.graph.Graph;
+import org.opentripplanner.street.model.vertex.StreetVertex;
+import org.opentripplanner.street.search.StreetSearchBuilder;
+import org.opentripplanner.street.search.strategy.EuclideanRemainingWeightHeuristic;
+import org.opentripplanner.test.support.ResourceLoader;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+
+/**
+ * Run A* street searches between random pairs of vertices in a small extract of New York, the
+ * same OSM data as used by the {@code TriangleInequalityTest}. The graph is built once for each
+ * fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class StreetSearchBenchmark {
+
+  private static final int N_SEARCHES = 100;
+
+  @Param({ "WALK", "BIKE", "CAR" })
+  StreetMode mode;
+
+  private StreetVertex[] from;
+  private StreetVertex[] to;
+  private RouteRequest request;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    var graph = new Graph(new Deduplicator());
+    var file = ResourceLoader.of(OsmModule.class).file("NYC_small.osm.pbf");
+    OsmModule.of(new OsmProvider(file, true), graph).withAreaVisibility(true).build().buildGraph();
+
+    List<StreetVertex> vertices = graph.getVerticesOfType(StreetVertex.class);
+    var random = new Random(42);
+    from = new StreetVertex[N_SEARCHES];
+    to = new StreetVertex[N_SEARCHES];
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      from[i] = vertices.get(random.nextInt(vertices.size()));
+      to[i] = vertices.get(random.nextInt(vertices.size()));
+    }
+
+    request = new RouteRequest();
+    request.journey().setModes(RequestModes.of().withDirectMode(mode).build());
+  }
+
+  @Benchmark
+  public int searchWithEuclideanHeuristic() {
+    int nPaths = 0;
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      var paths = StreetSearchBuilder
+        .of()
+        .setHeuristic(new EuclideanRemainingWeightHeuristic())
+        .setRequest(request)
+        .setStreetRequest(request.journey().direct())
+        .setFrom(from[i])
+        .setTo(to[i])
+        .getPathsToTarget();
+      nPaths += paths.size();
+    }
+    return nPaths;
+  }
+}
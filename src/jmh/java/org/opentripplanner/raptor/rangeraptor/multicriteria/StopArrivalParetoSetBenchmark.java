@@ -0,0 +1,118 @@
+package org.opentripplanner.raptor.rangeraptor.multicriteria;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransfer;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.GeneralizedCostRelaxFunction;
+import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
+import org.opentripplanner.raptor.api.model.RelaxFunction;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.c1.StopArrivalFactoryC1;
+import org.opentripplanner.raptor.rangeraptor.multicriteria.ride.c1.PatternRideC1;
+import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
+
+/**
+ * Add transit and transfer arrivals from several rounds to the pareto set of one stop. This is
+ * what the {@link McStopArrivals} do for each stop arrival found in the multi-criteria search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StopArrivalParetoSetBenchmark {
+
+  private static final int STOP = 1;
+  private static final int ANY = 3;
+  private static final int START_TIME = 8 * 3600;
+  private static final int N_ROUNDS = 4;
+
+  private static final RaptorTripSchedule ANY_TRIP = TestTripSchedule
+    .schedule("10:00 10:30")
+    .build();
+  private static final StopArrivalFactoryC1<RaptorTripSchedule> FACTORY = new StopArrivalFactoryC1<>();
+
+  @Param({ "arrivalTimeRoundAndCost", "arrivalTimeRoundCostAndOnBoardArrival" })
+  String comparator;
+
+  @Param({ "relaxed", "normal" })
+  String relaxCost;
+
+  @Param({ "1000" })
+  int size;
+
+  private ArrivalParetoSetComparatorFactory<McStopArrival<RaptorTripSchedule>> comparatorFactory;
+  private McStopArrival<RaptorTripSchedule>[] arrivals;
+
+  @Setup
+  @SuppressWarnings("unchecked")
+  public void setup() {
+    var relaxC1 = "relaxed".equals(relaxCost)
+      ? GeneralizedCostRelaxFunction.of(1.25, 600)
+      : RelaxFunction.NORMAL;
+    comparatorFactory = ArrivalParetoSetComparatorFactory.factory(relaxC1, null);
+
+    // The previous arrival of each round, round 0 is the access
+    var previous = new McStopArrival[N_ROUNDS];
+    previous[0] =
+      FACTORY.createAccessStopArrival(START_TIME, TestAccessEgress.walk(STOP + 1, 300, 600));
+    for (int round = 1; round < N_ROUNDS; ++round) {
+      previous[round] = transitArrival(previous[round - 1], START_TIME + round * 600, 1000);
+    }
+
+    var random = new Random(42);
+    arrivals = new McStopArrival[size];
+    for (int i = 0; i < size; ++i) {
+      var prev = previous[random.nextInt(N_ROUNDS - 1)];
+      int time = START_TIME + 1800 + random.nextInt(3600);
+      int cost = prev.c1() + random.nextInt(300_000);
+      arrivals[i] =
+        random.nextInt(4) == 0
+          ? FACTORY.createTransferStopArrival(
+            transitArrival(prev, time - 120, cost),
+            TestTransfer.transfer(STOP, 120, 200),
+            time
+          )
+          : transitArrival(prev, time, cost);
+    }
+  }
+
+  @Benchmark
+  public int addArrivals() {
+    var set = StopArrivalParetoSet.createStopArrivalSet(comparator(), null);
+    for (var arrival : arrivals) {
+      set.add(arrival);
+    }
+    return set.size();
+  }
+
+  private ParetoComparator<McStopArrival<RaptorTripSchedule>> comparator() {
+    return "arrivalTimeRoundAndCost".equals(comparator)
+      ? comparatorFactory.compareArrivalTimeRoundAndCost()
+      : comparatorFactory.compareArrivalTimeRoundCostAndOnBoardArrival();
+  }
+
+  private static McStopArrival<RaptorTripSchedule> transitArrival(
+    McStopArrival<RaptorTripSchedule> prev,
+    int arrivalTime,
+    int cost
+  ) {
+    var ride = new PatternRideC1<>(prev, ANY, ANY, ANY, ANY, ANY, ANY, ANY_TRIP);
+    return FACTORY.createTransitStopArrival(ride, STOP, arrivalTime, cost);
+  }
+}
@@ -0,0 +1,71 @@
+package org.opentripplanner.raptor.util.paretoset;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Add a stream of random vectors with three criteria to a pareto set, like the stop arrivals
+ * added to the pareto set of a stop in the multi-criteria Raptor search.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParetoSetBenchmark {
+
+  private static final ParetoComparator<Vector> COMPARATOR = (l, r) ->
+    l.time() < r.time() || l.transfers() < r.transfers() || l.cost() < r.cost();
+
+  /** The number of vectors added to the set in each benchmark call. */
+  @Param({ "100", "1000" })
+  int size;
+
+  private Vector[] vectors;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    vectors = new Vector[size];
+    for (int i = 0; i < size; ++i) {
+      vectors[i] =
+        new Vector(random.nextInt(3600), random.nextInt(6), random.nextInt(360_000) + 60_000);
+    }
+  }
+
+  @Benchmark
+  public int addRandomVectors() {
+    var set = new ParetoSet<>(COMPARATOR);
+    for (Vector v : vectors) {
+      set.add(v);
+    }
+    return set.size();
+  }
+
+  @Benchmark
+  public int qualifyRandomVectors() {
+    var set = new ParetoSet<>(COMPARATOR);
+    int n = 0;
+    for (Vector v : vectors) {
+      if (set.qualify(v)) {
+        set.add(v);
+        ++n;
+      }
+    }
+    return n;
+  }
+
+  private record Vector(int time, int transfers, int cost) {}
+}
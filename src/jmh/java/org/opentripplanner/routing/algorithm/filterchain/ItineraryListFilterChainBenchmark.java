@@ -0,0 +1,105 @@
+package org.opentripplanner.routing.algorithm.filterchain;
+
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
+import static org.opentripplanner.model.plan.TestItineraryBuilder.newTime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.model.plan.Itinerary;
+import org.opentripplanner.model.plan.Place;
+import org.opentripplanner.model.plan.PlanTestConstants;
+import org.opentripplanner.model.plan.SortOrder;
+import org.opentripplanner.routing.algorithm.filterchain.api.GroupBySimilarity;
+import org.opentripplanner.routing.api.request.framework.CostLinearFunction;
+import org.opentripplanner.routing.api.request.preference.ItineraryFilterDebugProfile;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+
+/**
+ * Filter a list of transit itineraries with one, two and three legs, and one walk-only itinerary,
+ * with a filter chain close to the default one. The filters flag the itineraries, so new
+ * itineraries are created before each call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItineraryListFilterChainBenchmark implements PlanTestConstants {
+
+  private static final TransitModelForTest TEST_MODEL = TransitModelForTest.of();
+  private static final Place[] PLACES = {
+    Place.forStop(TEST_MODEL.stop("A").build()),
+    Place.forStop(TEST_MODEL.stop("B").build()),
+    Place.forStop(TEST_MODEL.stop("C").build()),
+    Place.forStop(TEST_MODEL.stop("D").build()),
+  };
+  private static final Place DESTINATION = Place.forStop(TEST_MODEL.stop("E").build());
+
+  @Param({ "50", "200" })
+  int nItineraries;
+
+  private ItineraryListFilterChain chain;
+  private List<Itinerary> itineraries;
+
+  @Setup(Level.Trial)
+  public void createChain() {
+    chain =
+      new ItineraryListFilterChainBuilder(SortOrder.STREET_AND_ARRIVAL_TIME)
+        .withMaxNumberOfItineraries(20)
+        .withRemoveTransitWithHigherCostThanBestOnStreetOnly(
+          CostLinearFunction.of(Duration.ofSeconds(0), 1.0)
+        )
+        .addGroupBySimilarity(GroupBySimilarity.createWithOneItineraryPerGroup(.85))
+        .addGroupBySimilarity(
+          GroupBySimilarity.createWithMoreThanOneItineraryPerGroup(.68, 3, true, 2.0)
+        )
+        .withSearchWindow(newTime(T11_00).toInstant(), Duration.ofHours(1))
+        .withDebugEnabled(ItineraryFilterDebugProfile.OFF)
+        .build();
+  }
+
+  @Setup(Level.Invocation)
+  public void createItineraries() {
+    var random = new Random(42);
+    itineraries = new ArrayList<>(nItineraries + 1);
+    itineraries.add(newItinerary(PLACES[0], T11_00).walk(D1m * 45, DESTINATION).build());
+    for (int i = 0; i < nItineraries; ++i) {
+      int time = T11_00 + random.nextInt(3600);
+      int nLegs = 1 + random.nextInt(3);
+      var builder = newItinerary(PLACES[0]);
+      for (int leg = 0; leg < nLegs; ++leg) {
+        int duration = D5m + random.nextInt(D10m * 2);
+        var to = leg == nLegs - 1 ? DESTINATION : PLACES[leg + 1];
+        int tripId = 10 * leg + random.nextInt(10);
+        if (random.nextBoolean()) {
+          builder.bus(tripId, time, time + duration, to);
+        } else {
+          builder.rail(tripId, time, time + duration, to);
+        }
+        time += duration + D2m;
+      }
+      itineraries.add(builder.build());
+    }
+  }
+
+  @Benchmark
+  public List<Itinerary> filter() {
+    return chain.filter(itineraries);
+  }
+}
@@ -0,0 +1,64 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentripplanner.street.search.request.StreetSearchRequest;
+
+/**
+ * Create the transfer index used by Raptor from the transfers of each stop. The index is created
+ * for each new combination of transfer preferences, so this is part of the response time of
+ * the first request with new preferences.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RaptorTransferIndexBenchmark {
+
+  private static final int MAX_DISTANCE_METERS = 1500;
+
+  @Param({ "10000", "50000" })
+  int nStops;
+
+  @Param({ "20" })
+  int transfersPerStop;
+
+  private List<List<Transfer>> transfersByStopIndex;
+  private StreetSearchRequest request;
+
+  @Setup
+  public void setup() {
+    var random = new Random(42);
+    transfersByStopIndex = new ArrayList<>(nStops);
+    for (int from = 0; from < nStops; ++from) {
+      var transfers = new ArrayList<Transfer>(transfersPerStop);
+      for (int i = 0; i < transfersPerStop; ++i) {
+        // Transfers go to nearby stops, stops with close indexes are close to each other
+        int to = Math.floorMod(from + random.nextInt(200) - 100, nStops);
+        transfers.add(new Transfer(to, random.nextInt(MAX_DISTANCE_METERS)));
+      }
+      transfersByStopIndex.add(transfers);
+    }
+    request = StreetSearchRequest.of().build();
+  }
+
+  @Benchmark
+  public RaptorTransferIndex create() {
+    return RaptorTransferIndex.create(transfersByStopIndex, request);
+  }
+}
@@ -0,0 +1,91 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.request;
+
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.opentripplanner.raptor._data.transit.TestRoute;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.model.SearchDirection;
+import org.opentripplanner.raptor.spi.RaptorTripScheduleSearch;
+
+/**
+ * Search for the first trip to board at random times and stops in a pattern, with and without
+ * an upper bound for the trip index. The number of trips decides if the binary search is used.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TripScheduleBoardSearchBenchmark {
+
+  private static final int N_STOPS = 20;
+  private static final int N_SEARCHES = 1024;
+  private static final int FIRST_DEPARTURE = 5 * 3600;
+
+  @Param({ "10", "100", "500" })
+  int nTrips;
+
+  private RaptorTripScheduleSearch<TestTripSchedule> search;
+  private int[] times;
+  private int[] stopPositions;
+
+  @Setup
+  public void setup() {
+    var stops = new int[N_STOPS];
+    for (int i = 0; i < N_STOPS; ++i) {
+      stops[i] = i + 1;
+    }
+    var route = TestRoute.route("R1", stops);
+    // Spread the trips over the day, each trip takes two minutes between stops
+    int headway = (18 * 3600) / nTrips;
+    for (int t = 0; t < nTrips; ++t) {
+      var departures = new int[N_STOPS];
+      for (int s = 0; s < N_STOPS; ++s) {
+        departures[s] = FIRST_DEPARTURE + t * headway + s * 120;
+      }
+      route.withTimetable(schedule().departures(departures));
+    }
+    search = route.tripSearch(SearchDirection.FORWARD);
+
+    var random = new Random(42);
+    times = new int[N_SEARCHES];
+    stopPositions = new int[N_SEARCHES];
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      times[i] = FIRST_DEPARTURE + random.nextInt(20 * 3600);
+      stopPositions[i] = random.nextInt(N_STOPS);
+    }
+  }
+
+  @Benchmark
+  public void searchUnbounded(Blackhole bh) {
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      bh.consume(search.search(times[i], stopPositions[i]).tripIndex());
+    }
+  }
+
+  @Benchmark
+  public void searchWithUpperBound(Blackhole bh) {
+    // Like a range raptor iteration, the previous boarding is the upper bound of the next search
+    for (int i = 0; i < N_SEARCHES; ++i) {
+      var first = search.search(times[i], stopPositions[i]);
+      if (!first.empty()) {
+        bh.consume(search.search(times[i] - 600, stopPositions[i], first.tripIndex()).tripIndex());
+      }
+    }
+  }
+}
@@ -44,6 +44,28 @@ public class DebugOutput {
    */
   public final TransitTimingOutput transitRouterTimes;
 
+  /**
+   * Bytes allocated by all threads working on the request, zero if the JVM does not support
+   * measuring it.
+   */
+  public final long allocatedBytes;
+
+  /**
+   * CPU time used by all threads working on the request in nanoseconds, zero if the JVM does not
+   * support measuring it.
+   */
+  public final long cpuTime;
+
+  /**
+   * The work done by the main Raptor searches, like the number of rounds and stop arrivals.
+   */
+  public final RaptorSearchOutput raptorSearches;
+
+  /**
+   * The work done by the heuristic Raptor searches.
+   */
+  public final RaptorSearchOutput heuristicRaptorSearches;
+
   public DebugOutput(
     long precalculationTime,
     long directStreetRouterTime,
@@ -51,7 +73,11 @@ public class DebugOutput {
     long filteringTime,
     long renderingTime,
     long totalTime,
-    TransitTimingOutput transitRouterTimes
+    TransitTimingOutput transitRouterTimes,
+    long allocatedBytes,
+    long cpuTime,
+    RaptorSearchOutput raptorSearches,
+    RaptorSearchOutput heuristicRaptorSearches
   ) {
     this.precalculationTime = precalculationTime;
     this.directStreetRouterTime = directStreetRouterTime;
@@ -60,5 +86,9 @@ public class DebugOutput {
     this.renderingTime = renderingTime;
     this.totalTime = totalTime;
     this.transitRouterTimes = transitRouterTimes;
+    this.allocatedBytes = allocatedBytes;
+    this.cpuTime = cpuTime;
+    this.raptorSearches = raptorSearches;
+    this.heuristicRaptorSearches = heuristicRaptorSearches;
   }
 }
@@ -0,0 +1,69 @@
+package org.opentripplanner.api.resource;
+
+/**
+ * Holds information to be included in the REST Response for debugging and profiling purposes of
+ * the Raptor searches of a routing request. The main and the heuristic searches are reported
+ * separately.
+ */
+public class RaptorSearchOutput {
+
+  /**
+   * The number of Raptor searches performed.
+   */
+  public final long searches;
+
+  /**
+   * The number of Range Raptor iterations (minutes) of all searches.
+   */
+  public final long iterations;
+
+  /**
+   * The number of rounds of all iterations.
+   */
+  public final long rounds;
+
+  /**
+   * The number of patterns scanned in all rounds.
+   */
+  public final long patternsVisited;
+
+  /**
+   * The number of times a trip was searched for at a stop reached in the previous round.
+   */
+  public final long boardingsAttempted;
+
+  /**
+   * The number of stop arrivals kept by the Raptor state.
+   */
+  public final long stopArrivalsAccepted;
+
+  /**
+   * The number of stop arrivals rejected by the Raptor state.
+   */
+  public final long stopArrivalsRejected;
+
+  /**
+   * The number of paths accepted at the destination.
+   */
+  public final long destinationArrivals;
+
+  public RaptorSearchOutput(
+    long searches,
+    long iterations,
+    long rounds,
+    long patternsVisited,
+    long boardingsAttempted,
+    long stopArrivalsAccepted,
+    long stopArrivalsRejected,
+    long destinationArrivals
+  ) {
+    this.searches = searches;
+    this.iterations = iterations;
+    this.rounds = rounds;
+    this.patternsVisited = patternsVisited;
+    this.boardingsAttempted = boardingsAttempted;
+    this.stopArrivalsAccepted = stopArrivalsAccepted;
+    this.stopArrivalsRejected = stopArrivalsRejected;
+    this.destinationArrivals = destinationArrivals;
+  }
+}
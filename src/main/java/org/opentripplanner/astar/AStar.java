@@ -185,6 +185,25 @@ public class AStar<
 
   private void runSearch() {
     OTPRequestTimeoutException.checkForTimeout();
+    var event = new AStarSearchEvent();
+    event.begin();
+
+    boolean aborted = search();
+
+    if (event.shouldCommit()) {
+      event.visitedStates = nVisited;
+      event.fromVertices = fromVertices == null ? 0 : fromVertices.size();
+      event.arriveBy = arriveBy;
+      event.aborted = aborted;
+      event.commit();
+    }
+  }
+
+  /**
+   * Run the search until the queue is empty, the target is found or the search times out.
+   * Returns {@code true} if the search timed out.
+   */
+  private boolean search() {
     long abortTime = DateUtils.absoluteTimeout(timeout);
 
     /* the core of the A* algorithm */
@@ -200,7 +219,7 @@ public class AStar<
         // even when a timeout occurs.
         spt.setAborted();
 
-        break;
+        return true;
       }
 
       /*
@@ -230,5 +249,6 @@ public class AStar<
         break;
       }
     }
+    return false;
   }
 }
@@ -0,0 +1,31 @@
+package org.opentripplanner.astar;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event for one A* street search.
+ */
+@Name("org.opentripplanner.AStarSearch")
+@Label("A* Search")
+@Category({ "OpenTripPlanner", "Street" })
+@Description("An A* search in the street graph")
+class AStarSearchEvent extends Event {
+
+  @Label("Visited States")
+  @Description("The number of states taken from the queue and not dominated")
+  int visitedStates;
+
+  @Label("From Vertices")
+  int fromVertices;
+
+  @Label("Arrive By")
+  boolean arriveBy;
+
+  @Label("Aborted")
+  @Description("The search timed out")
+  boolean aborted;
+}
@@ -75,6 +75,16 @@ public enum OTPFeature {
   /* Sandbox extension features - Must be turned OFF by default */
 
   ActuatorAPI(false, true, "Endpoint for actuators (service health status)."),
+  ActuatorAPIHistograms(
+    false,
+    true,
+    "Publish percentile histograms for the routing metrics of the `ActuatorAPI`. Each histogram adds many time series to the Prometheus output."
+  ),
+  ActuatorAPISlowRequests(
+    false,
+    true,
+    "Record the slowest routing requests, including the from and to locations, and publish them on the `/actuators/slowRequests` endpoint of the `ActuatorAPI`."
+  ),
   AsyncGraphQLFetchers(
     false,
     false,
@@ -0,0 +1,113 @@
+package org.opentripplanner.framework.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+
+/**
+ * Split the work on a list of elements in a user request, like mapping the paths of a search to
+ * itineraries, into a few tasks and run them in parallel. The tasks run in a shared thread pool
+ * created with the {@link OtpRequestThreadFactory}, and the calling thread runs the first task
+ * itself.
+ * <p>
+ * The thread pool has a fixed number of threads, shared by all requests, set with
+ * {@link #setUp(int)}. The list is split into at most one task per available processor, so a
+ * single request can not flood the thread pool. If the pool size is 0, the work is done in the
+ * calling thread.
+ */
+public final class OtpRequestExecutor {
+
+  private static final int MAX_NUMBER_OF_TASKS = Runtime.getRuntime().availableProcessors();
+
+  private static volatile int poolSize = 0;
+
+  private static volatile ExecutorService threadPool = null;
+
+  private OtpRequestExecutor() {}
+
+  /**
+   * Create the shared thread pool with the given number of threads, this is done once when the
+   * server starts. Until then, and if the size is 0, the work is done in the calling thread.
+   */
+  public static synchronized void setUp(int threadPoolSize) {
+    if (threadPool != null) {
+      threadPool.shutdown();
+    }
+    threadPool =
+      threadPoolSize > 0
+        ? Executors.newFixedThreadPool(threadPoolSize, OtpRequestThreadFactory.of("otp-request-%d"))
+        : null;
+    poolSize = threadPoolSize;
+  }
+
+  /**
+   * Apply the mapper to each element and return the results in the same order as the elements.
+   * An exception thrown by the mapper is rethrown in the calling thread. If the calling thread is
+   * interrupted, the remaining tasks are cancelled and an {@link OTPRequestTimeoutException} is
+   * thrown.
+   */
+  public static <T, R> List<R> map(List<T> elements, Function<? super T, ? extends R> mapper) {
+    ExecutorService pool = threadPool;
+    int size = elements.size();
+    // The calling thread runs one of the tasks
+    int nTasks = Math.min(Math.min(MAX_NUMBER_OF_TASKS, poolSize + 1), size);
+    if (pool == null || nTasks < 2) {
+      return mapChunk(elements, mapper);
+    }
+    int chunkSize = (size + nTasks - 1) / nTasks;
+
+    List<Future<List<R>>> futures = new ArrayList<>();
+    for (int start = chunkSize; start < size; start += chunkSize) {
+      var chunk = elements.subList(start, Math.min(size, start + chunkSize));
+      futures.add(
+        pool.submit(RequestResourceUsage.wrapCallable(() -> mapChunk(chunk, mapper)))
+      );
+    }
+
+    try {
+      List<R> result = new ArrayList<>(size);
+      result.addAll(mapChunk(elements.subList(0, chunkSize), mapper));
+      for (Future<List<R>> future : futures) {
+        result.addAll(future.get());
+      }
+      return result;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OTPRequestTimeoutException();
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException(e.getCause());
+    } finally {
+      futures.forEach(it -> it.cancel(true));
+    }
+  }
+
+  /**
+   * Run the action for each element, see {@link #map(List, Function)}.
+   */
+  public static <T> void forEach(List<T> elements, Consumer<? super T> action) {
+    map(
+      elements,
+      it -> {
+        action.accept(it);
+        return it;
+      }
+    );
+  }
+
+  private static <T, R> List<R> mapChunk(List<T> chunk, Function<? super T, ? extends R> mapper) {
+    List<R> result = new ArrayList<>(chunk.size());
+    for (T element : chunk) {
+      result.add(mapper.apply(element));
+    }
+    return result;
+  }
+}
@@ -0,0 +1,149 @@
+package org.opentripplanner.framework.concurrent;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.Nullable;
+
+/**
+ * Accumulate the bytes allocated and the CPU time used by all threads working on a user request.
+ * The usage is measured with the thread counters of the {@link ThreadMXBean}, so the numbers are
+ * only available on JVMs supporting them, the values are zero otherwise.
+ * <p>
+ * The thread handling the request is measured using {@link #start()}. Tasks passed to other
+ * threads, like the Raptor thread pool, must be wrapped with {@link #wrap(Runnable)} or
+ * {@link #wrapCallable(Callable)} in the request thread. The wrapped task measures the thread it
+ * runs in and adds the usage to the usage of the request. Tasks running in the calling thread are
+ * not measured twice.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public final class RequestResourceUsage {
+
+  private static final ThreadLocal<RequestResourceUsage> CURRENT = new ThreadLocal<>();
+  private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+  private static final boolean ALLOCATION_SUPPORTED = isAllocationMeasurementSupported();
+  private static final boolean CPU_TIME_SUPPORTED = isCpuTimeMeasurementSupported();
+
+  private final LongAdder allocatedBytes = new LongAdder();
+  private final LongAdder cpuTime = new LongAdder();
+
+  /**
+   * The usage of the request handled by the current thread, or {@code null} if the thread is not
+   * measured.
+   */
+  @Nullable
+  public static RequestResourceUsage current() {
+    return CURRENT.get();
+  }
+
+  /**
+   * Start measuring the current thread. The measurement is added to this usage when it is
+   * closed, the current thread must close it.
+   */
+  public Measurement start() {
+    return new Measurement(this);
+  }
+
+  /**
+   * Wrap a task, so the thread running it is measured as part of the request handled by the
+   * current thread. The task is returned as is if the current thread is not measured.
+   */
+  public static Runnable wrap(Runnable task) {
+    var usage = current();
+    if (usage == null) {
+      return task;
+    }
+    return () -> {
+      try (var ignore = usage.startIfNotMeasured()) {
+        task.run();
+      }
+    };
+  }
+
+  /**
+   * Wrap a task, see {@link #wrap(Runnable)}.
+   */
+  public static <T> Callable<T> wrapCallable(Callable<T> task) {
+    var usage = current();
+    if (usage == null) {
+      return task;
+    }
+    return () -> {
+      try (var ignore = usage.startIfNotMeasured()) {
+        return task.call();
+      }
+    };
+  }
+
+  /** The bytes allocated by all measured threads. */
+  public long allocatedBytes() {
+    return allocatedBytes.sum();
+  }
+
+  /** The CPU time used by all measured threads in nanoseconds. */
+  public long cpuTime() {
+    return cpuTime.sum();
+  }
+
+  @Nullable
+  private Measurement startIfNotMeasured() {
+    return CURRENT.get() == this ? null : start();
+  }
+
+  private static long currentThreadAllocatedBytes() {
+    return ALLOCATION_SUPPORTED
+      ? ((com.sun.management.ThreadMXBean) THREAD_MX_BEAN).getCurrentThreadAllocatedBytes()
+      : 0;
+  }
+
+  private static long currentThreadCpuTime() {
+    return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+  }
+
+  private static boolean isAllocationMeasurementSupported() {
+    return (
+      THREAD_MX_BEAN instanceof com.sun.management.ThreadMXBean bean &&
+      bean.isThreadAllocatedMemorySupported() &&
+      bean.isThreadAllocatedMemoryEnabled()
+    );
+  }
+
+  private static boolean isCpuTimeMeasurementSupported() {
+    return (
+      THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() && THREAD_MX_BEAN.isThreadCpuTimeEnabled()
+    );
+  }
+
+  /**
+   * The measurement of one thread, the thread is part of the request until the measurement is
+   * closed.
+   */
+  public static final class Measurement implements AutoCloseable {
+
+    private final RequestResourceUsage usage;
+    private final RequestResourceUsage previous;
+    private final long startAllocatedBytes;
+    private final long startCpuTime;
+
+    private Measurement(RequestResourceUsage usage) {
+      this.usage = usage;
+      this.previous = CURRENT.get();
+      CURRENT.set(usage);
+      this.startAllocatedBytes = currentThreadAllocatedBytes();
+      this.startCpuTime = currentThreadCpuTime();
+    }
+
+    @Override
+    public void close() {
+      usage.allocatedBytes.add(currentThreadAllocatedBytes() - startAllocatedBytes);
+      usage.cpuTime.add(currentThreadCpuTime() - startCpuTime);
+      if (previous == null) {
+        CURRENT.remove();
+      } else {
+        CURRENT.set(previous);
+      }
+    }
+  }
+}
@@ -7,11 +7,15 @@ import static org.opentripplanner.datastore.api.FileType.OSM;
 
 import com.google.common.collect.ArrayListMultimap;
 import com.google.common.collect.Multimap;
+import com.google.common.hash.Hashing;
 import jakarta.inject.Inject;
 import jakarta.inject.Singleton;
 import java.io.File;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import org.opentripplanner.datastore.OtpDataStore;
@@ -57,6 +61,7 @@ public class GraphBuilderDataSources {
   private final DataSource outputGraph;
   private final BuildConfig buildConfig;
   private final File baseDirectory;
+  private final boolean loadStreetGraph;
 
   /**
    * Create a wrapper around the data-store and resolve which files to import and export. Validate
@@ -74,6 +79,7 @@ public class GraphBuilderDataSources {
     this.cacheDirectory = cli.cacheDirectory;
     this.outputGraph = getOutputGraph(cli);
     this.baseDirectory = baseDirectory;
+    this.loadStreetGraph = cli.doLoadStreetGraph();
 
     // Select which files to import
     include(cli.doBuildStreet(), OSM);
@@ -214,6 +220,29 @@ public class GraphBuilderDataSources {
     return cacheDirectory;
   }
 
+  /**
+   * Return a fingerprint of the street data used in this build: the OSM and DEM files, or the
+   * street graph if it is loaded. The files are identified by their location, size and
+   * modification time, the content is not read. This is used to detect if data cached from a
+   * previous build can be reused.
+   */
+  public String streetDataFingerprint() {
+    var hasher = Hashing.sha256().newHasher();
+    List<DataSource> sources = new ArrayList<>();
+    get(OSM).forEach(sources::add);
+    get(DEM).forEach(sources::add);
+    if (loadStreetGraph) {
+      sources.add(store.getStreetGraph());
+    }
+    for (DataSource source : sources) {
+      hasher
+        .putString(source.uri().toString(), StandardCharsets.UTF_8)
+        .putLong(source.size())
+        .putLong(source.lastModified());
+    }
+    return hasher.hash().toString();
+  }
+
   /* private methods */
 
   private boolean hasOneOf(FileType... types) {
@@ -0,0 +1,190 @@
+package org.opentripplanner.graph_builder.module;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.request.StreetRequest;
+import org.opentripplanner.routing.graphfinder.NearbyStop;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.street.search.state.State;
+import org.opentripplanner.transit.model.site.Station;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.TransitService;
+
+/**
+ * Find the stops nearby all quays of a station with one street search, starting at all quays at
+ * once. The search tree gives the path to each nearby stop from the quay closest to it. The nearby
+ * stops of each quay are derived from the tree by prepending a hop from the quay to the quay the
+ * tree path starts at. The hops are found with a short search from each quay, and the stops found
+ * by this short search are used as they are.
+ * <p>
+ * The derived paths are not always the shortest path from the quay: a path leaving the station
+ * from another quay may be shorter. Since the quays of a station are close to each other, the
+ * difference is small compared to the transfer duration.
+ * <p>
+ * The derived paths do not have a {@link State}, the nearby stops are compared by distance.
+ */
+class ClusteredTransferFinder {
+
+  /** The maximum duration of a hop between two quays of the same station. */
+  private static final Duration MAX_HOP_DURATION = Duration.ofMinutes(5);
+
+  private final NearbyStopFinder nearbyStopFinder;
+  private final NearbyStopFinder hopFinder;
+  private final long maxDurationSeconds;
+
+  ClusteredTransferFinder(TransitService transitService, Duration radiusByDuration) {
+    this.nearbyStopFinder = new NearbyStopFinder(transitService, radiusByDuration, 0, null, true);
+    this.hopFinder =
+      new NearbyStopFinder(
+        transitService,
+        radiusByDuration.compareTo(MAX_HOP_DURATION) < 0 ? radiusByDuration : MAX_HOP_DURATION,
+        0,
+        null,
+        true
+      );
+    this.maxDurationSeconds = radiusByDuration.toSeconds();
+  }
+
+  /**
+   * Group the given stops by station. Stops not part of a station, or the only stop of their
+   * station, are returned in a group of their own.
+   */
+  static List<List<TransitStopVertex>> groupByStation(Collection<TransitStopVertex> stops) {
+    Map<Station, List<TransitStopVertex>> stopsByStation = new LinkedHashMap<>();
+    List<List<TransitStopVertex>> groups = new ArrayList<>();
+    for (TransitStopVertex stop : stops) {
+      Station station = stop.getStop().getParentStation();
+      if (station == null) {
+        groups.add(List.of(stop));
+      } else {
+        stopsByStation.computeIfAbsent(station, s -> new ArrayList<>()).add(stop);
+      }
+    }
+    groups.addAll(stopsByStation.values());
+    return groups;
+  }
+
+  /**
+   * Find the nearby stops of each of the given quays. A quay is missing from the result if it
+   * must be searched on its own, because one of the other quays can not be reached from it within
+   * {@link #MAX_HOP_DURATION}.
+   */
+  Map<TransitStopVertex, Collection<NearbyStop>> findNearbyStops(
+    List<TransitStopVertex> quays,
+    RouteRequest request,
+    StreetRequest streetRequest
+  ) {
+    Map<Vertex, List<NearbyStop>> treeByOrigin = new HashMap<>();
+    for (NearbyStop stop : nearbyStopFinder.findNearbyStopsViaStreets(
+      new LinkedHashSet<>(quays),
+      false,
+      request,
+      streetRequest
+    )) {
+      // The quays themselves are found by the hop search
+      if (stop.edges.isEmpty()) {
+        continue;
+      }
+      treeByOrigin.computeIfAbsent(originVertex(stop.state), v -> new ArrayList<>()).add(stop);
+    }
+
+    Map<TransitStopVertex, Collection<NearbyStop>> result = new HashMap<>();
+    for (TransitStopVertex quay : quays) {
+      Collection<NearbyStop> nearbyStops = deriveNearbyStops(
+        quay,
+        treeByOrigin,
+        request,
+        streetRequest
+      );
+      if (nearbyStops != null) {
+        result.put(quay, nearbyStops);
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Derive the nearby stops of the given quay from the shared search tree, or return {@code null}
+   * if a quay the tree starts at can not be reached with a hop.
+   */
+  private Collection<NearbyStop> deriveNearbyStops(
+    TransitStopVertex quay,
+    Map<Vertex, List<NearbyStop>> treeByOrigin,
+    RouteRequest request,
+    StreetRequest streetRequest
+  ) {
+    Map<StopLocation, NearbyStop> hops = new HashMap<>();
+    for (NearbyStop hop : hopFinder.findNearbyStopsViaStreets(
+      Set.of(quay),
+      false,
+      request,
+      streetRequest
+    )) {
+      hops.put(hop.stop, hop);
+    }
+
+    Map<StopLocation, NearbyStop> nearbyStops = new HashMap<>();
+    for (NearbyStop hop : hops.values()) {
+      nearbyStops.put(hop.stop, withoutState(hop.stop, hop.distance, hop.edges));
+    }
+
+    for (var entry : treeByOrigin.entrySet()) {
+      NearbyStop hop = hops.get(((TransitStopVertex) entry.getKey()).getStop());
+      if (hop == null) {
+        return null;
+      }
+      long hopSeconds = hop.state.getElapsedTimeSeconds();
+      for (NearbyStop stop : entry.getValue()) {
+        // The stops reached by the hop search have the shortest path already
+        if (hops.containsKey(stop.stop)) {
+          continue;
+        }
+        if (hopSeconds + stop.state.getElapsedTimeSeconds() > maxDurationSeconds) {
+          continue;
+        }
+        NearbyStop derived = withoutState(
+          stop.stop,
+          hop.distance + stop.distance,
+          concat(hop.edges, stop.edges)
+        );
+        nearbyStops.merge(stop.stop, derived, (a, b) -> a.distance <= b.distance ? a : b);
+      }
+    }
+
+    return OTPFeature.ConsiderPatternsForDirectTransfers.isOn()
+      ? nearbyStopFinder.filterClosestStopsOnPatterns(nearbyStops.values(), false)
+      : nearbyStops.values();
+  }
+
+  private static Vertex originVertex(State state) {
+    while (state.getBackState() != null) {
+      state = state.getBackState();
+    }
+    return state.getVertex();
+  }
+
+  private static NearbyStop withoutState(StopLocation stop, double distance, List<Edge> edges) {
+    return new NearbyStop(stop, distance, edges, null);
+  }
+
+  private static List<Edge> concat(List<Edge> first, List<Edge> second) {
+    if (first.isEmpty()) {
+      return second;
+    }
+    List<Edge> edges = new ArrayList<>(first.size() + second.size());
+    edges.addAll(first);
+    edges.addAll(second);
+    return edges;
+  }
+}
@@ -3,10 +3,16 @@ package org.opentripplanner.graph_builder.module;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Multimaps;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
@@ -14,6 +20,7 @@ import org.opentripplanner.graph_builder.issues.StopNotLinkedForTransfers;
 import org.opentripplanner.graph_builder.model.GraphBuilderModule;
 import org.opentripplanner.model.PathTransfer;
 import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.preference.WalkPreferences;
 import org.opentripplanner.routing.api.request.request.StreetRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.routing.graphfinder.NearbyStop;
@@ -23,7 +30,9 @@ import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.transit.model.site.RegularStop;
 import org.opentripplanner.transit.model.site.StopLocation;
 import org.opentripplanner.transit.service.DefaultTransitService;
+import org.opentripplanner.transit.service.StopModel;
 import org.opentripplanner.transit.service.TransitModel;
+import org.opentripplanner.transit.service.TransitService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -46,18 +55,43 @@ public class DirectTransferGenerator implements GraphBuilderModule {
   private final TransitModel transitModel;
   private final DataImportIssueStore issueStore;
 
+  @Nullable
+  private final TransferCache transferCache;
+
+  private final boolean clusteredTransfers;
+
   public DirectTransferGenerator(
     Graph graph,
     TransitModel transitModel,
     DataImportIssueStore issueStore,
     Duration radiusByDuration,
     List<RouteRequest> transferRequests
+  ) {
+    this(graph, transitModel, issueStore, radiusByDuration, transferRequests, null, false);
+  }
+
+  /**
+   * @param transferCache Reuse the transfers from a previous build for stops not affected by
+   *                      changed transit feeds, or {@code null} to generate all transfers.
+   * @param clusteredTransfers Generate the transfers from the quays of each station with a
+   *                           shared street search, see {@link ClusteredTransferFinder}.
+   */
+  public DirectTransferGenerator(
+    Graph graph,
+    TransitModel transitModel,
+    DataImportIssueStore issueStore,
+    Duration radiusByDuration,
+    List<RouteRequest> transferRequests,
+    @Nullable TransferCache transferCache,
+    boolean clusteredTransfers
   ) {
     this.graph = graph;
     this.transitModel = transitModel;
     this.issueStore = issueStore;
     this.radiusByDuration = radiusByDuration;
     this.transferRequests = transferRequests;
+    this.transferCache = transferCache;
+    this.clusteredTransfers = clusteredTransfers;
   }
 
   @Override
@@ -68,8 +102,9 @@ public class DirectTransferGenerator implements GraphBuilderModule {
     }
 
     /* The linker will use streets if they are available, or straight-line distance otherwise. */
+    var transitService = new DefaultTransitService(transitModel);
     NearbyStopFinder nearbyStopFinder = new NearbyStopFinder(
-      new DefaultTransitService(transitModel),
+      transitService,
       radiusByDuration,
       0,
       null,
@@ -91,92 +126,74 @@ public class DirectTransferGenerator implements GraphBuilderModule {
       stops.size()
     );
 
+    TransferCache cache = transferCacheForThisBuild();
+    StopModel stopModel = transitModel.getStopModel();
+
     AtomicInteger nTransfersTotal = new AtomicInteger();
     AtomicInteger nLinkedStops = new AtomicInteger();
+    AtomicInteger nReusedStops = new AtomicInteger();
 
     // This is a synchronizedMultimap so that a parallel stream may be used to insert elements.
     var transfersByStop = Multimaps.<StopLocation, PathTransfer>synchronizedMultimap(
       HashMultimap.create()
     );
 
-    stops
+    ClusteredTransferFinder clusterFinder = clusteredTransferFinder(
+      nearbyStopFinder,
+      transitService
+    );
+    List<List<TransitStopVertex>> stopGroups = clusterFinder == null
+      ? stops.stream().map(List::of).toList()
+      : ClusteredTransferFinder.groupByStation(stops);
+
+    stopGroups
       .stream()
       .parallel()
-      .forEach(ts0 -> {
-        /* Make transfers to each nearby stop that has lowest weight on some trip pattern.
-         * Use map based on the list of edges, so that only distinct transfers are stored. */
-        Map<TransferKey, PathTransfer> distinctTransfers = new HashMap<>();
-        RegularStop stop = ts0.getStop();
-
-        if (stop.transfersNotAllowed()) {
-          return;
-        }
+      .forEach(group -> {
+        Map<TransitStopVertex, Collection<PathTransfer>> transfersByVertex = new LinkedHashMap<>();
+        List<TransitStopVertex> stopsToGenerate = new ArrayList<>();
 
-        LOG.debug("Linking stop '{}' {}", stop, ts0);
-
-        for (RouteRequest transferProfile : transferRequests) {
-          for (NearbyStop sd : findNearbyStops(
-            nearbyStopFinder,
-            ts0,
-            transferProfile,
-            transferProfile.journey().transfer(),
-            false
-          )) {
-            // Skip the origin stop, loop transfers are not needed.
-            if (sd.stop == stop) {
-              continue;
-            }
-            if (sd.stop.transfersNotAllowed()) {
-              continue;
-            }
-            distinctTransfers.put(
-              new TransferKey(stop, sd.stop, sd.edges),
-              new PathTransfer(stop, sd.stop, sd.distance, sd.edges)
-            );
+        for (TransitStopVertex ts0 : group) {
+          if (ts0.getStop().transfersNotAllowed()) {
+            continue;
           }
-          if (OTPFeature.FlexRouting.isOn()) {
-            // This code is for finding transfers from AreaStops to Stops, transfers
-            // from Stops to AreaStops and between Stops are already covered above.
-            for (NearbyStop sd : findNearbyStops(
-              nearbyStopFinder,
-              ts0,
-              transferProfile,
-              transferProfile.journey().transfer(),
-              true
-            )) {
-              // Skip the origin stop, loop transfers are not needed.
-              if (sd.stop == stop) {
-                continue;
-              }
-              if (sd.stop instanceof RegularStop) {
-                continue;
-              }
-              distinctTransfers.put(
-                new TransferKey(sd.stop, stop, sd.edges),
-                new PathTransfer(sd.stop, stop, sd.distance, sd.edges)
-              );
-            }
+          Collection<PathTransfer> transfers = cache == null ? null : cache.get(ts0, stopModel);
+          if (transfers == null) {
+            stopsToGenerate.add(ts0);
+            // Keep the position of the stop in the group, the transfers are added below
+            transfersByVertex.put(ts0, List.of());
+          } else {
+            nReusedStops.incrementAndGet();
+            transfersByVertex.put(ts0, transfers);
           }
         }
 
-        LOG.debug(
-          "Linked stop {} with {} transfers to stops with different patterns.",
-          stop,
-          distinctTransfers.size()
-        );
-        if (distinctTransfers.isEmpty()) {
-          issueStore.add(new StopNotLinkedForTransfers(ts0));
+        if (stopsToGenerate.size() > 1) {
+          var generated = findClusterTransfers(nearbyStopFinder, clusterFinder, stopsToGenerate);
+          transfersByVertex.putAll(generated);
         } else {
-          distinctTransfers
-            .values()
-            .forEach(transfer -> transfersByStop.put(transfer.from, transfer));
-          nLinkedStops.incrementAndGet();
-          nTransfersTotal.addAndGet(distinctTransfers.size());
+          for (TransitStopVertex ts0 : stopsToGenerate) {
+            transfersByVertex.put(ts0, findTransfers(nearbyStopFinder, ts0));
+          }
         }
 
-        //Keep lambda! A method-ref would causes incorrect class and line number to be logged
-        //noinspection Convert2MethodRef
-        progress.step(m -> LOG.info(m));
+        transfersByVertex.forEach((ts0, transfers) -> {
+          if (cache != null && stopsToGenerate.contains(ts0)) {
+            cache.put(ts0, transfers);
+          }
+
+          if (transfers.isEmpty()) {
+            issueStore.add(new StopNotLinkedForTransfers(ts0));
+          } else {
+            transfers.forEach(transfer -> transfersByStop.put(transfer.from, transfer));
+            nLinkedStops.incrementAndGet();
+            nTransfersTotal.addAndGet(transfers.size());
+          }
+
+          //Keep lambda! A method-ref would causes incorrect class and line number to be logged
+          //noinspection Convert2MethodRef
+          progress.step(m -> LOG.info(m));
+        });
       });
 
     transitModel.addAllTransfersByStops(transfersByStop);
@@ -187,6 +204,210 @@ public class DirectTransferGenerator implements GraphBuilderModule {
       nTransfersTotal,
       nLinkedStops
     );
+
+    if (cache != null) {
+      LOG.info("Reused the transfers of {} stops from the transfer cache.", nReusedStops);
+      cache.save();
+    }
+  }
+
+  /**
+   * Make transfers to each nearby stop that has lowest weight on some trip pattern.
+   */
+  private Collection<PathTransfer> findTransfers(
+    NearbyStopFinder nearbyStopFinder,
+    TransitStopVertex ts0
+  ) {
+    /* Use map based on the list of edges, so that only distinct transfers are stored. */
+    Map<TransferKey, PathTransfer> distinctTransfers = new HashMap<>();
+    RegularStop stop = ts0.getStop();
+
+    LOG.debug("Linking stop '{}' {}", stop, ts0);
+
+    for (RouteRequest transferProfile : transferRequests) {
+      addTransfers(
+        stop,
+        findNearbyStops(
+          nearbyStopFinder,
+          ts0,
+          transferProfile,
+          transferProfile.journey().transfer(),
+          false
+        ),
+        distinctTransfers
+      );
+      if (OTPFeature.FlexRouting.isOn()) {
+        // This code is for finding transfers from AreaStops to Stops, transfers
+        // from Stops to AreaStops and between Stops are already covered above.
+        for (NearbyStop sd : findNearbyStops(
+          nearbyStopFinder,
+          ts0,
+          transferProfile,
+          transferProfile.journey().transfer(),
+          true
+        )) {
+          // Skip the origin stop, loop transfers are not needed.
+          if (sd.stop == stop) {
+            continue;
+          }
+          if (sd.stop instanceof RegularStop) {
+            continue;
+          }
+          distinctTransfers.put(
+            new TransferKey(sd.stop, stop, sd.edges),
+            new PathTransfer(sd.stop, stop, sd.distance, sd.edges)
+          );
+        }
+      }
+    }
+
+    LOG.debug(
+      "Linked stop {} with {} transfers to stops with different patterns.",
+      stop,
+      distinctTransfers.size()
+    );
+    return distinctTransfers.values();
+  }
+
+  /**
+   * Make the transfers from each of the given quays of a station, using the shared search tree of
+   * the {@link ClusteredTransferFinder}. Quays the finder can not derive the transfers for are
+   * linked on their own.
+   */
+  private Map<TransitStopVertex, Collection<PathTransfer>> findClusterTransfers(
+    NearbyStopFinder nearbyStopFinder,
+    ClusteredTransferFinder clusterFinder,
+    List<TransitStopVertex> quays
+  ) {
+    Map<TransitStopVertex, Map<TransferKey, PathTransfer>> distinctTransfers = new HashMap<>();
+    Set<TransitStopVertex> linkedOnTheirOwn = new HashSet<>();
+
+    for (RouteRequest transferProfile : transferRequests) {
+      var nearbyStopsByQuay = clusterFinder.findNearbyStops(
+        quays,
+        transferProfile,
+        transferProfile.journey().transfer()
+      );
+      for (TransitStopVertex quay : quays) {
+        var nearbyStops = nearbyStopsByQuay.get(quay);
+        if (nearbyStops == null) {
+          linkedOnTheirOwn.add(quay);
+        } else {
+          addTransfers(
+            quay.getStop(),
+            nearbyStops,
+            distinctTransfers.computeIfAbsent(quay, q -> new HashMap<>())
+          );
+        }
+      }
+    }
+
+    Map<TransitStopVertex, Collection<PathTransfer>> result = new HashMap<>();
+    for (TransitStopVertex quay : quays) {
+      result.put(
+        quay,
+        linkedOnTheirOwn.contains(quay)
+          ? findTransfers(nearbyStopFinder, quay)
+          : distinctTransfers.getOrDefault(quay, Map.of()).values()
+      );
+    }
+    LOG.debug(
+      "Linked {} quays of station {}, {} of them on their own.",
+      quays.size(),
+      quays.get(0).getStop().getParentStation(),
+      linkedOnTheirOwn.size()
+    );
+    return result;
+  }
+
+  private static void addTransfers(
+    RegularStop stop,
+    Iterable<NearbyStop> nearbyStops,
+    Map<TransferKey, PathTransfer> distinctTransfers
+  ) {
+    for (NearbyStop sd : nearbyStops) {
+      // Skip the origin stop, loop transfers are not needed.
+      if (sd.stop == stop) {
+        continue;
+      }
+      if (sd.stop.transfersNotAllowed()) {
+        continue;
+      }
+      distinctTransfers.put(
+        new TransferKey(stop, sd.stop, sd.edges),
+        new PathTransfer(stop, sd.stop, sd.distance, sd.edges)
+      );
+    }
+  }
+
+  /**
+   * Return the finder for the transfers from the quays of a station, or {@code null} if the
+   * transfers are generated for each stop on its own.
+   */
+  @Nullable
+  private ClusteredTransferFinder clusteredTransferFinder(
+    NearbyStopFinder nearbyStopFinder,
+    TransitService transitService
+  ) {
+    if (!clusteredTransfers) {
+      return null;
+    }
+    if (!nearbyStopFinder.useStreets) {
+      LOG.info("Clustered transfers are not used without street data.");
+      return null;
+    }
+    // The flex transfers are generated in the reverse direction, to each stop
+    if (OTPFeature.FlexRouting.isOn()) {
+      LOG.info("Clustered transfers are not used when flex routing is enabled.");
+      return null;
+    }
+    return new ClusteredTransferFinder(transitService, radiusByDuration);
+  }
+
+  /**
+   * Return the transfer cache, prepared for this build, or {@code null} if the transfers can not
+   * be reused in this build.
+   */
+  @Nullable
+  private TransferCache transferCacheForThisBuild() {
+    if (transferCache == null) {
+      return null;
+    }
+    // The flex transfers are generated in the reverse direction, from the area stops
+    if (OTPFeature.FlexRouting.isOn()) {
+      LOG.info("The transfer cache is not used when flex routing is enabled.");
+      return null;
+    }
+    // Car transfers may reach too far for a change in one feed to be local
+    boolean carTransfers = transferRequests
+      .stream()
+      .anyMatch(it -> it.journey().transfer().mode().includesDriving());
+    if (carTransfers) {
+      LOG.info("The transfer cache is not used with car transfers.");
+      return null;
+    }
+    transferCache.prepare(transitModel, maxTransferDistanceMeters());
+    return transferCache;
+  }
+
+  /**
+   * The straight-line distance limit of the transfers, any stop further away can not be reached
+   * within the transfer duration.
+   */
+  private double maxTransferDistanceMeters() {
+    double speed = WalkPreferences.DEFAULT.speed();
+    for (RouteRequest request : transferRequests) {
+      var preferences = request.preferences();
+      var mode = request.journey().transfer().mode();
+      speed = Math.max(speed, preferences.walk().speed());
+      if (mode.includesBiking()) {
+        speed = Math.max(speed, preferences.bike().speed());
+      }
+      if (mode.includesScooter()) {
+        speed = Math.max(speed, preferences.scooter().speed());
+      }
+    }
+    return radiusByDuration.toSeconds() * speed;
   }
 
   private static Iterable<NearbyStop> findNearbyStops(
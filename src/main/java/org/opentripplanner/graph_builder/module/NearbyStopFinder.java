@@ -100,6 +100,22 @@ public class NearbyStopFinder {
     RouteRequest routingRequest,
     StreetRequest streetRequest,
     boolean reverseDirection
+  ) {
+    /* Iterate over nearby stops via the street network or using straight-line distance, depending on the graph. */
+    return filterClosestStopsOnPatterns(
+      findNearbyStops(vertex, routingRequest, streetRequest, reverseDirection),
+      reverseDirection
+    );
+  }
+
+  /**
+   * Return the stops that are the closest stop on some trip pattern or flex trip, among the given
+   * nearby stops. The stops are compared with {@link NearbyStop#compareTo(NearbyStop)}, so either
+   * all or none of the given stops must have a state.
+   */
+  public Set<NearbyStop> filterClosestStopsOnPatterns(
+    Iterable<NearbyStop> nearbyStops,
+    boolean reverseDirection
   ) {
     /* Track the closest stop on each pattern passing nearby. */
     MinMap<TripPattern, NearbyStop> closestStopForPattern = new MinMap<>();
@@ -107,13 +123,7 @@ public class NearbyStopFinder {
     /* Track the closest stop on each flex trip nearby. */
     MinMap<FlexTrip<?, ?>, NearbyStop> closestStopForFlexTrip = new MinMap<>();
 
-    /* Iterate over nearby stops via the street network or using straight-line distance, depending on the graph. */
-    for (NearbyStop nearbyStop : findNearbyStops(
-      vertex,
-      routingRequest,
-      streetRequest,
-      reverseDirection
-    )) {
+    for (NearbyStop nearbyStop : nearbyStops) {
       StopLocation ts1 = nearbyStop.stop;
 
       if (ts1 instanceof RegularStop) {
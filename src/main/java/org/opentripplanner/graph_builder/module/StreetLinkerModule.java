@@ -1,8 +1,10 @@
 package org.opentripplanner.graph_builder.module;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import org.opentripplanner.framework.application.OTPFeature;
@@ -23,6 +25,7 @@ import org.opentripplanner.street.model.vertex.StreetVertex;
 import org.opentripplanner.street.model.vertex.TransitEntranceVertex;
 import org.opentripplanner.street.model.vertex.TransitStopVertex;
 import org.opentripplanner.street.model.vertex.VehicleParkingEntranceVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
 import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
 import org.opentripplanner.transit.model.site.GroupStop;
@@ -48,17 +51,33 @@ public class StreetLinkerModule implements GraphBuilderModule {
   private final TransitModel transitModel;
   private final DataImportIssueStore issueStore;
   private final Boolean addExtraEdgesToAreas;
+  private final boolean multiThreaded;
 
   public StreetLinkerModule(
     Graph graph,
     TransitModel transitModel,
     DataImportIssueStore issueStore,
     boolean addExtraEdgesToAreas
+  ) {
+    this(graph, transitModel, issueStore, addExtraEdgesToAreas, false);
+  }
+
+  /**
+   * @param multiThreaded Search for the closest edges on multiple threads, see
+   *                      {@link org.opentripplanner.routing.linking.VertexLinker#linkVerticesPermanently}.
+   */
+  public StreetLinkerModule(
+    Graph graph,
+    TransitModel transitModel,
+    DataImportIssueStore issueStore,
+    boolean addExtraEdgesToAreas,
+    boolean multiThreaded
   ) {
     this.graph = graph;
     this.transitModel = transitModel;
     this.issueStore = issueStore;
     this.addExtraEdgesToAreas = addExtraEdgesToAreas;
+    this.multiThreaded = multiThreaded;
   }
 
   @Override
@@ -102,6 +121,8 @@ public class StreetLinkerModule implements GraphBuilderModule {
       );
     }
 
+    List<TransitStopVertex> stopsToLink = new ArrayList<>();
+    Set<TransitStopVertex> stopsUsedForFlexTrips = new HashSet<>();
     for (TransitStopVertex tStop : vertices) {
       // Stops with pathways do not need to be connected to the street network, since there are explicit entrances defined for that
       if (tStop.hasPathways()) {
@@ -111,21 +132,29 @@ public class StreetLinkerModule implements GraphBuilderModule {
       if (tStop.isConnectedToGraph()) {
         continue;
       }
-
-      // ordinarily stops only need to be accessible by foot
-      StopLinkType linkType = StopLinkType.WALK_ONLY;
+      stopsToLink.add(tStop);
 
       if (
         OTPFeature.FlexRouting.isOn() && stopLocationsUsedForFlexTrips.contains(tStop.getStop())
       ) {
-        linkType = StopLinkType.WALK_AND_CAR;
+        stopsUsedForFlexTrips.add(tStop);
       }
+    }
 
-      linkStopToStreetNetwork(tStop, linkType);
-
+    linkVertices(
+      stopsToLink,
+      WALK_ONLY,
+      (transitVertex, streetVertex) -> {
+        var tStop = (TransitStopVertex) transitVertex;
+        // ordinarily stops only need to be accessible by foot
+        StopLinkType linkType = stopsUsedForFlexTrips.contains(tStop)
+          ? StopLinkType.WALK_AND_CAR
+          : StopLinkType.WALK_ONLY;
+        return createStopLinkEdges(tStop, streetVertex, linkType);
+      },
       //noinspection Convert2MethodRef
-      progress.step(m -> LOG.info(m));
-    }
+      () -> progress.step(m -> LOG.info(m))
+    );
     LOG.info(progress.completeMessage());
   }
 
@@ -136,23 +165,50 @@ public class StreetLinkerModule implements GraphBuilderModule {
    * car-accessible. Therefore, flex stops are ensured to be connected to the car-accessible
    * edge. This may lead to several links being created.
    */
-  private void linkStopToStreetNetwork(TransitStopVertex tStop, StopLinkType linkType) {
-    graph
-      .getLinker()
-      .linkVertexPermanently(
-        tStop,
-        WALK_ONLY,
-        LinkingDirection.BOTH_WAYS,
-        (transitVertex, streetVertex) -> {
-          var linkEdges = createStopLinkEdges((TransitStopVertex) transitVertex, streetVertex);
+  private List<Edge> createStopLinkEdges(
+    TransitStopVertex tStop,
+    StreetVertex streetVertex,
+    StopLinkType linkType
+  ) {
+    var linkEdges = createStopLinkEdges(tStop, streetVertex);
 
-          if (linkType == StopLinkType.WALK_AND_CAR && !streetVertex.isConnectedToDriveableEdge()) {
-            linkToDriveableEdge(tStop);
-          }
+    if (linkType == StopLinkType.WALK_AND_CAR && !streetVertex.isConnectedToDriveableEdge()) {
+      linkToDriveableEdge(tStop);
+    }
+
+    return linkEdges;
+  }
 
-          return linkEdges;
-        }
+  /**
+   * Link the vertices one by one, or if multi-threaded, using
+   * {@link org.opentripplanner.routing.linking.VertexLinker#linkVerticesPermanently}.
+   */
+  private void linkVertices(
+    List<? extends Vertex> vertices,
+    TraverseModeSet traverseModes,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction,
+    Runnable onLinked
+  ) {
+    var linker = graph.getLinker();
+    if (multiThreaded) {
+      linker.linkVerticesPermanently(
+        vertices,
+        traverseModes,
+        LinkingDirection.BOTH_WAYS,
+        edgeFunction,
+        v -> onLinked.run()
       );
+    } else {
+      for (Vertex vertex : vertices) {
+        linker.linkVertexPermanently(
+          vertex,
+          traverseModes,
+          LinkingDirection.BOTH_WAYS,
+          edgeFunction
+        );
+        onLinked.run();
+      }
+    }
   }
 
   /**
@@ -186,75 +242,55 @@ public class StreetLinkerModule implements GraphBuilderModule {
     );
   }
 
-  private static void linkVehicleParkingWithLinker(
-    Graph graph,
-    VehicleParkingEntranceVertex vehicleParkingVertex
-  ) {
-    if (vehicleParkingVertex.isWalkAccessible()) {
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          vehicleParkingVertex,
-          new TraverseModeSet(TraverseMode.WALK),
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              StreetVehicleParkingLink.createStreetVehicleParkingLink(
-                (VehicleParkingEntranceVertex) vertex,
-                streetVertex
-              ),
-              StreetVehicleParkingLink.createStreetVehicleParkingLink(
-                streetVertex,
-                (VehicleParkingEntranceVertex) vertex
-              )
-            )
-        );
-    }
+  private void linkVehicleParkingWithLinker(List<VehicleParkingEntranceVertex> vertices) {
+    linkVertices(
+      vertices.stream().filter(VehicleParkingEntranceVertex::isWalkAccessible).toList(),
+      WALK_ONLY,
+      StreetLinkerModule::createVehicleParkingLinkEdges,
+      () -> {}
+    );
+    linkVertices(
+      vertices.stream().filter(VehicleParkingEntranceVertex::isCarAccessible).toList(),
+      CAR_ONLY,
+      StreetLinkerModule::createVehicleParkingLinkEdges,
+      () -> {}
+    );
+  }
 
-    if (vehicleParkingVertex.isCarAccessible()) {
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          vehicleParkingVertex,
-          new TraverseModeSet(TraverseMode.CAR),
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              StreetVehicleParkingLink.createStreetVehicleParkingLink(
-                (VehicleParkingEntranceVertex) vertex,
-                streetVertex
-              ),
-              StreetVehicleParkingLink.createStreetVehicleParkingLink(
-                streetVertex,
-                (VehicleParkingEntranceVertex) vertex
-              )
-            )
-        );
-    }
+  private static List<Edge> createVehicleParkingLinkEdges(
+    Vertex vertex,
+    StreetVertex streetVertex
+  ) {
+    return List.of(
+      StreetVehicleParkingLink.createStreetVehicleParkingLink(
+        (VehicleParkingEntranceVertex) vertex,
+        streetVertex
+      ),
+      StreetVehicleParkingLink.createStreetVehicleParkingLink(
+        streetVertex,
+        (VehicleParkingEntranceVertex) vertex
+      )
+    );
   }
 
   private void linkTransitEntrances(Graph graph) {
     LOG.info("Linking transit entrances to graph...");
-    for (TransitEntranceVertex tEntrance : graph.getVerticesOfType(TransitEntranceVertex.class)) {
-      graph
-        .getLinker()
-        .linkVertexPermanently(
-          tEntrance,
-          new TraverseModeSet(TraverseMode.WALK),
-          LinkingDirection.BOTH_WAYS,
-          (vertex, streetVertex) ->
-            List.of(
-              StreetTransitEntranceLink.createStreetTransitEntranceLink(
-                (TransitEntranceVertex) vertex,
-                streetVertex
-              ),
-              StreetTransitEntranceLink.createStreetTransitEntranceLink(
-                streetVertex,
-                (TransitEntranceVertex) vertex
-              )
-            )
-        );
-    }
+    linkVertices(
+      graph.getVerticesOfType(TransitEntranceVertex.class),
+      WALK_ONLY,
+      (vertex, streetVertex) ->
+        List.of(
+          StreetTransitEntranceLink.createStreetTransitEntranceLink(
+            (TransitEntranceVertex) vertex,
+            streetVertex
+          ),
+          StreetTransitEntranceLink.createStreetTransitEntranceLink(
+            streetVertex,
+            (TransitEntranceVertex) vertex
+          )
+        ),
+      () -> {}
+    );
   }
 
   private void linkVehicleParks(Graph graph, DataImportIssueStore issueStore) {
@@ -264,6 +300,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
     }
     LOG.info("Linking vehicle parks to graph...");
     List<VehicleParking> vehicleParkingToRemove = new ArrayList<>();
+    List<VehicleParkingEntranceVertex> vehicleParkingToLink = new ArrayList<>();
     for (VehicleParkingEntranceVertex vehicleParkingEntranceVertex : graph.getVerticesOfType(
       VehicleParkingEntranceVertex.class
     )) {
@@ -272,7 +309,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
       }
 
       if (vehicleParkingEntranceVertex.getParkingEntrance().getVertex() == null) {
-        linkVehicleParkingWithLinker(graph, vehicleParkingEntranceVertex);
+        vehicleParkingToLink.add(vehicleParkingEntranceVertex);
         continue;
       }
 
@@ -292,6 +329,7 @@ public class StreetLinkerModule implements GraphBuilderModule {
         vehicleParkingToRemove.add(vehicleParking);
       }
     }
+    linkVehicleParkingWithLinker(vehicleParkingToLink);
     if (!vehicleParkingToRemove.isEmpty()) {
       var vehicleParkingService = graph.getVehicleParkingService();
       vehicleParkingService.updateVehicleParking(List.of(), vehicleParkingToRemove);
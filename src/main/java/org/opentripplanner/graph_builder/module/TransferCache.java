@@ -0,0 +1,537 @@
+package org.opentripplanner.graph_builder.module;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import javax.annotation.Nullable;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.geometry.HashGridSpatialIndex;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
+import org.opentripplanner.model.PathTransfer;
+import org.opentripplanner.street.model.edge.Edge;
+import org.opentripplanner.street.model.edge.StreetEdge;
+import org.opentripplanner.street.model.vertex.TransitStopVertex;
+import org.opentripplanner.street.model.vertex.Vertex;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.RegularStop;
+import org.opentripplanner.transit.model.site.StopLocation;
+import org.opentripplanner.transit.service.StopModel;
+import org.opentripplanner.transit.service.TransitModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keep the transfers generated by the {@link DirectTransferGenerator} between builds, in one file
+ * per transit feed. When only some of the feeds have changed, the transfers from a stop are read
+ * back from the cache, unless a stop served by a changed feed is within reach of it.
+ * <p>
+ * Each feed is identified by a fingerprint of its imported stops and trip patterns. The cache is
+ * only used if the street data and the build configuration are the same as when it was written.
+ * A transfer is stored as the sequence of edges from the stop, where each edge is identified by a
+ * hash of its type, end point, length and access. If the path is not found in the new graph, for
+ * example because a street is split differently, the transfers from the stop are generated again.
+ * <p>
+ * The cache is an optimization only, a missing or unreadable cache file is logged and ignored.
+ */
+public class TransferCache {
+
+  private static final Logger LOG = LoggerFactory.getLogger(TransferCache.class);
+
+  private static final int VERSION = 1;
+  private static final String FILE_SUFFIX = ".transfers.gz";
+
+  private final File directory;
+  private final String buildKey;
+
+  /** The imported feeds by feed id, set by {@link #prepare(TransitModel, double)}. */
+  private Map<String, FeedContent> feeds = Map.of();
+
+  /** The cached transfers which can be reused in this build. */
+  private final Map<FeedScopedId, List<CachedTransfer>> reusable = new HashMap<>();
+
+  /** The transfers of this build, written back to the cache. */
+  private final Map<FeedScopedId, List<CachedTransfer>> result = new ConcurrentHashMap<>();
+
+  /**
+   * @param directory The directory to keep the cache files in.
+   * @param streetDataFingerprint Identify the street data used in this build.
+   * @param buildConfigJson The build configuration, the transfers depend on many of the parameters.
+   */
+  public TransferCache(File directory, String streetDataFingerprint, String buildConfigJson) {
+    this.directory = directory;
+    this.buildKey =
+      Hashing
+        .sha256()
+        .newHasher()
+        .putInt(VERSION)
+        .putString(streetDataFingerprint, StandardCharsets.UTF_8)
+        .putString(buildConfigJson, StandardCharsets.UTF_8)
+        .putBoolean(OTPFeature.ConsiderPatternsForDirectTransfers.isOn())
+        .hash()
+        .toString();
+  }
+
+  /**
+   * Read the cache and find the stops with transfers which can be reused. A cached stop can be
+   * reused if its own feed is unchanged and no stop served by a changed feed, before or after the
+   * change, is within the given distance.
+   */
+  void prepare(TransitModel transitModel, double maxTransferDistanceMeters) {
+    feeds = FeedContent.of(transitModel);
+
+    Map<String, CachedFeed> cachedFeeds = readCachedFeeds();
+
+    var changedStops = new HashGridSpatialIndex<Coordinate>();
+    Set<String> changedFeeds = new HashSet<>();
+    for (var feed : feeds.values()) {
+      var cached = cachedFeeds.get(feed.feedId());
+      if (cached == null || !cached.fingerprint().equals(feed.fingerprint())) {
+        changedFeeds.add(feed.feedId());
+        feed.servedStops().forEach(it -> insert(changedStops, it));
+        if (cached != null) {
+          cached.servedStops().forEach(it -> insert(changedStops, it));
+        }
+      }
+    }
+    for (var cached : cachedFeeds.values()) {
+      if (!feeds.containsKey(cached.feedId())) {
+        changedFeeds.add(cached.feedId());
+        cached.servedStops().forEach(it -> insert(changedStops, it));
+      }
+    }
+
+    StopModel stopModel = transitModel.getStopModel();
+    for (var cached : cachedFeeds.values()) {
+      if (changedFeeds.contains(cached.feedId())) {
+        continue;
+      }
+      cached
+        .transfersByStop()
+        .forEach((stopId, transfers) -> {
+          var stop = stopModel.getRegularStop(stopId);
+          if (stop != null && !isNear(changedStops, stop, maxTransferDistanceMeters)) {
+            reusable.put(stopId, transfers);
+          }
+        });
+    }
+    LOG.info(
+      "Transfer cache: {} of {} feeds changed, transfers from {} stops can be reused.",
+      changedFeeds.size(),
+      feeds.size(),
+      reusable.size()
+    );
+  }
+
+  /**
+   * Return the cached transfers from the given stop, or {@code null} if they are not cached or
+   * cannot be reused. This is thread-safe.
+   */
+  @Nullable
+  List<PathTransfer> get(TransitStopVertex vertex, StopModel stopModel) {
+    RegularStop stop = vertex.getStop();
+    var cached = reusable.get(stop.getId());
+    if (cached == null) {
+      return null;
+    }
+    List<PathTransfer> transfers = new ArrayList<>(cached.size());
+    for (CachedTransfer it : cached) {
+      var transfer = it.resolve(vertex, stopModel);
+      if (transfer == null) {
+        return null;
+      }
+      transfers.add(transfer);
+    }
+    result.put(stop.getId(), cached);
+    return transfers;
+  }
+
+  /**
+   * Keep the generated transfers from the given stop, to be written to the cache. Transfers which
+   * do not start at the stop vertex are not cached. This is thread-safe.
+   */
+  void put(TransitStopVertex vertex, Collection<PathTransfer> transfers) {
+    List<CachedTransfer> cached = new ArrayList<>(transfers.size());
+    for (PathTransfer it : transfers) {
+      var transfer = CachedTransfer.of(vertex, it);
+      if (transfer == null) {
+        return;
+      }
+      cached.add(transfer);
+    }
+    result.put(vertex.getStop().getId(), cached);
+  }
+
+  /**
+   * Write the transfers of this build to the cache, and delete the cache files of feeds no longer
+   * part of the build.
+   */
+  void save() {
+    if (!directory.exists() && !directory.mkdirs()) {
+      LOG.warn("Unable to create the transfer cache directory: {}", directory);
+      return;
+    }
+    Map<String, Map<FeedScopedId, List<CachedTransfer>>> transfersByFeed = new HashMap<>();
+    result.forEach((stopId, transfers) ->
+      transfersByFeed
+        .computeIfAbsent(stopId.getFeedId(), k -> new HashMap<>())
+        .put(stopId, transfers)
+    );
+    for (var feed : feeds.values()) {
+      var transfers = transfersByFeed.getOrDefault(feed.feedId(), Map.of());
+      write(new CachedFeed(feed.feedId(), feed.fingerprint(), feed.servedStops(), transfers));
+    }
+    var files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+    if (files != null) {
+      for (File file : files) {
+        if (!feeds.containsKey(feedId(file))) {
+          LOG.info("Deleting transfer cache of removed feed: {}", file.getName());
+          if (!file.delete()) {
+            LOG.warn("Unable to delete transfer cache file: {}", file);
+          }
+        }
+      }
+    }
+  }
+
+  /* private methods */
+
+  private Map<String, CachedFeed> readCachedFeeds() {
+    Map<String, CachedFeed> cachedFeeds = new HashMap<>();
+    var files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+    if (files == null) {
+      return cachedFeeds;
+    }
+    for (File file : files) {
+      try (var in = new DataInputStream(gzipInput(file))) {
+        if (in.readInt() != VERSION || !buildKey.equals(in.readUTF())) {
+          LOG.info("The transfer cache is outdated, ignoring: {}", file.getName());
+          continue;
+        }
+        var feed = CachedFeed.read(in);
+        cachedFeeds.put(feed.feedId(), feed);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Unable to read transfer cache file {}: {}", file, e.getMessage());
+      }
+    }
+    return cachedFeeds;
+  }
+
+  private void write(CachedFeed feed) {
+    File file = new File(directory, fileName(feed.feedId()));
+    File tmp = new File(directory, file.getName() + ".tmp");
+    try {
+      try (var out = new DataOutputStream(gzipOutput(tmp))) {
+        out.writeInt(VERSION);
+        out.writeUTF(buildKey);
+        feed.write(out);
+      }
+      Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Unable to write transfer cache file {}: {}", file, e.getMessage());
+    }
+  }
+
+  private static GZIPInputStream gzipInput(File file) throws IOException {
+    return new GZIPInputStream(new BufferedInputStream(new FileInputStream(file)));
+  }
+
+  private static GZIPOutputStream gzipOutput(File file) throws IOException {
+    return new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
+  }
+
+  private static String fileName(String feedId) {
+    return URLEncoder.encode(feedId, StandardCharsets.UTF_8) + FILE_SUFFIX;
+  }
+
+  private static String feedId(File file) {
+    String name = file.getName();
+    String feedId = name.substring(0, name.length() - FILE_SUFFIX.length());
+    return URLDecoder.decode(feedId, StandardCharsets.UTF_8);
+  }
+
+  private static void insert(HashGridSpatialIndex<Coordinate> index, Coordinate c) {
+    index.insert(new Envelope(c), c);
+  }
+
+  private static boolean isNear(
+    HashGridSpatialIndex<Coordinate> index,
+    StopLocation stop,
+    double distanceMeters
+  ) {
+    var envelope = new Envelope(new Coordinate(stop.getLon(), stop.getLat()));
+    envelope.expandBy(
+      SphericalDistanceLibrary.metersToLonDegrees(distanceMeters, stop.getLat()),
+      SphericalDistanceLibrary.metersToDegrees(distanceMeters)
+    );
+    for (Coordinate c : index.query(envelope)) {
+      double distance = SphericalDistanceLibrary.distance(stop.getLat(), stop.getLon(), c.y, c.x);
+      if (distance <= distanceMeters) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Identify an edge in a transfer path. The hash only needs to be unique among the outgoing edges
+   * of a vertex.
+   */
+  static int edgeHash(Edge edge) {
+    var to = edge.getToVertex();
+    int hash = Objects.hash(
+      edge.getClass().getName(),
+      to.getLon(),
+      to.getLat(),
+      edge.getDistanceMeters()
+    );
+    if (edge instanceof StreetEdge se) {
+      hash =
+        31 *
+        hash +
+        Objects.hash(
+          se.getPermission().name(),
+          se.isWheelchairAccessible(),
+          se.isWalkNoThruTraffic(),
+          se.isBicycleNoThruTraffic(),
+          se.isMotorVehicleNoThruTraffic()
+        );
+    }
+    return hash;
+  }
+
+  /**
+   * The stops and trip patterns of a feed, as imported in this build.
+   *
+   * @param servedStops The position of the stops in the feed and the stops visited by the trip
+   *                    patterns of the feed.
+   */
+  private record FeedContent(String feedId, String fingerprint, List<Coordinate> servedStops) {
+    static Map<String, FeedContent> of(TransitModel transitModel) {
+      Map<String, List<RegularStop>> stopsByFeed = new TreeMap<>();
+      for (RegularStop stop : transitModel.getStopModel().listRegularStops()) {
+        stopsByFeed.computeIfAbsent(stop.getId().getFeedId(), k -> new ArrayList<>()).add(stop);
+      }
+      Map<String, List<TripPattern>> patternsByFeed = new TreeMap<>();
+      for (TripPattern pattern : transitModel.getAllTripPatterns()) {
+        patternsByFeed
+          .computeIfAbsent(pattern.getId().getFeedId(), k -> new ArrayList<>())
+          .add(pattern);
+      }
+      Set<String> feedIds = new HashSet<>(stopsByFeed.keySet());
+      feedIds.addAll(patternsByFeed.keySet());
+
+      Map<String, FeedContent> result = new HashMap<>();
+      for (String feedId : feedIds) {
+        var stops = stopsByFeed.getOrDefault(feedId, List.of());
+        var patterns = patternsByFeed.getOrDefault(feedId, List.of());
+        result.put(feedId, of(feedId, stops, patterns));
+      }
+      return result;
+    }
+
+    private static FeedContent of(
+      String feedId,
+      List<RegularStop> stops,
+      List<TripPattern> patterns
+    ) {
+      Hasher hasher = Hashing.sha256().newHasher();
+      Set<Coordinate> servedStops = new HashSet<>();
+
+      var sortedStops = new ArrayList<>(stops);
+      sortedStops.sort(Comparator.comparing(it -> it.getId().toString()));
+      for (RegularStop stop : sortedStops) {
+        hasher
+          .putString(stop.getId().toString(), StandardCharsets.UTF_8)
+          .putDouble(stop.getLat())
+          .putDouble(stop.getLon())
+          .putBoolean(stop.transfersNotAllowed());
+        servedStops.add(new Coordinate(stop.getLon(), stop.getLat()));
+      }
+
+      var sortedPatterns = new ArrayList<>(patterns);
+      sortedPatterns.sort(Comparator.comparing(it -> it.getId().toString()));
+      for (TripPattern pattern : sortedPatterns) {
+        hasher
+          .putString(pattern.getId().toString(), StandardCharsets.UTF_8)
+          .putString(pattern.getMode().name(), StandardCharsets.UTF_8);
+        for (StopLocation stop : pattern.getStops()) {
+          hasher.putString(stop.getId().toString(), StandardCharsets.UTF_8);
+          servedStops.add(new Coordinate(stop.getLon(), stop.getLat()));
+        }
+      }
+      return new FeedContent(feedId, hasher.hash().toString(), List.copyOf(servedStops));
+    }
+  }
+
+  private record CachedFeed(
+    String feedId,
+    String fingerprint,
+    List<Coordinate> servedStops,
+    Map<FeedScopedId, List<CachedTransfer>> transfersByStop
+  ) {
+    static CachedFeed read(DataInputStream in) throws IOException {
+      String feedId = in.readUTF();
+      String fingerprint = in.readUTF();
+
+      int nServedStops = in.readInt();
+      List<Coordinate> servedStops = new ArrayList<>(nServedStops);
+      for (int i = 0; i < nServedStops; i++) {
+        servedStops.add(new Coordinate(in.readDouble(), in.readDouble()));
+      }
+
+      int nStops = in.readInt();
+      Map<FeedScopedId, List<CachedTransfer>> transfersByStop = new HashMap<>();
+      for (int i = 0; i < nStops; i++) {
+        var stopId = new FeedScopedId(feedId, in.readUTF());
+        int nTransfers = in.readInt();
+        List<CachedTransfer> transfers = new ArrayList<>(nTransfers);
+        for (int j = 0; j < nTransfers; j++) {
+          transfers.add(CachedTransfer.read(in));
+        }
+        transfersByStop.put(stopId, transfers);
+      }
+      return new CachedFeed(feedId, fingerprint, servedStops, transfersByStop);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeUTF(feedId);
+      out.writeUTF(fingerprint);
+
+      out.writeInt(servedStops.size());
+      for (Coordinate c : servedStops) {
+        out.writeDouble(c.x);
+        out.writeDouble(c.y);
+      }
+
+      out.writeInt(transfersByStop.size());
+      for (var e : transfersByStop.entrySet()) {
+        out.writeUTF(e.getKey().getId());
+        out.writeInt(e.getValue().size());
+        for (CachedTransfer transfer : e.getValue()) {
+          transfer.write(out);
+        }
+      }
+    }
+  }
+
+  /**
+   * @param edges The hash of each edge in the path, or {@code null} if the transfer has no path,
+   *              like a straight-line transfer.
+   */
+  private record CachedTransfer(FeedScopedId to, double distanceMeters, @Nullable int[] edges) {
+    @Nullable
+    static CachedTransfer of(TransitStopVertex vertex, PathTransfer transfer) {
+      if (transfer.from != vertex.getStop()) {
+        return null;
+      }
+      var path = transfer.getEdges();
+      if (path == null) {
+        return new CachedTransfer(transfer.to.getId(), transfer.getDistanceMeters(), null);
+      }
+      int[] edges = new int[path.size()];
+      Vertex v = vertex;
+      for (int i = 0; i < edges.length; i++) {
+        Edge edge = path.get(i);
+        if (edge.getFromVertex() != v) {
+          return null;
+        }
+        edges[i] = edgeHash(edge);
+        v = edge.getToVertex();
+      }
+      return new CachedTransfer(transfer.to.getId(), transfer.getDistanceMeters(), edges);
+    }
+
+    /**
+     * Find the path of this transfer in the graph, or return {@code null} if not found.
+     */
+    @Nullable
+    PathTransfer resolve(TransitStopVertex vertex, StopModel stopModel) {
+      RegularStop toStop = stopModel.getRegularStop(to);
+      if (toStop == null) {
+        return null;
+      }
+      if (edges == null) {
+        return new PathTransfer(vertex.getStop(), toStop, distanceMeters, null);
+      }
+      List<Edge> path = new ArrayList<>(edges.length);
+      Vertex v = vertex;
+      for (int hash : edges) {
+        Edge next = null;
+        for (Edge edge : v.getOutgoing()) {
+          if (edgeHash(edge) == hash) {
+            if (next != null) {
+              // Ambiguous, let the transfer be generated again
+              return null;
+            }
+            next = edge;
+          }
+        }
+        if (next == null) {
+          return null;
+        }
+        path.add(next);
+        v = next.getToVertex();
+      }
+      if (edges.length > 0 && !(v instanceof TransitStopVertex tsv && tsv.getStop() == toStop)) {
+        return null;
+      }
+      return new PathTransfer(vertex.getStop(), toStop, distanceMeters, path);
+    }
+
+    static CachedTransfer read(DataInputStream in) throws IOException {
+      var to = new FeedScopedId(in.readUTF(), in.readUTF());
+      double distanceMeters = in.readDouble();
+      int nEdges = in.readInt();
+      if (nEdges < 0) {
+        return new CachedTransfer(to, distanceMeters, null);
+      }
+      int[] edges = new int[nEdges];
+      for (int i = 0; i < edges.length; i++) {
+        edges[i] = in.readInt();
+      }
+      return new CachedTransfer(to, distanceMeters, edges);
+    }
+
+    void write(DataOutputStream out) throws IOException {
+      out.writeUTF(to.getFeedId());
+      out.writeUTF(to.getId());
+      out.writeDouble(distanceMeters);
+      if (edges == null) {
+        out.writeInt(-1);
+        return;
+      }
+      out.writeInt(edges.length);
+      for (int edge : edges) {
+        out.writeInt(edge);
+      }
+    }
+  }
+}
@@ -25,6 +25,7 @@ import org.opentripplanner.graph_builder.issue.report.DataImportIssueReporter;
 import org.opentripplanner.graph_builder.issue.service.DefaultDataImportIssueStore;
 import org.opentripplanner.graph_builder.module.DirectTransferGenerator;
 import org.opentripplanner.graph_builder.module.StreetLinkerModule;
+import org.opentripplanner.graph_builder.module.TransferCache;
 import org.opentripplanner.graph_builder.module.islandpruning.PruneIslands;
 import org.opentripplanner.graph_builder.module.ned.DegreeGridNEDTileSource;
 import org.opentripplanner.graph_builder.module.ned.ElevationModule;
@@ -82,6 +83,7 @@ public class GraphBuilderModules {
       .withStaticParkAndRide(config.staticParkAndRide)
       .withStaticBikeParkAndRide(config.staticBikeParkAndRide)
       .withMaxAreaNodes(config.maxAreaNodes)
+      .withMemoryMappedNodeStore(config.osmMemoryMappedNodeStore)
       .withBoardingAreaRefTags(config.boardingLocationTags)
       .withIssueStore(issueStore)
       .withStreetLimitationParameters(streetLimitationParameters)
@@ -157,7 +159,13 @@ public class GraphBuilderModules {
     TransitModel transitModel,
     DataImportIssueStore issueStore
   ) {
-    return new StreetLinkerModule(graph, transitModel, issueStore, config.areaVisibility);
+    return new StreetLinkerModule(
+      graph,
+      transitModel,
+      issueStore,
+      config.areaVisibility,
+      config.multiThreadStreetLinking
+    );
   }
 
   @Provides
@@ -172,7 +180,13 @@ public class GraphBuilderModules {
       graph,
       transitModel,
       issueStore,
-      new StreetLinkerModule(graph, transitModel, issueStore, config.areaVisibility)
+      new StreetLinkerModule(
+        graph,
+        transitModel,
+        issueStore,
+        config.areaVisibility,
+        config.multiThreadStreetLinking
+      )
     );
     pruneIslands.setPruningThresholdIslandWithoutStops(
       config.islandPruning.pruningThresholdIslandWithoutStops
@@ -227,16 +241,26 @@ public class GraphBuilderModules {
   @Singleton
   static DirectTransferGenerator provideDirectTransferGenerator(
     BuildConfig config,
+    GraphBuilderDataSources dataSources,
     Graph graph,
     TransitModel transitModel,
     DataImportIssueStore issueStore
   ) {
+    TransferCache transferCache = config.incrementalTransfers
+      ? new TransferCache(
+        new File(dataSources.getCacheDirectory(), "transfers"),
+        dataSources.streetDataFingerprint(),
+        config.toJson()
+      )
+      : null;
     return new DirectTransferGenerator(
       graph,
       transitModel,
       issueStore,
       config.maxTransferDuration,
-      config.transferRequests
+      config.transferRequests,
+      transferCache,
+      config.clusteredTransfers
     );
   }
 
@@ -0,0 +1,57 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * A lock-free union-find (disjoint-set) structure over the elements {@code 0..size-1}. Sets can be
+ * merged from many threads at the same time.
+ * <p>
+ * When two sets are merged the root with the highest index is linked below the other root, so the
+ * root of a set is always its smallest element. The result does not depend on the order in which
+ * the sets are merged, which keeps the island detection deterministic.
+ */
+class ConcurrentUnionFind {
+
+  private final AtomicIntegerArray parent;
+
+  ConcurrentUnionFind(int size) {
+    this.parent = new AtomicIntegerArray(size);
+    for (int i = 0; i < size; i++) {
+      parent.set(i, i);
+    }
+  }
+
+  /**
+   * Return the smallest element in the set of the given element.
+   */
+  int find(int element) {
+    int i = element;
+    while (true) {
+      int p = parent.get(i);
+      if (p == i) {
+        return i;
+      }
+      int gp = parent.get(p);
+      if (gp != p) {
+        // Path halving, a failed update only means another thread already shortened the path
+        parent.compareAndSet(i, p, gp);
+      }
+      i = gp;
+    }
+  }
+
+  void union(int a, int b) {
+    while (true) {
+      int rootA = find(a);
+      int rootB = find(b);
+      if (rootA == rootB) {
+        return;
+      }
+      int high = Math.max(rootA, rootB);
+      int low = Math.min(rootA, rootB);
+      if (parent.compareAndSet(high, high, low)) {
+        return;
+      }
+    }
+  }
+}
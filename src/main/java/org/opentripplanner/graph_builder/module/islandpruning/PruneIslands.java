@@ -12,6 +12,7 @@ import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.issues.GraphConnectivity;
 import org.opentripplanner.graph_builder.issues.IsolatedStop;
@@ -168,6 +169,10 @@ public class PruneIslands implements GraphBuilderModule {
        3  Relax connectivity even more: generate islands by allowing jumps between islands. Find out unreachable edges of small islands.
        4. Analyze small expanded islands (from step 2). Convert edges which are reachable only via noThruTraffic edges
           to noThruTraffic state. Remove traversal mode specific access from unreachable edges. Remove unconnected edges.
+
+     The edge traversal of step 1 and 2 and the plain connected components are computed in parallel. The modes
+     are pruned one at a time, because pruning one mode changes the graph seen by the next one: pruning WALK
+     unlinks stops which are also traversed in CAR mode.
      */
 
   private void pruneIslands(TraverseMode traverseMode) {
@@ -177,22 +182,23 @@ public class PruneIslands implements GraphBuilderModule {
     Map<Vertex, ArrayList<Vertex>> neighborsForVertex = new HashMap<>();
     Map<Edge, Boolean> isolated = new HashMap<>();
     ArrayList<Subgraph> islands = new ArrayList<>();
+    List<Vertex> vertices = List.copyOf(graph.getVertices());
     int count;
 
     /* establish vertex neighbourhood without currently relevant noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, false);
+    collectNeighbourVertices(vertices, neighborsForVertex, traverseMode, false);
 
     /* associate each connected vertex with a subgraph */
-    count = collectSubGraphs(neighborsForVertex, subgraphs, null, null);
+    count = collectConnectedSubGraphs(vertices, neighborsForVertex, subgraphs, null);
     LOG.info("Islands when {} noThruTraffic is considered: {}", traverseMode, count);
 
     /* Expand vertex neighbourhood with relevant noThruTrafficEdges
        Note that we can reuse the original neighbour map here
        and simply process a smaller set of noThruTrafficEdges */
-    collectNeighbourVertices(neighborsForVertex, traverseMode, true);
+    collectNeighbourVertices(vertices, neighborsForVertex, traverseMode, true);
 
     /* Next: generate subgraphs without considering access limitations */
-    count = collectSubGraphs(neighborsForVertex, extgraphs, null, islands);
+    count = collectConnectedSubGraphs(vertices, neighborsForVertex, extgraphs, islands);
     LOG.info("Islands when {} noThruTraffic is ignored: {}", traverseMode, count);
 
     /* collect unreachable edges to a map */
@@ -314,7 +320,13 @@ public class PruneIslands implements GraphBuilderModule {
     return count;
   }
 
+  /**
+   * Add the vertices reachable from each street vertex to the neighbour map. Traversing the edges is
+   * the expensive part and is done in parallel. The map is then filled in the vertex order, so the
+   * neighbour lists are exactly the same as if the vertices were traversed one at a time.
+   */
   private void collectNeighbourVertices(
+    List<Vertex> vertices,
     Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
     TraverseMode traverseMode,
     boolean shouldMatchNoThruType
@@ -329,35 +341,118 @@ public class PruneIslands implements GraphBuilderModule {
 
     StreetSearchRequest request = StreetSearchRequest.of().withMode(streetMode).build();
 
-    for (Vertex gv : graph.getVertices()) {
-      if (!(gv instanceof StreetVertex)) {
+    List<Vertex> streetVertices = vertices
+      .stream()
+      .filter(StreetVertex.class::isInstance)
+      .toList();
+
+    List<List<Vertex>> reachable = streetVertices
+      .parallelStream()
+      .map(gv -> reachableVertices(gv, request, traverseMode, shouldMatchNoThruType))
+      .toList();
+
+    for (int i = 0; i < streetVertices.size(); i++) {
+      Vertex gv = streetVertices.get(i);
+      for (Vertex out : reachable.get(i)) {
+        var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
+        vertexList.add(out);
+
+        // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
+        vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
+        vertexList.add(gv);
+      }
+    }
+  }
+
+  private static List<Vertex> reachableVertices(
+    Vertex gv,
+    StreetSearchRequest request,
+    TraverseMode traverseMode,
+    boolean shouldMatchNoThruType
+  ) {
+    List<Vertex> result = new ArrayList<>();
+    State s0 = new State(gv, request);
+    for (Edge e : gv.getOutgoing()) {
+      if (
+        e instanceof StreetEdge &&
+        shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
+      ) {
         continue;
       }
-      State s0 = new State(gv, request);
-      for (Edge e : gv.getOutgoing()) {
-        if (
-          e instanceof StreetEdge &&
-          shouldMatchNoThruType != ((StreetEdge) e).isNoThruTraffic(traverseMode)
-        ) {
-          continue;
+      State[] states = e.traverse(s0);
+      if (State.isEmpty(states)) {
+        continue;
+      }
+      Arrays.stream(states).map(State::getVertex).forEach(result::add);
+    }
+    return result;
+  }
+
+  /**
+   * Associate each connected street vertex with a subgraph, without any anchors. This gives the
+   * same subgraphs as {@link #collectSubGraphs} with an empty map of new subgraphs, but the
+   * components are found with a parallel union-find instead of a breadth-first search from each
+   * vertex. The subgraphs are created in the order of their first street vertex, like the
+   * breadth-first search does.
+   */
+  private static int collectConnectedSubGraphs(
+    List<Vertex> vertices,
+    Map<Vertex, ArrayList<Vertex>> neighborsForVertex,
+    Map<Vertex, Subgraph> newgraphs, // put new subgraphs here
+    ArrayList<Subgraph> islands
+  ) { // final list of islands or null
+    // Index the connected vertices in the graph order
+    List<Vertex> connected = new ArrayList<>(neighborsForVertex.size());
+    Map<Vertex, Integer> indexForVertex = new HashMap<>();
+    for (Vertex v : vertices) {
+      if (neighborsForVertex.containsKey(v)) {
+        indexForVertex.put(v, connected.size());
+        connected.add(v);
+      }
+    }
+    for (Vertex v : neighborsForVertex.keySet()) {
+      if (!indexForVertex.containsKey(v)) {
+        indexForVertex.put(v, connected.size());
+        connected.add(v);
+      }
+    }
+
+    var unionFind = new ConcurrentUnionFind(connected.size());
+    IntStream
+      .range(0, connected.size())
+      .parallel()
+      .forEach(i -> {
+        for (Vertex neighbor : neighborsForVertex.get(connected.get(i))) {
+          unionFind.union(i, indexForVertex.get(neighbor));
         }
-        State[] states = e.traverse(s0);
-        if (State.isEmpty(states)) {
-          continue;
+      });
+
+    Map<Integer, Subgraph> subgraphForRoot = new HashMap<>();
+    int count = 0;
+    for (int i = 0; i < connected.size(); i++) {
+      if (connected.get(i) instanceof StreetVertex) {
+        int root = unionFind.find(i);
+        if (!subgraphForRoot.containsKey(root)) {
+          Subgraph subgraph = new Subgraph();
+          subgraphForRoot.put(root, subgraph);
+          if (islands != null) {
+            islands.add(subgraph);
+          }
+          count++;
         }
-        Arrays
-          .stream(states)
-          .map(State::getVertex)
-          .forEach(out -> {
-            var vertexList = neighborsForVertex.computeIfAbsent(gv, k -> new ArrayList<>());
-            vertexList.add(out);
-
-            // note: this assumes that edges are bi-directional. Maybe explicit state traversal is needed for CAR mode.
-            vertexList = neighborsForVertex.computeIfAbsent(out, k -> new ArrayList<>());
-            vertexList.add(gv);
-          });
       }
     }
+    for (int i = 0; i < connected.size(); i++) {
+      Subgraph subgraph = subgraphForRoot.get(unionFind.find(i));
+      if (subgraph != null) {
+        Vertex v = connected.get(i);
+        subgraph.addVertex(v);
+        if (v instanceof StreetVertex) {
+          newgraphs.put(v, subgraph);
+        }
+      }
+    }
+    return count;
   }
 
   private int collectSubGraphs(
@@ -12,8 +12,9 @@ import java.io.ObjectOutputStream;
 import java.nio.file.Files;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -100,6 +101,11 @@ public class ElevationModule implements GraphBuilderModule {
   private Coordinate examplarCoordinate;
   /** Used only when the ElevationModule is requested to be ran with a single thread */
   private Coverage singleThreadedCoverageInterpolator;
+  /**
+   * The raster sampled directly, or {@code null} if all points are sampled through the GeoTools
+   * coverage.
+   */
+  private ElevationRaster raster;
   private double minElevation = Double.MAX_VALUE;
   private double maxElevation = Double.MIN_VALUE;
 
@@ -175,7 +181,12 @@ public class ElevationModule implements GraphBuilderModule {
     }
     LOG.info("Setting street elevation profiles from digital elevation model...");
 
-    List<StreetEdge> streetsWithElevationEdges = new LinkedList<>();
+    raster = gridCoverageFactory.getRasterCoverage().flatMap(ElevationRaster::of).orElse(null);
+    if (raster != null) {
+      LOG.info("Sampling the elevation raster tile by tile.");
+    }
+
+    List<StreetEdge> streetsWithElevationEdges = new ArrayList<>();
 
     for (Vertex gv : graph.getVertices()) {
       for (Edge ee : gv.getOutgoing()) {
@@ -194,19 +205,37 @@ public class ElevationModule implements GraphBuilderModule {
       }
     }
 
-    // Keeps track of the total amount of elevation edges for logging purposes
-    int totalElevationEdges = streetsWithElevationEdges.size();
+    // Process the edges tile by tile, so each tile is decoded about once for each thread. The
+    // parallel stream splits the list in contiguous chunks, which keeps this locality. The edges
+    // are sorted in a copy, the original order is kept for the steps after the sampling.
+    List<StreetEdge> edgesInProcessingOrder = streetsWithElevationEdges;
+    if (raster != null) {
+      edgesInProcessingOrder = new ArrayList<>(streetsWithElevationEdges);
+      edgesInProcessingOrder.sort(
+        Comparator.comparingLong(e -> {
+          Coordinate c = e.getGeometry().getCoordinateN(0);
+          return raster.tileIndex(c.x, c.y);
+        })
+      );
+    }
 
-    var progress = ProgressTracker.track("Set elevation", 25_000, totalElevationEdges);
+    // The progress is tracked in sampled points, the expected number is estimated from the
+    // length of the edges
+    long expectedPoints = 0;
+    for (StreetEdge ee : streetsWithElevationEdges) {
+      expectedPoints += 2 + (long) (ee.getDistanceMeters() / distanceBetweenSamplesM);
+    }
+
+    var progress = ProgressTracker.track("Sample elevation points", 250_000, expectedPoints);
 
     if (multiThreadElevationCalculations) {
       // Multi-threaded execution
-      streetsWithElevationEdges
+      edgesInProcessingOrder
         .parallelStream()
         .forEach(ee -> processEdgeWithProgress(ee, progress));
     } else {
       // If using just a single thread, process each edge inline
-      for (StreetEdge ee : streetsWithElevationEdges) {
+      for (StreetEdge ee : edgesInProcessingOrder) {
         processEdgeWithProgress(ee, progress);
       }
     }
@@ -235,7 +264,7 @@ public class ElevationModule implements GraphBuilderModule {
     LOG.info(progress.completeMessage());
 
     // Iterate again to find edges that had elevation calculated.
-    LinkedList<StreetEdge> edgesWithCalculatedElevations = new LinkedList<>();
+    List<StreetEdge> edgesWithCalculatedElevations = new ArrayList<>();
     for (StreetEdge edgeWithElevation : streetsWithElevationEdges) {
       if (edgeWithElevation.hasElevationExtension() && !edgeWithElevation.isElevationFlattened()) {
         edgesWithCalculatedElevations.add(edgeWithElevation);
@@ -360,10 +389,10 @@ public class ElevationModule implements GraphBuilderModule {
    * current progress.
    */
   private void processEdgeWithProgress(StreetEdge ee, ProgressTracker progress) {
-    processEdge(ee);
+    int nPoints = processEdge(ee);
     // Keep lambda to get correct line number in log
     //noinspection Convert2MethodRef
-    progress.step(m -> LOG.info(m));
+    progress.steps(nPoints, m -> LOG.info(m));
   }
 
   /**
@@ -371,13 +400,14 @@ public class ElevationModule implements GraphBuilderModule {
    * profile.
    *
    * @param ee the street edge
+   * @return the number of points in the elevation profile set on the edge
    */
-  private void processEdge(StreetEdge ee) {
+  private int processEdge(StreetEdge ee) {
     // First, check if the edge already has been calculated or if it exists in a pre-calculated cache. Checking
     // with this method avoids potentially waiting for a lock to be released for calculating the thread-specific
     // coverage.
     if (ee.hasElevationExtension()) {
-      return;/* already set up */
+      return 0;/* already set up */
     }
 
     // first try to find a cached value if possible
@@ -389,24 +419,20 @@ public class ElevationModule implements GraphBuilderModule {
       if (coordinateSequence != null) {
         // found a cached value! Set the elevation profile with the pre-calculated data.
         setEdgeElevationProfile(ee, coordinateSequence);
-        return;
+        return coordinateSequence.size();
       }
     }
 
-    // Needs full calculation. Calculate with a thread-specific coverage instance to avoid waiting for any locks on
-    // coverage instances in other threads.
-    Coverage coverage = getThreadSpecificCoverageInterpolator();
-
     // did not find a cached value, calculate
     // If any of the coordinates throw an error when trying to lookup their value, immediately bail and do not
     // process the elevation on the edge
     try {
       Coordinate[] coords = edgeGeometry.getCoordinates();
 
-      List<Coordinate> coordList = new LinkedList<>();
+      List<Coordinate> coordList = new ArrayList<>();
 
       // initial sample (x = 0)
-      coordList.add(new Coordinate(0, getElevation(coverage, coords[0])));
+      coordList.add(new Coordinate(0, getElevation(coords[0])));
 
       // iterate through coordinates calculating the edge length and creating intermediate elevation coordinates at
       // the regularly specified interval
@@ -430,7 +456,6 @@ public class ElevationModule implements GraphBuilderModule {
             new Coordinate(
               sampleDistance,
               getElevation(
-                coverage,
                 new Coordinate(x1 + (pctAlongSeg * (x2 - x1)), y1 + (pctAlongSeg * (y2 - y1)))
               )
             )
@@ -448,7 +473,7 @@ public class ElevationModule implements GraphBuilderModule {
       }
 
       // final sample (x = edge length)
-      coordList.add(new Coordinate(edgeLenM, getElevation(coverage, coords[coords.length - 1])));
+      coordList.add(new Coordinate(edgeLenM, getElevation(coords[coords.length - 1])));
 
       // construct the PCS
       Coordinate[] coordArr = new Coordinate[coordList.size()];
@@ -457,8 +482,10 @@ public class ElevationModule implements GraphBuilderModule {
       );
 
       setEdgeElevationProfile(ee, elevPCS);
+      return coordArr.length;
     } catch (ElevationLookupException e) {
       issueStore.add(new ElevationProfileFailure(ee, e.getMessage()));
+      return 0;
     }
   }
 
@@ -487,8 +514,8 @@ public class ElevationModule implements GraphBuilderModule {
           // can cause deadlocks if not fully initialized. Therefore, make a single request for the first
           // point on the edge to initialize these other items.
           try {
-            getElevation(coverage, examplarCoordinate);
-          } catch (ElevationLookupException e) {
+            evaluateCoverage(coverage, examplarCoordinate.x, examplarCoordinate.y);
+          } catch (ArrayIndexOutOfBoundsException | PointOutsideCoverageException e) {
             LOG.warn(
               "Error processing elevation for coordinate: {} due to error: {}",
               examplarCoordinate,
@@ -526,14 +553,12 @@ public class ElevationModule implements GraphBuilderModule {
   /**
    * Method for retrieving the elevation at a given Coordinate.
    *
-   * @param coverage the specific Coverage instance to use in order to avoid competition between
-   *                 threads
-   * @param c        the coordinate (NAD83)
+   * @param c the coordinate (NAD83)
    * @return elevation in meters
    */
-  private double getElevation(Coverage coverage, Coordinate c) throws ElevationLookupException {
+  private double getElevation(Coordinate c) throws ElevationLookupException {
     try {
-      return getElevation(coverage, c.x, c.y);
+      return getElevation(c.x, c.y);
     } catch (
       ArrayIndexOutOfBoundsException | PointOutsideCoverageException | TransformException e
     ) {
@@ -547,16 +572,44 @@ public class ElevationModule implements GraphBuilderModule {
   }
 
   /**
-   * Method for retrieving the elevation at a given (x, y) pair.
+   * Method for retrieving the elevation at a given (x, y) pair. The raster is sampled directly if
+   * possible, if not the thread-specific coverage instance is used.
+   *
+   * @param x the query longitude (NAD83)
+   * @param y the query latitude (NAD83)
+   * @return elevation in meters
+   */
+  private double getElevation(double x, double y)
+    throws PointOutsideCoverageException, TransformException {
+    double value = raster != null ? raster.sample(x, y) : Double.NaN;
+    if (Double.isNaN(value)) {
+      // Calculate with a thread-specific coverage instance to avoid waiting for any locks on
+      // coverage instances in other threads.
+      value = evaluateCoverage(getThreadSpecificCoverageInterpolator(), x, y);
+    }
+
+    var elevation =
+      (value * gridCoverageFactory.elevationUnitMultiplier()) -
+      (includeEllipsoidToGeoidDifference ? getApproximateEllipsoidToGeoidDifference(y, x) : 0);
+
+    minElevation = Math.min(minElevation, elevation);
+    maxElevation = Math.max(maxElevation, elevation);
+
+    nPointsEvaluated.incrementAndGet();
+
+    return elevation;
+  }
+
+  /**
+   * Evaluate the raw value of the coverage at a given (x, y) pair.
    *
    * @param coverage the specific Coverage instance to use in order to avoid competition between
    *                 threads
    * @param x        the query longitude (NAD83)
    * @param y        the query latitude (NAD83)
-   * @return elevation in meters
    */
-  private double getElevation(Coverage coverage, double x, double y)
-    throws PointOutsideCoverageException, TransformException {
+  private double evaluateCoverage(Coverage coverage, double x, double y)
+    throws PointOutsideCoverageException {
     double[] values = new double[1];
     try {
       // We specify a CRS here because otherwise the coordinates are assumed to be in the coverage's native CRS.
@@ -569,17 +622,7 @@ public class ElevationModule implements GraphBuilderModule {
       nPointsOutsideDEM.incrementAndGet();
       throw e;
     }
-
-    var elevation =
-      (values[0] * gridCoverageFactory.elevationUnitMultiplier()) -
-      (includeEllipsoidToGeoidDifference ? getApproximateEllipsoidToGeoidDifference(y, x) : 0);
-
-    minElevation = Math.min(minElevation, elevation);
-    maxElevation = Math.max(maxElevation, elevation);
-
-    nPointsEvaluated.incrementAndGet();
-
-    return elevation;
+    return values[0];
   }
 
   /**
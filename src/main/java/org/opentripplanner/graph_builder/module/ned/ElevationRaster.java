@@ -0,0 +1,182 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import java.awt.geom.AffineTransform;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import org.geotools.api.metadata.spatial.PixelOrientation;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.coverage.util.CoverageUtilities;
+import org.geotools.referencing.CRS;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+
+/**
+ * Samples the raster of a {@link GridCoverage2D} directly, without going through the GeoTools
+ * coverage API. The raster image is decoded one tile at the time into a primitive array, and the
+ * decoded tiles are kept in a small least-recently-used cache for each thread. If the points are
+ * sampled in tile order, see {@link #tileIndex(double, double)}, each tile is decoded about once
+ * for each thread.
+ * <p>
+ * Only rasters in the WGS84 (longitude, latitude) coordinate system are supported. The sampling is
+ * bilinear between the centers of the four nearest pixels, like the GeoTools {@code Interpolator2D}
+ * with {@code InterpolationBilinear}. If one of the four pixels is outside the raster or has the
+ * NO_DATA value, {@link #sample(double, double)} returns {@code NaN}, and the caller should fall
+ * back to the GeoTools coverage for that point.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+class ElevationRaster {
+
+  private static final int MAX_CACHED_TILES_PER_THREAD = 64;
+
+  private final RenderedImage image;
+
+  /** The transform from (longitude, latitude) to pixel coordinates, pixel centers are integers. */
+  private final double m00, m01, m02, m10, m11, m12;
+
+  /** The pixel bounds of the image, inclusive. */
+  private final int minX, minY, maxX, maxY;
+
+  private final int tileWidth, tileHeight, tileGridXOffset, tileGridYOffset, numXTiles;
+  private final double noData;
+  private final ThreadLocal<TileCache> tileCache = ThreadLocal.withInitial(TileCache::new);
+
+  private ElevationRaster(RenderedImage image, AffineTransform toPixel, double noData) {
+    this.image = image;
+    this.m00 = toPixel.getScaleX();
+    this.m01 = toPixel.getShearX();
+    this.m02 = toPixel.getTranslateX();
+    this.m10 = toPixel.getShearY();
+    this.m11 = toPixel.getScaleY();
+    this.m12 = toPixel.getTranslateY();
+    this.minX = image.getMinX();
+    this.minY = image.getMinY();
+    this.maxX = minX + image.getWidth() - 1;
+    this.maxY = minY + image.getHeight() - 1;
+    this.tileWidth = image.getTileWidth();
+    this.tileHeight = image.getTileHeight();
+    this.tileGridXOffset = image.getTileGridXOffset();
+    this.tileGridYOffset = image.getTileGridYOffset();
+    this.numXTiles = image.getNumXTiles();
+    this.noData = noData;
+  }
+
+  /**
+   * Create a raster sampler for the given coverage, or return empty if the coverage is not in the
+   * WGS84 (longitude, latitude) coordinate system or the grid is not affine.
+   */
+  static Optional<ElevationRaster> of(GridCoverage2D coverage) {
+    try {
+      var crs = coverage.getCoordinateReferenceSystem2D();
+      if (!CRS.findMathTransform(GeometryUtils.WGS84_XY, crs, true).isIdentity()) {
+        return Optional.empty();
+      }
+    } catch (FactoryException e) {
+      return Optional.empty();
+    }
+    var toPixel = coverage.getGridGeometry().getCRSToGrid2D(PixelOrientation.CENTER);
+    if (!(toPixel instanceof AffineTransform affine)) {
+      return Optional.empty();
+    }
+    var noDataProperty = CoverageUtilities.getNoDataProperty(coverage);
+    double noData = noDataProperty == null ? Double.NaN : noDataProperty.getAsSingleValue();
+    return Optional.of(new ElevationRaster(coverage.getRenderedImage(), affine, noData));
+  }
+
+  /**
+   * The index of the tile containing the given point, or {@code -1} if the point is outside the
+   * raster. Use this to sort the points, so points in the same tile are sampled together.
+   */
+  long tileIndex(double x, double y) {
+    int px = (int) Math.floor(m00 * x + m01 * y + m02);
+    int py = (int) Math.floor(m10 * x + m11 * y + m12);
+    if (px < minX || px > maxX || py < minY || py > maxY) {
+      return -1;
+    }
+    long tx = Math.floorDiv(px - tileGridXOffset, tileWidth);
+    long ty = Math.floorDiv(py - tileGridYOffset, tileHeight);
+    return ty * numXTiles + tx;
+  }
+
+  /**
+   * Return the raw raster value at the given (longitude, latitude), interpolated bilinearly, or
+   * {@code NaN} if the point can not be sampled from the raster.
+   */
+  double sample(double x, double y) {
+    double gx = m00 * x + m01 * y + m02;
+    double gy = m10 * x + m11 * y + m12;
+    int ix = (int) Math.floor(gx);
+    int iy = (int) Math.floor(gy);
+
+    if (ix < minX || ix + 1 > maxX || iy < minY || iy + 1 > maxY) {
+      return Double.NaN;
+    }
+
+    var cache = tileCache.get();
+    double s00 = pixel(cache, ix, iy);
+    double s01 = pixel(cache, ix + 1, iy);
+    double s10 = pixel(cache, ix, iy + 1);
+    double s11 = pixel(cache, ix + 1, iy + 1);
+
+    if (s00 == noData || s01 == noData || s10 == noData || s11 == noData) {
+      return Double.NaN;
+    }
+
+    // Same as the JAI InterpolationBilinear, which uses float fractions
+    float xfrac = (float) (gx - ix);
+    float yfrac = (float) (gy - iy);
+    double s0 = s00 + (s01 - s00) * xfrac;
+    double s1 = s10 + (s11 - s10) * xfrac;
+    return s0 + (s1 - s0) * yfrac;
+  }
+
+  private float pixel(TileCache cache, int px, int py) {
+    int tx = Math.floorDiv(px - tileGridXOffset, tileWidth);
+    int ty = Math.floorDiv(py - tileGridYOffset, tileHeight);
+    Tile tile = cache.get((long) ty * numXTiles + tx, tx, ty);
+    return tile.data[(py - tile.minY) * tile.width + (px - tile.minX)];
+  }
+
+  private Tile decodeTile(int tx, int ty) {
+    Raster raster = image.getTile(tx, ty);
+    int x = raster.getMinX();
+    int y = raster.getMinY();
+    int width = raster.getWidth();
+    int height = raster.getHeight();
+    return new Tile(x, y, width, raster.getSamples(x, y, width, height, 0, (float[]) null));
+  }
+
+  private record Tile(int minX, int minY, int width, float[] data) {}
+
+  /**
+   * A least-recently-used cache of decoded tiles, used by one thread only.
+   */
+  private class TileCache {
+
+    private final Map<Long, Tile> tiles = new LinkedHashMap<>(16, 0.75f, true) {
+      @Override
+      protected boolean removeEldestEntry(Map.Entry<Long, Tile> eldest) {
+        return size() > MAX_CACHED_TILES_PER_THREAD;
+      }
+    };
+    private long lastIndex = -1;
+    private Tile lastTile;
+
+    Tile get(long index, int tx, int ty) {
+      if (index == lastIndex) {
+        return lastTile;
+      }
+      Tile tile = tiles.get(index);
+      if (tile == null) {
+        tile = decodeTile(tx, ty);
+        tiles.put(index, tile);
+      }
+      lastIndex = index;
+      lastTile = tile;
+      return tile;
+    }
+  }
+}
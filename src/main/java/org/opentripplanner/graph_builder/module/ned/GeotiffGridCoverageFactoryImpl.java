@@ -2,6 +2,7 @@ package org.opentripplanner.graph_builder.module.ned;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.Optional;
 import javax.media.jai.InterpolationBilinear;
 import org.geotools.api.coverage.grid.GridCoverage;
 import org.geotools.coverage.grid.GridCoverage2D;
@@ -48,6 +49,11 @@ public class GeotiffGridCoverageFactoryImpl implements ElevationGridCoverageFact
     );
   }
 
+  @Override
+  public Optional<GridCoverage2D> getRasterCoverage() {
+    return Optional.of(getUninterpolatedGridCoverage());
+  }
+
   @Override
   public double elevationUnitMultiplier() {
     return elevationUnitMultiplier;
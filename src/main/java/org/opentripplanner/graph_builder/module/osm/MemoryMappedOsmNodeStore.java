@@ -0,0 +1,313 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import gnu.trove.map.TLongLongMap;
+import gnu.trove.map.TLongObjectMap;
+import gnu.trove.map.hash.TLongLongHashMap;
+import gnu.trove.map.hash.TLongObjectHashMap;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.opentripplanner.openstreetmap.OsmProvider;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Store the coordinates, tags and provider of each node in a memory-mapped temporary file. Only
+ * the node ids and the file offsets are kept on the heap, in two parallel arrays sorted by id, and
+ * a node is looked up with a binary search. This reduces the heap needed for a node from a few
+ * hundred bytes to 16 bytes, and lets the operating system page the node data in and out.
+ * <p>
+ * The nodes in an OSM PBF file are sorted by id, so they are appended at the end of the arrays.
+ * Nodes added out of order (virtual nodes, unsorted input or a second OSM file) are kept in a
+ * small hash map which is merged into the sorted arrays when it grows too large.
+ * <p>
+ * Nodes are deserialized on every lookup. To keep the identity of the nodes - they are used as
+ * keys in identity based collections during the build - the nodes in use are kept in a
+ * weak-value cache, so the same instance is returned as long as it is referenced.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE
+ */
+class MemoryMappedOsmNodeStore implements OsmNodeStore {
+
+  private static final Logger LOG = LoggerFactory.getLogger(MemoryMappedOsmNodeStore.class);
+
+  private static final int CHUNK_SIZE = 1 << 28;
+  private static final int MAX_UNSORTED = 1 << 20;
+  private static final int NO_PROVIDER = -1;
+
+  private final FileChannel channel;
+  private final List<MappedByteBuffer> chunks = new ArrayList<>();
+  private long writeOffset = 0;
+
+  private long[] ids = new long[1024];
+  private long[] offsets = new long[1024];
+  private int sortedSize = 0;
+  private final TLongLongMap unsorted = new TLongLongHashMap();
+
+  private final List<OsmProvider> providers = new ArrayList<>();
+
+  private final TLongObjectMap<NodeReference> cache = new TLongObjectHashMap<>();
+  private final ReferenceQueue<OSMNode> collected = new ReferenceQueue<>();
+
+  private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+
+  MemoryMappedOsmNodeStore() {
+    try {
+      var file = Files.createTempFile("otp-osm-nodes-", ".bin");
+      this.channel =
+        FileChannel.open(
+          file,
+          StandardOpenOption.READ,
+          StandardOpenOption.WRITE,
+          StandardOpenOption.DELETE_ON_CLOSE
+        );
+      file.toFile().deleteOnExit();
+      LOG.info("Storing OSM nodes in memory-mapped file: {}", file);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  @Override
+  public void put(OSMNode node) {
+    long id = node.getId();
+    long offset = write(node);
+
+    int index = sortedIndex(id);
+    if (index >= 0) {
+      offsets[index] = offset;
+    } else if (!unsorted.containsKey(id) && (sortedSize == 0 || id > ids[sortedSize - 1])) {
+      append(id, offset);
+    } else {
+      unsorted.put(id, offset);
+      if (unsorted.size() >= MAX_UNSORTED) {
+        mergeUnsorted();
+      }
+    }
+    expungeCollected();
+    cache.put(id, new NodeReference(node, collected));
+  }
+
+  @Override
+  public OSMNode get(long id) {
+    expungeCollected();
+    var ref = cache.get(id);
+    if (ref != null) {
+      var node = ref.get();
+      if (node != null) {
+        return node;
+      }
+    }
+    long offset = offset(id);
+    if (offset < 0) {
+      return null;
+    }
+    var node = read(id, offset);
+    cache.put(id, new NodeReference(node, collected));
+    return node;
+  }
+
+  @Override
+  public boolean containsKey(long id) {
+    return offset(id) >= 0;
+  }
+
+  @Override
+  public int size() {
+    return sortedSize + unsorted.size();
+  }
+
+  @Override
+  public void close() {
+    chunks.clear();
+    cache.clear();
+    try {
+      channel.close();
+    } catch (IOException e) {
+      LOG.warn("Unable to close OSM node file: {}", e.getMessage());
+    }
+  }
+
+  private long offset(long id) {
+    if (unsorted.containsKey(id)) {
+      return unsorted.get(id);
+    }
+    int index = sortedIndex(id);
+    return index < 0 ? -1 : offsets[index];
+  }
+
+  private int sortedIndex(long id) {
+    return Arrays.binarySearch(ids, 0, sortedSize, id);
+  }
+
+  private void append(long id, long offset) {
+    if (sortedSize == ids.length) {
+      ids = Arrays.copyOf(ids, sortedSize * 2);
+      offsets = Arrays.copyOf(offsets, sortedSize * 2);
+    }
+    ids[sortedSize] = id;
+    offsets[sortedSize] = offset;
+    sortedSize++;
+  }
+
+  /**
+   * Merge the out-of-order nodes into the sorted arrays.
+   */
+  private void mergeUnsorted() {
+    long[] newIds = unsorted.keys();
+    Arrays.sort(newIds);
+
+    int size = sortedSize + newIds.length;
+    long[] mergedIds = new long[Math.max(size, ids.length)];
+    long[] mergedOffsets = new long[mergedIds.length];
+
+    int i = 0, j = 0, k = 0;
+    while (i < sortedSize || j < newIds.length) {
+      if (j == newIds.length || (i < sortedSize && ids[i] < newIds[j])) {
+        mergedIds[k] = ids[i];
+        mergedOffsets[k++] = offsets[i++];
+      } else {
+        mergedIds[k] = newIds[j];
+        mergedOffsets[k++] = unsorted.get(newIds[j++]);
+      }
+    }
+    ids = mergedIds;
+    offsets = mergedOffsets;
+    sortedSize = size;
+    unsorted.clear();
+  }
+
+  private long write(OSMNode node) {
+    byte[] record = encode(node);
+    int length = Integer.BYTES + record.length;
+    if (length > CHUNK_SIZE) {
+      throw new IllegalArgumentException("The OSM node is too large to be stored: " + node);
+    }
+    // Records never span two chunks
+    if (chunkPosition(writeOffset) + length > CHUNK_SIZE) {
+      writeOffset = (long) (chunkIndex(writeOffset) + 1) * CHUNK_SIZE;
+    }
+    var chunk = chunk(chunkIndex(writeOffset));
+    int pos = chunkPosition(writeOffset);
+    chunk.putInt(pos, record.length);
+    chunk.put(pos + Integer.BYTES, record);
+
+    long offset = writeOffset;
+    writeOffset += length;
+    return offset;
+  }
+
+  private OSMNode read(long id, long offset) {
+    var chunk = chunks.get(chunkIndex(offset));
+    int pos = chunkPosition(offset);
+    byte[] record = new byte[chunk.getInt(pos)];
+    chunk.get(pos + Integer.BYTES, record);
+    return decode(id, record);
+  }
+
+  private byte[] encode(OSMNode node) {
+    buffer.reset();
+    try (var out = new DataOutputStream(buffer)) {
+      out.writeDouble(node.lat);
+      out.writeDouble(node.lon);
+      out.writeInt(providerIndex(node.getOsmProvider()));
+      var tags = node.getTags();
+      out.writeInt(tags.size());
+      for (Map.Entry<String, String> tag : tags.entrySet()) {
+        out.writeUTF(tag.getKey());
+        out.writeUTF(tag.getValue());
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return buffer.toByteArray();
+  }
+
+  private OSMNode decode(long id, byte[] record) {
+    try (var in = new DataInputStream(new ByteArrayInputStream(record))) {
+      var node = new OSMNode();
+      node.setId(id);
+      node.lat = in.readDouble();
+      node.lon = in.readDouble();
+      int providerIndex = in.readInt();
+      if (providerIndex != NO_PROVIDER) {
+        node.setOsmProvider(providers.get(providerIndex));
+      }
+      int nTags = in.readInt();
+      for (int i = 0; i < nTags; i++) {
+        node.addTag(in.readUTF(), in.readUTF());
+      }
+      return node;
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private int providerIndex(OsmProvider provider) {
+    if (provider == null) {
+      return NO_PROVIDER;
+    }
+    int index = providers.indexOf(provider);
+    if (index < 0) {
+      providers.add(provider);
+      index = providers.size() - 1;
+    }
+    return index;
+  }
+
+  private MappedByteBuffer chunk(int index) {
+    try {
+      while (chunks.size() <= index) {
+        long start = (long) chunks.size() * CHUNK_SIZE;
+        chunks.add(channel.map(FileChannel.MapMode.READ_WRITE, start, CHUNK_SIZE));
+      }
+      return chunks.get(index);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static int chunkIndex(long offset) {
+    return (int) (offset / CHUNK_SIZE);
+  }
+
+  private static int chunkPosition(long offset) {
+    return (int) (offset % CHUNK_SIZE);
+  }
+
+  /**
+   * Remove the cache entries of nodes no longer in use.
+   */
+  private void expungeCollected() {
+    NodeReference ref;
+    while ((ref = (NodeReference) collected.poll()) != null) {
+      if (cache.get(ref.id) == ref) {
+        cache.remove(ref.id);
+      }
+    }
+  }
+
+  private static class NodeReference extends WeakReference<OSMNode> {
+
+    private final long id;
+
+    private NodeReference(OSMNode node, ReferenceQueue<OSMNode> queue) {
+      super(node, queue);
+      this.id = node.getId();
+    }
+  }
+}
@@ -60,7 +60,7 @@ public class OsmDatabase {
   private final DataImportIssueStore issueStore;
 
   /* Map of all nodes used in ways/areas keyed by their OSM ID */
-  private final TLongObjectMap<OSMNode> nodesById = new TLongObjectHashMap<>();
+  private final OsmNodeStore nodesById;
 
   /* Map of all bike parking nodes, keyed by their OSM ID */
   private final TLongObjectMap<OSMNode> bikeParkingNodes = new TLongObjectHashMap<>();
@@ -131,7 +131,12 @@ public class OsmDatabase {
   public boolean noZeroLevels = true;
 
   public OsmDatabase(DataImportIssueStore issueStore) {
+    this(issueStore, OsmNodeStore.of(false));
+  }
+
+  public OsmDatabase(DataImportIssueStore issueStore, OsmNodeStore nodeStore) {
     this.issueStore = issueStore;
+    this.nodesById = Objects.requireNonNull(nodeStore);
   }
 
   public OSMNode getNode(Long nodeId) {
@@ -154,6 +159,14 @@ public class OsmDatabase {
     return nodesById.size();
   }
 
+  /**
+   * Release the node store. The nodes already fetched from the database can still be used, but
+   * no nodes can be looked up after this.
+   */
+  public void closeNodeStore() {
+    nodesById.close();
+  }
+
   public int wayCount() {
     return waysById.size();
   }
@@ -230,7 +243,7 @@ public class OsmDatabase {
     if (nodesById.containsKey(node.getId())) {
       return;
     }
-    nodesById.put(node.getId(), node);
+    nodesById.put(node);
   }
 
   public void addWay(OSMWay way) {
@@ -636,7 +649,7 @@ public class OsmDatabase {
     node.setId(virtualNodeId);
     virtualNodeId--;
     waysNodeIds.add(node.getId());
-    nodesById.put(node.getId(), node);
+    nodesById.put(node);
     return node;
   }
 
@@ -64,13 +64,14 @@ public class OsmModule implements GraphBuilderModule {
     Graph graph,
     DataImportIssueStore issueStore,
     @Nonnull StreetLimitationParameters streetLimitationParameters,
-    OsmProcessingParameters params
+    OsmProcessingParameters params,
+    boolean memoryMappedNodeStore
   ) {
     this.providers = List.copyOf(providers);
     this.graph = graph;
     this.issueStore = issueStore;
     this.params = params;
-    this.osmdb = new OsmDatabase(issueStore);
+    this.osmdb = new OsmDatabase(issueStore, OsmNodeStore.of(memoryMappedNodeStore));
     this.vertexGenerator = new VertexGenerator(osmdb, graph, params.boardingAreaRefTags());
     this.normalizer = new SafetyValueNormalizer(graph, issueStore);
     this.streetLimitationParameters = Objects.requireNonNull(streetLimitationParameters);
@@ -97,7 +98,11 @@ public class OsmModule implements GraphBuilderModule {
     osmdb.postLoad();
 
     LOG.info("Building street graph from OSM");
-    build();
+    try {
+      build();
+    } finally {
+      osmdb.closeNodeStore();
+    }
     graph.hasStreets = true;
     streetLimitationParameters.initMaxCarSpeed(getMaxCarSpeed());
   }
@@ -25,6 +25,7 @@ public class OsmModuleBuilder {
   private boolean staticParkAndRide = false;
   private boolean staticBikeParkAndRide = false;
   private int maxAreaNodes;
+  private boolean memoryMappedNodeStore = false;
   private StreetLimitationParameters streetLimitationParameters = new StreetLimitationParameters();
 
   OsmModuleBuilder(Collection<OsmProvider> providers, Graph graph) {
@@ -72,6 +73,11 @@ public class OsmModuleBuilder {
     return this;
   }
 
+  public OsmModuleBuilder withMemoryMappedNodeStore(boolean memoryMappedNodeStore) {
+    this.memoryMappedNodeStore = memoryMappedNodeStore;
+    return this;
+  }
+
   public OsmModuleBuilder withStreetLimitationParameters(StreetLimitationParameters parameters) {
     this.streetLimitationParameters = parameters;
     return this;
@@ -91,7 +97,8 @@ public class OsmModuleBuilder {
         platformEntriesLinking,
         staticParkAndRide,
         staticBikeParkAndRide
-      )
+      ),
+      memoryMappedNodeStore
     );
   }
 }
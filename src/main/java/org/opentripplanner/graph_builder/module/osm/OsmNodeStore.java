@@ -0,0 +1,44 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+/**
+ * Store for the OSM nodes used while building the street graph. The nodes are the dominating
+ * part of the OSM data, so for large extracts how the nodes are stored decides how much heap the
+ * graph build needs.
+ * <p>
+ * Two implementations exist: {@link InMemoryOsmNodeStore} keeps the nodes on the heap and
+ * {@link MemoryMappedOsmNodeStore} keeps them in a memory-mapped temporary file.
+ */
+public interface OsmNodeStore extends AutoCloseable {
+  /**
+   * Create a new node store.
+   *
+   * @param memoryMapped Store the nodes off-heap in a memory-mapped file, if {@code false} the
+   *                     nodes are kept on the heap.
+   */
+  static OsmNodeStore of(boolean memoryMapped) {
+    return memoryMapped ? new MemoryMappedOsmNodeStore() : new InMemoryOsmNodeStore();
+  }
+
+  /**
+   * Add a node. Adding a node with an id already in the store replaces the existing node.
+   */
+  void put(OSMNode node);
+
+  /**
+   * Return the node with the given id or {@code null} if the node does not exist. As long as the
+   * caller holds on to the returned node, the same instance is returned for the same id.
+   */
+  OSMNode get(long id);
+
+  boolean containsKey(long id);
+
+  int size();
+
+  /**
+   * Release the resources held by the store. The nodes already returned can still be used.
+   */
+  @Override
+  default void close() {}
+}
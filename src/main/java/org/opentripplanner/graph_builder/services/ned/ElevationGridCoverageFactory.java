@@ -1,5 +1,6 @@
 package org.opentripplanner.graph_builder.services.ned;
 
+import java.util.Optional;
 import org.geotools.api.coverage.Coverage;
 import org.geotools.coverage.grid.GridCoverage2D;
 import org.opentripplanner.routing.graph.Graph;
@@ -15,6 +16,15 @@ public interface ElevationGridCoverageFactory {
   /** Creates a new coverage instance from files already fetched */
   Coverage getGridCoverage();
 
+  /**
+   * The uninterpolated raster, if all elevation data is in a single raster without any vertical
+   * datum adjustments. The elevation module samples such a raster directly, and uses the coverage
+   * returned by {@link #getGridCoverage()} only for the points it can not handle.
+   */
+  default Optional<GridCoverage2D> getRasterCoverage() {
+    return Optional.empty();
+  }
+
   /**
    * Unit conversion multiplier for elevation values. No conversion needed if the elevation values
    * are defined in meters in the source data. If, for example, decimetres are used in the source
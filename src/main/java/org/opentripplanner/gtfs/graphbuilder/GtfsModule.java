@@ -1,14 +1,23 @@
 package org.opentripplanner.gtfs.graphbuilder;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.awt.Color;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.onebusaway.csv_entities.EntityHandler;
 import org.onebusaway.gtfs.impl.GtfsRelationalDaoImpl;
 import org.onebusaway.gtfs.model.Agency;
@@ -120,16 +129,28 @@ public class GtfsModule implements GraphBuilderModule {
 
     boolean hasTransit = false;
 
-    Map<String, GtfsBundle> feedIdsEncountered = new HashMap<>();
+    int nThreads = Math.max(1, Math.min(gtfsBundles.size(), defaultNumberOfThreads()));
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("gtfs-read-%d").build();
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads, threadFactory);
 
     try {
+      List<List<String>> agencyIds = assignAgencyIds();
+      var pending = new ArrayDeque<Future<GtfsMutableRelationalDao>>();
+      int nextToRead = 0;
+
       for (GtfsBundle gtfsBundle : gtfsBundles) {
-        GtfsMutableRelationalDao gtfsDao = loadBundle(gtfsBundle);
+        // The feeds are read in parallel, but mapped and added to the transit model one at the
+        // time in the configured order. The number of feeds read ahead is bounded, since each
+        // loaded feed may use a lot of memory.
+        while (nextToRead < gtfsBundles.size() && pending.size() < nThreads) {
+          var bundle = gtfsBundles.get(nextToRead);
+          var bundleAgencyIds = agencyIds.get(nextToRead);
+          pending.add(executor.submit(() -> loadBundle(bundle, bundleAgencyIds)));
+          ++nextToRead;
+        }
+        GtfsMutableRelationalDao gtfsDao = readNext(pending);
 
         final String feedId = gtfsBundle.getFeedId().getId();
-        verifyUniqueFeedId(gtfsBundle, feedIdsEncountered, feedId);
-
-        feedIdsEncountered.put(feedId, gtfsBundle);
 
         GTFSToOtpTransitServiceMapper mapper = new GTFSToOtpTransitServiceMapper(
           new OtpTransitServiceBuilder(transitModel.getStopModel(), issueStore),
@@ -201,6 +222,7 @@ public class GtfsModule implements GraphBuilderModule {
     } catch (IOException e) {
       throw new RuntimeException(e);
     } finally {
+      executor.shutdownNow();
       // Note the close method of each bundle should NOT throw an exception, so this
       // code should be safe without the try/catch block.
       gtfsBundles.forEach(GtfsBundle::close);
@@ -304,7 +326,86 @@ public class GtfsModule implements GraphBuilderModule {
     );
   }
 
-  private GtfsMutableRelationalDao loadBundle(GtfsBundle gtfsBundle) throws IOException {
+  /**
+   * Agency ids must be unique across all feeds. Duplicates are replaced with generated ids, and
+   * which id is replaced depends on the order of the feeds. This is done before the feeds are read
+   * in parallel, by reading only the agencies of each feed in the configured order. The feed ids
+   * are also verified here, so a duplicate is reported before any of the feeds are read.
+   *
+   * @return for each feed, the ids to use for its agencies in the order they are read.
+   */
+  private List<List<String>> assignAgencyIds() throws IOException {
+    Map<String, GtfsBundle> feedIdsEncountered = new HashMap<>();
+    List<List<String>> result = new ArrayList<>();
+
+    for (GtfsBundle gtfsBundle : gtfsBundles) {
+      final String feedId = gtfsBundle.getFeedId().getId();
+      verifyUniqueFeedId(gtfsBundle, feedIdsEncountered, feedId);
+      feedIdsEncountered.put(feedId, gtfsBundle);
+
+      StoreImpl store = new StoreImpl(new GtfsRelationalDaoImpl());
+      store.open();
+      GtfsReader reader = new GtfsReader();
+      reader.setInputSource(gtfsBundle.getCsvInputSource());
+      reader.setEntityStore(store);
+      reader.setDefaultAgencyId(feedId);
+      reader.readEntities(Agency.class);
+      store.close();
+
+      List<String> agencyIds = new ArrayList<>();
+      for (Agency agency : reader.getAgencies()) {
+        String agencyId = agency.getId();
+        LOG.info("This Agency has the ID {}", agencyId);
+        // Somehow, when the agency's id field is missing, OBA replaces it with the agency's name.
+        // TODO Figure out how and why this is happening.
+        if (agencyId == null || agencyIdsSeen.contains(feedId + agencyId)) {
+          // Loop in case generated name is already in use.
+          String generatedAgencyId = null;
+          while (generatedAgencyId == null || agencyIdsSeen.contains(generatedAgencyId)) {
+            generatedAgencyId = "F" + nextAgencyId;
+            nextAgencyId++;
+          }
+          LOG.warn(
+            "The agency ID '{}' was already seen, or I think it's bad. Replacing with '{}'.",
+            agencyId,
+            generatedAgencyId
+          );
+          agencyId = generatedAgencyId;
+        }
+        if (agencyId != null) agencyIdsSeen.add(feedId + agencyId);
+        agencyIds.add(agencyId);
+      }
+      result.add(agencyIds);
+    }
+    return result;
+  }
+
+  private static GtfsMutableRelationalDao readNext(Deque<Future<GtfsMutableRelationalDao>> pending)
+    throws IOException {
+    try {
+      return pending.removeFirst().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading GTFS feeds.", e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException ioe) {
+        throw ioe;
+      }
+      if (e.getCause() instanceof RuntimeException re) {
+        throw re;
+      }
+      throw new IllegalStateException("Unable to read GTFS feed: " + e.getCause(), e.getCause());
+    }
+  }
+
+  /**
+   * Read a feed. This is called in parallel for several feeds, so it must not change any state
+   * shared between the feeds.
+   *
+   * @param agencyIds the ids to use for the agencies, see {@link #assignAgencyIds()}
+   */
+  private GtfsMutableRelationalDao loadBundle(GtfsBundle gtfsBundle, List<String> agencyIds)
+    throws IOException {
     StoreImpl store = new StoreImpl(new GtfsRelationalDaoImpl());
     store.open();
     LOG.info("reading {}", gtfsBundle.toString());
@@ -331,28 +432,14 @@ public class GtfsModule implements GraphBuilderModule {
       // set the agencyId here. Each feed ("bundle") is loaded by a separate reader, so there is no risk of
       // agency mappings accumulating.
       if (entityClass == Agency.class) {
-        for (Agency agency : reader.getAgencies()) {
-          String agencyId = agency.getId();
-          LOG.info("This Agency has the ID {}", agencyId);
-          // Somehow, when the agency's id field is missing, OBA replaces it with the agency's name.
-          // TODO Figure out how and why this is happening.
-          if (agencyId == null || agencyIdsSeen.contains(gtfsFeedId.getId() + agencyId)) {
-            // Loop in case generated name is already in use.
-            String generatedAgencyId = null;
-            while (generatedAgencyId == null || agencyIdsSeen.contains(generatedAgencyId)) {
-              generatedAgencyId = "F" + nextAgencyId;
-              nextAgencyId++;
-            }
-            LOG.warn(
-              "The agency ID '{}' was already seen, or I think it's bad. Replacing with '{}'.",
-              agencyId,
-              generatedAgencyId
-            );
-            reader.addAgencyIdMapping(agencyId, generatedAgencyId); // NULL key should work
-            agency.setId(generatedAgencyId);
-            agencyId = generatedAgencyId;
+        List<Agency> agencies = reader.getAgencies();
+        for (int i = 0; i < agencies.size(); i++) {
+          Agency agency = agencies.get(i);
+          String agencyId = agencyIds.get(i);
+          if (!Objects.equals(agency.getId(), agencyId)) {
+            reader.addAgencyIdMapping(agency.getId(), agencyId); // NULL key should work
+            agency.setId(agencyId);
           }
-          if (agencyId != null) agencyIdsSeen.add(gtfsFeedId.getId() + agencyId);
         }
       }
     }
@@ -400,6 +487,11 @@ public class GtfsModule implements GraphBuilderModule {
     return store.dao;
   }
 
+  private static int defaultNumberOfThreads() {
+    // Leave one processor for mapping the feeds
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
   /**
    * Since GTFS Fares V2 is a very new, constantly evolving standard there might be a lot of errors
    * in the data. We only want to try to parse them when the feature flag is explicitly enabled as
@@ -507,6 +599,7 @@ public class GtfsModule implements GraphBuilderModule {
     }
   }
 
+  /** Shared by the readers of all feeds, which may run in parallel. */
   private static class EntityCounter implements EntityHandler {
 
     private final Map<Class<?>, Integer> count = new HashMap<>();
@@ -522,7 +615,7 @@ public class GtfsModule implements GraphBuilderModule {
       }
     }
 
-    private int incrementCount(Class<?> entityType) {
+    private synchronized int incrementCount(Class<?> entityType) {
       Integer value = count.get(entityType);
       if (value == null) {
         value = 0;
@@ -258,6 +258,10 @@ public class TimetableSnapshot {
     if (!force && !this.isDirty()) {
       return null;
     }
+    var event = new TimetableSnapshotCommitEvent();
+    event.begin();
+    int updatedTimetables = dirtyTimetables.size();
+
     ret.timetables = (HashMap<TripPattern, SortedSet<Timetable>>) this.timetables.clone();
     ret.realtimeAddedTripPattern =
       (HashMap<TripIdAndServiceDate, TripPattern>) this.realtimeAddedTripPattern.clone();
@@ -272,6 +276,12 @@ public class TimetableSnapshot {
     ret.setPatternsForStop(HashMultimap.create(this.patternsForStop));
 
     ret.readOnly = true; // mark the snapshot as henceforth immutable
+
+    if (event.shouldCommit()) {
+      event.updatedTimetables = updatedTimetables;
+      event.force = force;
+      event.commit();
+    }
     return ret;
   }
 
@@ -0,0 +1,27 @@
+package org.opentripplanner.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for the commit of a {@link TimetableSnapshot}, including the update
+ * of the realtime transit layer.
+ */
+@Name("org.opentripplanner.TimetableSnapshotCommit")
+@Label("Timetable Snapshot Commit")
+@Category({ "OpenTripPlanner", "Realtime" })
+@Description("Commit the realtime updates of a timetable snapshot")
+@StackTrace(false)
+class TimetableSnapshotCommitEvent extends Event {
+
+  @Label("Updated Timetables")
+  int updatedTimetables;
+
+  @Label("Forced")
+  @Description("The snapshot is committed even if it has no updates")
+  boolean force;
+}
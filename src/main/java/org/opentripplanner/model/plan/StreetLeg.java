@@ -5,6 +5,7 @@ import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Supplier;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.framework.lang.DoubleUtils;
@@ -26,10 +27,10 @@ public class StreetLeg implements Leg {
   private final Place from;
   private final Place to;
   private final int generalizedCost;
-  private final LineString legGeometry;
+  private final Supplier<LineString> legGeometry;
   private final List<WalkStep> walkSteps;
   private final Set<StreetNote> streetNotes;
-  private final ElevationProfile elevationProfile;
+  private final Supplier<ElevationProfile> elevationProfile;
 
   private final Boolean walkingBike;
   private final Boolean rentedVehicle;
@@ -44,8 +45,8 @@ public class StreetLeg implements Leg {
     this.from = builder.getFrom();
     this.to = builder.getTo();
     this.generalizedCost = builder.getGeneralizedCost();
-    this.elevationProfile = builder.getElevationProfile();
-    this.legGeometry = builder.getGeometry();
+    this.elevationProfile = builder.elevationProfile();
+    this.legGeometry = builder.geometry();
     this.walkSteps = builder.getWalkSteps();
     this.streetNotes = Set.copyOf(builder.getStreetNotes());
     this.walkingBike = builder.getWalkingBike();
@@ -104,7 +105,7 @@ public class StreetLeg implements Leg {
 
   @Override
   public LineString getLegGeometry() {
-    return legGeometry;
+    return legGeometry.get();
   }
 
   /**
@@ -112,7 +113,7 @@ public class StreetLeg implements Leg {
    */
   @Override
   public ElevationProfile getElevationProfile() {
-    return elevationProfile;
+    return elevationProfile.get();
   }
 
   @Override
@@ -1,9 +1,11 @@
 package org.opentripplanner.model.plan;
 
+import com.google.common.base.Suppliers;
 import java.time.ZonedDateTime;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
 import org.locationtech.jts.geom.LineString;
 import org.opentripplanner.street.model.note.StreetNote;
 import org.opentripplanner.street.search.TraverseMode;
@@ -17,8 +19,8 @@ public class StreetLegBuilder {
   private Place to;
   private double distanceMeters;
   private int generalizedCost;
-  private LineString geometry;
-  private ElevationProfile elevationProfile;
+  private Supplier<LineString> geometry = () -> null;
+  private Supplier<ElevationProfile> elevationProfile = () -> null;
   private List<WalkStep> walkSteps;
   private Boolean walkingBike;
   private Boolean rentedVehicle;
@@ -37,8 +39,8 @@ public class StreetLegBuilder {
       .withTo(leg.getTo())
       .withDistanceMeters(leg.getDistanceMeters())
       .withGeneralizedCost(leg.getGeneralizedCost())
-      .withGeometry(leg.getLegGeometry())
-      .withElevationProfile(leg.getElevationProfile())
+      .withLazyGeometry(leg::getLegGeometry)
+      .withLazyElevationProfile(leg::getElevationProfile)
       .withWalkSteps(leg.getWalkSteps())
       .withWalkingBike(leg.getWalkingBike())
       .withRentedVehicle(leg.getRentedVehicle())
@@ -80,10 +82,18 @@ public class StreetLegBuilder {
   }
 
   public LineString getGeometry() {
+    return geometry.get();
+  }
+
+  Supplier<LineString> geometry() {
     return geometry;
   }
 
   public ElevationProfile getElevationProfile() {
+    return elevationProfile.get();
+  }
+
+  Supplier<ElevationProfile> elevationProfile() {
     return elevationProfile;
   }
 
@@ -147,12 +157,30 @@ public class StreetLegBuilder {
   }
 
   public StreetLegBuilder withGeometry(LineString geometry) {
-    this.geometry = geometry;
+    this.geometry = () -> geometry;
+    return this;
+  }
+
+  /**
+   * Compute the geometry the first time it is used. Most itineraries are removed by the filter
+   * chain, and the geometry of the rest is only used if the API client asks for it.
+   */
+  public StreetLegBuilder withLazyGeometry(Supplier<LineString> geometry) {
+    this.geometry = Suppliers.memoize(geometry::get);
     return this;
   }
 
   public StreetLegBuilder withElevationProfile(ElevationProfile elevationProfile) {
-    this.elevationProfile = elevationProfile;
+    this.elevationProfile = () -> elevationProfile;
+    return this;
+  }
+
+  /**
+   * Compute the elevation profile the first time it is used, see
+   * {@link #withLazyGeometry(Supplier)}.
+   */
+  public StreetLegBuilder withLazyElevationProfile(Supplier<ElevationProfile> elevationProfile) {
+    this.elevationProfile = Suppliers.memoize(elevationProfile::get);
     return this;
   }
 
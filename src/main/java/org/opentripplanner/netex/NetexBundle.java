@@ -3,8 +3,8 @@ package org.opentripplanner.netex;
 import jakarta.xml.bind.JAXBException;
 import java.io.Closeable;
 import java.io.IOException;
-import java.util.List;
 import java.util.Set;
+import javax.xml.stream.XMLStreamException;
 import org.opentripplanner.datastore.api.CompositeDataSource;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
@@ -13,6 +13,7 @@ import org.opentripplanner.netex.config.NetexFeedParameters;
 import org.opentripplanner.netex.index.NetexEntityIndex;
 import org.opentripplanner.netex.loader.GroupEntries;
 import org.opentripplanner.netex.loader.NetexDataSourceHierarchy;
+import org.opentripplanner.netex.loader.NetexXmlDocumentReader;
 import org.opentripplanner.netex.loader.NetexXmlParser;
 import org.opentripplanner.netex.loader.parser.NetexDocumentParser;
 import org.opentripplanner.netex.mapping.NetexMapper;
@@ -46,13 +47,15 @@ public class NetexBundle implements Closeable {
   private final double maxStopToShapeSnapDistance;
   private final boolean noTransfersOnIsolatedStops;
   private final boolean ignoreFareFrame;
+  private final boolean streamXmlParsing;
   /** The NeTEx entities loaded from the input files and passed on to the mapper. */
   private NetexEntityIndex index = new NetexEntityIndex();
   /** Report errors to issue store */
   private DataImportIssueStore issueStore;
   /** maps the NeTEx XML document to OTP transit model. */
   private NetexMapper mapper;
-  private NetexXmlParser xmlParser;
+  private NetexXmlDocumentReader xmlReader;
+  private NetexXmlParser xmlStreamParser;
 
   public NetexBundle(
     String feedId,
@@ -62,7 +65,8 @@ public class NetexBundle implements Closeable {
     Set<String> ferryIdsNotAllowedForBicycle,
     double maxStopToShapeSnapDistance,
     boolean noTransfersOnIsolatedStops,
-    boolean ignoreFareFrame
+    boolean ignoreFareFrame,
+    boolean streamXmlParsing
   ) {
     this.feedId = feedId;
     this.source = source;
@@ -72,6 +76,7 @@ public class NetexBundle implements Closeable {
     this.maxStopToShapeSnapDistance = maxStopToShapeSnapDistance;
     this.noTransfersOnIsolatedStops = noTransfersOnIsolatedStops;
     this.ignoreFareFrame = ignoreFareFrame;
+    this.streamXmlParsing = streamXmlParsing;
   }
 
   /** load the bundle, map it to the OTP transit model and return */
@@ -84,7 +89,11 @@ public class NetexBundle implements Closeable {
     this.issueStore = issueStore;
 
     // init parser and mapper
-    xmlParser = new NetexXmlParser();
+    if (streamXmlParsing) {
+      xmlStreamParser = new NetexXmlParser();
+    } else {
+      xmlReader = new NetexXmlDocumentReader();
+    }
     mapper =
       new NetexMapper(
         transitBuilder,
@@ -97,7 +106,13 @@ public class NetexBundle implements Closeable {
       );
 
     // Load data
-    loadFileEntries();
+    try {
+      loadFileEntries();
+    } finally {
+      if (xmlReader != null) {
+        xmlReader.close();
+      }
+    }
 
     return transitBuilder;
   }
@@ -127,11 +142,24 @@ public class NetexBundle implements Closeable {
         // Load shared group files
         loadFilesThenMapToOtpTransitModel("shared group file", group.sharedEntries());
 
-        for (DataSource entry : group.independentEntries()) {
-          scopeInputData(() -> {
-            // Load each independent file in group
-            loadFilesThenMapToOtpTransitModel("group file", List.of(entry));
-          });
+        // Load each independent file in group
+        if (streamXmlParsing) {
+          for (DataSource entry : group.independentEntries()) {
+            scopeInputData(() -> {
+              streamSingleFileEntry("group file", entry);
+              validateAndMapToOtpTransitModel();
+            });
+          }
+        } else {
+          // The files are parsed ahead in parallel
+          xmlReader.forEach(
+            group.independentEntries(),
+            (entry, doc) ->
+              scopeInputData(() -> {
+                populateIndex("group file", entry, doc);
+                validateAndMapToOtpTransitModel();
+              })
+          );
         }
       });
     }
@@ -161,11 +189,18 @@ public class NetexBundle implements Closeable {
     String fileDescription,
     Iterable<DataSource> entries
   ) {
-    for (DataSource entry : entries) {
-      // Load entry and store it in the index
-      loadSingeFileEntry(fileDescription, entry);
+    // Load entries and store them in the index
+    if (streamXmlParsing) {
+      for (DataSource entry : entries) {
+        streamSingleFileEntry(fileDescription, entry);
+      }
+    } else {
+      xmlReader.forEach(entries, (entry, doc) -> populateIndex(fileDescription, entry, doc));
     }
+    validateAndMapToOtpTransitModel();
+  }
 
+  private void validateAndMapToOtpTransitModel() {
     // Validate input data, and remove invalid data
     Validator.validate(index, issueStore);
 
@@ -173,14 +208,31 @@ public class NetexBundle implements Closeable {
     mapper.mapNetexToOtp(index.readOnlyView());
   }
 
-  /** Load a single entry and store it in the index for later */
-  private void loadSingeFileEntry(String fileDescription, DataSource entry) {
+  /** Store the entities of a single parsed entry in the index for later */
+  private void populateIndex(
+    String fileDescription,
+    DataSource entry,
+    PublicationDeliveryStructure doc
+  ) {
     try {
       LOG.info("reading entity {}: {}", fileDescription, entry.name());
       issueStore.startProcessingSource(entry.name());
-      PublicationDeliveryStructure doc = xmlParser.parseXmlDoc(entry.asInputStream());
       NetexDocumentParser.parseAndPopulateIndex(index, doc, ignoreFareFrame);
-    } catch (JAXBException e) {
+    } finally {
+      issueStore.stopProcessingSource();
+    }
+  }
+
+  /** Parse a single entry one frame at the time, and store it in the index for later */
+  private void streamSingleFileEntry(String fileDescription, DataSource entry) {
+    try (var input = entry.asInputStream()) {
+      LOG.info("reading entity {}: {}", fileDescription, entry.name());
+      issueStore.startProcessingSource(entry.name());
+      xmlStreamParser.parseFrames(
+        input,
+        NetexDocumentParser.createFrameHandler(index, ignoreFareFrame)
+      );
+    } catch (JAXBException | XMLStreamException | IOException e) {
       throw new RuntimeException(e.getMessage(), e);
     } finally {
       issueStore.stopProcessingSource();
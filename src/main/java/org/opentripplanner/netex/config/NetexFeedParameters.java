@@ -30,6 +30,7 @@ public class NetexFeedParameters implements DataSourceConfig {
   private static final String GROUP_FILE_PATTERN = "(\\w{3})-.*\\.xml";
   private static final boolean NO_TRANSFERS_ON_ISOLATED_STOPS = false;
   private static final boolean IGNORE_FARE_FRAME = false;
+  private static final boolean STREAM_XML_PARSING = false;
 
   private static final Set<String> FERRY_IDS_NOT_ALLOWED_FOR_BICYCLE = Collections.emptySet();
 
@@ -49,6 +50,7 @@ public class NetexFeedParameters implements DataSourceConfig {
   private final Set<String> ferryIdsNotAllowedForBicycle;
   private final boolean noTransfersOnIsolatedStops;
   private final boolean ignoreFareFrame;
+  private final boolean streamXmlParsing;
 
   private NetexFeedParameters() {
     this.source = null;
@@ -64,6 +66,7 @@ public class NetexFeedParameters implements DataSourceConfig {
     this.ferryIdsNotAllowedForBicycle = FERRY_IDS_NOT_ALLOWED_FOR_BICYCLE;
     this.noTransfersOnIsolatedStops = NO_TRANSFERS_ON_ISOLATED_STOPS;
     this.ignoreFareFrame = IGNORE_FARE_FRAME;
+    this.streamXmlParsing = STREAM_XML_PARSING;
   }
 
   private NetexFeedParameters(Builder builder) {
@@ -76,6 +79,7 @@ public class NetexFeedParameters implements DataSourceConfig {
     this.ferryIdsNotAllowedForBicycle = Set.copyOf(builder.ferryIdsNotAllowedForBicycle);
     this.noTransfersOnIsolatedStops = builder.noTransfersOnIsolatedStops;
     this.ignoreFareFrame = builder.ignoreFareFrame;
+    this.streamXmlParsing = builder.streamXmlParsing;
   }
 
   public static Builder of() {
@@ -130,6 +134,13 @@ public class NetexFeedParameters implements DataSourceConfig {
     return ignoreFareFrame;
   }
 
+  /**
+   * Parse the XML files one frame at the time, instead of parsing each file as a whole.
+   */
+  public boolean streamXmlParsing() {
+    return streamXmlParsing;
+  }
+
   @Override
   public boolean equals(Object o) {
     if (this == o) return true;
@@ -143,6 +154,7 @@ public class NetexFeedParameters implements DataSourceConfig {
       sharedGroupFilePattern.equals(that.sharedGroupFilePattern) &&
       groupFilePattern.equals(that.groupFilePattern) &&
       ignoreFareFrame == that.ignoreFareFrame &&
+      streamXmlParsing == that.streamXmlParsing &&
       ferryIdsNotAllowedForBicycle.equals(that.ferryIdsNotAllowedForBicycle)
     );
   }
@@ -157,6 +169,7 @@ public class NetexFeedParameters implements DataSourceConfig {
       sharedGroupFilePattern,
       groupFilePattern,
       ignoreFareFrame,
+      streamXmlParsing,
       ferryIdsNotAllowedForBicycle
     );
   }
@@ -172,6 +185,7 @@ public class NetexFeedParameters implements DataSourceConfig {
       .addStr("groupFilePattern", groupFilePattern, DEFAULT.groupFilePattern)
       .addStr("ignoreFilePattern", ignoreFilePattern, DEFAULT.ignoreFilePattern)
       .addBoolIfTrue("ignoreFareFrame", ignoreFareFrame)
+      .addBoolIfTrue("streamXmlParsing", streamXmlParsing)
       .addCol("ferryIdsNotAllowedForBicycle", ferryIdsNotAllowedForBicycle, Set.of())
       .toString();
   }
@@ -188,6 +202,7 @@ public class NetexFeedParameters implements DataSourceConfig {
     private final Set<String> ferryIdsNotAllowedForBicycle = new HashSet<>();
     private boolean noTransfersOnIsolatedStops;
     private boolean ignoreFareFrame;
+    private boolean streamXmlParsing;
 
     private Builder(NetexFeedParameters original) {
       this.original = original;
@@ -200,6 +215,7 @@ public class NetexFeedParameters implements DataSourceConfig {
       this.ferryIdsNotAllowedForBicycle.addAll(original.ferryIdsNotAllowedForBicycle);
       this.noTransfersOnIsolatedStops = original.noTransfersOnIsolatedStops;
       this.ignoreFareFrame = original.ignoreFareFrame;
+      this.streamXmlParsing = original.streamXmlParsing;
     }
 
     public URI source() {
@@ -251,6 +267,11 @@ public class NetexFeedParameters implements DataSourceConfig {
       return this;
     }
 
+    public Builder withStreamXmlParsing(boolean streamXmlParsing) {
+      this.streamXmlParsing = streamXmlParsing;
+      return this;
+    }
+
     public NetexFeedParameters build() {
       var value = new NetexFeedParameters(this);
       return original.equals(value) ? original : value;
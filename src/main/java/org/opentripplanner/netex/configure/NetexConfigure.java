@@ -75,7 +75,8 @@ public class NetexConfigure {
       config.ferryIdsNotAllowedForBicycle(),
       buildParams.maxStopToShapeSnapDistance,
       config.noTransfersOnIsolatedStops(),
-      config.ignoreFareFrame()
+      config.ignoreFareFrame(),
+      config.streamXmlParsing()
     );
   }
 
@@ -0,0 +1,96 @@
+package org.opentripplanner.netex.loader;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+import org.opentripplanner.datastore.api.DataSource;
+import org.rutebanken.netex.model.PublicationDeliveryStructure;
+
+/**
+ * Parse NeTEx XML files in parallel, and pass the parsed documents on to the caller in the same
+ * order as the files are given. The XML parsing is the most time-consuming part of loading NeTEx
+ * data, while populating the index and mapping depend on the order of the files and run on the
+ * calling thread.
+ * <p>
+ * The number of parsed documents waiting to be consumed is bounded, since a parsed document
+ * may use a lot of memory.
+ */
+public class NetexXmlDocumentReader implements Closeable {
+
+  private final int nThreads;
+  private final ExecutorService executor;
+  private final ThreadLocal<NetexXmlParser> parser = ThreadLocal.withInitial(NetexXmlParser::new);
+
+  public NetexXmlDocumentReader(int nThreads) {
+    this.nThreads = nThreads;
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("netex-xml-%d").build();
+    this.executor = Executors.newFixedThreadPool(nThreads, threadFactory);
+  }
+
+  public NetexXmlDocumentReader() {
+    this(defaultNumberOfThreads());
+  }
+
+  /**
+   * Parse the given entries, and call the action for each of them in order on the calling thread.
+   */
+  public void forEach(
+    Iterable<DataSource> entries,
+    BiConsumer<DataSource, PublicationDeliveryStructure> action
+  ) {
+    var pending = new ArrayDeque<ParsedEntry>();
+    for (DataSource entry : entries) {
+      pending.add(new ParsedEntry(entry, executor.submit(() -> parse(entry))));
+      if (pending.size() > nThreads) {
+        acceptNext(pending, action);
+      }
+    }
+    while (!pending.isEmpty()) {
+      acceptNext(pending, action);
+    }
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  private PublicationDeliveryStructure parse(DataSource entry) throws Exception {
+    try (var input = entry.asInputStream()) {
+      return parser.get().parseXmlDoc(input);
+    }
+  }
+
+  private static void acceptNext(
+    Deque<ParsedEntry> pending,
+    BiConsumer<DataSource, PublicationDeliveryStructure> action
+  ) {
+    var next = pending.removeFirst();
+    PublicationDeliveryStructure document;
+    try {
+      document = next.document().get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading NeTEx files.", e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(
+        "Unable to parse NeTEx file " + next.entry().name() + ": " + e.getCause().getMessage(),
+        e.getCause()
+      );
+    }
+    action.accept(next.entry(), document);
+  }
+
+  private static int defaultNumberOfThreads() {
+    // Leave one processor for populating the index and mapping
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
+  private record ParsedEntry(DataSource entry, Future<PublicationDeliveryStructure> document) {}
+}
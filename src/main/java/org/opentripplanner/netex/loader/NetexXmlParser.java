@@ -3,13 +3,25 @@ package org.opentripplanner.netex.loader;
 import jakarta.xml.bind.JAXBContext;
 import jakarta.xml.bind.JAXBElement;
 import jakarta.xml.bind.JAXBException;
+import jakarta.xml.bind.JAXBIntrospector;
 import jakarta.xml.bind.Unmarshaller;
 import java.io.InputStream;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.rutebanken.netex.model.Common_VersionFrameStructure;
 import org.rutebanken.netex.model.PublicationDeliveryStructure;
+import org.rutebanken.netex.model.VersionFrameDefaultsStructure;
 
-/** Simple wrapper to perform typesafe xml parsing and simple error handling. */
+/**
+ * Simple wrapper to perform typesafe xml parsing and simple error handling. An instance is not
+ * thread-safe.
+ */
 public class NetexXmlParser {
 
+  private static final XMLInputFactory XML_INPUT_FACTORY = createXmlInputFactory();
+
   /** used to parse the XML. */
   private final Unmarshaller unmarshaller;
 
@@ -29,10 +41,119 @@ public class NetexXmlParser {
     return root.getValue();
   }
 
+  /**
+   * Parse an input stream one frame at the time, and pass each frame on to the given handler. Only
+   * one frame is kept in memory at the time, and the rest of the document is skipped. Composite
+   * frames are not unmarshalled, instead the frame defaults and each of the nested frames are passed
+   * on to the handler.
+   */
+  public void parseFrames(InputStream stream, FrameHandler handler)
+    throws JAXBException, XMLStreamException {
+    XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(stream);
+    try {
+      while (reader.hasNext()) {
+        if (isStartElement(reader, "dataObjects")) {
+          reader.next();
+          parseFrameList(reader, handler);
+          return;
+        }
+        reader.next();
+      }
+    } finally {
+      reader.close();
+    }
+  }
+
+  /**
+   * Parse the frames of a frame list. The reader is positioned inside the list element, and is left
+   * positioned after the end of it.
+   */
+  private void parseFrameList(XMLStreamReader reader, FrameHandler handler)
+    throws JAXBException, XMLStreamException {
+    while (nextChildElement(reader)) {
+      String name = reader.getLocalName();
+      if ("CompositeFrame".equals(name)) {
+        reader.next();
+        parseCompositeFrame(reader, handler);
+      } else if (handler.skipFrame(name)) {
+        skipElement(reader);
+      } else {
+        var value = JAXBIntrospector.getValue(unmarshaller.unmarshal(reader));
+        if (value instanceof Common_VersionFrameStructure frame) {
+          handler.frame(frame);
+        }
+      }
+    }
+  }
+
+  private void parseCompositeFrame(XMLStreamReader reader, FrameHandler handler)
+    throws JAXBException, XMLStreamException {
+    boolean started = false;
+    while (nextChildElement(reader)) {
+      String name = reader.getLocalName();
+      if ("FrameDefaults".equals(name)) {
+        var defaults = unmarshaller.unmarshal(reader, VersionFrameDefaultsStructure.class);
+        handler.startCompositeFrame(defaults.getValue());
+        started = true;
+      } else if ("frames".equals(name)) {
+        if (!started) {
+          handler.startCompositeFrame(null);
+          started = true;
+        }
+        reader.next();
+        parseFrameList(reader, handler);
+      } else {
+        skipElement(reader);
+      }
+    }
+    if (!started) {
+      handler.startCompositeFrame(null);
+    }
+  }
+
+  /**
+   * Move to the next child element of the current element. Return {@code false}, and move past
+   * the end of the current element, if there are no more child elements.
+   */
+  private static boolean nextChildElement(XMLStreamReader reader) throws XMLStreamException {
+    while (true) {
+      int event = reader.getEventType();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        return true;
+      }
+      if (event == XMLStreamConstants.END_ELEMENT) {
+        reader.next();
+        return false;
+      }
+      reader.next();
+    }
+  }
+
+  /** Skip the element the reader is positioned at, including all of its content. */
+  private static void skipElement(XMLStreamReader reader) throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0) {
+      int event = reader.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        ++depth;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        --depth;
+      }
+    }
+    reader.next();
+  }
+
+  private static boolean isStartElement(XMLStreamReader reader, String localName) {
+    return (
+      reader.getEventType() == XMLStreamConstants.START_ELEMENT &&
+      localName.equals(reader.getLocalName())
+    );
+  }
+
   /** factory method for unmarshaller */
   private static Unmarshaller createUnmarshaller() {
     try {
-      return JAXBContext.newInstance(PublicationDeliveryStructure.class).createUnmarshaller();
+      return ContextHolder.CONTEXT.createUnmarshaller();
     } catch (JAXBException e) {
       // This is a programming error - not expected!
       // We abort early and also allow for this to happen in the constructor;
@@ -40,4 +161,46 @@ public class NetexXmlParser {
       throw new RuntimeException(e);
     }
   }
+
+  private static XMLInputFactory createXmlInputFactory() {
+    var factory = XMLInputFactory.newFactory();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    return factory;
+  }
+
+  /**
+   * Receive the frames of a document parsed with {@link #parseFrames(InputStream, FrameHandler)}.
+   */
+  public interface FrameHandler {
+    /**
+     * Return {@code true} to skip the frame with the given element name without unmarshalling it.
+     */
+    boolean skipFrame(String elementName);
+
+    /**
+     * Called before the nested frames of a composite frame, the defaults may be {@code null}.
+     */
+    void startCompositeFrame(VersionFrameDefaultsStructure frameDefaults);
+
+    void frame(Common_VersionFrameStructure frame);
+  }
+
+  /**
+   * Creating the JAXB context for the NeTEx model is expensive, and the context is thread-safe, so
+   * it is created once and shared by all parsers. An unmarshaller is not thread-safe, so each
+   * thread must use its own parser.
+   */
+  private static class ContextHolder {
+
+    private static final JAXBContext CONTEXT = createContext();
+
+    private static JAXBContext createContext() {
+      try {
+        return JAXBContext.newInstance(PublicationDeliveryStructure.class);
+      } catch (JAXBException e) {
+        throw new RuntimeException(e);
+      }
+    }
+  }
 }
@@ -1,9 +1,11 @@
 package org.opentripplanner.netex.loader.parser;
 
 import jakarta.xml.bind.JAXBElement;
+import java.io.InputStream;
 import java.util.Collection;
 import java.util.List;
 import org.opentripplanner.netex.index.NetexEntityIndex;
+import org.opentripplanner.netex.loader.NetexXmlParser;
 import org.rutebanken.netex.model.Common_VersionFrameStructure;
 import org.rutebanken.netex.model.CompositeFrame;
 import org.rutebanken.netex.model.FareFrame;
@@ -49,6 +51,33 @@ public class NetexDocumentParser {
     new NetexDocumentParser(index, ignoreFareFrame).parse(doc);
   }
 
+  /**
+   * Create a handler populating the given index with the frames of a document parsed one frame at
+   * the time, see {@link NetexXmlParser#parseFrames(InputStream, NetexXmlParser.FrameHandler)}.
+   */
+  public static NetexXmlParser.FrameHandler createFrameHandler(
+    NetexEntityIndex index,
+    boolean ignoreFareFrame
+  ) {
+    var parser = new NetexDocumentParser(index, ignoreFareFrame);
+    return new NetexXmlParser.FrameHandler() {
+      @Override
+      public boolean skipFrame(String elementName) {
+        return ignoreFareFrame && "FareFrame".equals(elementName);
+      }
+
+      @Override
+      public void startCompositeFrame(VersionFrameDefaultsStructure frameDefaults) {
+        index.timeZone.set(parser.resolveTimeZone(frameDefaults));
+      }
+
+      @Override
+      public void frame(Common_VersionFrameStructure frame) {
+        parser.parseCommonFrame(frame);
+      }
+    };
+  }
+
   public static void finnishUp() {
     ServiceFrameParser.logSummary();
   }
@@ -3,14 +3,13 @@ package org.opentripplanner.openstreetmap;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Path;
 import java.time.ZoneId;
-import org.openstreetmap.osmosis.osmbinary.file.BlockInputStream;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.datastore.api.FileType;
 import org.opentripplanner.datastore.file.FileDataSource;
 import org.opentripplanner.framework.application.OtpFileNames;
-import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.graph_builder.module.osm.OsmDatabase;
@@ -38,7 +37,7 @@ public class OsmProvider {
   private final OsmTagMapper osmTagMapper;
 
   private final WayPropertySet wayPropertySet;
-  private byte[] cachedBytes = null;
+  private ParallelPbfReader pbfReader = null;
 
   /** For tests */
   public OsmProvider(File file, boolean cacheDataInMem) {
@@ -98,39 +97,29 @@ public class OsmProvider {
     }
   }
 
-  @SuppressWarnings("Convert2MethodRef")
-  private static InputStream track(OsmParserPhase phase, long size, InputStream inputStream) {
-    // Keep logging lambda, replacing it with a method-ref will cause the
-    // logging to report incorrect class and line number
-    return ProgressTracker.track("Parse OSM " + phase, 1000, size, inputStream, m -> LOG.info(m));
-  }
-
   private void parsePhase(OpenStreetMapParser parser, OsmParserPhase phase) throws IOException {
     parser.setPhase(phase);
-    BlockInputStream in = null;
-    try {
-      in = new BlockInputStream(createInputStream(phase), parser);
-      in.process();
-    } finally {
-      // Close
-      try {
-        if (in != null) {
-          in.close();
-        }
-      } catch (Exception e) {
-        LOG.error(e.getMessage(), e);
-      }
-    }
+    pbfReader().read(parser, phase.name());
   }
 
-  private InputStream createInputStream(OsmParserPhase phase) {
-    if (cacheDataInMem) {
-      if (cachedBytes == null) {
-        cachedBytes = source.asBytes();
+  /**
+   * A local, uncompressed file is memory-mapped, the operating system then caches the file
+   * between the phases. For other sources the data is cached on the heap if
+   * {@code cacheDataInMem} is set, if not the source is read once for each phase.
+   */
+  private ParallelPbfReader pbfReader() {
+    if (pbfReader == null) {
+      URI uri = source.uri();
+      if ("file".equals(uri.getScheme()) && !source.name().endsWith(".gz")) {
+        pbfReader = ParallelPbfReader.ofFile(Path.of(uri), source.size());
+      } else if (cacheDataInMem) {
+        byte[] bytes = source.asBytes();
+        pbfReader = ParallelPbfReader.ofStream(() -> new ByteArrayInputStream(bytes), bytes.length);
+      } else {
+        pbfReader = ParallelPbfReader.ofStream(source::asInputStream, source.size());
       }
-      return track(phase, cachedBytes.length, new ByteArrayInputStream(cachedBytes));
     }
-    return track(phase, source.size(), source.asInputStream());
+    return pbfReader;
   }
 
   public ZoneId getZoneId() {
@@ -0,0 +1,284 @@
+package org.opentripplanner.openstreetmap;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.protobuf.ByteString;
+import com.google.protobuf.InvalidProtocolBufferException;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import org.openstreetmap.osmosis.osmbinary.BinaryParser;
+import org.openstreetmap.osmosis.osmbinary.Fileformat;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+import org.openstreetmap.osmosis.osmbinary.file.FileBlock;
+import org.opentripplanner.framework.logging.ProgressTracker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Read an OSM PBF file and feed the blocks to a {@link BinaryParser}. Reading the blobs from the
+ * file is cheap, decompressing and decoding them is not. The blobs are therefore read in order on
+ * the caller thread, decompressed and decoded on a worker pool, and then passed to the parser in
+ * the original order on the caller thread. The parser itself is not thread-safe and does not need
+ * to be.
+ * <p>
+ * A local, uncompressed file is memory-mapped. The position of each blob is indexed during the
+ * first pass, so the following passes map the blobs directly without reading the file headers
+ * again, and the file is never copied onto the heap. Other data sources are read as a stream.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE
+ */
+class ParallelPbfReader {
+
+  private static final Logger LOG = LoggerFactory.getLogger(ParallelPbfReader.class);
+
+  private static final String TYPE_HEADER = "OSMHeader";
+  private static final String TYPE_DATA = "OSMData";
+
+  /** Blob header size limit given by the PBF specification. */
+  private static final int MAX_HEADER_SIZE = 64 * 1024;
+
+  /** Blob size limit given by the PBF specification. */
+  private static final int MAX_BLOB_SIZE = 32 * 1024 * 1024;
+
+  private final Path file;
+  private final Supplier<InputStream> stream;
+  private final long size;
+  private final int nThreads;
+
+  /** The blobs in a memory-mapped file, indexed during the first pass. */
+  private List<BlobPosition> blobIndex = null;
+
+  private ParallelPbfReader(
+    Path file,
+    Supplier<InputStream> stream,
+    long size,
+    int nThreads
+  ) {
+    this.file = file;
+    this.stream = stream;
+    this.size = size;
+    this.nThreads = nThreads;
+  }
+
+  /** Read a local, uncompressed PBF file using memory-mapping. */
+  static ParallelPbfReader ofFile(Path file, long size) {
+    return new ParallelPbfReader(file, null, size, defaultNumberOfThreads());
+  }
+
+  /** Read a PBF file from a stream, a new stream is opened for each pass. */
+  static ParallelPbfReader ofStream(Supplier<InputStream> stream, long size) {
+    return new ParallelPbfReader(null, stream, size, defaultNumberOfThreads());
+  }
+
+  /**
+   * Read all blocks and pass them to the given parser in file order.
+   *
+   * @param phase The name of the parse phase, used in the progress logging.
+   */
+  void read(BinaryParser parser, String phase) throws IOException {
+    var progress = ProgressTracker.track("Parse OSM " + phase, 1000, size);
+    LOG.info(progress.startMessage());
+
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("osm-pbf-%d").build();
+    ExecutorService executor = Executors.newFixedThreadPool(nThreads, threadFactory);
+    try {
+      var pending = new ArrayDeque<Future<Consumer<BinaryParser>>>();
+      Consumer<RawBlob> submit = blob -> {
+        int length = blob.data().remaining();
+        pending.add(executor.submit(() -> decode(blob)));
+        // Bound the number of decoded blocks waiting, the parser is usually the bottleneck
+        if (pending.size() >= 4 * nThreads) {
+          parseNext(pending, parser);
+        }
+        // Keep logging lambda, replacing it with a method-ref will cause the
+        // logging to report incorrect class and line number
+        progress.steps(length, m -> LOG.info(m));
+      };
+      if (file != null) {
+        readMappedFile(submit);
+      } else {
+        readStream(submit);
+      }
+      while (!pending.isEmpty()) {
+        parseNext(pending, parser);
+      }
+      parser.complete();
+    } finally {
+      executor.shutdownNow();
+    }
+    LOG.info(progress.completeMessage());
+  }
+
+  private void readMappedFile(Consumer<RawBlob> submit) throws IOException {
+    try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      if (blobIndex == null) {
+        blobIndex = indexBlobs(channel);
+      }
+      for (BlobPosition pos : blobIndex) {
+        var data = channel.map(FileChannel.MapMode.READ_ONLY, pos.offset(), pos.length());
+        submit.accept(new RawBlob(pos.type(), data));
+      }
+    }
+  }
+
+  private void readStream(Consumer<RawBlob> submit) throws IOException {
+    try (var in = new DataInputStream(stream.get())) {
+      while (true) {
+        int headerSize;
+        try {
+          headerSize = in.readInt();
+        } catch (EOFException e) {
+          return;
+        }
+        var header = Fileformat.BlobHeader.parseFrom(readBytes(in, headerSize, MAX_HEADER_SIZE));
+        byte[] data = readBytes(in, header.getDatasize(), MAX_BLOB_SIZE);
+        submit.accept(new RawBlob(header.getType(), ByteBuffer.wrap(data)));
+      }
+    }
+  }
+
+  /**
+   * Read the blob headers and create an index with the type and position of each blob.
+   */
+  private static List<BlobPosition> indexBlobs(FileChannel channel) throws IOException {
+    List<BlobPosition> index = new ArrayList<>();
+    long offset = 0;
+    long fileSize = channel.size();
+    var sizeBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+    while (offset < fileSize) {
+      sizeBuffer.clear();
+      readFully(channel, sizeBuffer, offset);
+      int headerSize = sizeBuffer.flip().getInt();
+      checkSize(headerSize, MAX_HEADER_SIZE);
+      offset += Integer.BYTES;
+
+      var headerBuffer = ByteBuffer.allocate(headerSize);
+      readFully(channel, headerBuffer, offset);
+      var header = Fileformat.BlobHeader.parseFrom(headerBuffer.flip());
+      offset += headerSize;
+
+      checkSize(header.getDatasize(), MAX_BLOB_SIZE);
+      index.add(new BlobPosition(header.getType(), offset, header.getDatasize()));
+      offset += header.getDatasize();
+    }
+    return index;
+  }
+
+  /**
+   * Decompress and decode a blob, called on the worker pool. The returned function passes the
+   * decoded block to the parser.
+   */
+  private static Consumer<BinaryParser> decode(RawBlob raw) throws IOException {
+    return switch (raw.type()) {
+      case TYPE_HEADER -> {
+        // The header is small and only occurs once, let the parser decode it
+        var block = FileBlock.newInstance(TYPE_HEADER, uncompress(raw), null);
+        yield parser -> parser.handleBlock(block);
+      }
+      case TYPE_DATA -> {
+        var block = Osmformat.PrimitiveBlock.parseFrom(uncompress(raw));
+        yield parser -> parser.parse(block);
+      }
+      // Unknown blob types should be skipped according to the PBF specification
+      default -> parser -> {};
+    };
+  }
+
+  private static ByteString uncompress(RawBlob raw) throws IOException {
+    var blob = Fileformat.Blob.parseFrom(raw.data());
+    if (blob.hasRaw()) {
+      return blob.getRaw();
+    }
+    if (blob.hasZlibData()) {
+      var inflater = new Inflater();
+      try {
+        inflater.setInput(blob.getZlibData().asReadOnlyByteBuffer());
+        byte[] data = new byte[blob.getRawSize()];
+        int length = 0;
+        while (length < data.length && !inflater.finished()) {
+          int n = inflater.inflate(data, length, data.length - length);
+          if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+            break;
+          }
+          length += n;
+        }
+        if (length != data.length) {
+          throw new InvalidProtocolBufferException("Unexpected size of uncompressed PBF blob.");
+        }
+        return ByteString.copyFrom(data);
+      } catch (DataFormatException e) {
+        throw new IOException("Unable to uncompress PBF blob: " + e.getMessage(), e);
+      } finally {
+        inflater.end();
+      }
+    }
+    throw new IOException("Unsupported PBF blob compression, only zlib is supported.");
+  }
+
+  private static void parseNext(
+    Deque<Future<Consumer<BinaryParser>>> pending,
+    BinaryParser parser
+  ) {
+    try {
+      pending.removeFirst().get().accept(parser);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IllegalStateException("Interrupted while reading OSM PBF file.", e);
+    } catch (ExecutionException e) {
+      throw new IllegalStateException(
+        "Unable to decode OSM PBF block: " + e.getCause().getMessage(),
+        e.getCause()
+      );
+    }
+  }
+
+  private static byte[] readBytes(DataInputStream in, int size, int maxSize) throws IOException {
+    checkSize(size, maxSize);
+    byte[] bytes = new byte[size];
+    in.readFully(bytes);
+    return bytes;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long offset)
+    throws IOException {
+    while (buffer.hasRemaining()) {
+      int n = channel.read(buffer, offset + buffer.position());
+      if (n < 0) {
+        throw new EOFException("Unexpected end of OSM PBF file.");
+      }
+    }
+  }
+
+  private static void checkSize(int size, int maxSize) throws IOException {
+    if (size < 0 || size > maxSize) {
+      throw new IOException("Invalid OSM PBF file, unexpected block size: " + size);
+    }
+  }
+
+  private static int defaultNumberOfThreads() {
+    // Leave one processor for the parser
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
+  private record BlobPosition(String type, long offset, int length) {}
+
+  private record RawBlob(String type, ByteBuffer data) {}
+}
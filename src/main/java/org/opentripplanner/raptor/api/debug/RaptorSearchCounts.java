@@ -0,0 +1,25 @@
+package org.opentripplanner.raptor.api.debug;
+
+/**
+ * The amount of work done by one Raptor search. This is reported to the {@link RaptorTimers} when
+ * the search is complete, and can be used to see why a search is slow; more iterations, rounds,
+ * patterns or arrivals all add to the search time.
+ *
+ * @param iterations The number of Range Raptor iterations (minutes) performed.
+ * @param rounds The number of rounds performed in all iterations.
+ * @param patternsVisited The number of patterns scanned in all rounds.
+ * @param boardingsAttempted The number of times a trip was searched for at a stop reached in the
+ *                           previous round.
+ * @param stopArrivalsAccepted The number of stop arrivals kept by the state (pareto set).
+ * @param stopArrivalsRejected The number of stop arrivals rejected by the state (pareto set).
+ * @param destinationArrivals The number of paths accepted at the destination.
+ */
+public record RaptorSearchCounts(
+  long iterations,
+  long rounds,
+  long patternsVisited,
+  long boardingsAttempted,
+  long stopArrivalsAccepted,
+  long stopArrivalsRejected,
+  long destinationArrivals
+) {}
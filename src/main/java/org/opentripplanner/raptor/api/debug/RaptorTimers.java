@@ -50,6 +50,12 @@ public interface RaptorTimers {
    */
   void findTransfersForRound(Runnable body);
 
+  /**
+   * This method is called when a Range Raptor routing request is complete, with the amount of work
+   * done by the search. The default implementation does nothing.
+   */
+  default void searchCompleted(RaptorSearchCounts counts) {}
+
   /**
    * Create a new instance with a new name prefix. Useful when creating a new request for heuristic.
    */
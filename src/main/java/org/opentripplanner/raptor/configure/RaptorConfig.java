@@ -131,6 +131,7 @@ public class RaptorConfig<T extends RaptorTripSchedule> {
       ctx.calculator(),
       ctx.createLifeCyclePublisher(),
       ctx.performanceTimers(),
+      ctx.counters(),
       ctx.useConstrainedTransfers()
     );
   }
@@ -13,6 +13,7 @@ import org.opentripplanner.raptor.rangeraptor.internalapi.RoundProvider;
 import org.opentripplanner.raptor.rangeraptor.internalapi.RoutingStrategy;
 import org.opentripplanner.raptor.rangeraptor.internalapi.SlackProvider;
 import org.opentripplanner.raptor.rangeraptor.lifecycle.LifeCycleEventPublisher;
+import org.opentripplanner.raptor.rangeraptor.support.SearchCounters;
 import org.opentripplanner.raptor.rangeraptor.transit.AccessPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.rangeraptor.transit.RoundTracker;
@@ -79,6 +80,8 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
 
   private final RaptorTimers timers;
 
+  private final SearchCounters counters;
+
   private final AccessPaths accessPaths;
 
   private final LifeCycleEventPublisher lifeCycle;
@@ -99,6 +102,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
     RaptorTransitCalculator<T> calculator,
     LifeCycleEventPublisher lifeCyclePublisher,
     RaptorTimers timers,
+    SearchCounters counters,
     boolean enableTransferConstraints
   ) {
     this.transitWorker = transitWorker;
@@ -107,6 +111,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
     this.slackProvider = slackProvider;
     this.calculator = calculator;
     this.timers = timers;
+    this.counters = counters;
     this.accessPaths = accessPaths;
     this.minNumberOfRounds = accessPaths.calculateMaxNumberOfRides();
     this.enableTransferConstraints = enableTransferConstraints;
@@ -125,30 +130,35 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
    */
   @Override
   public RaptorWorkerResult<T> route() {
-    timers.route(() -> {
-      lifeCycle.notifyRouteSearchStart(calculator.searchForward());
-      transitData.setup();
-
-      // The main outer loop iterates backward over all minutes in the departure times window.
-      // Ergo, we re-use the arrival times found in searches that have already occurred that
-      // depart later, because the arrival time given departure at time t is upper-bounded by
-      // the arrival time given departure at minute t + 1.
-      final IntIterator it = calculator.rangeRaptorMinutes();
-      while (it.hasNext()) {
-        setupIteration(it.next());
-        runRaptorForMinute();
-      }
-
-      // Iterate over virtual departure times - this is needed to allow access with a time-penalty
-      // which falls outside the search-window due to the added time-penalty.
-      if (!calculator.oneIterationOnly()) {
-        final IntIterator as = accessPaths.iterateOverPathsWithPenalty(iterationDepartureTime);
-        while (as.hasNext()) {
-          setupIteration(as.next());
+    try {
+      timers.route(() -> {
+        lifeCycle.notifyRouteSearchStart(calculator.searchForward());
+        transitData.setup();
+
+        // The main outer loop iterates backward over all minutes in the departure times window.
+        // Ergo, we re-use the arrival times found in searches that have already occurred that
+        // depart later, because the arrival time given departure at time t is upper-bounded by
+        // the arrival time given departure at minute t + 1.
+        final IntIterator it = calculator.rangeRaptorMinutes();
+        while (it.hasNext()) {
+          setupIteration(it.next());
           runRaptorForMinute();
         }
-      }
-    });
+
+        // Iterate over virtual departure times - this is needed to allow access with a time-penalty
+        // which falls outside the search-window due to the added time-penalty.
+        if (!calculator.oneIterationOnly()) {
+          final IntIterator as = accessPaths.iterateOverPathsWithPenalty(iterationDepartureTime);
+          while (as.hasNext()) {
+            setupIteration(as.next());
+            runRaptorForMinute();
+          }
+        }
+      });
+    } finally {
+      // Report the work done, also when the search is stopped by a timeout
+      timers.searchCompleted(counters.counts());
+    }
     return state.results();
   }
 
@@ -160,6 +170,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
 
     while (hasMoreRounds()) {
       lifeCycle.prepareForNextRound(roundTracker.nextRound());
+      counters.roundStarted();
 
       // NB since we have transfer limiting not bothering to cut off search when there are no
       // more transfers as that will be rare and complicates the code
@@ -202,6 +213,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
         var routeIndex = routeIndexIterator.next();
         var route = transitData.getRouteForIndex(routeIndex);
         var pattern = route.pattern();
+        counters.patternVisited();
         var txSearch = enableTransferConstraints
           ? calculator.transferConstraintsSearch(transitData, routeIndex)
           : null;
@@ -233,6 +245,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
             // Don't attempt to board if this stop was not reached in the last round.
             // Allow to reboard the same pattern - a pattern may loop and visit the same stop twice
             if (state.isStopReachedInPreviousRound(stopIndex)) {
+              counters.boardingAttempted();
               // has constrained transfers
               if (enableTransferConstraints && txSearch.transferExistTargetStop(stopPos)) {
                 transitWorker.boardWithConstrainedTransfer(
@@ -285,6 +298,7 @@ public final class DefaultRangeRaptorWorker<T extends RaptorTripSchedule>
   private void setupIteration(int iterationDepartureTime) {
     OTPRequestTimeoutException.checkForTimeout();
     this.iterationDepartureTime = iterationDepartureTime;
+    counters.iterationStarted();
     lifeCycle.setupIteration(this.iterationDepartureTime);
   }
 
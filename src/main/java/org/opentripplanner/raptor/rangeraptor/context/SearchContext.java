@@ -30,6 +30,7 @@ import org.opentripplanner.raptor.rangeraptor.internalapi.SlackProvider;
 import org.opentripplanner.raptor.rangeraptor.internalapi.WorkerLifeCycle;
 import org.opentripplanner.raptor.rangeraptor.lifecycle.LifeCycleEventPublisher;
 import org.opentripplanner.raptor.rangeraptor.lifecycle.LifeCycleSubscriptions;
+import org.opentripplanner.raptor.rangeraptor.support.SearchCounters;
 import org.opentripplanner.raptor.rangeraptor.support.TimeBasedBoardingSupport;
 import org.opentripplanner.raptor.rangeraptor.transit.AccessPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.EgressPaths;
@@ -67,6 +68,7 @@ public class SearchContext<T extends RaptorTripSchedule> {
   private final EgressPaths egressPaths;
   private final AccessPaths accessPaths;
   private final LifeCycleSubscriptions lifeCycleSubscriptions = new LifeCycleSubscriptions();
+  private final SearchCounters counters = new SearchCounters();
 
   @Nullable
   private final IntPredicate acceptC2AtDestination;
@@ -175,6 +177,11 @@ public class SearchContext<T extends RaptorTripSchedule> {
     return request.performanceTimers();
   }
 
+  /** Count the work done by the search, reported to the performance timers when done. */
+  public SearchCounters counters() {
+    return counters;
+  }
+
   @Nullable
   public IntPredicate acceptC2AtDestination() {
     return acceptC2AtDestination;
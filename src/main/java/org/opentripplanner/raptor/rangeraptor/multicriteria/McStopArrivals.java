@@ -11,6 +11,7 @@ import org.opentripplanner.raptor.rangeraptor.debug.DebugHandlerFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.ArrivalParetoSetComparatorFactory;
 import org.opentripplanner.raptor.rangeraptor.multicriteria.arrivals.McStopArrival;
 import org.opentripplanner.raptor.rangeraptor.path.DestinationArrivalPaths;
+import org.opentripplanner.raptor.rangeraptor.support.SearchCounters;
 import org.opentripplanner.raptor.rangeraptor.transit.AccessPaths;
 import org.opentripplanner.raptor.rangeraptor.transit.EgressPaths;
 import org.opentripplanner.raptor.spi.IntIterator;
@@ -31,6 +32,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
   private final ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory;
   private final DebugHandlerFactory<T> debugHandlerFactory;
   private final DebugStopArrivalsStatistics debugStats;
+  private final SearchCounters counters;
 
   /**
    * Set the time at a transit index iff it is optimal. This sets both the best time and the
@@ -42,7 +44,8 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     AccessPaths accessPaths,
     DestinationArrivalPaths<T> paths,
     ArrivalParetoSetComparatorFactory<McStopArrival<T>> comparatorFactory,
-    DebugHandlerFactory<T> debugHandlerFactory
+    DebugHandlerFactory<T> debugHandlerFactory,
+    SearchCounters counters
   ) {
     this.comparatorFactory = comparatorFactory;
     //noinspection unchecked
@@ -50,6 +53,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
     this.touchedStops = new BitSet(nStops);
     this.debugHandlerFactory = debugHandlerFactory;
     this.debugStats = new DebugStopArrivalsStatistics(debugHandlerFactory.debugLogger());
+    this.counters = counters;
 
     initAccessArrivals(accessPaths);
     glueTogetherEgressStopWithDestinationArrivals(egressPaths, paths);
@@ -91,6 +95,7 @@ public final class McStopArrivals<T extends RaptorTripSchedule> {
 
   void addStopArrival(McStopArrival<T> arrival) {
     boolean added = findOrCreateSet(arrival.stop()).add(arrival);
+    counters.stopArrival(added);
     if (added) {
       touchedStops.set(arrival.stop());
     }
@@ -133,7 +133,8 @@ public class McRangeRaptorConfig<T extends RaptorTripSchedule> {
       context.accessPaths(),
       createDestinationArrivalPaths(),
       createFactoryParetoComparator(),
-      context.debugFactory()
+      context.debugFactory(),
+      context.counters()
     );
   }
 
@@ -18,6 +18,7 @@ import org.opentripplanner.raptor.rangeraptor.debug.DebugHandlerFactory;
 import org.opentripplanner.raptor.rangeraptor.internalapi.DebugHandler;
 import org.opentripplanner.raptor.rangeraptor.internalapi.SlackProvider;
 import org.opentripplanner.raptor.rangeraptor.internalapi.WorkerLifeCycle;
+import org.opentripplanner.raptor.rangeraptor.support.SearchCounters;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.spi.RaptorCostCalculator;
 import org.opentripplanner.raptor.util.paretoset.ParetoComparator;
@@ -57,6 +58,7 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
   private final PathMapper<T> pathMapper;
   private final DebugHandler<RaptorPath<?>> debugPathHandler;
   private final RaptorStopNameResolver stopNameResolver;
+  private final SearchCounters counters;
   private boolean reachedCurrentRound = false;
   private int iterationDepartureTime = -1;
 
@@ -69,7 +71,8 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     PathMapper<T> pathMapper,
     DebugHandlerFactory<T> debugHandlerFactory,
     RaptorStopNameResolver stopNameResolver,
-    WorkerLifeCycle lifeCycle
+    WorkerLifeCycle lifeCycle,
+    SearchCounters counters
   ) {
     this.paths =
       new ParetoSet<>(paretoComparator, debugHandlerFactory.paretoSetDebugPathListener());
@@ -80,6 +83,7 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     this.acceptC2AtDestination = acceptC2AtDestination;
     this.debugPathHandler = debugHandlerFactory.debugPathArrival();
     this.stopNameResolver = stopNameResolver;
+    this.counters = counters;
     lifeCycle.onPrepareForNextRound(round -> clearReachedCurrentRoundFlag());
     lifeCycle.onSetupIteration(this::setRangeRaptorIterationDepartureTime);
   }
@@ -111,6 +115,7 @@ public class DestinationArrivalPaths<T extends RaptorTripSchedule> {
     boolean added = paths.add(path);
     if (added) {
       reachedCurrentRound = true;
+      counters.destinationArrivalAccepted();
     }
   }
 
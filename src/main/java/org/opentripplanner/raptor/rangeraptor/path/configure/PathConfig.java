@@ -62,7 +62,8 @@ public class PathConfig<T extends RaptorTripSchedule> {
       createPathMapper(costConfig.includeC1()),
       ctx.debugFactory(),
       ctx.stopNameResolver(),
-      ctx.lifeCycle()
+      ctx.lifeCycle(),
+      ctx.counters()
     );
   }
 
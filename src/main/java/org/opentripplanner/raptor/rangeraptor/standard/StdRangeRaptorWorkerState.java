@@ -10,6 +10,7 @@ import org.opentripplanner.raptor.rangeraptor.standard.besttimes.BestTimes;
 import org.opentripplanner.raptor.rangeraptor.standard.internalapi.ArrivedAtDestinationCheck;
 import org.opentripplanner.raptor.rangeraptor.standard.internalapi.BestNumberOfTransfers;
 import org.opentripplanner.raptor.rangeraptor.standard.internalapi.StopArrivalsState;
+import org.opentripplanner.raptor.rangeraptor.support.SearchCounters;
 import org.opentripplanner.raptor.rangeraptor.transit.RaptorTransitCalculator;
 import org.opentripplanner.raptor.spi.IntIterator;
 
@@ -58,6 +59,8 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
    */
   private final RaptorTransitCalculator<T> calculator;
 
+  private final SearchCounters counters;
+
   /**
    * create a BestTimes Range Raptor State for given context.
    */
@@ -66,13 +69,15 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
     BestTimes bestTimes,
     StopArrivalsState<T> stopArrivalsState,
     BestNumberOfTransfers bestNumberOfTransfers,
-    ArrivedAtDestinationCheck arrivedAtDestinationCheck
+    ArrivedAtDestinationCheck arrivedAtDestinationCheck,
+    SearchCounters counters
   ) {
     this.calculator = calculator;
     this.bestTimes = bestTimes;
     this.stopArrivalsState = stopArrivalsState;
     this.bestNumberOfTransfers = bestNumberOfTransfers;
     this.arrivedAtDestinationCheck = arrivedAtDestinationCheck;
+    this.counters = counters;
   }
 
   @Override
@@ -112,6 +117,7 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
       accessPath.stopReachedOnBoard() && newBestTransitArrivalTime(stop, arrivalTime);
     boolean bestTime = newOverallBestTime(stop, arrivalTime);
 
+    counters.stopArrival(reachedOnBoard || bestTime);
     if (reachedOnBoard || bestTime) {
       stopArrivalsState.setAccessTime(arrivalTime, accessPath, bestTime);
     } else {
@@ -166,7 +172,9 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
       return;
     }
 
-    if (newBestTransitArrivalTime(stop, arrivalTime)) {
+    boolean accepted = newBestTransitArrivalTime(stop, arrivalTime);
+    counters.stopArrival(accepted);
+    if (accepted) {
       // transitTimes upper bounds bestTimes
       final boolean newOverallBestTime = newOverallBestTime(stop, arrivalTime);
       stopArrivalsState.setNewBestTransitTime(
@@ -201,7 +209,9 @@ public final class StdRangeRaptorWorkerState<T extends RaptorTripSchedule>
 
     final int toStop = transfer.stop();
 
-    if (newOverallBestTime(toStop, arrivalTime)) {
+    boolean accepted = newOverallBestTime(toStop, arrivalTime);
+    counters.stopArrival(accepted);
+    if (accepted) {
       stopArrivalsState.setNewBestTransferTime(fromStop, arrivalTime, transfer);
     } else {
       stopArrivalsState.rejectNewBestTransferTime(fromStop, arrivalTime, transfer);
@@ -111,7 +111,8 @@ public class StdRangeRaptorConfig<T extends RaptorTripSchedule> {
             resolveBestTimes(),
             createStopArrivals(),
             resolveBestNumberOfTransfers(),
-            resolveArrivedAtDestinationCheck()
+            resolveArrivedAtDestinationCheck(),
+            ctx.counters()
           ),
           StdWorkerState.class
         );
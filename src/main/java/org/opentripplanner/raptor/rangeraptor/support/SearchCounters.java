@@ -0,0 +1,63 @@
+package org.opentripplanner.raptor.rangeraptor.support;
+
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
+
+/**
+ * Count the work done by one Raptor search, see {@link RaptorSearchCounts}. One instance is
+ * created for each search and updated by the worker, the state and the destination arrivals.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE, a search is performed by one thread.
+ */
+public final class SearchCounters {
+
+  private long iterations = 0;
+  private long rounds = 0;
+  private long patternsVisited = 0;
+  private long boardingsAttempted = 0;
+  private long stopArrivalsAccepted = 0;
+  private long stopArrivalsRejected = 0;
+  private long destinationArrivals = 0;
+
+  public void iterationStarted() {
+    ++iterations;
+  }
+
+  public void roundStarted() {
+    ++rounds;
+  }
+
+  public void patternVisited() {
+    ++patternsVisited;
+  }
+
+  public void boardingAttempted() {
+    ++boardingsAttempted;
+  }
+
+  /**
+   * Count a stop arrival offered to the state, it is either accepted or rejected.
+   */
+  public void stopArrival(boolean accepted) {
+    if (accepted) {
+      ++stopArrivalsAccepted;
+    } else {
+      ++stopArrivalsRejected;
+    }
+  }
+
+  public void destinationArrivalAccepted() {
+    ++destinationArrivals;
+  }
+
+  public RaptorSearchCounts counts() {
+    return new RaptorSearchCounts(
+      iterations,
+      rounds,
+      patternsVisited,
+      boardingsAttempted,
+      stopArrivalsAccepted,
+      stopArrivalsRejected,
+      destinationArrivals
+    );
+  }
+}
@@ -12,6 +12,7 @@ import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.framework.concurrent.RequestResourceUsage;
 import org.opentripplanner.raptor.RaptorService;
 import org.opentripplanner.raptor.api.model.RaptorTripSchedule;
 import org.opentripplanner.raptor.api.request.RaptorRequest;
@@ -172,7 +173,7 @@ public class RangeRaptorDynamicSearch<T extends RaptorTripSchedule> {
     revHeuristics.withRequest(originalRequest);
     Future<?> asyncResult = null;
     try {
-      asyncResult = config.threadPool().submit(fwdHeuristics::run);
+      asyncResult = config.threadPool().submit(RequestResourceUsage.wrap(fwdHeuristics::run));
       revHeuristics.run();
       asyncResult.get();
       LOG.debug(
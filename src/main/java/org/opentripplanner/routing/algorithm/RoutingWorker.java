@@ -14,6 +14,7 @@ import java.util.concurrent.CompletionException;
 import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.application.OTPRequestTimeoutException;
+import org.opentripplanner.framework.concurrent.RequestResourceUsage;
 import org.opentripplanner.framework.time.ServiceDateUtils;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.model.plan.paging.cursor.PageCursorInput;
@@ -34,6 +35,7 @@ import org.opentripplanner.routing.api.response.RoutingError;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.error.RoutingValidationException;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
+import org.opentripplanner.routing.framework.SlowRequestRecorder;
 import org.opentripplanner.service.paging.PagingService;
 import org.opentripplanner.standalone.api.OtpServerRequestContext;
 import org.slf4j.Logger;
@@ -82,6 +84,19 @@ public class RoutingWorker {
   }
 
   public RoutingResponse route() {
+    RoutingResponse response;
+    try (var ignore = debugTimingAggregator.resourceUsage().start()) {
+      response = routeAndFilter();
+    } finally {
+      debugTimingAggregator.finishedResourceMeasurement();
+    }
+    if (OTPFeature.ActuatorAPISlowRequests.isOn()) {
+      SlowRequestRecorder.global().record(request, debugTimingAggregator);
+    }
+    return response;
+  }
+
+  private RoutingResponse routeAndFilter() {
     OTPRequestTimeoutException.checkForTimeout();
 
     // If no direct mode is set, then we set one.
@@ -103,9 +118,15 @@ public class RoutingWorker {
       try {
         CompletableFuture
           .allOf(
-            CompletableFuture.runAsync(() -> routeDirectStreet(itineraries, routingErrors)),
-            CompletableFuture.runAsync(() -> routeDirectFlex(itineraries, routingErrors)),
-            CompletableFuture.runAsync(() -> routeTransit(itineraries, routingErrors))
+            CompletableFuture.runAsync(
+              RequestResourceUsage.wrap(() -> routeDirectStreet(itineraries, routingErrors))
+            ),
+            CompletableFuture.runAsync(
+              RequestResourceUsage.wrap(() -> routeDirectFlex(itineraries, routingErrors))
+            ),
+            CompletableFuture.runAsync(
+              RequestResourceUsage.wrap(() -> routeTransit(itineraries, routingErrors))
+            )
           )
           .join();
       } catch (CompletionException e) {
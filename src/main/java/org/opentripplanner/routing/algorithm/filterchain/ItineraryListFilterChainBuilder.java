@@ -86,6 +86,7 @@ public class ItineraryListFilterChainBuilder {
   private double minBikeParkingDistance;
   private boolean removeTransitIfWalkingIsBetter = true;
   private ItinerarySortKey itineraryPageCut;
+  private boolean parallelDecorators = false;
 
   /**
    * Sandbox filters which decorate the itineraries with extra information.
@@ -330,6 +331,15 @@ public class ItineraryListFilterChainBuilder {
     return this;
   }
 
+  /**
+   * Decorate the itineraries in parallel. The decorators are still applied in the same order to
+   * each itinerary.
+   */
+  public ItineraryListFilterChainBuilder withParallelDecorators(boolean enable) {
+    this.parallelDecorators = enable;
+    return this;
+  }
+
   public ItineraryListFilterChainBuilder withMinBikeParkingDistance(double distance) {
     this.minBikeParkingDistance = distance;
     return this;
@@ -485,34 +495,37 @@ public class ItineraryListFilterChainBuilder {
 
     // Decorate itineraries
     {
+      // The decorators before the ride-hailing filter are applied together, each itinerary is
+      // decorated by all of them in this order
+      var decorators = new ArrayList<ItineraryDecorator>();
+
       if (transitAlertService != null) {
-        addDecorateFilter(
-          filters,
-          new DecorateTransitAlert(transitAlertService, getMultiModalStation)
-        );
+        decorators.add(new DecorateTransitAlert(transitAlertService, getMultiModalStation));
       }
 
       // Sandbox filters to decorate itineraries
 
       if (accessibilityScore) {
         // TODO: This should be injected to avoid circular dependencies (dep. on sandbox here)
-        addDecorateFilter(filters, new DecorateWithAccessibilityScore(wheelchairMaxSlope));
+        decorators.add(new DecorateWithAccessibilityScore(wheelchairMaxSlope));
       }
 
       if (emissionDecorator != null) {
-        addDecorateFilter(filters, emissionDecorator);
+        decorators.add(emissionDecorator);
       }
 
       if (fareDecorator != null) {
-        addDecorateFilter(filters, fareDecorator);
+        decorators.add(fareDecorator);
       }
 
+      addDecorateFilter(filters, decorators, parallelDecorators);
+
       if (rideHailingDecorator != null) {
         filters.add(rideHailingDecorator);
       }
 
       if (stopConsolidationDecorator != null) {
-        addDecorateFilter(filters, stopConsolidationDecorator);
+        addDecorateFilter(filters, List.of(stopConsolidationDecorator), parallelDecorators);
       }
     }
 
@@ -616,8 +629,11 @@ public class ItineraryListFilterChainBuilder {
 
   private static void addDecorateFilter(
     List<ItineraryListFilter> filters,
-    ItineraryDecorator decorator
+    List<ItineraryDecorator> decorators,
+    boolean parallel
   ) {
-    filters.add(new DecorateFilter(decorator));
+    if (!decorators.isEmpty()) {
+      filters.add(new DecorateFilter(decorators, parallel));
+    }
   }
 }
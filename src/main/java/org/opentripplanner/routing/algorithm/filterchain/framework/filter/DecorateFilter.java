@@ -1,6 +1,7 @@
 package org.opentripplanner.routing.algorithm.filterchain.framework.filter;
 
 import java.util.List;
+import org.opentripplanner.framework.concurrent.OtpRequestExecutor;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryDecorator;
 import org.opentripplanner.routing.algorithm.filterchain.framework.spi.ItineraryListFilter;
@@ -8,20 +9,40 @@ import org.opentripplanner.routing.algorithm.filterchain.framework.spi.Itinerary
 /**
  * This is the decorator filter implementation. To add a decorator, you should implement
  * the {@link ItineraryDecorator}.
+ * <p>
+ * The decorators are applied to each itinerary in the given order. If {@code parallel} is set,
+ * the itineraries are decorated in parallel, so the decorators must not share state between
+ * itineraries.
  */
 public final class DecorateFilter implements ItineraryListFilter {
 
-  private final ItineraryDecorator decorator;
+  private final List<ItineraryDecorator> decorators;
+  private final boolean parallel;
 
   public DecorateFilter(ItineraryDecorator decorator) {
-    this.decorator = decorator;
+    this(List.of(decorator), false);
+  }
+
+  public DecorateFilter(List<ItineraryDecorator> decorators, boolean parallel) {
+    this.decorators = List.copyOf(decorators);
+    this.parallel = parallel;
   }
 
   @Override
   public List<Itinerary> filter(List<Itinerary> itineraries) {
-    for (var it : itineraries) {
-      decorator.decorate(it);
+    if (parallel) {
+      OtpRequestExecutor.forEach(itineraries, this::decorate);
+    } else {
+      for (var it : itineraries) {
+        decorate(it);
+      }
     }
     return itineraries;
   }
+
+  private void decorate(Itinerary itinerary) {
+    for (var decorator : decorators) {
+      decorator.decorate(itinerary);
+    }
+  }
 }
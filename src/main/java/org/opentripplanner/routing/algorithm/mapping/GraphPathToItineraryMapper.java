@@ -10,7 +10,6 @@ import java.util.List;
 import java.util.Objects;
 import java.util.Set;
 import org.locationtech.jts.geom.Coordinate;
-import org.locationtech.jts.geom.LineString;
 import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
 import org.opentripplanner.astar.model.GraphPath;
 import org.opentripplanner.ext.flex.FlexibleTransitLeg;
@@ -342,6 +341,11 @@ public class GraphPathToItineraryMapper {
   /**
    * Generate one leg of an itinerary from a list of {@link State}.
    *
+   * The geometry and the elevation profile are generated the first time they are used, most
+   * itineraries are removed by the filter chain before that. They only need the edges, not the
+   * states. The walk steps are generated here, because generating them traverses the graph around
+   * the states, and the temporary edges of the request are removed when the routing is done.
+   *
    * @param states       The list of states to base the leg on
    * @param previousStep the previous walk step, so that the first relative turn direction is
    *                     calculated correctly
@@ -364,8 +368,6 @@ public class GraphPathToItineraryMapper {
 
     double distanceMeters = edges.stream().mapToDouble(Edge::getDistanceMeters).sum();
 
-    LineString geometry = GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry);
-
     var statesToWalkStepsMapper = new StatesToWalkStepsMapper(
       states,
       previousStep,
@@ -384,6 +386,8 @@ public class GraphPathToItineraryMapper {
 
     State startTimeState = previousStateIsVehicleParking ? firstState.getBackState() : firstState;
 
+    boolean geoidElevation = firstState.getPreferences().system().geoidElevation();
+
     StreetLegBuilder leg = StreetLeg
       .create()
       .withMode(resolveMode(states))
@@ -393,10 +397,8 @@ public class GraphPathToItineraryMapper {
       .withTo(makePlace(lastState))
       .withDistanceMeters(distanceMeters)
       .withGeneralizedCost((int) (lastState.getWeight() - firstState.getWeight()))
-      .withGeometry(geometry)
-      .withElevationProfile(
-        makeElevation(edges, firstState.getPreferences().system().geoidElevation())
-      )
+      .withLazyGeometry(() -> GeometryUtils.concatenateLineStrings(edges, Edge::getGeometry))
+      .withLazyElevationProfile(() -> makeElevation(edges, geoidElevation))
       .withWalkSteps(walkSteps)
       .withRentedVehicle(firstState.isRentingVehicle())
       .withWalkingBike(false);
@@ -312,7 +312,7 @@ public class RaptorPathToItineraryMapper<T extends TripSchedule> {
           .withTo(to)
           .withDistanceMeters(transfer.getDistanceMeters())
           .withGeneralizedCost(toOtpDomainCost(pathLeg.c1()))
-          .withGeometry(GeometryUtils.makeLineString(transfer.getCoordinates()))
+          .withLazyGeometry(() -> GeometryUtils.makeLineString(transfer.getCoordinates()))
           .withWalkSteps(List.of())
           .build()
       );
@@ -92,6 +92,7 @@ public class RouteRequestToFilterChainMapper {
       .withPageCursorInputSubscriber(pageCursorInputSubscriber)
       .withRemoveWalkAllTheWayResults(removeWalkAllTheWayResults)
       .withRemoveTransitIfWalkingIsBetter(true)
+      .withParallelDecorators(OTPFeature.ParallelRouting.isOn())
       .withDebugEnabled(params.debug());
 
     var fareService = context.graph().getFareService();
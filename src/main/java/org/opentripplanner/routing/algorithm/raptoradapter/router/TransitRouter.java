@@ -13,6 +13,8 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import org.opentripplanner.ext.ridehailing.RideHailingAccessShifter;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.OtpRequestExecutor;
+import org.opentripplanner.framework.concurrent.RequestResourceUsage;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.RaptorService;
 import org.opentripplanner.raptor.api.path.RaptorPath;
@@ -127,7 +129,8 @@ public class TransitRouter {
       serverContext.raptorConfig().isMultiThreaded(),
       accessEgresses.getAccesses(),
       accessEgresses.getEgresses(),
-      serverContext.meterRegistry()
+      serverContext.meterRegistry(),
+      debugTimingAggregator.raptorSearchStatistics()
     );
 
     // Route transit
@@ -163,7 +166,9 @@ public class TransitRouter {
       request
     );
 
-    List<Itinerary> itineraries = paths.stream().map(itineraryMapper::createItinerary).toList();
+    List<Itinerary> itineraries = OTPFeature.ParallelRouting.isOn()
+      ? OtpRequestExecutor.map(List.copyOf(paths), itineraryMapper::createItinerary)
+      : paths.stream().map(itineraryMapper::createItinerary).toList();
 
     debugTimingAggregator.finishedItineraryCreation();
 
@@ -180,8 +185,12 @@ public class TransitRouter {
         //       log-trace-parameters-propagation and graceful timeout handling here.
         CompletableFuture
           .allOf(
-            CompletableFuture.runAsync(() -> asyncAccessList.addAll(fetchAccess())),
-            CompletableFuture.runAsync(() -> asyncEgressList.addAll(fetchEgress()))
+            CompletableFuture.runAsync(
+              RequestResourceUsage.wrap(() -> asyncAccessList.addAll(fetchAccess()))
+            ),
+            CompletableFuture.runAsync(
+              RequestResourceUsage.wrap(() -> asyncEgressList.addAll(fetchEgress()))
+            )
           )
           .join();
       } catch (CompletionException e) {
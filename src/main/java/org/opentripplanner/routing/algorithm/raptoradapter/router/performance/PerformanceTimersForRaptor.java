@@ -3,10 +3,18 @@ package org.opentripplanner.routing.algorithm.raptoradapter.router.performance;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Timer;
 import java.util.Collection;
+import javax.annotation.Nullable;
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
 import org.opentripplanner.raptor.api.debug.RaptorTimers;
 import org.opentripplanner.routing.api.request.RoutingTag;
 import org.opentripplanner.routing.framework.MicrometerUtils;
+import org.opentripplanner.routing.framework.RaptorSearchStatistics;
 
+/**
+ * Record the time spent in the Raptor searches with Micrometer timers, and emit Java Flight
+ * Recorder events for each search and round, see {@link RaptorSearchEvent} and
+ * {@link RaptorRoundEvent}.
+ */
 public class PerformanceTimersForRaptor implements RaptorTimers {
 
   // Variables to track time spent
@@ -15,14 +23,49 @@ public class PerformanceTimersForRaptor implements RaptorTimers {
   private final Timer findTransfersPerRound;
   private final MeterRegistry registry;
   private final Collection<RoutingTag> routingTags;
+  private final String namePrefix;
+
+  @Nullable
+  private final RaptorSearchStatistics statistics;
+
+  private final boolean heuristic;
+
+  /** The number of rounds of the current search, each search runs in one thread. */
+  private int rounds;
 
   public PerformanceTimersForRaptor(
     String namePrefix,
     Collection<RoutingTag> routingTags,
     MeterRegistry registry
+  ) {
+    this(namePrefix, routingTags, registry, null);
+  }
+
+  /**
+   * @param statistics If not {@code null}, the work done by the searches of the request and the
+   *                   time taken by the heuristic searches are added to the statistics.
+   */
+  public PerformanceTimersForRaptor(
+    String namePrefix,
+    Collection<RoutingTag> routingTags,
+    MeterRegistry registry,
+    @Nullable RaptorSearchStatistics statistics
+  ) {
+    this(namePrefix, routingTags, registry, statistics, false);
+  }
+
+  private PerformanceTimersForRaptor(
+    String namePrefix,
+    Collection<RoutingTag> routingTags,
+    MeterRegistry registry,
+    @Nullable RaptorSearchStatistics statistics,
+    boolean heuristic
   ) {
     this.registry = registry;
     this.routingTags = routingTags;
+    this.statistics = statistics;
+    this.heuristic = heuristic;
+    this.namePrefix = namePrefix;
     var tags = MicrometerUtils.mapTimingTags(routingTags);
     timerRoute = Timer.builder("raptor." + namePrefix + ".route").tags(tags).register(registry);
     findTransitPerRound =
@@ -45,21 +88,63 @@ public class PerformanceTimersForRaptor implements RaptorTimers {
 
   @Override
   public void route(Runnable body) {
+    var event = new RaptorSearchEvent();
+    event.begin();
+    rounds = 0;
+    long start = System.nanoTime();
+
     timerRoute.record(body);
+
+    if (statistics != null && heuristic) {
+      statistics.heuristicSearchPerformed(System.nanoTime() - start);
+    }
+    if (event.shouldCommit()) {
+      event.name = namePrefix;
+      event.heuristic = heuristic;
+      event.rounds = rounds;
+      event.commit();
+    }
   }
 
   @Override
   public void findTransitForRound(Runnable body) {
+    var event = new RaptorRoundEvent();
+    event.begin();
+
     findTransitPerRound.record(body);
+
+    ++rounds;
+    commit(event, false);
   }
 
   @Override
   public void findTransfersForRound(Runnable body) {
+    var event = new RaptorRoundEvent();
+    event.begin();
+
     findTransfersPerRound.record(body);
+
+    commit(event, true);
+  }
+
+  @Override
+  public void searchCompleted(RaptorSearchCounts counts) {
+    if (statistics != null) {
+      statistics.searchCompleted(heuristic, counts);
+    }
   }
 
   @Override
   public RaptorTimers withNamePrefix(String namePrefix) {
-    return new PerformanceTimersForRaptor(namePrefix, routingTags, registry);
+    // The timers with a name prefix are used by the heuristic searches
+    return new PerformanceTimersForRaptor(namePrefix, routingTags, registry, statistics, true);
+  }
+
+  private void commit(RaptorRoundEvent event, boolean transfers) {
+    if (event.shouldCommit()) {
+      event.name = namePrefix;
+      event.transfers = transfers;
+      event.commit();
+    }
   }
 }
@@ -0,0 +1,31 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.performance;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for the transit or the transfer part of one Raptor round. There are
+ * many rounds in each search, so this event is disabled by default. Enable it in the recording
+ * settings with {@code org.opentripplanner.RaptorRound#enabled=true}.
+ */
+@Name("org.opentripplanner.RaptorRound")
+@Label("Raptor Round")
+@Category({ "OpenTripPlanner", "Raptor" })
+@Description("Find the transit or the transfers of one Raptor round")
+@StackTrace(false)
+@Enabled(false)
+class RaptorRoundEvent extends Event {
+
+  @Label("Name")
+  @Description("The name of the search, generated from the search parameters")
+  String name;
+
+  @Label("Transfers")
+  @Description("True for the transfer part of the round, false for the transit part")
+  boolean transfers;
+}
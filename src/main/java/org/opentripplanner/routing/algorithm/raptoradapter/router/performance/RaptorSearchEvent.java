@@ -0,0 +1,31 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.performance;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for one Raptor search, the main search or one of the heuristic
+ * searches of a routing request.
+ */
+@Name("org.opentripplanner.RaptorSearch")
+@Label("Raptor Search")
+@Category({ "OpenTripPlanner", "Raptor" })
+@Description("A Raptor worker route() call, the main search or a heuristic search")
+@StackTrace(false)
+class RaptorSearchEvent extends Event {
+
+  @Label("Name")
+  @Description("The name of the search, generated from the search parameters")
+  String name;
+
+  @Label("Heuristic")
+  boolean heuristic;
+
+  @Label("Rounds")
+  @Description("The number of rounds of all iterations of the search")
+  int rounds;
+}
@@ -7,6 +7,7 @@ import java.time.Instant;
 import java.time.ZonedDateTime;
 import java.util.Collection;
 import java.util.List;
+import javax.annotation.Nullable;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.raptor.api.model.GeneralizedCostRelaxFunction;
 import org.opentripplanner.raptor.api.model.RaptorAccessEgress;
@@ -25,6 +26,7 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.cost.grouppri
 import org.opentripplanner.routing.api.request.DebugEventType;
 import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.request.framework.CostLinearFunction;
+import org.opentripplanner.routing.framework.RaptorSearchStatistics;
 import org.opentripplanner.transit.model.site.StopLocation;
 
 public class RaptorRequestMapper<T extends RaptorTripSchedule> {
@@ -35,6 +37,7 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
   private final long transitSearchTimeZeroEpocSecond;
   private final boolean isMultiThreadedEnbled;
   private final MeterRegistry meterRegistry;
+  private final RaptorSearchStatistics raptorSearchStatistics;
 
   private RaptorRequestMapper(
     RouteRequest request,
@@ -42,7 +45,8 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
     Collection<? extends RaptorAccessEgress> accessPaths,
     Collection<? extends RaptorAccessEgress> egressPaths,
     long transitSearchTimeZeroEpocSecond,
-    MeterRegistry meterRegistry
+    MeterRegistry meterRegistry,
+    @Nullable RaptorSearchStatistics raptorSearchStatistics
   ) {
     this.request = request;
     this.isMultiThreadedEnbled = isMultiThreaded;
@@ -50,6 +54,7 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
     this.egressPaths = egressPaths;
     this.transitSearchTimeZeroEpocSecond = transitSearchTimeZeroEpocSecond;
     this.meterRegistry = meterRegistry;
+    this.raptorSearchStatistics = raptorSearchStatistics;
   }
 
   public static <T extends RaptorTripSchedule> RaptorRequest<T> mapRequest(
@@ -58,7 +63,8 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
     boolean isMultiThreaded,
     Collection<? extends RaptorAccessEgress> accessPaths,
     Collection<? extends RaptorAccessEgress> egressPaths,
-    MeterRegistry meterRegistry
+    MeterRegistry meterRegistry,
+    @Nullable RaptorSearchStatistics raptorSearchStatistics
   ) {
     return new RaptorRequestMapper<T>(
       request,
@@ -66,7 +72,8 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
       accessPaths,
       egressPaths,
       transitSearchTimeZero.toEpochSecond(),
-      meterRegistry
+      meterRegistry,
+      raptorSearchStatistics
     )
       .doMap();
   }
@@ -171,7 +178,8 @@ public class RaptorRequestMapper<T extends RaptorTripSchedule> {
         new PerformanceTimersForRaptor(
           builder.generateAlias(),
           preferences.system().tags(),
-          meterRegistry
+          meterRegistry,
+          raptorSearchStatistics
         )
       );
     }
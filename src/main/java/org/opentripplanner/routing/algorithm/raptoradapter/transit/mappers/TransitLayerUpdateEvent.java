@@ -0,0 +1,26 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Java Flight Recorder event for an update of the realtime transit layer, from the copy of the
+ * current layer to the swap of the reference to the updated layer.
+ */
+@Name("org.opentripplanner.TransitLayerUpdate")
+@Label("Transit Layer Update")
+@Category({ "OpenTripPlanner", "Realtime" })
+@Description("Update and swap the realtime transit layer used by Raptor")
+@StackTrace(false)
+class TransitLayerUpdateEvent extends Event {
+
+  @Label("Updated Timetables")
+  int updatedTimetables;
+
+  @Label("Updated Dates")
+  int updatedDates;
+}
@@ -69,6 +69,8 @@ public class TransitLayerUpdater {
       return;
     }
 
+    var event = new TransitLayerUpdateEvent();
+    event.begin();
     long startTime = System.currentTimeMillis();
 
     // Make a shallow copy of the realtime transit layer. Only the objects that are copied will be
@@ -226,6 +228,12 @@ public class TransitLayerUpdater {
     // guarantee that the reference is set after all the fields have been updated.
     transitModel.setRealtimeTransitLayer(realtimeTransitLayer);
 
+    if (event.shouldCommit()) {
+      event.updatedTimetables = updatedTimetables.size();
+      event.updatedDates = datesToBeUpdated.size();
+      event.commit();
+    }
+
     LOG.debug(
       "UPDATING {} tripPatterns took {} ms",
       updatedTimetables.size(),
@@ -4,12 +4,17 @@ import io.micrometer.core.instrument.Clock;
 import io.micrometer.core.instrument.DistributionSummary;
 import io.micrometer.core.instrument.MeterRegistry;
 import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
 import io.micrometer.core.instrument.Timer;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 import org.opentripplanner.api.resource.DebugOutput;
+import org.opentripplanner.api.resource.RaptorSearchOutput;
 import org.opentripplanner.api.resource.TransitTimingOutput;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.RequestResourceUsage;
 import org.opentripplanner.routing.api.request.RoutingTag;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,6 +28,7 @@ public class DebugTimingAggregator {
   private static final Logger LOG = LoggerFactory.getLogger(DebugTimingAggregator.class);
 
   private static final long nanosToMillis = 1000000;
+  private static final long bytesToMegaBytes = 1000000;
   public static final String ROUTING_TOTAL = "routing.total";
   public static final String ROUTING_RAPTOR = "routing.raptor";
 
@@ -35,6 +41,11 @@ public class DebugTimingAggregator {
   private final Timer egressTimer;
   private final DistributionSummary numAccessesDistribution;
   private final DistributionSummary numEgressesDistribution;
+  private final DistributionSummary allocatedBytesDistribution;
+  private final Timer cpuTimer;
+
+  private final RaptorSearchMetrics mainSearchMetrics;
+  private final RaptorSearchMetrics heuristicSearchMetrics;
 
   private final Timer preCalculationTimer;
   private final Timer tripPatternFilterTimer;
@@ -49,6 +60,8 @@ public class DebugTimingAggregator {
 
   private final Timer.Sample startedCalculating;
   private final List<String> messages = new ArrayList<>();
+  private final RaptorSearchStatistics raptorSearchStatistics = new RaptorSearchStatistics();
+  private final RequestResourceUsage resourceUsage = new RequestResourceUsage();
   private Timer.Sample startedDirectStreetRouter;
   private long directStreetRouterTime;
   private Timer.Sample startedDirectFlexRouter;
@@ -71,6 +84,7 @@ public class DebugTimingAggregator {
   private long raptorSearchTime;
   private long itineraryCreationTime;
   private long transitRouterTime;
+  private long routingTotalTime;
   private long filteringTime;
   private long renderingTime;
   private long requestTotalTime;
@@ -78,34 +92,48 @@ public class DebugTimingAggregator {
   /**
    * Record the time when we first began calculating a path for this request. Note that timings will
    * not include network and server request queue overhead, which is what we want.
+   * <p>
+   * The timers of the request phases publish a percentile histogram if the
+   * {@link OTPFeature#ActuatorAPIHistograms} feature is enabled, so the latency percentiles of each
+   * phase can be aggregated across instances.
    */
   public DebugTimingAggregator(MeterRegistry registry, Collection<RoutingTag> routingRequestTags) {
     var tags = MicrometerUtils.mapTimingTags(routingRequestTags);
     clock = registry.config().clock();
     startedCalculating = Timer.start(this.clock);
 
-    requestTotalTimer = Timer.builder(ROUTING_TOTAL).tags(tags).register(registry);
-    routingTotalTimer = Timer.builder("routing.router").tags(tags).register(registry);
-    renderingTimer = Timer.builder("routing.rendering").tags(tags).register(registry);
-    filteringTimer = Timer.builder("routing.filtering").tags(tags).register(registry);
-    transitRouterTimer = Timer.builder("routing.transit").tags(tags).register(registry);
-    itineraryCreationTimer =
-      Timer.builder("routing.itineraryCreation").tags(tags).register(registry);
-    raptorSearchTimer = Timer.builder(ROUTING_RAPTOR).tags(tags).register(registry);
-    accessEgressTimer = Timer.builder("routing.accessEgress").tags(tags).register(registry);
-    tripPatternFilterTimer =
-      Timer.builder("routing.tripPatternFiltering").tags(tags).register(registry);
-    preCalculationTimer = Timer.builder("routing.preCalculation").tags(tags).register(registry);
+    requestTotalTimer = phaseTimer(ROUTING_TOTAL, tags, registry);
+    routingTotalTimer = phaseTimer("routing.router", tags, registry);
+    renderingTimer = phaseTimer("routing.rendering", tags, registry);
+    filteringTimer = phaseTimer("routing.filtering", tags, registry);
+    transitRouterTimer = phaseTimer("routing.transit", tags, registry);
+    itineraryCreationTimer = phaseTimer("routing.itineraryCreation", tags, registry);
+    raptorSearchTimer = phaseTimer(ROUTING_RAPTOR, tags, registry);
+    accessEgressTimer = phaseTimer("routing.accessEgress", tags, registry);
+    tripPatternFilterTimer = phaseTimer("routing.tripPatternFiltering", tags, registry);
+    preCalculationTimer = phaseTimer("routing.preCalculation", tags, registry);
 
     numEgressesDistribution =
       DistributionSummary.builder("routing.numEgress").tags(tags).register(registry);
     numAccessesDistribution =
       DistributionSummary.builder("routing.numAccess").tags(tags).register(registry);
 
-    egressTimer = Timer.builder("routing.egress").tags(tags).register(registry);
-    accessTimer = Timer.builder("routing.access").tags(tags).register(registry);
-    directFlexRouterTimer = Timer.builder("routing.directFlex").tags(tags).register(registry);
-    directStreetRouterTimer = Timer.builder("routing.directStreet").tags(tags).register(registry);
+    allocatedBytesDistribution =
+      DistributionSummary
+        .builder("routing.allocatedBytes")
+        .baseUnit("bytes")
+        .tags(tags)
+        .publishPercentileHistogram(OTPFeature.ActuatorAPIHistograms.isOn())
+        .register(registry);
+    cpuTimer = phaseTimer("routing.cpuTime", tags, registry);
+
+    mainSearchMetrics = new RaptorSearchMetrics("main", tags, registry);
+    heuristicSearchMetrics = new RaptorSearchMetrics("heuristic", tags, registry);
+
+    egressTimer = phaseTimer("routing.egress", tags, registry);
+    accessTimer = phaseTimer("routing.access", tags, registry);
+    directFlexRouterTimer = phaseTimer("routing.directFlex", tags, registry);
+    directStreetRouterTimer = phaseTimer("routing.directStreet", tags, registry);
   }
 
   public DebugTimingAggregator() {
@@ -229,13 +257,16 @@ public class DebugTimingAggregator {
       return;
     }
     transitRouterTime = startedTransitRouterTime.stop(transitRouterTimer);
+
+    mainSearchMetrics.record(raptorSearchStatistics.mainSearches());
+    heuristicSearchMetrics.record(raptorSearchStatistics.heuristicSearches());
   }
 
   public void finishedRouting() {
     if (startedCalculating == null) {
       return;
     }
-    long routingTotalTime = startedCalculating.stop(routingTotalTimer);
+    routingTotalTime = startedCalculating.stop(routingTotalTimer);
 
     finishedRouters = Timer.start(clock);
     if (directStreetRouterTime > 0) {
@@ -251,6 +282,8 @@ public class DebugTimingAggregator {
       log("│├ Egress routing (" + numEgresses + " egresses)", egressTime);
       log("││ Access/Egress routing", accessEgressTime);
       log("│├ Main routing", raptorSearchTime);
+      logSearchWork("││ Raptor searches", raptorSearchStatistics.mainSearches());
+      logSearchWork("││ Heuristic searches", raptorSearchStatistics.heuristicSearches());
       log("│├ Creating itineraries", itineraryCreationTime);
       log("├┴ Transit routing total", transitRouterTime);
     }
@@ -268,6 +301,23 @@ public class DebugTimingAggregator {
     log("├  Filtering itineraries", filteringTime);
   }
 
+  /**
+   * Record the bytes allocated and the CPU time used by all threads working on the request. This
+   * is called when the {@link #resourceUsage()} measurement of the request thread is closed.
+   */
+  public void finishedResourceMeasurement() {
+    allocatedBytesDistribution.record(resourceUsage.allocatedBytes());
+    cpuTimer.record(resourceUsage.cpuTime(), TimeUnit.NANOSECONDS);
+    log("├  CPU time, all threads", resourceUsage.cpuTime());
+    messages.add(
+      String.format(
+        "%-36s: %5s MB",
+        "├  Allocated, all threads",
+        resourceUsage.allocatedBytes() / bytesToMegaBytes
+      )
+    );
+  }
+
   /** Record the time when we finished converting the internal model to API classes */
   @SuppressWarnings("Convert2MethodRef")
   public DebugOutput finishedRendering() {
@@ -296,6 +346,69 @@ public class DebugTimingAggregator {
         accessEgressTime,
         raptorSearchTime,
         itineraryCreationTime
+      ),
+      resourceUsage.allocatedBytes(),
+      resourceUsage.cpuTime(),
+      raptorSearchOutput(raptorSearchStatistics.mainSearches()),
+      raptorSearchOutput(raptorSearchStatistics.heuristicSearches())
+    );
+  }
+
+  /**
+   * The time taken for routing and filtering the itineraries in nanoseconds, available when the
+   * filtering is finished.
+   */
+  public long routingAndFilteringTime() {
+    return routingTotalTime + filteringTime;
+  }
+
+  public int numAccesses() {
+    return numAccesses;
+  }
+
+  public int numEgresses() {
+    return numEgresses;
+  }
+
+  /** Statistics of the Raptor searches of this request, updated by the Raptor timers. */
+  public RaptorSearchStatistics raptorSearchStatistics() {
+    return raptorSearchStatistics;
+  }
+
+  /** The bytes allocated and the CPU time used by all threads working on the request. */
+  public RequestResourceUsage resourceUsage() {
+    return resourceUsage;
+  }
+
+  private static Timer phaseTimer(String name, Iterable<Tag> tags, MeterRegistry registry) {
+    return Timer
+      .builder(name)
+      .tags(tags)
+      .publishPercentileHistogram(OTPFeature.ActuatorAPIHistograms.isOn())
+      .register(registry);
+  }
+
+  private static RaptorSearchOutput raptorSearchOutput(RaptorSearchStatistics.SearchWork work) {
+    return new RaptorSearchOutput(
+      work.numberOfSearches(),
+      work.numberOfIterations(),
+      work.numberOfRounds(),
+      work.numberOfPatternsVisited(),
+      work.numberOfBoardingsAttempted(),
+      work.numberOfStopArrivalsAccepted(),
+      work.numberOfStopArrivalsRejected(),
+      work.numberOfDestinationArrivals()
+    );
+  }
+
+  private void logSearchWork(String msg, RaptorSearchStatistics.SearchWork work) {
+    messages.add(
+      String.format(
+        "%-36s: %5s rounds, %s patterns, %s stop arrivals",
+        msg + " (" + work.numberOfSearches() + ")",
+        work.numberOfRounds(),
+        work.numberOfPatternsVisited(),
+        work.numberOfStopArrivalsAccepted()
       )
     );
   }
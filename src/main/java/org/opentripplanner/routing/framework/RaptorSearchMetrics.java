@@ -0,0 +1,56 @@
+package org.opentripplanner.routing.framework;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import org.opentripplanner.framework.application.OTPFeature;
+
+/**
+ * The distribution summaries of the work done by one kind of Raptor searches of a routing
+ * request. The main and the heuristic searches are recorded separately, with the {@code search}
+ * tag set to {@code main} or {@code heuristic}.
+ */
+class RaptorSearchMetrics {
+
+  private final DistributionSummary iterations;
+  private final DistributionSummary roundsPerIteration;
+  private final DistributionSummary patternsPerRound;
+  private final DistributionSummary boardings;
+  private final DistributionSummary stopArrivalsAccepted;
+  private final DistributionSummary stopArrivalsRejected;
+  private final DistributionSummary destinationArrivals;
+
+  RaptorSearchMetrics(String search, Iterable<Tag> routingTags, MeterRegistry registry) {
+    var tags = Tags.concat(routingTags, "search", search);
+    iterations = summary("raptor.iterations", tags, registry);
+    roundsPerIteration = summary("raptor.roundsPerIteration", tags, registry);
+    patternsPerRound = summary("raptor.patternsPerRound", tags, registry);
+    boardings = summary("raptor.boardings", tags, registry);
+    stopArrivalsAccepted = summary("raptor.stopArrivals.accepted", tags, registry);
+    stopArrivalsRejected = summary("raptor.stopArrivals.rejected", tags, registry);
+    destinationArrivals = summary("raptor.destinationArrivals", tags, registry);
+  }
+
+  /** Record the work done by the searches, nothing is recorded if no search is performed. */
+  void record(RaptorSearchStatistics.SearchWork work) {
+    if (work.numberOfSearches() == 0) {
+      return;
+    }
+    iterations.record(work.numberOfIterations());
+    roundsPerIteration.record(work.roundsPerIteration());
+    patternsPerRound.record(work.patternsPerRound());
+    boardings.record(work.numberOfBoardingsAttempted());
+    stopArrivalsAccepted.record(work.numberOfStopArrivalsAccepted());
+    stopArrivalsRejected.record(work.numberOfStopArrivalsRejected());
+    destinationArrivals.record(work.numberOfDestinationArrivals());
+  }
+
+  private static DistributionSummary summary(String name, Tags tags, MeterRegistry registry) {
+    return DistributionSummary
+      .builder(name)
+      .tags(tags)
+      .publishPercentileHistogram(OTPFeature.ActuatorAPIHistograms.isOn())
+      .register(registry);
+  }
+}
@@ -0,0 +1,134 @@
+package org.opentripplanner.routing.framework;
+
+import java.util.concurrent.atomic.LongAdder;
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
+
+/**
+ * Count the Raptor searches of one routing request, the work done by the searches, and the time
+ * spent in the heuristic searches. The work of the main searches and the heuristic searches is
+ * kept apart, the heuristic searches are one-iteration searches and would skew the averages of
+ * the main searches. The heuristic searches may run in parallel with the main search, so this
+ * class is thread-safe.
+ */
+public class RaptorSearchStatistics {
+
+  private final SearchWork mainSearches = new SearchWork();
+  private final SearchWork heuristicSearches = new SearchWork();
+  private final LongAdder heuristicSearchTime = new LongAdder();
+
+  /** Add the time taken by a heuristic search. */
+  public void heuristicSearchPerformed(long nanos) {
+    heuristicSearchTime.add(nanos);
+  }
+
+  /** Add the work done by a Raptor search, main or heuristic. */
+  public void searchCompleted(boolean heuristic, RaptorSearchCounts counts) {
+    (heuristic ? heuristicSearches : mainSearches).add(counts);
+  }
+
+  /** The work done by the main searches. */
+  public SearchWork mainSearches() {
+    return mainSearches;
+  }
+
+  /** The work done by the heuristic searches. */
+  public SearchWork heuristicSearches() {
+    return heuristicSearches;
+  }
+
+  /** The number of Raptor searches, including the heuristic searches. */
+  public long numberOfSearches() {
+    return mainSearches.numberOfSearches() + heuristicSearches.numberOfSearches();
+  }
+
+  /**
+   * The number of rounds of all searches and all iterations (minutes) of the range raptor
+   * searches, including the heuristic searches.
+   */
+  public long numberOfRounds() {
+    return mainSearches.numberOfRounds() + heuristicSearches.numberOfRounds();
+  }
+
+  /** Time taken for the heuristic searches in nanoseconds. */
+  public long heuristicSearchTime() {
+    return heuristicSearchTime.sum();
+  }
+
+  /** The work done by a kind of Raptor searches, the main or the heuristic searches. */
+  public static class SearchWork {
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder iterations = new LongAdder();
+    private final LongAdder rounds = new LongAdder();
+    private final LongAdder patternsVisited = new LongAdder();
+    private final LongAdder boardingsAttempted = new LongAdder();
+    private final LongAdder stopArrivalsAccepted = new LongAdder();
+    private final LongAdder stopArrivalsRejected = new LongAdder();
+    private final LongAdder destinationArrivals = new LongAdder();
+
+    private SearchWork() {}
+
+    private void add(RaptorSearchCounts counts) {
+      searches.increment();
+      iterations.add(counts.iterations());
+      rounds.add(counts.rounds());
+      patternsVisited.add(counts.patternsVisited());
+      boardingsAttempted.add(counts.boardingsAttempted());
+      stopArrivalsAccepted.add(counts.stopArrivalsAccepted());
+      stopArrivalsRejected.add(counts.stopArrivalsRejected());
+      destinationArrivals.add(counts.destinationArrivals());
+    }
+
+    /** The number of searches. */
+    public long numberOfSearches() {
+      return searches.sum();
+    }
+
+    /** The number of Range Raptor iterations (minutes) of all searches. */
+    public long numberOfIterations() {
+      return iterations.sum();
+    }
+
+    /** The number of rounds of all iterations of all searches. */
+    public long numberOfRounds() {
+      return rounds.sum();
+    }
+
+    /** The number of patterns scanned in all rounds of all searches. */
+    public long numberOfPatternsVisited() {
+      return patternsVisited.sum();
+    }
+
+    /** The number of times a trip was searched for at a stop reached in the previous round. */
+    public long numberOfBoardingsAttempted() {
+      return boardingsAttempted.sum();
+    }
+
+    /** The number of stop arrivals kept by the Raptor state (pareto sets). */
+    public long numberOfStopArrivalsAccepted() {
+      return stopArrivalsAccepted.sum();
+    }
+
+    /** The number of stop arrivals rejected by the Raptor state (pareto sets). */
+    public long numberOfStopArrivalsRejected() {
+      return stopArrivalsRejected.sum();
+    }
+
+    /** The number of paths accepted at the destination. */
+    public long numberOfDestinationArrivals() {
+      return destinationArrivals.sum();
+    }
+
+    /** Average number of rounds for each iteration, zero if no iterations are performed. */
+    public double roundsPerIteration() {
+      long n = numberOfIterations();
+      return n == 0 ? 0.0 : (double) numberOfRounds() / n;
+    }
+
+    /** Average number of patterns scanned in each round, zero if no rounds are performed. */
+    public double patternsPerRound() {
+      long n = numberOfRounds();
+      return n == 0 ? 0.0 : (double) numberOfPatternsVisited() / n;
+    }
+  }
+}
@@ -0,0 +1,83 @@
+package org.opentripplanner.routing.framework;
+
+import java.time.Duration;
+import java.time.Instant;
+import javax.annotation.Nullable;
+import org.opentripplanner.api.resource.DebugOutput;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * A slow routing request recorded by the {@link SlowRequestRecorder}. All times are in
+ * nanoseconds.
+ *
+ * @param totalTime The time taken for routing and filtering, the rendering of the response is not
+ *                  included.
+ * @param timing The time taken in each phase of the request.
+ */
+public record SlowRequest(
+  Instant time,
+  long totalTime,
+  DebugOutput timing,
+  int numAccesses,
+  int numEgresses,
+  long raptorSearches,
+  long raptorRounds,
+  long heuristicSearchTime,
+  Request request
+) {
+  /**
+   * The main parameters of the request, enough to replay it with the default preferences.
+   *
+   * @param modes The requested street modes. The transit filters are not recorded, a replayed
+   *              request uses the default transit filters.
+   */
+  public record Request(
+    GenericLocation from,
+    GenericLocation to,
+    Instant dateTime,
+    boolean arriveBy,
+    @Nullable Duration searchWindow,
+    @Nullable String pageCursor,
+    int numItineraries,
+    boolean wheelchair,
+    @Nullable RequestModes modes
+  ) {
+    static Request of(RouteRequest request) {
+      return new Request(
+        request.from(),
+        request.to(),
+        request.dateTime(),
+        request.arriveBy(),
+        request.searchWindow(),
+        request.pageCursor() == null ? null : request.pageCursor().encode(),
+        request.numItineraries(),
+        request.wheelchair(),
+        request.journey().modes()
+      );
+    }
+
+    /**
+     * Create a copy of the given default request with the parameters of this request, so the
+     * request can be replayed.
+     */
+    public RouteRequest toRouteRequest(RouteRequest defaults) {
+      var request = defaults.clone();
+      request.setFrom(from);
+      request.setTo(to);
+      request.setDateTime(dateTime);
+      request.setArriveBy(arriveBy);
+      request.setSearchWindow(searchWindow);
+      if (pageCursor != null) {
+        request.setPageCursorFromEncoded(pageCursor);
+      }
+      request.setNumItineraries(numItineraries);
+      request.setWheelchair(wheelchair);
+      if (modes != null) {
+        request.journey().setModes(modes);
+      }
+      return request;
+    }
+  }
+}
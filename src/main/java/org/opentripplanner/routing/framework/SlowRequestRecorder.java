@@ -0,0 +1,131 @@
+package org.opentripplanner.routing.framework;
+
+import java.time.InstantSource;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.opentripplanner.routing.api.request.RouteRequest;
+
+/**
+ * Keep the slowest routing requests of each of the last few minutes, with the time taken in each
+ * phase of the request and the main request parameters, so the requests can be analysed and
+ * replayed offline.
+ * <p>
+ * Only requests slower than the fastest request kept for the current minute are copied, so
+ * recording a request is cheap when the server is busy.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
+public class SlowRequestRecorder {
+
+  private static final int MAX_REQUESTS_PER_MINUTE = 10;
+  private static final int NUMBER_OF_MINUTES = 10;
+  private static final long MILLIS_PER_MINUTE = 60_000;
+
+  private static final SlowRequestRecorder GLOBAL = new SlowRequestRecorder(
+    MAX_REQUESTS_PER_MINUTE,
+    NUMBER_OF_MINUTES,
+    InstantSource.system()
+  );
+
+  private static final Comparator<SlowRequest> BY_TOTAL_TIME = Comparator.comparingLong(
+    SlowRequest::totalTime
+  );
+
+  private final int maxRequestsPerMinute;
+  private final int numberOfMinutes;
+  private final InstantSource clock;
+
+  /** The last minutes, the current minute first. */
+  private final Deque<Minute> minutes = new ArrayDeque<>();
+
+  SlowRequestRecorder(int maxRequestsPerMinute, int numberOfMinutes, InstantSource clock) {
+    this.maxRequestsPerMinute = maxRequestsPerMinute;
+    this.numberOfMinutes = numberOfMinutes;
+    this.clock = clock;
+  }
+
+  /** The recorder used by the routing workers. */
+  public static SlowRequestRecorder global() {
+    return GLOBAL;
+  }
+
+  /**
+   * Record the request if it is one of the slowest requests of the current minute. Call this when
+   * the itineraries are filtered.
+   */
+  public void record(RouteRequest request, DebugTimingAggregator timing) {
+    var now = clock.instant();
+    long minute = now.toEpochMilli() / MILLIS_PER_MINUTE;
+    long totalTime = timing.routingAndFilteringTime();
+
+    if (!isSlowerThanRecorded(minute, totalTime)) {
+      return;
+    }
+
+    var raptor = timing.raptorSearchStatistics();
+    add(
+      minute,
+      new SlowRequest(
+        now,
+        totalTime,
+        timing.getDebugOutput(),
+        timing.numAccesses(),
+        timing.numEgresses(),
+        raptor.numberOfSearches(),
+        raptor.numberOfRounds(),
+        raptor.heuristicSearchTime(),
+        SlowRequest.Request.of(request)
+      )
+    );
+  }
+
+  /**
+   * The recorded requests of the last minutes, the current minute first. The requests of each
+   * minute are sorted with the slowest first.
+   */
+  public synchronized List<SlowRequest> slowRequests() {
+    var result = new ArrayList<SlowRequest>();
+    for (Minute m : minutes) {
+      m.requests.stream().sorted(BY_TOTAL_TIME.reversed()).forEach(result::add);
+    }
+    return result;
+  }
+
+  private synchronized boolean isSlowerThanRecorded(long minute, long totalTime) {
+    Minute current = minutes.peekFirst();
+    if (current == null || current.minute < minute) {
+      return true;
+    }
+    if (current.minute > minute) {
+      return false;
+    }
+    return (
+      current.requests.size() < maxRequestsPerMinute ||
+      current.requests.peek().totalTime() < totalTime
+    );
+  }
+
+  private synchronized void add(long minute, SlowRequest request) {
+    Minute current = minutes.peekFirst();
+    if (current == null || current.minute < minute) {
+      current = new Minute(minute, new PriorityQueue<>(BY_TOTAL_TIME));
+      minutes.addFirst(current);
+      while (minutes.size() > numberOfMinutes) {
+        minutes.removeLast();
+      }
+    } else if (current.minute > minute) {
+      return;
+    }
+    current.requests.add(request);
+    if (current.requests.size() > maxRequestsPerMinute) {
+      current.requests.poll();
+    }
+  }
+
+  /** The slowest requests of one minute, the fastest of them first. */
+  private record Minute(long minute, PriorityQueue<SlowRequest> requests) {}
+}
@@ -13,8 +13,10 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import javax.annotation.Nullable;
 import org.opentripplanner.datastore.api.DataSource;
 import org.opentripplanner.ext.emissions.EmissionsDataModel;
@@ -23,9 +25,12 @@ import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.framework.geometry.CompactElevationProfile;
 import org.opentripplanner.framework.lang.OtpNumberFormat;
 import org.opentripplanner.framework.logging.ProgressTracker;
+import org.opentripplanner.framework.time.DurationUtils;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueSummary;
 import org.opentripplanner.model.projectinfo.GraphFileHeader;
 import org.opentripplanner.model.projectinfo.OtpProjectInfo;
+import org.opentripplanner.routing.graph.kryosupport.BlockCompressingOutputStream;
+import org.opentripplanner.routing.graph.kryosupport.BlockDecompressingInputStream;
 import org.opentripplanner.routing.graph.kryosupport.KryoBuilder;
 import org.opentripplanner.service.worldenvelope.WorldEnvelopeRepository;
 import org.opentripplanner.standalone.config.BuildConfig;
@@ -49,11 +54,18 @@ import org.slf4j.LoggerFactory;
  * serializer to know that vertices referenced by the edges are the same vertices stored in the
  * graph itself. The easiest way to do this is to make only one serialization call, serializing a
  * single object that contains both the graph and the edge collection.
+ * <p>
+ * After the file header the object is compressed with LZ4 in blocks of fixed size. The blocks are
+ * compressed and decompressed on multiple threads, while Kryo writes and reads the object on a
+ * single thread. The Kryo references between the objects in the graph must be kept, so the object
+ * can not be split into groups serialized independently.
  */
 public class SerializedGraphObject implements Serializable {
 
   private static final Logger LOG = LoggerFactory.getLogger(SerializedGraphObject.class);
 
+  private static final int BUFFER_SIZE = 1 << 16;
+
   public final Graph graph;
   public final TransitModel transitModel;
   public final WorldEnvelopeRepository worldEnvelopeRepository;
@@ -168,7 +180,8 @@ public class SerializedGraphObject implements Serializable {
     // TODO store version information, halt load if versions mismatch
     try (inputStream) {
       LOG.info("Reading graph from '{}'", sourceDescription);
-      Input input = new Input(inputStream);
+      long startTime = System.currentTimeMillis();
+      Input input = new Input(inputStream, BUFFER_SIZE);
 
       validateGraphSerializationId(
         input.readBytes(GraphFileHeader.headerLength()),
@@ -176,16 +189,25 @@ public class SerializedGraphObject implements Serializable {
       );
 
       Kryo kryo = KryoBuilder.create();
-      SerializedGraphObject serObj = (SerializedGraphObject) kryo.readClassAndObject(input);
+      SerializedGraphObject serObj;
+      try (var objects = new BlockDecompressingInputStream(input, numberOfThreads())) {
+        serObj = (SerializedGraphObject) kryo.readClassAndObject(new Input(objects, BUFFER_SIZE));
+      }
       SubMode.deserializeSubModeCache(serObj.allTransitSubModes);
       RoutingTripPattern.initIndexCounter(serObj.routingTripPatternCounter);
       CompactElevationProfile.setDistanceBetweenSamplesM(
         serObj.graph.getDistanceBetweenElevationSamples()
       );
       LOG.debug("Graph read.");
-      serObj.reconstructEdgeLists();
+      // The street edge lists and the transit indexes are independent, build them in parallel
+      var edgeLists = CompletableFuture.runAsync(serObj::reconstructEdgeLists);
       serObj.transitModel.getStopModel().reindexAfterDeserialization();
       serObj.transitModel.index();
+      edgeLists.join();
+      LOG.info(
+        "Graph read in {}.",
+        DurationUtils.msToSecondsStr(System.currentTimeMillis() - startTime)
+      );
       logSerializationCompleteStatus(serObj.graph, serObj.transitModel);
       return serObj;
     } catch (IOException e) {
@@ -210,6 +232,10 @@ public class SerializedGraphObject implements Serializable {
     }
   }
 
+  private static int numberOfThreads() {
+    return Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+  }
+
   @SuppressWarnings("Convert2MethodRef")
   private static OutputStream wrapOutputStreamWithProgressTracker(
     OutputStream outputStream,
@@ -245,13 +271,31 @@ public class SerializedGraphObject implements Serializable {
 
   private void save(OutputStream outputStream, String graphName, long size) {
     LOG.info("Writing graph {}  ...", graphName);
+    long startTime = System.currentTimeMillis();
     outputStream = wrapOutputStreamWithProgressTracker(outputStream, size);
     Kryo kryo = KryoBuilder.create();
-    Output output = new Output(outputStream);
-    output.write(OtpProjectInfo.projectInfo().graphFileHeaderInfo.header());
-    kryo.writeClassAndObject(output, this);
-    output.close();
-    LOG.info("Graph written: {}", graphName);
+    long fileSize;
+    long objectSize;
+
+    try (Output output = new Output(outputStream)) {
+      output.write(OtpProjectInfo.projectInfo().graphFileHeaderInfo.header());
+      try (var objects = new BlockCompressingOutputStream(output, numberOfThreads())) {
+        var objectOutput = new Output(objects, BUFFER_SIZE);
+        kryo.writeClassAndObject(objectOutput, this);
+        objectOutput.flush();
+        objectSize = objects.uncompressedSize();
+      }
+      fileSize = output.total();
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to write graph " + graphName, e);
+    }
+    LOG.info(
+      "Graph written: {} in {}. File size: {} MB, {} MB before compression.",
+      graphName,
+      DurationUtils.msToSecondsStr(System.currentTimeMillis() - startTime),
+      fileSize / (1024 * 1024),
+      objectSize / (1024 * 1024)
+    );
     // Summarize serialized classes and associated serializers to stdout:
     // ((InstanceCountingClassResolver) kryo.getClassResolver()).summarize();
   }
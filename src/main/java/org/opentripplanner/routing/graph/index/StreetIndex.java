@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
@@ -405,6 +406,9 @@ public class StreetIndex {
   }
 
   private void postSetup(Collection<Vertex> vertices) {
+    // The edge and vertex indices are independent, the vertices are indexed on another thread
+    var vertexIndex = CompletableFuture.runAsync(() -> indexVertices(vertices));
+
     var progress = ProgressTracker.track("Index street vertex", 1000, vertices.size());
     LOG.info(progress.startMessage());
 
@@ -413,19 +417,24 @@ public class StreetIndex {
         LineString geometry = edgeGeometryOrStraightLine(e);
         edgeSpatialIndex.insert(geometry, e, Scope.PERMANENT);
       }
-      Envelope env = new Envelope(gv.getCoordinate());
-      verticesTree.insert(env, gv);
-
       //noinspection Convert2MethodRef
       progress.step(m -> LOG.info(m));
     }
 
     // Trim the sizes of the indices
     edgeSpatialIndex.compact();
-    verticesTree.compact();
+    vertexIndex.join();
     LOG.info(progress.completeMessage());
   }
 
+  private void indexVertices(Collection<Vertex> vertices) {
+    for (Vertex gv : vertices) {
+      Envelope env = new Envelope(gv.getCoordinate());
+      verticesTree.insert(env, gv);
+    }
+    verticesTree.compact();
+  }
+
   private static Map<FeedScopedId, TransitStopVertex> toImmutableMap(
     Collection<TransitStopVertex> vertices
   ) {
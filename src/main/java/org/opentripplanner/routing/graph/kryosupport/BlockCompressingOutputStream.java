@@ -0,0 +1,163 @@
+package org.opentripplanner.routing.graph.kryosupport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airlift.compress.lz4.Lz4Compressor;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Split the bytes written into blocks of fixed size, and compress the blocks with LZ4 on a pool of
+ * threads. The blocks are written to the target in order. Each block is written as:
+ * <ol>
+ *   <li>The uncompressed length, an {@code int}.</li>
+ *   <li>The compressed length, an {@code int}. {@code 0} if the block is stored uncompressed.</li>
+ *   <li>The block data.</li>
+ * </ol>
+ * The last block is followed by an end marker, a block with length {@code 0}. Calling
+ * {@link #close()} writes the end marker, but does not close the target stream.
+ * <p>
+ * The blocks can be read with the {@link BlockDecompressingInputStream}.
+ */
+public final class BlockCompressingOutputStream extends OutputStream {
+
+  static final int BLOCK_SIZE = 4 * 1024 * 1024;
+  static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+  private final OutputStream target;
+  private final int nThreads;
+  private final ExecutorService executor;
+  private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+  private final ThreadLocal<Lz4Compressor> compressor = ThreadLocal.withInitial(Lz4Compressor::new);
+  private byte[] block = new byte[BLOCK_SIZE];
+  private int position = 0;
+  private long uncompressedSize = 0;
+  private boolean closed = false;
+
+  public BlockCompressingOutputStream(OutputStream target, int nThreads) {
+    this.target = target;
+    this.nThreads = nThreads;
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("graph-compress-%d").build();
+    this.executor = Executors.newFixedThreadPool(nThreads, threadFactory);
+  }
+
+  /** The number of bytes written to this stream, before compression. */
+  public long uncompressedSize() {
+    return uncompressedSize;
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    if (position == block.length) {
+      submitBlock();
+    }
+    block[position++] = (byte) b;
+    ++uncompressedSize;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    uncompressedSize += len;
+    while (len > 0) {
+      if (position == block.length) {
+        submitBlock();
+      }
+      int n = Math.min(len, block.length - position);
+      System.arraycopy(b, off, block, position, n);
+      position += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  /**
+   * Write all blocks and the end marker to the target. The blocks written so far are compressed
+   * before this method returns.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      if (position > 0) {
+        submitBlock();
+      }
+      while (!pending.isEmpty()) {
+        writeNext();
+      }
+      writeInt(target, 0);
+      writeInt(target, 0);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    final byte[] data = block;
+    final int length = position;
+    pending.add(executor.submit(() -> compress(data, length)));
+    block = new byte[BLOCK_SIZE];
+    position = 0;
+    // Bound the number of blocks kept in memory, writing is usually the bottleneck
+    if (pending.size() >= 2 * nThreads) {
+      writeNext();
+    }
+  }
+
+  private void writeNext() throws IOException {
+    try {
+      target.write(pending.remove().get());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InterruptedIOException("Interrupted while compressing the graph.");
+    } catch (ExecutionException e) {
+      throw new IOException(e.getCause());
+    }
+  }
+
+  /** Return the block with the block header, ready to be written. */
+  private byte[] compress(byte[] data, int length) {
+    var lz4 = compressor.get();
+    byte[] out = new byte[HEADER_SIZE + lz4.maxCompressedLength(length)];
+    int compressedLength = lz4.compress(
+      data,
+      0,
+      length,
+      out,
+      HEADER_SIZE,
+      out.length - HEADER_SIZE
+    );
+    if (compressedLength >= length) {
+      // Store incompressible data as it is
+      byte[] stored = new byte[HEADER_SIZE + length];
+      putInt(stored, 0, length);
+      putInt(stored, Integer.BYTES, 0);
+      System.arraycopy(data, 0, stored, HEADER_SIZE, length);
+      return stored;
+    }
+    putInt(out, 0, length);
+    putInt(out, Integer.BYTES, compressedLength);
+    return Arrays.copyOf(out, HEADER_SIZE + compressedLength);
+  }
+
+  private static void writeInt(OutputStream out, int value) throws IOException {
+    byte[] bytes = new byte[Integer.BYTES];
+    putInt(bytes, 0, value);
+    out.write(bytes);
+  }
+
+  private static void putInt(byte[] bytes, int offset, int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+}
@@ -0,0 +1,124 @@
+package org.opentripplanner.routing.graph.kryosupport;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import io.airlift.compress.lz4.Lz4Decompressor;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Read the blocks written by the {@link BlockCompressingOutputStream}. The compressed blocks are
+ * read from the source on the calling thread, and the blocks ahead of the current block are
+ * decompressed on a pool of threads.
+ * <p>
+ * The source is read up to and including the end marker, and no further, so the data following
+ * the blocks can be read from the source afterwards. Closing this stream does not close the
+ * source.
+ */
+public final class BlockDecompressingInputStream extends InputStream {
+
+  private final DataInputStream source;
+  private final int readAhead;
+  private final ExecutorService executor;
+  private final ArrayDeque<Future<byte[]>> pending = new ArrayDeque<>();
+  private byte[] block = new byte[0];
+  private int position = 0;
+  private boolean endOfBlocks = false;
+
+  public BlockDecompressingInputStream(InputStream source, int nThreads) {
+    this.source = new DataInputStream(source);
+    this.readAhead = 2 * nThreads;
+    var threadFactory = new ThreadFactoryBuilder().setNameFormat("graph-decompress-%d").build();
+    this.executor = Executors.newFixedThreadPool(nThreads, threadFactory);
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextBlockIfCurrentIsRead()) {
+      return -1;
+    }
+    return block[position++] & 0xFF;
+  }
+
+  @Override
+  public int read(byte[] b, int off, int len) throws IOException {
+    if (len == 0) {
+      return 0;
+    }
+    if (!nextBlockIfCurrentIsRead()) {
+      return -1;
+    }
+    int n = Math.min(len, block.length - position);
+    System.arraycopy(block, position, b, off, n);
+    position += n;
+    return n;
+  }
+
+  @Override
+  public int available() {
+    return block.length - position;
+  }
+
+  @Override
+  public void close() {
+    executor.shutdownNow();
+  }
+
+  /**
+   * Make sure there are unread bytes in the current block, return {@code false} at the end of the
+   * blocks.
+   */
+  private boolean nextBlockIfCurrentIsRead() throws IOException {
+    while (position == block.length) {
+      readAhead();
+      if (pending.isEmpty()) {
+        return false;
+      }
+      try {
+        block = pending.remove().get();
+        position = 0;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while decompressing the graph.");
+      } catch (ExecutionException e) {
+        throw new IOException(e.getCause());
+      }
+    }
+    return true;
+  }
+
+  private void readAhead() throws IOException {
+    while (!endOfBlocks && pending.size() < readAhead) {
+      int length = source.readInt();
+      int compressedLength = source.readInt();
+      if (length == 0) {
+        endOfBlocks = true;
+      } else if (compressedLength == 0) {
+        byte[] data = new byte[length];
+        source.readFully(data);
+        pending.add(executor.submit(() -> data));
+      } else {
+        byte[] data = new byte[compressedLength];
+        source.readFully(data);
+        pending.add(executor.submit(() -> decompress(data, length)));
+      }
+    }
+  }
+
+  private static byte[] decompress(byte[] data, int length) {
+    byte[] out = new byte[length];
+    int n = new Lz4Decompressor().decompress(data, 0, data.length, out, 0, length);
+    if (n != length) {
+      throw new IllegalStateException(
+        "Corrupt graph block, expected " + length + " bytes, got " + n + "."
+      );
+    }
+    return out;
+  }
+}
@@ -1,11 +1,18 @@
 package org.opentripplanner.routing.linking;
 
+import com.google.common.collect.Lists;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.Envelope;
@@ -61,6 +68,12 @@ public class VertexLinker {
   private static final double DUPLICATE_WAY_EPSILON_METERS = 0.001;
   private static final int INITIAL_SEARCH_RADIUS_METERS = 100;
   private static final int MAX_SEARCH_RADIUS_METERS = 1000;
+  private static final int PARALLEL_BATCH_SIZE = 2000;
+  /**
+   * The grid used to spread nearby vertices in different batches, in degrees. This is about
+   * 2 km, so vertices in different cells rarely link to the same edges.
+   */
+  private static final double BATCH_GRID_CELL_DEGREES = 0.02;
   // exit a complex area maximally via this many exit points
   private static final int MAX_AREA_LINKS = 300;
   private static final GeometryFactory GEOMETRY_FACTORY = GeometryUtils.getGeometryFactory();
@@ -77,6 +90,13 @@ public class VertexLinker {
   // TODO Temporary code until we refactor WalkableAreaBuilder  (#3152)
   private boolean addExtraEdgesToAreas = true;
 
+  /**
+   * The envelopes of the edges split and the areas linked to since the start of the current batch,
+   * only set while a batch is linked by {@link #linkVerticesPermanently(List, TraverseModeSet, LinkingDirection,
+   * BiFunction, Consumer)}.
+   */
+  private List<Envelope> splitEnvelopesInBatch = null;
+
   /**
    * Construct a new VertexLinker. NOTE: Only one VertexLinker should be active on a graph at any
    * given time.
@@ -97,6 +117,51 @@ public class VertexLinker {
     link(vertex, traverseModes, direction, Scope.PERMANENT, edgeFunction);
   }
 
+  /**
+   * Link a list of vertices permanently, searching for the closest edges on multiple threads.
+   * <p>
+   * The vertices are spread in batches, see {@link #spreadInBatches(List, int)}. For each batch
+   * the closest edges are found in parallel, this does not modify the graph. Then the vertices
+   * are linked one at a time on the calling thread in batch order. If an edge within the search
+   * envelope of a vertex was split, or an area within it got new edges, by a vertex linked earlier
+   * in the same batch, the search is repeated for that vertex. The result is therefore the same as
+   * linking the vertices one by one in batch order, and the batch order only depends on the order
+   * of the given vertices.
+   * <p>
+   * This must only be used while building the graph, no other linking can happen at the same time.
+   *
+   * @param linked called after each vertex is linked, used for progress tracking.
+   */
+  public void linkVerticesPermanently(
+    List<? extends Vertex> vertices,
+    TraverseModeSet traverseModes,
+    LinkingDirection direction,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction,
+    Consumer<Vertex> linked
+  ) {
+    for (List<? extends Vertex> batch : spreadInBatches(vertices, PARALLEL_BATCH_SIZE)) {
+      List<CandidateEdges> candidates = batch
+        .parallelStream()
+        .map(v -> findCandidateEdges(v, traverseModes, Scope.PERMANENT))
+        .toList();
+
+      splitEnvelopesInBatch = new ArrayList<>();
+      try {
+        for (int i = 0; i < batch.size(); i++) {
+          Vertex vertex = batch.get(i);
+          CandidateEdges c = candidates.get(i);
+          if (isSplitInBatch(c.envelope())) {
+            c = findCandidateEdges(vertex, traverseModes, Scope.PERMANENT);
+          }
+          link(vertex, c, direction, Scope.PERMANENT, edgeFunction);
+          linked.accept(vertex);
+        }
+      } finally {
+        splitEnvelopesInBatch = null;
+      }
+    }
+  }
+
   public DisposableEdgeCollection linkVertexForRealTime(
     Vertex vertex,
     TraverseModeSet traverseModes,
@@ -178,6 +243,22 @@ public class VertexLinker {
     LinkingDirection direction,
     Scope scope,
     BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
+  ) {
+    return link(
+      vertex,
+      findCandidateEdges(vertex, traverseModes, scope),
+      direction,
+      scope,
+      edgeFunction
+    );
+  }
+
+  private DisposableEdgeCollection link(
+    Vertex vertex,
+    CandidateEdges candidateEdges,
+    LinkingDirection direction,
+    Scope scope,
+    BiFunction<Vertex, StreetVertex, List<Edge>> edgeFunction
   ) {
     DisposableEdgeCollection tempEdges = (scope != Scope.PERMANENT)
       ? new DisposableEdgeCollection(graph, scope)
@@ -186,23 +267,11 @@ public class VertexLinker {
     try {
       Set<StreetVertex> streetVertices = linkToStreetEdges(
         vertex,
-        traverseModes,
+        candidateEdges,
         direction,
         scope,
-        INITIAL_SEARCH_RADIUS_METERS,
         tempEdges
       );
-      if (streetVertices.isEmpty()) {
-        streetVertices =
-          linkToStreetEdges(
-            vertex,
-            traverseModes,
-            direction,
-            scope,
-            MAX_SEARCH_RADIUS_METERS,
-            tempEdges
-          );
-      }
 
       for (StreetVertex streetVertex : streetVertices) {
         List<Edge> edges = edgeFunction.apply(vertex, streetVertex);
@@ -222,13 +291,27 @@ public class VertexLinker {
     return tempEdges;
   }
 
-  private Set<StreetVertex> linkToStreetEdges(
+  /**
+   * Find the closest edges to link to, first within {@link #INITIAL_SEARCH_RADIUS_METERS} and if
+   * none is found within {@link #MAX_SEARCH_RADIUS_METERS}. This does not modify the graph.
+   */
+  private CandidateEdges findCandidateEdges(
+    Vertex vertex,
+    TraverseModeSet traverseModes,
+    Scope scope
+  ) {
+    var candidates = findCandidateEdges(vertex, traverseModes, scope, INITIAL_SEARCH_RADIUS_METERS);
+    if (candidates.closestEdges().isEmpty()) {
+      candidates = findCandidateEdges(vertex, traverseModes, scope, MAX_SEARCH_RADIUS_METERS);
+    }
+    return candidates;
+  }
+
+  private CandidateEdges findCandidateEdges(
     Vertex vertex,
     TraverseModeSet traverseModes,
-    LinkingDirection direction,
     Scope scope,
-    int radiusMeters,
-    DisposableEdgeCollection tempEdges
+    int radiusMeters
   ) {
     final double radiusDeg = SphericalDistanceLibrary.metersToDegrees(radiusMeters);
 
@@ -254,17 +337,25 @@ public class VertexLinker {
       .toList();
 
     if (candidateEdges.isEmpty()) {
-      return Set.of();
+      return new CandidateEdges(env, xscale, Set.of());
     }
+    return new CandidateEdges(env, xscale, getClosestEdgesPerMode(traverseModes, candidateEdges));
+  }
 
-    Set<DistanceTo<StreetEdge>> closestEdges = getClosestEdgesPerMode(
-      traverseModes,
-      candidateEdges
-    );
+  private Set<StreetVertex> linkToStreetEdges(
+    Vertex vertex,
+    CandidateEdges candidateEdges,
+    LinkingDirection direction,
+    Scope scope,
+    DisposableEdgeCollection tempEdges
+  ) {
     Set<AreaEdgeList> linkedAreas = new HashSet<>();
-    return closestEdges
+    return candidateEdges
+      .closestEdges()
       .stream()
-      .map(ce -> link(vertex, ce.item, xscale, scope, direction, tempEdges, linkedAreas))
+      .map(ce ->
+        link(vertex, ce.item, candidateEdges.xscale(), scope, direction, tempEdges, linkedAreas)
+      )
       .filter(v -> v != null)
       .collect(Collectors.toSet());
   }
@@ -422,6 +513,10 @@ public class VertexLinker {
   ) {
     LineString geometry = originalEdge.getGeometry();
 
+    if (splitEnvelopesInBatch != null) {
+      splitEnvelopesInBatch.add(geometry.getEnvelopeInternal());
+    }
+
     // create the geometries
     Coordinate splitPoint = ll.getCoordinate(geometry);
 
@@ -485,6 +580,52 @@ public class VertexLinker {
     return v;
   }
 
+  private boolean isSplitInBatch(Envelope envelope) {
+    for (Envelope split : splitEnvelopesInBatch) {
+      if (split.intersects(envelope)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Split the vertices in batches of the given size. Vertices close to each other are likely to
+   * link to the same edges, so the vertices are put in a coarse grid and the vertices are taken
+   * from each grid cell in turn. The order only depends on the order of the given vertices, so
+   * the linking is reproducible.
+   */
+  static <T extends Vertex> List<List<T>> spreadInBatches(List<T> vertices, int batchSize) {
+    Map<Long, Deque<T>> cells = new LinkedHashMap<>();
+    for (T v : vertices) {
+      long x = (long) Math.floor(v.getLon() / BATCH_GRID_CELL_DEGREES);
+      long y = (long) Math.floor(v.getLat() / BATCH_GRID_CELL_DEGREES);
+      cells.computeIfAbsent((x << 32) ^ (y & 0xFFFFFFFFL), k -> new ArrayDeque<>()).add(v);
+    }
+
+    List<T> spread = new ArrayList<>(vertices.size());
+    while (!cells.isEmpty()) {
+      var it = cells.values().iterator();
+      while (it.hasNext()) {
+        var cell = it.next();
+        spread.add(cell.poll());
+        if (cell.isEmpty()) {
+          it.remove();
+        }
+      }
+    }
+    return Lists.partition(spread, batchSize);
+  }
+
+  /**
+   * The closest edges to link a vertex to, and the envelope searched to find them.
+   */
+  private record CandidateEdges(
+    Envelope envelope,
+    double xscale,
+    Set<DistanceTo<StreetEdge>> closestEdges
+  ) {}
+
   private static class DistanceTo<T> {
 
     T item;
@@ -535,6 +676,10 @@ public class VertexLinker {
   ) {
     List<NamedArea> areas = edgeList.getAreas();
     Geometry origPolygon = edgeList.getGeometry();
+
+    if (splitEnvelopesInBatch != null) {
+      splitEnvelopesInBatch.add(origPolygon.getEnvelopeInternal());
+    }
     Geometry polygon = origPolygon.union(origPolygon.getBoundary()).buffer(0.000001);
 
     // Due to truncating of precision in storage of the edge geometry, the new split vertex
@@ -3,6 +3,7 @@ package org.opentripplanner.service.realtimevehicles;
 import java.util.List;
 import javax.annotation.Nonnull;
 import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicleSnapshot;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.OccupancyStatus;
 import org.opentripplanner.transit.model.timetable.Trip;
@@ -14,6 +15,19 @@ public interface RealtimeVehicleService {
    */
   List<RealtimeVehicle> getRealtimeVehicles(@Nonnull TripPattern pattern);
 
+  /**
+   * Get the realtime vehicles for a certain trip pattern together with a version stamp. The
+   * version changes every time the vehicles of the pattern are updated, so it can be used for
+   * conditional (ETag-style) responses.
+   */
+  RealtimeVehicleSnapshot getRealtimeVehicleSnapshot(@Nonnull TripPattern pattern);
+
+  /**
+   * The version of the most recent update to any pattern. This changes if, and only if, any of
+   * the patterns is updated.
+   */
+  long version();
+
   /**
    * Get the latest occupancy status for a certain trip. Service contains all the vehicles that
    * exist in input feeds but doesn't store any historical data.
@@ -10,21 +10,36 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import javax.annotation.Nonnull;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleRepository;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleService;
 import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicleSnapshot;
 import org.opentripplanner.transit.model.framework.FeedScopedId;
 import org.opentripplanner.transit.model.network.TripPattern;
 import org.opentripplanner.transit.model.timetable.OccupancyStatus;
 import org.opentripplanner.transit.model.timetable.Trip;
 import org.opentripplanner.transit.service.TransitService;
 
+/**
+ * The vehicles of each pattern are kept as an immutable {@link RealtimeVehicleSnapshot} in a
+ * concurrent map. Updating a pattern replaces the snapshot, so readers never block the updaters
+ * and always see a consistent list for a pattern.
+ * <p>
+ * The updates are serialized, and the new snapshot is published before the version is increased.
+ * So a reader that sees a version also sees the snapshots of that version, and can not cache an
+ * old snapshot under a new version.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ */
 @Singleton
 public class DefaultRealtimeVehicleService
   implements RealtimeVehicleService, RealtimeVehicleRepository {
 
-  private final Map<TripPattern, List<RealtimeVehicle>> vehicles = new ConcurrentHashMap<>();
+  private final Map<TripPattern, RealtimeVehicleSnapshot> vehicles = new ConcurrentHashMap<>();
+
+  private final AtomicLong version = new AtomicLong();
 
   private final TransitService transitService;
 
@@ -34,19 +49,33 @@ public class DefaultRealtimeVehicleService
   }
 
   @Override
-  public void setRealtimeVehicles(TripPattern pattern, List<RealtimeVehicle> updates) {
-    vehicles.put(pattern, List.copyOf(updates));
+  public synchronized void setRealtimeVehicles(TripPattern pattern, List<RealtimeVehicle> updates) {
+    long next = version.get() + 1;
+    vehicles.put(pattern, new RealtimeVehicleSnapshot(updates, next));
+    version.set(next);
   }
 
   @Override
-  public void clearRealtimeVehicles(TripPattern pattern) {
-    vehicles.remove(pattern);
+  public synchronized void clearRealtimeVehicles(TripPattern pattern) {
+    if (vehicles.remove(pattern) != null) {
+      version.incrementAndGet();
+    }
   }
 
   @Override
   public List<RealtimeVehicle> getRealtimeVehicles(@Nonnull TripPattern pattern) {
     // the list is made immutable during insertion, so we can safely return them
-    return vehicles.getOrDefault(pattern, List.of());
+    return getRealtimeVehicleSnapshot(pattern).vehicles();
+  }
+
+  @Override
+  public RealtimeVehicleSnapshot getRealtimeVehicleSnapshot(@Nonnull TripPattern pattern) {
+    return vehicles.getOrDefault(pattern, RealtimeVehicleSnapshot.EMPTY);
+  }
+
+  @Override
+  public long version() {
+    return version.get();
   }
 
   @Nonnull
@@ -62,8 +91,7 @@ public class DefaultRealtimeVehicleService
    * provided to the service.
    */
   public OccupancyStatus getOccupancyStatus(FeedScopedId tripId, TripPattern pattern) {
-    return vehicles
-      .getOrDefault(pattern, List.of())
+    return getRealtimeVehicles(pattern)
       .stream()
       .filter(vehicle -> tripId.equals(vehicle.trip().getId()))
       .max(Comparator.comparing(vehicle -> vehicle.time().orElse(Instant.MIN)))
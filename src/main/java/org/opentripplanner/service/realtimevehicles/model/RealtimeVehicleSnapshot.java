@@ -0,0 +1,24 @@
+package org.opentripplanner.service.realtimevehicles.model;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * An immutable snapshot of the realtime vehicles of one trip pattern.
+ * <p>
+ * The version is increased every time the vehicles of the pattern are set or cleared, and it is
+ * unique across all patterns. Two snapshots of the same pattern with the same version contain the
+ * same vehicles, so the version can be used as an ETag or to skip unchanged data. A pattern
+ * without any vehicles has version {@code 0}.
+ */
+public record RealtimeVehicleSnapshot(List<RealtimeVehicle> vehicles, long version) {
+  public static final RealtimeVehicleSnapshot EMPTY = new RealtimeVehicleSnapshot(List.of(), 0);
+
+  public RealtimeVehicleSnapshot {
+    vehicles = List.copyOf(Objects.requireNonNull(vehicles));
+  }
+
+  public boolean isEmpty() {
+    return vehicles.isEmpty();
+  }
+}
@@ -13,7 +13,11 @@ import org.opentripplanner.street.model.vertex.VertexLabel;
  */
 public class VehicleRentalPlaceVertex extends Vertex {
 
-  private VehicleRentalPlace station;
+  /**
+   * Replaced by the updater when only the availability of the place changes, readers always see
+   * either the old or the new place.
+   */
+  private volatile VehicleRentalPlace station;
 
   public VehicleRentalPlaceVertex(VehicleRentalPlace station) {
     super(station.getLongitude(), station.getLatitude());
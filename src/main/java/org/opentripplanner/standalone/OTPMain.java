@@ -4,6 +4,7 @@ import static org.opentripplanner.model.projectinfo.OtpProjectInfo.projectInfo;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.ParameterException;
+import java.util.concurrent.CompletableFuture;
 import org.geotools.referencing.factory.DeferredAuthorityFactory;
 import org.geotools.util.WeakCollectionCleaner;
 import org.opentripplanner.framework.application.ApplicationShutdownSupport;
@@ -174,9 +175,13 @@ public class OTPMain {
   }
 
   private static void startOtpWebServer(CommandLineParameters params, ConstructApplication app) {
-    // Index graph for travel search
+    // Index graph for travel search. The street and transit indices are independent, the street
+    // index is built on another thread.
+    var streetIndex = CompletableFuture.runAsync(() ->
+      app.graph().index(app.transitModel().getStopModel())
+    );
     app.transitModel().index();
-    app.graph().index(app.transitModel().getStopModel());
+    streetIndex.join();
 
     // publishing the config version info make it available to the APIs
     setOtpConfigVersionsOnServerInfo(app);
@@ -146,6 +146,8 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final boolean osmCacheDataInMem;
 
+  public final boolean osmMemoryMappedNodeStore;
+
   /** See {@link IslandPruningConfig}. */
   public final IslandPruningConfig islandPruning;
 
@@ -176,8 +178,14 @@ public class BuildConfig implements OtpDataStoreConfig {
 
   public final boolean includeEllipsoidToGeoidDifference;
 
+  public final boolean incrementalTransfers;
+
+  public final boolean clusteredTransfers;
+
   public final boolean multiThreadElevationCalculations;
 
+  public final boolean multiThreadStreetLinking;
+
   public final LocalDate transitServiceStart;
 
   public final LocalDate transitServiceEnd;
@@ -267,6 +275,40 @@ all of the elevation values in the street edges.
 """
         )
         .asBoolean(false);
+    incrementalTransfers =
+      root
+        .of("incrementalTransfers")
+        .since(V2_5)
+        .summary("Reuse the transfers from the previous build for stops not affected by changes.")
+        .description(
+          """
+          When enabled, the transfers generated between stops are written to the `transfers`
+          directory in the cache directory, one file per transit feed. In the next build the
+          transfers from a stop are reused if its feed is unchanged and no stop of a changed feed
+          is within the transfer distance. Feeds are compared using a fingerprint of the imported
+          stops and patterns. The cache is discarded if the OSM data, the street graph or the
+          build configuration has changed. Transfers are always generated when flex routing is
+          enabled or when car transfers are configured.
+        """
+        )
+        .asBoolean(false);
+    clusteredTransfers =
+      root
+        .of("clusteredTransfers")
+        .since(V2_5)
+        .summary("Generate the transfers from the quays of a station with a shared street search.")
+        .description(
+          """
+          When enabled, the transfers from all quays of a station are generated with one street
+          search for each transfer profile, starting at all quays at once. The transfers from each
+          quay are derived from this search and a short search between the quays of the station.
+          A quay is searched on its own if another quay of the station is more than 5 minutes
+          away. This is much faster for networks with large stations, but a transfer may be a
+          little longer than the shortest path if it is shorter to leave the station from another
+          quay. Only used when the graph has streets and flex routing is not enabled.
+        """
+        )
+        .asBoolean(false);
 
     islandPruning = IslandPruningConfig.fromConfig(root);
 
@@ -316,6 +358,20 @@ all of the elevation values in the street edges.
         """
         )
         .asBoolean(false);
+    multiThreadStreetLinking =
+      root
+        .of("multiThreadStreetLinking")
+        .since(V2_5)
+        .summary("Search for the street edges to link stops and entrances to on multiple threads.")
+        .description(
+          """
+          Linking transit stops, entrances and vehicle parking to the street network is done one
+          vertex at a time. When this is enabled the search for the closest street edges is done
+          on multiple threads, while the edges are still split on a single thread. The linking
+          order is different from the single-threaded linking, but it is reproducible.
+        """
+        )
+        .asBoolean(false);
     osmCacheDataInMem =
       root
         .of("osmCacheDataInMem")
@@ -332,6 +388,22 @@ all of the elevation values in the street edges.
       """
         )
         .asBoolean(false);
+    osmMemoryMappedNodeStore =
+      root
+        .of("osmMemoryMappedNodeStore")
+        .since(V2_5)
+        .summary("If OSM nodes should be stored off-heap in a memory-mapped file during processing.")
+        .description(
+          """
+      The OSM nodes take up most of the memory used while building the street graph. When this
+      parameter is `true` the node coordinates and tags are stored in a memory-mapped temporary
+      file instead of on the heap, and only the node ids and file offsets are kept in memory. This
+      makes it possible to build large graphs (e.g. all of Europe) with a much smaller heap, at
+      the cost of a slower build. The operating system needs enough free disk space in the
+      temporary directory to hold the nodes.
+      """
+        )
+        .asBoolean(false);
     platformEntriesLinking =
       root
         .of("platformEntriesLinking")
@@ -16,6 +16,7 @@ import org.opentripplanner.standalone.config.routerconfig.ServerConfig;
 import org.opentripplanner.standalone.config.routerconfig.TransitRoutingConfig;
 import org.opentripplanner.standalone.config.routerconfig.UpdatersConfig;
 import org.opentripplanner.standalone.config.routerconfig.VectorTileConfig;
+import org.opentripplanner.standalone.config.routerconfig.WarmupConfig;
 import org.opentripplanner.standalone.config.sandbox.FlexConfig;
 import org.opentripplanner.standalone.config.sandbox.TransmodelAPIConfig;
 import org.opentripplanner.updater.UpdatersParameters;
@@ -48,6 +49,7 @@ public class RouterConfig implements Serializable {
   private final FlexConfig flexConfig;
   private final TransmodelAPIConfig transmodelApi;
   private final VectorTileConfig vectorTileConfig;
+  private final WarmupConfig warmup;
 
   public RouterConfig(JsonNode node, String source, boolean logUnusedParams) {
     this(new NodeAdapter(node, source), logUnusedParams);
@@ -73,6 +75,7 @@ public class RouterConfig implements Serializable {
     this.rideHailingConfig = new RideHailingServicesConfig(root);
     this.vectorTileConfig = VectorTileConfig.mapVectorTilesParameters(root, "vectorTiles");
     this.flexConfig = new FlexConfig(root, "flex");
+    this.warmup = new WarmupConfig("warmup", root, routingRequestDefaults);
 
     if (logUnusedParams && LOG.isWarnEnabled()) {
       root.logAllWarnings(LOG::warn);
@@ -131,6 +134,10 @@ public class RouterConfig implements Serializable {
     return flexConfig;
   }
 
+  public WarmupConfig warmup() {
+    return warmup;
+  }
+
   public NodeAdapter asNodeAdapter() {
     return root;
   }
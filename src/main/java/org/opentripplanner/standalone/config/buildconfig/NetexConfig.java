@@ -3,6 +3,7 @@ package org.opentripplanner.standalone.config.buildconfig;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_0;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_2;
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_3;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
 
 import org.opentripplanner.netex.config.NetexFeedParameters;
 import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
@@ -164,6 +165,23 @@ public class NetexConfig {
           .summary("Ignore contents of the FareFrame")
           .docDefaultValue(base.ignoreFareFrame())
           .asBoolean(base.ignoreFareFrame())
+      )
+      .withStreamXmlParsing(
+        config
+          .of("streamXmlParsing")
+          .since(V2_5)
+          .summary("Parse the XML files one frame at the time, to reduce the memory used.")
+          .description(
+            """
+            By default each XML file is parsed as a whole, and several files are parsed ahead in
+            parallel. With this enabled, one frame is parsed at the time and added to the index,
+            before the next frame is read. The files are then read one at the time. This reduces
+            the peak memory used when loading large shared files, at the cost of a slower import.
+            FareFrames are skipped without parsing them if `ignoreFareFrame` is set.
+            """
+          )
+          .docDefaultValue(base.streamXmlParsing())
+          .asBoolean(base.streamXmlParsing())
       );
   }
 
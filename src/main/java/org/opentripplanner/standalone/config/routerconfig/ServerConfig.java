@@ -1,6 +1,7 @@
 package org.opentripplanner.standalone.config.routerconfig;
 
 import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_4;
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
 
 import java.time.Duration;
 import java.util.List;
@@ -13,6 +14,7 @@ public class ServerConfig implements OTPWebApplicationParameters {
 
   private final Duration apiProcessingTimeout;
   private final List<RequestTraceParameter> traceParameters;
+  private final int requestThreadPoolSize;
 
   public ServerConfig(String parameterName, NodeAdapter root) {
     NodeAdapter c = root
@@ -42,6 +44,21 @@ The timeout is not enforced when the parallel routing OTP feature is in use.
         )
         .asDuration(Duration.ofSeconds(-1));
 
+    this.requestThreadPoolSize =
+      c
+        .of("requestThreadPoolSize")
+        .since(V2_5)
+        .summary("The number of threads shared by all requests to split the work on a request.")
+        .description(
+          """
+With the `ParallelRouting` OTP feature enabled, the itineraries of a request are mapped and
+decorated by several threads. This parameter sets the total number of threads available for this
+across all requests, each request uses at most one thread per processor. If 0, no extra threads
+are started and the work is done in the request thread.
+"""
+        )
+        .asInt(0);
+
     this.traceParameters =
       c
         .of("traceParameters")
@@ -105,6 +122,10 @@ Only log4j and logback support this.
     return apiProcessingTimeout;
   }
 
+  public int requestThreadPoolSize() {
+    return requestThreadPoolSize;
+  }
+
   public void validate(Duration streetRoutingTimeout) {
     if (
       !apiProcessingTimeout.isNegative() &&
@@ -0,0 +1,106 @@
+package org.opentripplanner.standalone.config.routerconfig;
+
+import static org.opentripplanner.standalone.config.framework.json.OtpVersion.V2_5;
+
+import java.util.List;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+import org.opentripplanner.standalone.config.routerequest.RouteRequestConfig;
+
+/**
+ * Routing requests to run at startup, before the server accepts requests.
+ */
+public class WarmupConfig {
+
+  private final int iterations;
+  private final List<RouteRequest> requests;
+
+  public WarmupConfig(String parameterName, NodeAdapter root, RouteRequest routingRequestDefaults) {
+    NodeAdapter c = root
+      .of(parameterName)
+      .since(V2_5)
+      .summary("Run routing requests at startup, before the server accepts requests.")
+      .description(
+        """
+The first requests after startup are much slower than the following ones, because the routing code
+is not yet compiled by the JIT compiler and the caches are empty. Configure a set of representative
+routing requests, and OTP runs them before the HTTP server starts. The health check does not report
+OTP as ready before the warm-up is done. Failing requests are logged, but do not stop the startup.
+"""
+      )
+      .asObject();
+
+    this.iterations =
+      c
+        .of("iterations")
+        .since(V2_5)
+        .summary("The number of times each warm-up request is run.")
+        .asInt(10);
+
+    this.requests =
+      c
+        .of("requests")
+        .since(V2_5)
+        .summary("The routing requests to run.")
+        .description(
+          """
+Each request is the `routingDefaults` with the given parameters overridden. The `from` and `to`
+places are required, and are given as `"latitude,longitude"`. The requests are run with the current
+time as the departure time.
+
+**Example**
+
+```JSON
+// router-config.json
+{
+  "warmup": {
+    "requests": [
+      { "from": "59.9139,10.7522", "to": "59.9500,10.7800" },
+      { "from": "59.9139,10.7522", "to": "59.9500,10.7800", "modes": "BICYCLE" }
+    ]
+  }
+}
+```
+"""
+        )
+        .asObjects(List.of(), n -> mapRequest(n, routingRequestDefaults));
+  }
+
+  public int iterations() {
+    return iterations;
+  }
+
+  public List<RouteRequest> requests() {
+    return requests;
+  }
+
+  private static RouteRequest mapRequest(NodeAdapter c, RouteRequest dft) {
+    var from = c.of("from").since(V2_5).summary("The origin, `latitude,longitude`.").asString();
+    var to = c.of("to").since(V2_5).summary("The destination, `latitude,longitude`.").asString();
+    var request = RouteRequestConfig.mapRouteRequest(c, dft);
+    request.setFrom(parseCoordinate(from, c));
+    request.setTo(parseCoordinate(to, c));
+    return request;
+  }
+
+  private static GenericLocation parseCoordinate(String value, NodeAdapter c) {
+    String[] parts = value.split(",");
+    try {
+      if (parts.length == 2) {
+        return new GenericLocation(
+          Double.parseDouble(parts[0].trim()),
+          Double.parseDouble(parts[1].trim())
+        );
+      }
+    } catch (NumberFormatException ignore) {
+      // Handled below
+    }
+    throw new OtpAppException(
+      "Unable to parse the coordinate '%s', expected \"latitude,longitude\". Source: %s",
+      value,
+      c.contextPath()
+    );
+  }
+}
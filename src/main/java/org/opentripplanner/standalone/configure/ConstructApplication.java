@@ -1,6 +1,7 @@
 package org.opentripplanner.standalone.configure;
 
 import jakarta.ws.rs.core.Application;
+import java.time.Instant;
 import javax.annotation.Nullable;
 import org.opentripplanner.apis.transmodel.TransmodelAPI;
 import org.opentripplanner.datastore.api.DataSource;
@@ -9,6 +10,7 @@ import org.opentripplanner.ext.geocoder.LuceneIndex;
 import org.opentripplanner.ext.stopconsolidation.StopConsolidationRepository;
 import org.opentripplanner.framework.application.LogMDCSupport;
 import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.concurrent.OtpRequestExecutor;
 import org.opentripplanner.framework.logging.ProgressTracker;
 import org.opentripplanner.graph_builder.GraphBuilder;
 import org.opentripplanner.graph_builder.GraphBuilderDataSources;
@@ -19,6 +21,7 @@ import org.opentripplanner.routing.algorithm.raptoradapter.transit.TransitTuning
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.TripSchedule;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerMapper;
 import org.opentripplanner.routing.algorithm.raptoradapter.transit.mappers.TransitLayerUpdater;
+import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.realtimevehicles.RealtimeVehicleRepository;
 import org.opentripplanner.service.vehiclerental.VehicleRentalRepository;
@@ -29,6 +32,7 @@ import org.opentripplanner.standalone.config.CommandLineParameters;
 import org.opentripplanner.standalone.config.ConfigModel;
 import org.opentripplanner.standalone.config.OtpConfig;
 import org.opentripplanner.standalone.config.RouterConfig;
+import org.opentripplanner.standalone.config.routerconfig.WarmupConfig;
 import org.opentripplanner.standalone.server.GrizzlyServer;
 import org.opentripplanner.standalone.server.OTPWebApplication;
 import org.opentripplanner.street.model.StreetLimitationParameters;
@@ -156,6 +160,8 @@ public class ConstructApplication {
     enableRequestTraceLogging();
     createMetricsLogging();
 
+    OtpRequestExecutor.setUp(routerConfig().server().requestThreadPoolSize());
+
     creatTransitLayerForRaptor(transitModel(), routerConfig().transitTuningConfig());
 
     /* Create updater modules from JSON config. */
@@ -183,6 +189,39 @@ public class ConstructApplication {
       LOG.info("Creating debug client geocoder lucene index");
       LuceneIndex.forServer(createServerContext());
     }
+
+    warmup(routerConfig().warmup());
+  }
+
+  /**
+   * Run the configured warm-up requests before the server starts. This lets the JIT compile the
+   * routing code and fills the caches, so the first requests from users are not slow.
+   */
+  private void warmup(WarmupConfig config) {
+    if (config.requests().isEmpty() || config.iterations() < 1) {
+      return;
+    }
+    var progress = ProgressTracker.track(
+      "Warm-up routing",
+      1,
+      (long) config.requests().size() * config.iterations()
+    );
+    LOG.info(progress.startMessage());
+
+    for (int i = 0; i < config.iterations(); ++i) {
+      for (RouteRequest it : config.requests()) {
+        var request = it.clone();
+        request.setDateTime(Instant.now());
+        try {
+          createServerContext().routingService().route(request);
+        } catch (RuntimeException e) {
+          LOG.warn("Warm-up request failed: {} {}", request, e.getMessage());
+        }
+        //noinspection Convert2MethodRef
+        progress.step(s -> LOG.info(s));
+      }
+    }
+    LOG.info(progress.completeMessage());
   }
 
   private void initEllipsoidToGeoidDifference() {
@@ -38,10 +38,11 @@ public interface RentalRestrictionExtension {
   }
 
   /**
-   * Remove the extension from this one
+   * Remove the extension from this one. Removing an extension which is not part of this one
+   * returns this extension unchanged.
    */
   default RentalRestrictionExtension remove(RentalRestrictionExtension toRemove) {
-    return NO_RESTRICTION;
+    return this.equals(toRemove) ? NO_RESTRICTION : this;
   }
 
   /**
@@ -25,8 +25,9 @@ import org.slf4j.LoggerFactory;
 
 /**
  * This class starts an Paho MQTT client which opens a connection to a GTFS-RT data source. A
- * callback is registered which handles incoming GTFS-RT messages as they stream in by placing a
- * GTFS-RT decoder Runnable task in the single-threaded executor for handling.
+ * callback is registered which handles incoming GTFS-RT messages as they stream in by placing the
+ * decoded trip updates in a {@link StreamingTripUpdateQueue}. The queue drops superseded updates
+ * for the same trip and applies the rest in the single-threaded graph writer.
  * <p>
  * Usage example in the file 'router-config.json', inside the 'updaters' array:
  *
@@ -54,7 +55,7 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
   private final MemoryPersistence persistence = new MemoryPersistence();
   private final TimetableSnapshotSource snapshotSource;
   private final Consumer<UpdateResult> recordMetrics;
-  private WriteToGraphCallback saveResultOnGraph;
+  private final StreamingTripUpdateQueue<GtfsRealtime.TripUpdate> updateQueue;
 
   private GtfsRealtimeFuzzyTripMatcher fuzzyTripMatcher = null;
 
@@ -78,11 +79,19 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
         new GtfsRealtimeFuzzyTripMatcher(new DefaultTransitService(transitModel));
     }
     this.recordMetrics = TripUpdateMetrics.streaming(parameters);
+    this.updateQueue =
+      new StreamingTripUpdateQueue<>(
+        configRef,
+        feedId,
+        StreamingTripUpdateQueue.DEFAULT_CAPACITY,
+        MqttGtfsRealtimeUpdater::tripKey,
+        this::applyUpdates
+      );
   }
 
   @Override
   public void setGraphUpdaterManager(WriteToGraphCallback saveResultOnGraph) {
-    this.saveResultOnGraph = saveResultOnGraph;
+    this.updateQueue.setGraphWriter(saveResultOnGraph);
   }
 
   @Override
@@ -117,6 +126,44 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
     return configRef;
   }
 
+  /**
+   * Identify the trip an update applies to. Updates for trips without a trip id are matched on
+   * route, direction and start time, as in the fuzzy trip matching.
+   */
+  static String tripKey(GtfsRealtime.TripUpdate update) {
+    if (!update.hasTrip()) {
+      return null;
+    }
+    var trip = update.getTrip();
+    var date = trip.hasStartDate() ? trip.getStartDate() : "";
+    if (trip.hasTripId()) {
+      return trip.getTripId() + "|" + date;
+    }
+    if (trip.hasRouteId() && trip.hasDirectionId() && trip.hasStartTime()) {
+      return (
+        trip.getRouteId() +
+        "|" +
+        trip.getDirectionId() +
+        "|" +
+        trip.getStartTime() +
+        "|" +
+        date
+      );
+    }
+    return null;
+  }
+
+  private void applyUpdates(boolean fullDataset, List<GtfsRealtime.TripUpdate> updates) {
+    var result = snapshotSource.applyTripUpdates(
+      fuzzyTripMatcher,
+      backwardsDelayPropagationType,
+      fullDataset,
+      updates,
+      feedId
+    );
+    recordMetrics.accept(result);
+  }
+
   private class Callback implements MqttCallbackExtended {
 
     @Override
@@ -169,18 +216,13 @@ public class MqttGtfsRealtimeUpdater implements GraphUpdater {
       }
 
       if (updates != null) {
-        // Handle trip updates via graph writer runnable
-        saveResultOnGraph.execute(
-          new TripUpdateGraphWriterRunnable(
-            snapshotSource,
-            fuzzyTripMatcher,
-            backwardsDelayPropagationType,
-            fullDataset,
-            updates,
-            feedId,
-            recordMetrics
-          )
-        );
+        // Handle trip updates via the queue, this blocks if the graph writer is not keeping up
+        try {
+          updateQueue.offer(updates, fullDataset);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          LOG.warn("Interrupted while queueing trip updates, {}", updateQueue);
+        }
       }
     }
 
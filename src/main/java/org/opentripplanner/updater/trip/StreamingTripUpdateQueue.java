@@ -0,0 +1,276 @@
+package org.opentripplanner.updater.trip;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.TimeGauge;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import org.opentripplanner.framework.application.OTPFeature;
+import org.opentripplanner.framework.tostring.ToStringBuilder;
+import org.opentripplanner.updater.spi.WriteToGraphCallback;
+
+/**
+ * A bounded, keyed queue placed in front of the graph writer for streaming trip updaters (MQTT,
+ * Google PubSub, Azure Service Bus, ...).
+ * <p>
+ * Each update is keyed by trip. If a new update for a trip arrives before the previous one is
+ * applied, the previous one is superseded and dropped - the writer thread only applies the most
+ * recent state of each trip. At most one drain task per queue is waiting on the graph writer at
+ * any time; it applies all pending updates as one batch, in arrival order. When the queue is
+ * full the producer is blocked until the writer has drained it. This pushes back on the message
+ * source instead of building an unbounded backlog of stale updates on the single writer thread.
+ * <p>
+ * When the actuator API is enabled, the queue size, the number of received, superseded and
+ * applied updates and the lag from receiving an update until it is applied are exported as
+ * micrometer metrics.
+ * <p>
+ * THIS CLASS IS THREAD-SAFE
+ *
+ * @param <T> The update type, for example a GTFS-RT TripUpdate or a SIRI EstimatedVehicleJourney.
+ */
+public class StreamingTripUpdateQueue<T> {
+
+  /**
+   * The default maximum number of trips waiting to be applied. This is far more than any feed
+   * updates between two writer runs, so it only kicks in if the writer is not keeping up.
+   */
+  public static final int DEFAULT_CAPACITY = 10_000;
+
+  private static final String METRICS_PREFIX = "streaming_trip_updates.queue";
+
+  private final String name;
+  private final int capacity;
+  private final Function<T, String> tripKey;
+  private final ApplyUpdates<T> applyUpdates;
+
+  private final ReentrantLock lock = new ReentrantLock();
+  private final Condition notFull = lock.newCondition();
+  private final LinkedHashMap<String, Entry<T>> pending = new LinkedHashMap<>();
+  private boolean fullDatasetPending = false;
+  private boolean drainScheduled = false;
+  private long unkeyedSequence = 0;
+
+  private final AtomicLong received = new AtomicLong();
+  private final AtomicLong superseded = new AtomicLong();
+  private final AtomicLong applied = new AtomicLong();
+  private final AtomicLong lastLagMillis = new AtomicLong();
+
+  private WriteToGraphCallback graphWriter;
+
+  /**
+   * @param name         Used in log messages and as a metrics tag, normally the updater configRef.
+   * @param feedId       The feed the updates apply to, used as a metrics tag.
+   * @param capacity     The maximum number of trips waiting to be applied.
+   * @param tripKey      Return a key identifying the trip of an update, or {@code null} if the
+   *                     update can not be matched with other updates. Updates without a key are
+   *                     never superseded.
+   * @param applyUpdates Apply a batch of updates, called from the graph writer thread.
+   */
+  public StreamingTripUpdateQueue(
+    String name,
+    String feedId,
+    int capacity,
+    Function<T, String> tripKey,
+    ApplyUpdates<T> applyUpdates
+  ) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("The queue capacity must be at least 1: " + capacity);
+    }
+    this.name = Objects.requireNonNull(name);
+    this.capacity = capacity;
+    this.tripKey = Objects.requireNonNull(tripKey);
+    this.applyUpdates = Objects.requireNonNull(applyUpdates);
+    if (OTPFeature.ActuatorAPI.isOn()) {
+      registerMetrics(Objects.requireNonNull(feedId));
+    }
+  }
+
+  /**
+   * Set the graph writer used to apply the updates. Must be called before the first update is
+   * offered, normally from {@code GraphUpdater#setGraphUpdaterManager}.
+   */
+  public void setGraphWriter(WriteToGraphCallback graphWriter) {
+    this.graphWriter = Objects.requireNonNull(graphWriter);
+  }
+
+  /**
+   * Add a message worth of updates to the queue, replacing pending updates for the same trips.
+   * <p>
+   * If {@code fullDataset} is {@code true}, the updates replace all pending updates and the batch
+   * is applied as a full dataset. A full dataset is never held back by the capacity limit.
+   * <p>
+   * This method blocks while the queue is full.
+   */
+  public void offer(List<T> updates, boolean fullDataset) throws InterruptedException {
+    Objects.requireNonNull(graphWriter, "The graph writer is not set.");
+    long now = System.currentTimeMillis();
+    received.addAndGet(updates.size());
+
+    lock.lockInterruptibly();
+    try {
+      if (fullDataset) {
+        supersede(pending.size());
+        pending.clear();
+        fullDatasetPending = true;
+      }
+      for (T update : updates) {
+        String key = keyOf(update);
+        while (!fullDataset && pending.size() >= capacity && !pending.containsKey(key)) {
+          scheduleDrain();
+          notFull.await();
+        }
+        // Remove first, so the entry is moved to the end and the arrival order is kept
+        if (pending.remove(key) != null) {
+          supersede(1);
+        }
+        pending.put(key, new Entry<>(update, now));
+      }
+      scheduleDrain();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** The number of trips waiting to be applied. */
+  public int size() {
+    lock.lock();
+    try {
+      return pending.size();
+    } finally {
+      lock.unlock();
+    }
+  }
+
+  /** Total number of updates offered to the queue. */
+  public long receivedCount() {
+    return received.get();
+  }
+
+  /** Total number of updates dropped because a newer update for the same trip arrived. */
+  public long supersededCount() {
+    return superseded.get();
+  }
+
+  /** Total number of updates passed on to the graph writer. */
+  public long appliedCount() {
+    return applied.get();
+  }
+
+  /**
+   * The time from the oldest update in the last batch was received until the batch was applied.
+   */
+  public long lastLagMillis() {
+    return lastLagMillis.get();
+  }
+
+  @Override
+  public String toString() {
+    return ToStringBuilder
+      .of(StreamingTripUpdateQueue.class)
+      .addStr("name", name)
+      .addNum("capacity", capacity)
+      .addNum("size", size())
+      .addNum("received", receivedCount())
+      .addNum("superseded", supersededCount())
+      .addNum("applied", appliedCount())
+      .addNum("lastLagMillis", lastLagMillis())
+      .toString();
+  }
+
+  /**
+   * Must be called while holding the lock.
+   */
+  private void scheduleDrain() {
+    if (!drainScheduled && (fullDatasetPending || !pending.isEmpty())) {
+      drainScheduled = true;
+      graphWriter.execute((graph, transitModel) -> drain());
+    }
+  }
+
+  private void drain() {
+    List<Entry<T>> batch;
+    boolean fullDataset;
+
+    lock.lock();
+    try {
+      batch = List.copyOf(pending.values());
+      fullDataset = fullDatasetPending;
+      pending.clear();
+      fullDatasetPending = false;
+      drainScheduled = false;
+      notFull.signalAll();
+    } finally {
+      lock.unlock();
+    }
+
+    applyUpdates.apply(fullDataset, batch.stream().map(Entry::update).toList());
+
+    applied.addAndGet(batch.size());
+
+    if (!batch.isEmpty()) {
+      long lag = System.currentTimeMillis() - batch.get(0).receivedTime();
+      lastLagMillis.set(lag);
+    }
+  }
+
+  private String keyOf(T update) {
+    String key = tripKey.apply(update);
+    // Use a key which never matches a trip key, the '#' is not allowed in the trip keys
+    return key == null ? "#" + (unkeyedSequence++) : key;
+  }
+
+  private void supersede(int count) {
+    superseded.addAndGet(count);
+  }
+
+  /**
+   * Apply a batch of updates to the graph, called from the graph writer thread.
+   */
+  @FunctionalInterface
+  public interface ApplyUpdates<T> {
+    /**
+     * @param fullDataset {@code true} if the updates represent all updates that are active right
+     *                    now, i.e. all previous updates should be disregarded.
+     */
+    void apply(boolean fullDataset, List<T> updates);
+  }
+
+  private record Entry<T>(T update, long receivedTime) {}
+
+  private void registerMetrics(String feedId) {
+    var tags = List.of(Tag.of("configRef", name), Tag.of("feedId", feedId));
+    FunctionCounter
+      .builder(METRICS_PREFIX + ".received", received, AtomicLong::get)
+      .description("Total trip updates received by the streaming updater")
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+    FunctionCounter
+      .builder(METRICS_PREFIX + ".superseded", superseded, AtomicLong::get)
+      .description("Total trip updates dropped because a newer update for the trip arrived")
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+    FunctionCounter
+      .builder(METRICS_PREFIX + ".applied", applied, AtomicLong::get)
+      .description("Total trip updates passed on to the graph writer")
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+    Gauge
+      .builder(METRICS_PREFIX + ".size", this, StreamingTripUpdateQueue::size)
+      .description("Trips waiting to be applied")
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+    TimeGauge
+      .builder(METRICS_PREFIX + ".lag", lastLagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+      .description("Time from the oldest trip update in the last batch was received until applied")
+      .tags(tags)
+      .register(Metrics.globalRegistry);
+  }
+}
@@ -1,5 +1,6 @@
 package org.opentripplanner.updater.vehicle_rental;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -19,6 +20,8 @@ import org.opentripplanner.service.vehiclerental.street.GeofencingZoneExtension;
 import org.opentripplanner.street.model.RentalRestrictionExtension;
 import org.opentripplanner.street.model.edge.Edge;
 import org.opentripplanner.street.model.edge.StreetEdge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Even though the data is kept on the vertex this updater operates mostly on edges which then
@@ -30,11 +33,22 @@ import org.opentripplanner.street.model.edge.StreetEdge;
  * <p>
  * Perhaps this logic will be replaced with edge splitting where a new vertex is insert right on
  * the border of the zone.
+ * <p>
+ * The updater keeps track of the edges each zone was applied to. When the zones are updated only
+ * the zones that were added or removed since the last update are computed, the restrictions of
+ * unchanged zones are left on the edges. Each zone is tested against the edges using a
+ * {@link GridPreparedGeometry}.
  */
 class GeofencingVertexUpdater {
 
+  private static final Logger LOG = LoggerFactory.getLogger(GeofencingVertexUpdater.class);
+
   private final Function<Envelope, Collection<Edge>> getEdgesForEnvelope;
 
+  private final Map<GeofencingZone, AppliedExtension> appliedZones = new HashMap<>();
+  private Set<GeofencingZone> appliedBusinessAreas = Set.of();
+  private AppliedExtension appliedBusinessAreaBorder = AppliedExtension.EMPTY;
+
   public GeofencingVertexUpdater(Function<Envelope, Collection<Edge>> getEdgesForEnvelope) {
     this.getEdgesForEnvelope = getEdgesForEnvelope;
   }
@@ -42,72 +56,105 @@ class GeofencingVertexUpdater {
   /**
    * Applies the restrictions described in the geofencing zones to eges by adding
    * {@link RentalRestrictionExtension} to them.
+   * <p>
+   * The restrictions of zones applied by a previous call, but not part of the given zones, are
+   * removed from the edges. Zones applied before are not computed again.
+   *
+   * @return all edges with a restriction from the given zones.
    */
   Map<StreetEdge, RentalRestrictionExtension> applyGeofencingZones(
     Collection<GeofencingZone> geofencingZones
   ) {
-    var restrictedZones = geofencingZones.stream().filter(GeofencingZone::hasRestriction).toList();
+    long start = System.currentTimeMillis();
+    int edgesRemoved = 0;
+    int edgesAdded = 0;
 
-    // these are the edges inside business area where exceptions like "no pass through"
-    // or "no drop-off" are added
-    var restrictedEdges = addExtensionToIntersectingStreetEdges(
-      restrictedZones,
-      GeofencingZoneExtension::new
-    );
+    // these are the zones where exceptions like "no pass through" or "no drop-off" are added
+    var restrictedZones = geofencingZones
+      .stream()
+      .filter(GeofencingZone::hasRestriction)
+      .collect(Collectors.toSet());
 
-    var updates = new HashMap<>(restrictedEdges);
+    int zonesRemoved = 0;
+    var it = appliedZones.entrySet().iterator();
+    while (it.hasNext()) {
+      var applied = it.next();
+      if (!restrictedZones.contains(applied.getKey())) {
+        edgesRemoved += applied.getValue().remove();
+        it.remove();
+        ++zonesRemoved;
+      }
+    }
+
+    int zonesAdded = 0;
+    for (GeofencingZone zone : restrictedZones) {
+      if (!appliedZones.containsKey(zone)) {
+        var applied = applyExtension(zone.geometry(), new GeofencingZoneExtension(zone));
+        appliedZones.put(zone, applied);
+        edgesAdded += applied.edges().size();
+        ++zonesAdded;
+      }
+    }
 
     var generalBusinessAreas = geofencingZones
       .stream()
       .filter(GeofencingZone::isBusinessArea)
-      .toList();
-
-    if (!generalBusinessAreas.isEmpty()) {
-      // if the geofencing zones don't have any restrictions then they describe a general business
-      // area which you can traverse freely but are not allowed to leave
-      // here we just take the boundary of the geometry since we want to add a "no pass through"
-      // restriction to any edge intersecting it
-
-      var network = generalBusinessAreas.get(0).id().getFeedId();
-      var polygons = generalBusinessAreas
-        .stream()
-        .map(GeofencingZone::geometry)
-        .toArray(Geometry[]::new);
-
-      var unionOfBusinessAreas = GeometryUtils
-        .getGeometryFactory()
-        .createGeometryCollection(polygons)
-        .union();
-
-      var updated = applyExtension(
-        unionOfBusinessAreas.getBoundary(),
-        new BusinessAreaBorder(network)
-      );
-
-      updates.putAll(updated);
+      .collect(Collectors.toSet());
+
+    if (!generalBusinessAreas.equals(appliedBusinessAreas)) {
+      edgesRemoved += appliedBusinessAreaBorder.remove();
+      appliedBusinessAreaBorder = applyBusinessAreaBorder(generalBusinessAreas);
+      appliedBusinessAreas = generalBusinessAreas;
+      edgesAdded += appliedBusinessAreaBorder.edges().size();
+    }
+
+    var updates = new HashMap<StreetEdge, RentalRestrictionExtension>();
+    for (var applied : appliedZones.values()) {
+      applied.edges().forEach(e -> updates.put(e, applied.extension()));
     }
+    appliedBusinessAreaBorder
+      .edges()
+      .forEach(e -> updates.put(e, appliedBusinessAreaBorder.extension()));
+
+    LOG.debug(
+      "Geofencing zones updated in {} ms. Zones added: {}, removed: {}, unchanged: {}. " +
+      "Restriction added to {} edges, removed from {} edges.",
+      System.currentTimeMillis() - start,
+      zonesAdded,
+      zonesRemoved,
+      restrictedZones.size() - zonesAdded,
+      edgesAdded,
+      edgesRemoved
+    );
 
     return Map.copyOf(updates);
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> addExtensionToIntersectingStreetEdges(
-    List<GeofencingZone> zones,
-    Function<GeofencingZone, RentalRestrictionExtension> createExtension
-  ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
-    for (GeofencingZone zone : zones) {
-      var geom = zone.geometry();
-      var ext = createExtension.apply(zone);
-      edgesUpdated.putAll(applyExtension(geom, ext));
+  private AppliedExtension applyBusinessAreaBorder(Set<GeofencingZone> generalBusinessAreas) {
+    if (generalBusinessAreas.isEmpty()) {
+      return AppliedExtension.EMPTY;
     }
-    return edgesUpdated;
+    // if the geofencing zones don't have any restrictions then they describe a general business
+    // area which you can traverse freely but are not allowed to leave
+    // here we just take the boundary of the geometry since we want to add a "no pass through"
+    // restriction to any edge intersecting it
+
+    var network = generalBusinessAreas.iterator().next().id().getFeedId();
+    var polygons = generalBusinessAreas
+      .stream()
+      .map(GeofencingZone::geometry)
+      .toArray(Geometry[]::new);
+
+    var unionOfBusinessAreas = GeometryUtils
+      .getGeometryFactory()
+      .createGeometryCollection(polygons)
+      .union();
+
+    return applyExtension(unionOfBusinessAreas.getBoundary(), new BusinessAreaBorder(network));
   }
 
-  private Map<StreetEdge, RentalRestrictionExtension> applyExtension(
-    Geometry geom,
-    RentalRestrictionExtension ext
-  ) {
-    var edgesUpdated = new HashMap<StreetEdge, RentalRestrictionExtension>();
+  private AppliedExtension applyExtension(Geometry geom, RentalRestrictionExtension ext) {
+    var edgesUpdated = new ArrayList<StreetEdge>();
     Set<Edge> candidates;
     // for business areas we only care about the borders so we compute the boundary of the
     // (multi) polygon. this can either be a MultiLineString or a LineString
@@ -119,13 +166,14 @@ class GeofencingVertexUpdater {
     } else {
       candidates = Set.copyOf(getEdgesForEnvelope.apply(geom.getEnvelopeInternal()));
     }
+    var index = new GridPreparedGeometry(geom);
     for (var e : candidates) {
-      if (e instanceof StreetEdge streetEdge && streetEdge.getGeometry().intersects(geom)) {
+      if (e instanceof StreetEdge streetEdge && index.intersects(streetEdge.getGeometry())) {
         streetEdge.addRentalRestriction(ext);
-        edgesUpdated.put(streetEdge, ext);
+        edgesUpdated.add(streetEdge);
       }
     }
-    return edgesUpdated;
+    return new AppliedExtension(ext, List.copyOf(edgesUpdated));
   }
 
   /**
@@ -151,4 +199,22 @@ class GeofencingVertexUpdater {
       .flatMap(Collection::stream)
       .collect(Collectors.toSet());
   }
+
+  /**
+   * An extension and the edges it is added to.
+   */
+  private record AppliedExtension(RentalRestrictionExtension extension, List<StreetEdge> edges) {
+    private static final AppliedExtension EMPTY = new AppliedExtension(
+      RentalRestrictionExtension.NO_RESTRICTION,
+      List.of()
+    );
+
+    /**
+     * Remove the extension from the edges and return the number of edges.
+     */
+    int remove() {
+      edges.forEach(e -> e.removeRentalExtension(extension));
+      return edges.size();
+    }
+  }
 }
@@ -0,0 +1,97 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.prep.PreparedGeometry;
+import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+
+/**
+ * A prepared geometry with a coarse grid laid over its envelope. Each grid cell is classified
+ * (lazily) as inside, outside or on the border of the geometry. A geometry tested for
+ * intersection which falls within a single inside or outside cell is answered without any
+ * geometric computation, the rest falls back to the {@link PreparedGeometry}.
+ * <p>
+ * Most street edges are much smaller than a grid cell, so for large and complex geofencing zones
+ * only the edges close to the border of the zone are tested against the full geometry.
+ * <p>
+ * THIS CLASS IS NOT THREAD-SAFE
+ */
+class GridPreparedGeometry {
+
+  private static final int GRID_SIZE = 16;
+
+  private static final byte UNKNOWN = 0;
+  private static final byte INSIDE = 1;
+  private static final byte OUTSIDE = 2;
+  private static final byte BORDER = 3;
+
+  private final PreparedGeometry prepared;
+  private final Envelope envelope;
+  private final double cellWidth;
+  private final double cellHeight;
+  private final byte[] cells;
+
+  GridPreparedGeometry(Geometry geometry) {
+    this.prepared = PreparedGeometryFactory.prepare(geometry);
+    this.envelope = geometry.getEnvelopeInternal();
+    this.cellWidth = envelope.getWidth() / GRID_SIZE;
+    this.cellHeight = envelope.getHeight() / GRID_SIZE;
+    // A degenerated envelope (a point or a horizontal/vertical line) does not get a grid
+    boolean hasGrid = cellWidth > 0.0 && cellHeight > 0.0;
+    this.cells = new byte[hasGrid ? GRID_SIZE * GRID_SIZE : 0];
+  }
+
+  boolean intersects(Geometry geometry) {
+    var env = geometry.getEnvelopeInternal();
+    if (!envelope.intersects(env)) {
+      return false;
+    }
+    if (cells.length > 0) {
+      int col = col(env.getMinX());
+      int row = row(env.getMinY());
+      if (col == col(env.getMaxX()) && row == row(env.getMaxY()) && inGrid(col, row)) {
+        byte state = cellState(col, row);
+        if (state == INSIDE) {
+          return true;
+        }
+        if (state == OUTSIDE) {
+          return false;
+        }
+      }
+    }
+    return prepared.intersects(geometry);
+  }
+
+  private byte cellState(int col, int row) {
+    int index = row * GRID_SIZE + col;
+    if (cells[index] == UNKNOWN) {
+      double minX = envelope.getMinX() + col * cellWidth;
+      double minY = envelope.getMinY() + row * cellHeight;
+      var cell = GeometryUtils
+        .getGeometryFactory()
+        .toGeometry(new Envelope(minX, minX + cellWidth, minY, minY + cellHeight));
+
+      if (prepared.contains(cell)) {
+        cells[index] = INSIDE;
+      } else if (prepared.intersects(cell)) {
+        cells[index] = BORDER;
+      } else {
+        cells[index] = OUTSIDE;
+      }
+    }
+    return cells[index];
+  }
+
+  private int col(double x) {
+    return (int) Math.floor((x - envelope.getMinX()) / cellWidth);
+  }
+
+  private int row(double y) {
+    return (int) Math.floor((y - envelope.getMinY()) / cellHeight);
+  }
+
+  private static boolean inGrid(int col, int row) {
+    return col >= 0 && col < GRID_SIZE && row >= 0 && row < GRID_SIZE;
+  }
+}
@@ -10,6 +10,7 @@ import java.util.Map.Entry;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import org.opentripplanner.framework.geometry.SphericalDistanceLibrary;
 import org.opentripplanner.framework.lang.ObjectUtils;
 import org.opentripplanner.framework.logging.Throttle;
 import org.opentripplanner.framework.time.DurationUtils;
@@ -26,8 +27,6 @@ import org.opentripplanner.service.vehiclerental.street.StreetVehicleRentalLink;
 import org.opentripplanner.service.vehiclerental.street.VehicleRentalEdge;
 import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
 import org.opentripplanner.street.model.RentalFormFactor;
-import org.opentripplanner.street.model.RentalRestrictionExtension;
-import org.opentripplanner.street.model.edge.StreetEdge;
 import org.opentripplanner.street.model.vertex.VertexFactory;
 import org.opentripplanner.street.search.TraverseMode;
 import org.opentripplanner.street.search.TraverseModeSet;
@@ -44,11 +43,20 @@ import org.slf4j.LoggerFactory;
 /**
  * Dynamic vehicle-rental station updater which updates the Graph with vehicle rental stations from
  * one VehicleRentalDataSource.
+ * <p>
+ * Each poll is diffed against the places already in the graph. Only added, removed and moved
+ * places are (re)linked to the street network, pure availability changes are applied in place.
  */
 public class VehicleRentalUpdater extends PollingGraphUpdater {
 
   private static final Logger LOG = LoggerFactory.getLogger(VehicleRentalUpdater.class);
 
+  /**
+   * Places that moved less than this are not relinked, this is less than the precision of the
+   * positions reported by most free-floating vehicles.
+   */
+  private static final double MOVED_THRESHOLD_METERS = 5.0;
+
   private final Throttle unlinkedPlaceThrottle;
 
   private final VehicleRentalDatasource source;
@@ -56,7 +64,7 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
 
   private WriteToGraphCallback saveResultOnGraph;
 
-  private Map<StreetEdge, RentalRestrictionExtension> latestModifiedEdges = Map.of();
+  private GeofencingVertexUpdater geofencingUpdater;
   private Set<GeofencingZone> latestAppliedGeofencingZones = Set.of();
   private final Map<FeedScopedId, VehicleRentalPlaceVertex> verticesByStation = new HashMap<>();
   private final Map<FeedScopedId, DisposableEdgeCollection> tempEdgesByStation = new HashMap<>();
@@ -142,6 +150,36 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
     saveResultOnGraph.execute(graphWriterRunnable);
   }
 
+  /**
+   * A place needs new street links and rental edges if it moved, or if the form factors it
+   * offers changed. Any other change, typically the number of available vehicles, is applied by
+   * replacing the place on the existing vertex.
+   * <p>
+   * The distance is measured from the vertex, not from the previous position of the place, so a
+   * free-floating vehicle slowly drifting because of GPS noise is relinked once the drift adds up.
+   */
+  static boolean requiresRelinking(VehicleRentalPlaceVertex vertex, VehicleRentalPlace place) {
+    double distance = SphericalDistanceLibrary.fastDistance(
+      vertex.getLat(),
+      vertex.getLon(),
+      place.getLatitude(),
+      place.getLongitude()
+    );
+    return (
+      distance > MOVED_THRESHOLD_METERS ||
+      !formFactors(vertex.getStation()).equals(formFactors(place))
+    );
+  }
+
+  private static Set<RentalFormFactor> formFactors(VehicleRentalPlace place) {
+    return Stream
+      .concat(
+        place.getAvailablePickupFormFactors(false).stream(),
+        place.getAvailableDropoffFormFactors(false).stream()
+      )
+      .collect(Collectors.toSet());
+  }
+
   private class VehicleRentalGraphWriterRunnable implements GraphWriterRunnable {
 
     private final List<VehicleRentalPlace> stations;
@@ -160,58 +198,24 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       // Apply stations to graph
       Set<FeedScopedId> stationSet = new HashSet<>();
       var vertexFactory = new VertexFactory(graph);
+      int added = 0;
+      int relinked = 0;
 
-      /* add any new stations and update vehicle counts for existing stations */
+      /* add any new stations, relink moved stations and update vehicle counts for the rest */
       for (VehicleRentalPlace station : stations) {
         service.addVehicleRentalStation(station);
         stationSet.add(station.getId());
         VehicleRentalPlaceVertex vehicleRentalVertex = verticesByStation.get(station.getId());
 
         if (vehicleRentalVertex == null) {
-          vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
-          DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
-            vehicleRentalVertex,
-            new TraverseModeSet(TraverseMode.WALK),
-            LinkingDirection.BOTH_WAYS,
-            (vertex, streetVertex) ->
-              List.of(
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  (VehicleRentalPlaceVertex) vertex,
-                  streetVertex
-                ),
-                StreetVehicleRentalLink.createStreetVehicleRentalLink(
-                  streetVertex,
-                  (VehicleRentalPlaceVertex) vertex
-                )
-              )
-          );
-          if (vehicleRentalVertex.getOutgoing().isEmpty()) {
-            // Copy reference to pass into lambda
-            var vrv = vehicleRentalVertex;
-            unlinkedPlaceThrottle.throttle(() ->
-              // the toString includes the text "Bike rental station"
-              LOG.warn(
-                "VehicleRentalPlace is unlinked for {}: {}  {}",
-                nameForLogging,
-                vrv,
-                unlinkedPlaceThrottle.setupInfo()
-              )
-            );
-          }
-          Set<RentalFormFactor> formFactors = Stream
-            .concat(
-              station.getAvailablePickupFormFactors(false).stream(),
-              station.getAvailableDropoffFormFactors(false).stream()
-            )
-            .collect(Collectors.toSet());
-          for (RentalFormFactor formFactor : formFactors) {
-            tempEdges.addEdge(
-              VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
-            );
-          }
-          verticesByStation.put(station.getId(), vehicleRentalVertex);
-          tempEdgesByStation.put(station.getId(), tempEdges);
+          linkStation(vertexFactory, station);
+          ++added;
+        } else if (requiresRelinking(vehicleRentalVertex, station)) {
+          unlinkStation(graph, station.getId());
+          linkStation(vertexFactory, station);
+          ++relinked;
         } else {
+          // Only the availability changed, this is a cheap in-place update
           vehicleRentalVertex.setStation(station);
         }
       }
@@ -226,32 +230,88 @@ public class VehicleRentalUpdater extends PollingGraphUpdater {
       }
       for (FeedScopedId station : toRemove) {
         // post-iteration removal to avoid concurrent modification
-        verticesByStation.remove(station);
-        tempEdgesByStation.get(station).disposeEdges();
-        tempEdgesByStation.remove(station);
+        unlinkStation(graph, station);
       }
 
+      LOG.debug(
+        "Applied {} vehicle rental places for {}: {} added, {} relinked, {} removed",
+        stations.size(),
+        nameForLogging,
+        added,
+        relinked,
+        toRemove.size()
+      );
+
       // this check relies on the generated equals for the record which also recursively checks that
       // the JTS geometries are equal
       if (!geofencingZones.isEmpty() && !geofencingZones.equals(latestAppliedGeofencingZones)) {
         LOG.info("Computing geofencing zones for {}", nameForLogging);
         var start = System.currentTimeMillis();
 
-        latestModifiedEdges.forEach(StreetEdge::removeRentalExtension);
-
-        var updater = new GeofencingVertexUpdater(graph.getStreetIndex()::getEdgesForEnvelope);
-        latestModifiedEdges = updater.applyGeofencingZones(geofencingZones);
+        if (geofencingUpdater == null) {
+          geofencingUpdater =
+            new GeofencingVertexUpdater(env -> graph.getStreetIndex().getEdgesForEnvelope(env));
+        }
+        // Only the zones that changed since the last update are computed
+        var restrictedEdges = geofencingUpdater.applyGeofencingZones(geofencingZones);
         latestAppliedGeofencingZones = geofencingZones;
 
         var end = System.currentTimeMillis();
         var millis = Duration.ofMillis(end - start);
         LOG.info(
-          "Geofencing zones computation took {}. Added extension to {} edges. For {}",
+          "Geofencing zones computation took {}. {} edges have a restriction. For {}",
           TimeUtils.durationToStrCompact(millis),
-          latestModifiedEdges.size(),
+          restrictedEdges.size(),
           nameForLogging
         );
       }
     }
+
+    /**
+     * Remove the edges and the vertex of a place. The vertex is removed explicitly, so a new
+     * vertex for the same place, with the same label, can be added when a place is relinked.
+     */
+    private void unlinkStation(Graph graph, FeedScopedId station) {
+      tempEdgesByStation.remove(station).disposeEdges();
+      graph.remove(verticesByStation.remove(station));
+    }
+
+    private void linkStation(VertexFactory vertexFactory, VehicleRentalPlace station) {
+      VehicleRentalPlaceVertex vehicleRentalVertex = vertexFactory.vehicleRentalPlace(station);
+      DisposableEdgeCollection tempEdges = linker.linkVertexForRealTime(
+        vehicleRentalVertex,
+        new TraverseModeSet(TraverseMode.WALK),
+        LinkingDirection.BOTH_WAYS,
+        (vertex, streetVertex) ->
+          List.of(
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              (VehicleRentalPlaceVertex) vertex,
+              streetVertex
+            ),
+            StreetVehicleRentalLink.createStreetVehicleRentalLink(
+              streetVertex,
+              (VehicleRentalPlaceVertex) vertex
+            )
+          )
+      );
+      if (vehicleRentalVertex.getOutgoing().isEmpty()) {
+        unlinkedPlaceThrottle.throttle(() ->
+          // the toString includes the text "Bike rental station"
+          LOG.warn(
+            "VehicleRentalPlace is unlinked for {}: {}  {}",
+            nameForLogging,
+            vehicleRentalVertex,
+            unlinkedPlaceThrottle.setupInfo()
+          )
+        );
+      }
+      for (RentalFormFactor formFactor : formFactors(station)) {
+        tempEdges.addEdge(
+          VehicleRentalEdge.createVehicleRentalEdge(vehicleRentalVertex, formFactor)
+        );
+      }
+      verticesByStation.put(station.getId(), vehicleRentalVertex);
+      tempEdgesByStation.put(station.getId(), tempEdges);
+    }
   }
 }
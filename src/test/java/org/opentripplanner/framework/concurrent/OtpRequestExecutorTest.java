@@ -0,0 +1,58 @@
+package org.opentripplanner.framework.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class OtpRequestExecutorTest {
+
+  @BeforeAll
+  static void setUp() {
+    OtpRequestExecutor.setUp(3);
+  }
+
+  @AfterAll
+  static void tearDown() {
+    OtpRequestExecutor.setUp(0);
+  }
+
+  @Test
+  void mapKeepsTheOrder() {
+    var input = IntStream.range(0, 101).boxed().toList();
+
+    var result = OtpRequestExecutor.map(input, i -> "#" + i);
+
+    assertEquals(input.stream().map(i -> "#" + i).toList(), result);
+  }
+
+  @Test
+  void mapEmptyAndSingletonLists() {
+    assertEquals(List.of(), OtpRequestExecutor.map(List.<Integer>of(), i -> i + 1));
+    assertEquals(List.of(2), OtpRequestExecutor.map(List.of(1), i -> i + 1));
+  }
+
+  @Test
+  void exceptionIsRethrown() {
+    var input = IntStream.range(0, 100).boxed().toList();
+
+    var ex = assertThrows(
+      IllegalArgumentException.class,
+      () ->
+        OtpRequestExecutor.map(
+          input,
+          i -> {
+            if (i == 99) {
+              throw new IllegalArgumentException("Bad element " + i);
+            }
+            return i;
+          }
+        )
+    );
+    assertEquals("Bad element 99", ex.getMessage());
+  }
+}
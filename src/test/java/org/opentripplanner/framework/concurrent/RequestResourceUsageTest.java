@@ -0,0 +1,70 @@
+package org.opentripplanner.framework.concurrent;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import com.sun.management.ThreadMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RequestResourceUsageTest {
+
+  private static final int N_BYTES = 10_000_000;
+
+  @Test
+  void wrapWithoutMeasurementReturnsTheTask() {
+    Runnable task = () -> {};
+    assertSame(task, RequestResourceUsage.wrap(task));
+    assertNull(RequestResourceUsage.current());
+  }
+
+  @Test
+  void measureTheAllocationsOfAllThreads() throws Exception {
+    assumeTrue(
+      ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean &&
+      bean.isThreadAllocatedMemorySupported() &&
+      bean.isThreadAllocatedMemoryEnabled()
+    );
+    var subject = new RequestResourceUsage();
+
+    try (var executor = Executors.newSingleThreadExecutor()) {
+      try (var ignore = subject.start()) {
+        assertSame(subject, RequestResourceUsage.current());
+        var future = executor.submit(RequestResourceUsage.wrap(() -> allocate(N_BYTES)));
+        allocate(N_BYTES);
+        future.get();
+      }
+    }
+
+    assertNull(RequestResourceUsage.current());
+    assertTrue(
+      subject.allocatedBytes() >= 2 * N_BYTES,
+      "Allocated bytes: " + subject.allocatedBytes()
+    );
+  }
+
+  @Test
+  void tasksRunInTheMeasuredThreadAreNotMeasuredTwice() {
+    assumeTrue(ManagementFactory.getThreadMXBean() instanceof ThreadMXBean);
+    var subject = new RequestResourceUsage();
+
+    try (var ignore = subject.start()) {
+      RequestResourceUsage.wrap(() -> allocate(N_BYTES)).run();
+    }
+
+    assertTrue(
+      subject.allocatedBytes() < 2 * N_BYTES,
+      "Allocated bytes: " + subject.allocatedBytes()
+    );
+  }
+
+  private static void allocate(int nBytes) {
+    // Allocate in small chunks, the escape analysis can not remove the arrays
+    var arrays = IntStream.range(0, nBytes / 1000).mapToObj(i -> new byte[1000]).toList();
+    assertTrue(arrays.size() > 0);
+  }
+}
@@ -2,9 +2,12 @@ package org.opentripplanner.graph_builder.module;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
+import java.io.File;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collection;
@@ -12,10 +15,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.function.Executable;
+import org.junit.jupiter.api.io.TempDir;
 import org.opentripplanner.TestOtpModel;
+import org.opentripplanner.framework.i18n.NonLocalizedString;
 import org.opentripplanner.framework.tostring.ToStringBuilder;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
 import org.opentripplanner.model.PathTransfer;
@@ -30,6 +36,7 @@ import org.opentripplanner.transit.model._data.TransitModelForTest;
 import org.opentripplanner.transit.model.basic.TransitMode;
 import org.opentripplanner.transit.model.network.StopPattern;
 import org.opentripplanner.transit.model.network.TripPattern;
+import org.opentripplanner.transit.model.site.Station;
 import org.opentripplanner.transit.model.site.StopLocation;
 
 /**
@@ -273,6 +280,93 @@ class DirectTransferGeneratorTest extends GraphRoutingTest {
     assertTrue(transitModel.getAllPathTransfers().isEmpty());
   }
 
+  @Test
+  public void testTransferCache(@TempDir File cacheDirectory) {
+    var req = new RouteRequest();
+    req.journey().transfer().setMode(StreetMode.WALK);
+    var transferRequests = List.of(req);
+
+    var firstBuild = model(true);
+    firstBuild.graph().hasStreets = true;
+    new DirectTransferGenerator(
+      firstBuild.graph(),
+      firstBuild.transitModel(),
+      DataImportIssueStore.NOOP,
+      MAX_TRANSFER_DURATION,
+      transferRequests,
+      new TransferCache(cacheDirectory, "streets", "config"),
+      false
+    )
+      .buildGraph();
+
+    var transitModel = model(true).transitModel();
+    var stopModel = transitModel.getStopModel();
+
+    var cache = new TransferCache(cacheDirectory, "streets", "config");
+    cache.prepare(transitModel, 1000);
+    var transfers = cache.get(S0, stopModel);
+    assertNotNull(transfers);
+    assertTransfers(
+      transfers,
+      tr(S0, 100, List.of(V0, V11), S11),
+      tr(S0, 100, List.of(V0, V21), S21)
+    );
+    assertEquals(List.of(), cache.get(S12, stopModel));
+
+    var cacheWithOtherStreets = new TransferCache(cacheDirectory, "other streets", "config");
+    cacheWithOtherStreets.prepare(transitModel, 1000);
+    assertNull(cacheWithOtherStreets.get(S0, stopModel));
+  }
+
+  @Test
+  public void testClusteredTransfers() {
+    var req = new RouteRequest();
+    req.journey().transfer().setMode(StreetMode.WALK);
+    var transferRequests = List.of(req);
+
+    var expected = model(true, false, false, true);
+    expected.graph().hasStreets = true;
+    new DirectTransferGenerator(
+      expected.graph(),
+      expected.transitModel(),
+      DataImportIssueStore.NOOP,
+      MAX_TRANSFER_DURATION,
+      transferRequests
+    )
+      .buildGraph();
+
+    var clustered = model(true, false, false, true);
+    clustered.graph().hasStreets = true;
+    new DirectTransferGenerator(
+      clustered.graph(),
+      clustered.transitModel(),
+      DataImportIssueStore.NOOP,
+      MAX_TRANSFER_DURATION,
+      transferRequests,
+      null,
+      true
+    )
+      .buildGraph();
+
+    assertTransfers(
+      clustered.transitModel().getAllPathTransfers(),
+      tr(S0, 100, List.of(V0, V11), S11),
+      tr(S0, 100, List.of(V0, V21), S21),
+      tr(S11, 100, List.of(V11, V21), S21)
+    );
+    assertEquals(
+      toString(expected.transitModel().getAllPathTransfers()),
+      toString(clustered.transitModel().getAllPathTransfers())
+    );
+  }
+
+  private static Set<String> toString(Collection<PathTransfer> transfers) {
+    return transfers
+      .stream()
+      .map(t -> t.from.getId().getId() + "-" + t.to.getId().getId() + ":" + t.getDistanceMeters())
+      .collect(Collectors.toSet());
+  }
+
   private TestOtpModel model(boolean addPatterns) {
     return model(addPatterns, false);
   }
@@ -285,17 +379,43 @@ class DirectTransferGeneratorTest extends GraphRoutingTest {
     boolean addPatterns,
     boolean withBoardingConstraint,
     boolean withNoTransfersOnStations
+  ) {
+    return model(addPatterns, withBoardingConstraint, withNoTransfersOnStations, false);
+  }
+
+  /**
+   * @param withStations put the stops S11 and S21, and the stops S12 and S22 in a station
+   */
+  private TestOtpModel model(
+    boolean addPatterns,
+    boolean withBoardingConstraint,
+    boolean withNoTransfersOnStations,
+    boolean withStations
   ) {
     return modelOf(
       new Builder() {
+        private TransitStopVertex stopInStation(
+          String id,
+          double latitude,
+          double longitude,
+          Station station
+        ) {
+          return station == null
+            ? stop(id, latitude, longitude, withNoTransfersOnStations)
+            : stop(id, latitude, longitude, station);
+        }
+
         @Override
         public void build() {
+          var station1 = withStations ? station("ST1", 47.500, 19.006) : null;
+          var station2 = withStations ? station("ST2", 47.520, 19.006) : null;
+
           S0 = stop("S0", 47.495, 19.001, withNoTransfersOnStations);
-          S11 = stop("S11", 47.500, 19.001, withNoTransfersOnStations);
-          S12 = stop("S12", 47.520, 19.001, withNoTransfersOnStations);
+          S11 = stopInStation("S11", 47.500, 19.001, station1);
+          S12 = stopInStation("S12", 47.520, 19.001, station2);
           S13 = stop("S13", 47.540, 19.001, withNoTransfersOnStations);
-          S21 = stop("S21", 47.500, 19.011, withNoTransfersOnStations);
-          S22 = stop("S22", 47.520, 19.011, withNoTransfersOnStations);
+          S21 = stopInStation("S21", 47.500, 19.011, station1);
+          S22 = stopInStation("S22", 47.520, 19.011, station2);
           S23 = stop("S23", 47.540, 19.011, withNoTransfersOnStations);
 
           V0 = intersection("V0", 47.495, 19.000);
@@ -352,6 +472,14 @@ class DirectTransferGeneratorTest extends GraphRoutingTest {
     );
   }
 
+  private static Station station(String id, double latitude, double longitude) {
+    return Station
+      .of(TransitModelForTest.id(id))
+      .withName(new NonLocalizedString(id))
+      .withCoordinate(latitude, longitude)
+      .build();
+  }
+
   private void assertTransfers(
     Collection<PathTransfer> allPathTransfers,
     TransferDescriptor... transfers
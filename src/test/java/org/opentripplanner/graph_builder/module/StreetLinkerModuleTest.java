@@ -9,8 +9,12 @@ import static org.opentripplanner.street.model.StreetTraversalPermission.CAR;
 import static org.opentripplanner.street.model.StreetTraversalPermission.PEDESTRIAN;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
 import org.opentripplanner.ext.flex.trip.UnscheduledTrip;
 import org.opentripplanner.framework.application.OTPFeature;
 import org.opentripplanner.framework.geometry.WgsCoordinate;
@@ -93,6 +97,47 @@ class StreetLinkerModuleTest {
     });
   }
 
+  @ParameterizedTest
+  @ValueSource(booleans = { false, true })
+  void linkStopsSplittingTheSameEdge(boolean multiThreaded) {
+    var from = StreetModelForTest.intersectionVertex(59.66, 9.65);
+    var to = StreetModelForTest.intersectionVertex(59.66, 9.654);
+    var graph = new Graph();
+    graph.addVertex(from);
+    graph.addVertex(to);
+    StreetModelForTest.streetEdge(from, to, PEDESTRIAN);
+    graph.hasStreets = true;
+
+    var builder = StopModel.of();
+    List<TransitStopVertex> stopVertices = new ArrayList<>();
+    for (int i = 1; i <= 3; i++) {
+      var stop = builder
+        .regularStop(id("stop-" + i))
+        .withCoordinate(new WgsCoordinate(59.6601, 9.65 + i * 0.001))
+        .build();
+      builder.withRegularStop(stop);
+      var vertex = new TransitStopVertexBuilder().withStop(stop).build();
+      graph.addVertex(vertex);
+      stopVertices.add(vertex);
+    }
+    var transitModel = new TransitModel(builder.build(), new Deduplicator());
+
+    new StreetLinkerModule(graph, transitModel, DataImportIssueStore.NOOP, false, multiThreaded)
+      .buildGraph();
+
+    // Each stop splits the edge, the later stops split the edges created by the earlier ones
+    var splitVertices = stopVertices
+      .stream()
+      .map(v -> {
+        assertEquals(1, v.getOutgoing().size());
+        return v.getOutgoing().iterator().next().getToVertex();
+      })
+      .collect(Collectors.toSet());
+    assertEquals(3, splitVertices.size());
+    assertTrue(splitVertices.stream().allMatch(SplitterVertex.class::isInstance));
+    assertEquals(4, graph.getStreetEdges().size());
+  }
+
   private static class TestModel {
 
     private final TransitStopVertex stopVertex;
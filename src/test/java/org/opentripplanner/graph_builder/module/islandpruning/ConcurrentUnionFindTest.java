@@ -0,0 +1,40 @@
+package org.opentripplanner.graph_builder.module.islandpruning;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class ConcurrentUnionFindTest {
+
+  @Test
+  void rootIsSmallestElement() {
+    var subject = new ConcurrentUnionFind(6);
+    subject.union(5, 3);
+    subject.union(4, 5);
+    subject.union(1, 2);
+
+    assertEquals(0, subject.find(0));
+    assertEquals(1, subject.find(2));
+    assertEquals(3, subject.find(4));
+    assertEquals(3, subject.find(5));
+    assertNotEquals(subject.find(1), subject.find(3));
+
+    subject.union(2, 4);
+    assertEquals(1, subject.find(5));
+  }
+
+  @Test
+  void concurrentUnions() {
+    int size = 100_000;
+    var subject = new ConcurrentUnionFind(size);
+
+    // Link all even and all odd elements, the parallel stream merges the sets in arbitrary order
+    IntStream.range(2, size).parallel().forEach(i -> subject.union(i, i - 2));
+
+    for (int i = 0; i < size; i++) {
+      assertEquals(i % 2, subject.find(i));
+    }
+  }
+}
@@ -0,0 +1,69 @@
+package org.opentripplanner.graph_builder.module.ned;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.media.jai.InterpolationBilinear;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.coverage.grid.GridCoverageFactory;
+import org.geotools.coverage.grid.Interpolator2D;
+import org.geotools.geometry.Position2D;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+
+class ElevationRasterTest {
+
+  private static final float[][] MATRIX = {
+    { 10, 12, 14, 16, 18 },
+    { 20, 25, 30, 35, 40 },
+    { 30, 31, 32, 33, 34 },
+    { 50, 40, 30, 20, 10 },
+  };
+
+  private static final GridCoverage2D COVERAGE = new GridCoverageFactory()
+    .create("test", MATRIX, new ReferencedEnvelope(10, 15, 60, 64, GeometryUtils.WGS84_XY));
+
+  private final ElevationRaster subject = ElevationRaster.of(COVERAGE).orElseThrow();
+
+  @Test
+  void sameAsGeoToolsBilinearInterpolation() {
+    var interpolator = Interpolator2D.create(COVERAGE, new InterpolationBilinear());
+
+    // The pixel centers are at x = 10.5 .. 14.5 and y = 60.5 .. 63.5
+    for (double x = 10.5; x < 14.5; x += 0.25) {
+      for (double y = 60.75; y <= 63.5; y += 0.25) {
+        double[] expected = interpolator.evaluate(
+          new Position2D(GeometryUtils.WGS84_XY, x, y),
+          new double[1]
+        );
+        assertEquals(expected[0], subject.sample(x, y), 1e-4, "x=" + x + ", y=" + y);
+      }
+    }
+  }
+
+  @Test
+  void pixelCenter() {
+    // The center of the pixel in the top left corner
+    assertEquals(10.0, subject.sample(10.5, 63.5), 1e-6);
+    // Half way between the two first pixels in the top row
+    assertEquals(11.0, subject.sample(11.0, 63.5), 1e-6);
+    // In the middle of the four pixels in the top left corner
+    assertEquals(16.75, subject.sample(11.0, 63.0), 1e-6);
+  }
+
+  @Test
+  void pointsNotSampled() {
+    // Outside the raster
+    assertTrue(Double.isNaN(subject.sample(9.0, 62.0)));
+    // Inside the raster, but outside the pixel centers
+    assertTrue(Double.isNaN(subject.sample(10.2, 62.0)));
+  }
+
+  @Test
+  void tileIndex() {
+    assertEquals(-1, subject.tileIndex(9.0, 62.0));
+    assertNotEquals(-1, subject.tileIndex(12.0, 62.0));
+  }
+}
@@ -0,0 +1,94 @@
+package org.opentripplanner.graph_builder.module.osm;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.openstreetmap.model.OSMNode;
+
+class MemoryMappedOsmNodeStoreTest {
+
+  private final MemoryMappedOsmNodeStore subject = new MemoryMappedOsmNodeStore();
+
+  @AfterEach
+  void tearDown() {
+    subject.close();
+  }
+
+  @Test
+  void storeAndRestoreNode() {
+    subject.put(node(7, 59.9, 10.7, Map.of("highway", "traffic_signals", "name", "Ørje")));
+
+    // Drop the cached instance, the node is read back from the file
+    System.gc();
+    var node = subject.get(7);
+
+    assertEquals(7, node.getId());
+    assertEquals(59.9, node.lat);
+    assertEquals(10.7, node.lon);
+    assertEquals(Map.of("highway", "traffic_signals", "name", "Ørje"), node.getTags());
+    assertTrue(node.hasHighwayTrafficLight());
+  }
+
+  @Test
+  void missingNode() {
+    subject.put(node(1, 0, 0, Map.of()));
+
+    assertNull(subject.get(2));
+    assertFalse(subject.containsKey(2));
+    assertTrue(subject.containsKey(1));
+  }
+
+  @Test
+  void sameInstanceIsReturnedWhileInUse() {
+    var node = node(3, 1, 1, Map.of());
+    subject.put(node);
+
+    assertSame(node, subject.get(3));
+    assertSame(subject.get(3), subject.get(3));
+  }
+
+  @Test
+  void nodesAddedOutOfOrder() {
+    // Keep the nodes referenced, so the nodes are not read back
+    List<OSMNode> nodes = new ArrayList<>();
+    for (long id : new long[] { 10, 20, 30, 15, -1, -2, 25, 40 }) {
+      var node = node(id, id, -id, Map.of());
+      nodes.add(node);
+      subject.put(node);
+    }
+
+    assertEquals(8, subject.size());
+    for (var node : nodes) {
+      assertTrue(subject.containsKey(node.getId()));
+      assertEquals(node.lat, subject.get(node.getId()).lat);
+    }
+    assertFalse(subject.containsKey(5));
+  }
+
+  @Test
+  void replaceNode() {
+    subject.put(node(5, 1, 1, Map.of()));
+    subject.put(node(5, 2, 2, Map.of("barrier", "bollard")));
+
+    assertEquals(1, subject.size());
+    assertEquals(2, subject.get(5).lat);
+    assertTrue(subject.get(5).isMotorVehicleBarrier());
+  }
+
+  private static OSMNode node(long id, double lat, double lon, Map<String, String> tags) {
+    var node = new OSMNode();
+    node.setId(id);
+    node.lat = lat;
+    node.lon = lon;
+    tags.forEach(node::addTag);
+    return node;
+  }
+}
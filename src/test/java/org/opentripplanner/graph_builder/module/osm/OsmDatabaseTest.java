@@ -2,6 +2,7 @@ package org.opentripplanner.graph_builder.module.osm;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.graph_builder.issue.api.DataImportIssueStore;
@@ -48,4 +49,26 @@ public class OsmDatabaseTest {
     assertNotNull(way);
     assertEquals("platform", way.getTag("public_transport"));
   }
+
+  @Test
+  void memoryMappedNodeStore() {
+    var osmdb = new OsmDatabase(DataImportIssueStore.NOOP, OsmNodeStore.of(true));
+    var provider = new OsmProvider(RESOURCE_LOADER.file("ehningen-minimal.osm.pbf"), true);
+    provider.readOSM(osmdb);
+    osmdb.postLoad();
+
+    var inMemory = new OsmDatabase(DataImportIssueStore.NOOP);
+    provider.readOSM(inMemory);
+    inMemory.postLoad();
+
+    assertEquals(inMemory.nodeCount(), osmdb.nodeCount());
+    for (var nodeId : osmdb.getWay(13876983L).getNodeRefs().toArray()) {
+      var expected = inMemory.getNode(nodeId);
+      var node = osmdb.getNode(nodeId);
+      assertEquals(expected.getCoordinate(), node.getCoordinate());
+      assertEquals(expected.getTags(), node.getTags());
+      assertSame(provider, node.getOsmProvider());
+    }
+    osmdb.closeNodeStore();
+  }
 }
@@ -0,0 +1,86 @@
+package org.opentripplanner.model.plan;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.LineString;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+import org.opentripplanner.street.search.TraverseMode;
+
+class StreetLegTest implements PlanTestConstants {
+
+  private static final ZonedDateTime START_TIME = ZonedDateTime.parse("2023-10-01T12:00:00Z");
+  private static final LineString GEOMETRY = GeometryUtils.makeLineString(
+    List.of(new Coordinate(8.0, 5.0), new Coordinate(8.5, 6.0))
+  );
+  private static final ElevationProfile ELEVATION = ElevationProfile
+    .of()
+    .step(0, 10)
+    .step(100, 12)
+    .build();
+
+  private final AtomicInteger nGeometries = new AtomicInteger();
+  private final AtomicInteger nElevationProfiles = new AtomicInteger();
+
+  @Test
+  void lazyGeometry() {
+    var leg = lazyLeg();
+
+    assertEquals(0, nGeometries.get());
+
+    assertSame(GEOMETRY, leg.getLegGeometry());
+    assertSame(GEOMETRY, leg.getLegGeometry());
+
+    assertEquals(1, nGeometries.get());
+  }
+
+  @Test
+  void lazyElevationProfile() {
+    var leg = lazyLeg();
+
+    assertEquals(0, nElevationProfiles.get());
+
+    assertSame(ELEVATION, leg.getElevationProfile());
+    assertSame(ELEVATION, leg.getElevationProfile());
+
+    assertEquals(1, nElevationProfiles.get());
+  }
+
+  @Test
+  void timeShiftDoesNotGenerateTheGeometryAgain() {
+    var leg = lazyLeg();
+    var shifted = leg.withTimeShift(Duration.ofMinutes(5));
+
+    assertEquals(0, nGeometries.get());
+    assertSame(GEOMETRY, shifted.getLegGeometry());
+    assertSame(GEOMETRY, leg.getLegGeometry());
+    assertEquals(1, nGeometries.get());
+    assertEquals(0, nElevationProfiles.get());
+  }
+
+  private StreetLeg lazyLeg() {
+    return StreetLeg
+      .create()
+      .withMode(TraverseMode.WALK)
+      .withStartTime(START_TIME)
+      .withEndTime(START_TIME.plusMinutes(2))
+      .withFrom(A)
+      .withTo(B)
+      .withLazyGeometry(() -> {
+        nGeometries.incrementAndGet();
+        return GEOMETRY;
+      })
+      .withLazyElevationProfile(() -> {
+        nElevationProfiles.incrementAndGet();
+        return ELEVATION;
+      })
+      .withWalkSteps(List.of())
+      .build();
+  }
+}
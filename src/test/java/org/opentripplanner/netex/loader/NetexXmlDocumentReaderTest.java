@@ -0,0 +1,65 @@
+package org.opentripplanner.netex.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.datastore.api.DataSource;
+import org.opentripplanner.datastore.api.FileType;
+import org.opentripplanner.datastore.base.ByteArrayDataSource;
+
+class NetexXmlDocumentReaderTest {
+
+  private static final String DOCUMENT =
+    """
+    <PublicationDelivery xmlns="http://www.netex.org.uk/netex" version="1.0">
+      <ParticipantRef>%s</ParticipantRef>
+    </PublicationDelivery>
+    """;
+
+  @Test
+  void documentsAreReturnedInOrder() {
+    var entries = new ArrayList<DataSource>();
+    for (int i = 0; i < 20; ++i) {
+      entries.add(dataSource("file-" + i + ".xml", DOCUMENT.formatted("P" + i)));
+    }
+    var names = new ArrayList<String>();
+    var participants = new ArrayList<String>();
+
+    try (var subject = new NetexXmlDocumentReader(3)) {
+      subject.forEach(
+        entries,
+        (entry, doc) -> {
+          assertNotNull(doc);
+          names.add(entry.name());
+          participants.add(doc.getParticipantRef());
+        }
+      );
+    }
+
+    assertEquals(entries.stream().map(DataSource::name).toList(), names);
+    assertEquals("P0", participants.get(0));
+    assertEquals("P19", participants.get(19));
+  }
+
+  @Test
+  void invalidDocument() {
+    var entries = List.<DataSource>of(dataSource("invalid.xml", "<PublicationDelivery"));
+
+    try (var subject = new NetexXmlDocumentReader(2)) {
+      var ex = assertThrows(RuntimeException.class, () -> subject.forEach(entries, (e, d) -> {}));
+      assertTrue(ex.getMessage().contains("invalid.xml"), ex.getMessage());
+    }
+  }
+
+  private static DataSource dataSource(String name, String content) {
+    byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+    return new ByteArrayDataSource(name, name, FileType.NETEX, bytes.length, 0, false)
+      .withBytes(bytes);
+  }
+}
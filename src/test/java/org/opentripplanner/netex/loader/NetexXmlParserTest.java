@@ -0,0 +1,77 @@
+package org.opentripplanner.netex.loader;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.rutebanken.netex.model.Common_VersionFrameStructure;
+import org.rutebanken.netex.model.VersionFrameDefaultsStructure;
+
+class NetexXmlParserTest {
+
+  private static final String DOCUMENT =
+    """
+    <PublicationDelivery xmlns="http://www.netex.org.uk/netex" version="1.0">
+      <ParticipantRef>RB</ParticipantRef>
+      <dataObjects>
+        <CompositeFrame id="C1" version="1">
+          <FrameDefaults>
+            <DefaultLocale><TimeZone>Europe/Oslo</TimeZone></DefaultLocale>
+          </FrameDefaults>
+          <frames>
+            <SiteFrame id="S1" version="1"/>
+            <FareFrame id="F1" version="1"><tariffs/></FareFrame>
+            <ServiceFrame id="SF1" version="1"/>
+          </frames>
+        </CompositeFrame>
+        <ResourceFrame id="R1" version="1"/>
+      </dataObjects>
+    </PublicationDelivery>
+    """;
+
+  @Test
+  void parseXmlDoc() throws Exception {
+    var doc = new NetexXmlParser().parseXmlDoc(input());
+
+    assertEquals("RB", doc.getParticipantRef());
+    assertEquals(2, doc.getDataObjects().getCompositeFrameOrCommonFrame().size());
+  }
+
+  @Test
+  void parseFrames() throws Exception {
+    var events = new ArrayList<String>();
+
+    new NetexXmlParser()
+      .parseFrames(
+        input(),
+        new NetexXmlParser.FrameHandler() {
+          @Override
+          public boolean skipFrame(String elementName) {
+            return "FareFrame".equals(elementName);
+          }
+
+          @Override
+          public void startCompositeFrame(VersionFrameDefaultsStructure frameDefaults) {
+            events.add("Composite " + frameDefaults.getDefaultLocale().getTimeZone());
+          }
+
+          @Override
+          public void frame(Common_VersionFrameStructure frame) {
+            events.add(frame.getClass().getSimpleName() + " " + frame.getId());
+          }
+        }
+      );
+
+    assertEquals(
+      List.of("Composite Europe/Oslo", "SiteFrame S1", "ServiceFrame SF1", "ResourceFrame R1"),
+      events
+    );
+  }
+
+  private static ByteArrayInputStream input() {
+    return new ByteArrayInputStream(DOCUMENT.getBytes(StandardCharsets.UTF_8));
+  }
+}
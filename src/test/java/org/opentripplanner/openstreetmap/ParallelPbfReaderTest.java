@@ -0,0 +1,110 @@
+package org.opentripplanner.openstreetmap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.openstreetmap.osmosis.osmbinary.BinaryParser;
+import org.openstreetmap.osmosis.osmbinary.Osmformat;
+import org.opentripplanner.graph_builder.module.osm.OsmDatabaseTest;
+import org.opentripplanner.test.support.ResourceLoader;
+
+class ParallelPbfReaderTest {
+
+  private static final ResourceLoader RESOURCE_LOADER = ResourceLoader.of(OsmDatabaseTest.class);
+  private static final String FILE = "ehningen-minimal.osm.pbf";
+
+  @Test
+  void memoryMappedAndStreamedFileAreEqual() throws IOException {
+    var file = RESOURCE_LOADER.file(FILE);
+
+    var mapped = new CollectingParser();
+    var mappedReader = ParallelPbfReader.ofFile(file.toPath(), file.length());
+    mappedReader.read(mapped, "test");
+
+    var streamed = new CollectingParser();
+    ParallelPbfReader
+      .ofStream(() -> open(file.getPath()), file.length())
+      .read(streamed, "test");
+
+    assertTrue(mapped.headerParsed);
+    assertTrue(mapped.completed);
+    assertTrue(mapped.nodeIds.size() > 100);
+    assertTrue(mapped.wayIds.size() > 10);
+    assertEquals(streamed.nodeIds, mapped.nodeIds);
+    assertEquals(streamed.wayIds, mapped.wayIds);
+    assertEquals(streamed.relationIds, mapped.relationIds);
+
+    // The blob index is reused when the file is read again
+    var again = new CollectingParser();
+    mappedReader.read(again, "test");
+    assertEquals(mapped.nodeIds, again.nodeIds);
+  }
+
+  @Test
+  void entitiesAreParsedInFileOrder() throws IOException {
+    var file = RESOURCE_LOADER.file(FILE);
+    var parser = new CollectingParser();
+    ParallelPbfReader.ofFile(file.toPath(), file.length()).read(parser, "test");
+
+    // The nodes in a PBF file are sorted by id
+    assertEquals(parser.nodeIds.stream().sorted().toList(), parser.nodeIds);
+  }
+
+  private static InputStream open(String path) {
+    try {
+      return new FileInputStream(path);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  private static class CollectingParser extends BinaryParser {
+
+    private final List<Long> nodeIds = new ArrayList<>();
+    private final List<Long> wayIds = new ArrayList<>();
+    private final List<Long> relationIds = new ArrayList<>();
+    private boolean headerParsed = false;
+    private boolean completed = false;
+
+    @Override
+    protected void parseRelations(List<Osmformat.Relation> rels) {
+      rels.forEach(it -> relationIds.add(it.getId()));
+    }
+
+    @Override
+    protected void parseDense(Osmformat.DenseNodes nodes) {
+      long lastId = 0;
+      for (int i = 0; i < nodes.getIdCount(); i++) {
+        lastId += nodes.getId(i);
+        nodeIds.add(lastId);
+      }
+    }
+
+    @Override
+    protected void parseNodes(List<Osmformat.Node> nodes) {
+      nodes.forEach(it -> nodeIds.add(it.getId()));
+    }
+
+    @Override
+    protected void parseWays(List<Osmformat.Way> ways) {
+      ways.forEach(it -> wayIds.add(it.getId()));
+    }
+
+    @Override
+    public void parse(Osmformat.HeaderBlock header) {
+      headerParsed = true;
+    }
+
+    @Override
+    public void complete() {
+      completed = true;
+    }
+  }
+}
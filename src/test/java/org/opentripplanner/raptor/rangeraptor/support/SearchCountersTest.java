@@ -0,0 +1,128 @@
+package org.opentripplanner.raptor.rangeraptor.support;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.raptor._data.transit.TestRoute.route;
+import static org.opentripplanner.raptor._data.transit.TestTripPattern.pattern;
+import static org.opentripplanner.raptor._data.transit.TestTripSchedule.schedule;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.opentripplanner.raptor.RaptorService;
+import org.opentripplanner.raptor._data.RaptorTestConstants;
+import org.opentripplanner.raptor._data.transit.TestAccessEgress;
+import org.opentripplanner.raptor._data.transit.TestTransitData;
+import org.opentripplanner.raptor._data.transit.TestTripSchedule;
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
+import org.opentripplanner.raptor.api.debug.RaptorTimers;
+import org.opentripplanner.raptor.api.request.RaptorProfile;
+import org.opentripplanner.raptor.api.request.RaptorRequestBuilder;
+import org.opentripplanner.raptor.configure.RaptorConfig;
+
+class SearchCountersTest implements RaptorTestConstants {
+
+  private final List<RaptorSearchCounts> searches = new ArrayList<>();
+
+  @Test
+  void counts() {
+    var subject = new SearchCounters();
+    subject.iterationStarted();
+    subject.roundStarted();
+    subject.roundStarted();
+    subject.patternVisited();
+    subject.boardingAttempted();
+    subject.stopArrival(true);
+    subject.stopArrival(true);
+    subject.stopArrival(false);
+    subject.destinationArrivalAccepted();
+
+    assertEquals(new RaptorSearchCounts(1, 2, 1, 1, 2, 1, 1), subject.counts());
+  }
+
+  @ParameterizedTest
+  @EnumSource(value = RaptorProfile.class, names = { "STANDARD", "MULTI_CRITERIA" })
+  void countTheWorkDoneByTheSearch(RaptorProfile profile) {
+    route(profile, new CountsRecorder());
+
+    assertFalse(searches.isEmpty());
+    for (RaptorSearchCounts it : searches) {
+      assertTrue(it.iterations() > 0, it.toString());
+      assertTrue(it.rounds() >= it.iterations(), it.toString());
+      assertTrue(it.patternsVisited() > 0, it.toString());
+      assertTrue(it.boardingsAttempted() > 0, it.toString());
+      assertTrue(it.stopArrivalsAccepted() > 0, it.toString());
+    }
+    assertTrue(searches.stream().anyMatch(it -> it.destinationArrivals() > 0));
+  }
+
+  @Test
+  void reportTheWorkDoneWhenTheSearchIsStopped() {
+    var timers = new CountsRecorder() {
+      @Override
+      public void findTransitForRound(Runnable body) {
+        throw new IllegalStateException("Timeout");
+      }
+    };
+
+    assertThrows(IllegalStateException.class, () -> route(RaptorProfile.STANDARD, timers));
+
+    assertFalse(searches.isEmpty());
+    for (RaptorSearchCounts it : searches) {
+      assertEquals(1, it.iterations(), it.toString());
+      assertEquals(1, it.rounds(), it.toString());
+    }
+  }
+
+  private void route(RaptorProfile profile, RaptorTimers timers) {
+    var data = new TestTransitData();
+    data.withRoute(
+      route(pattern("R1", STOP_B, STOP_C, STOP_D)).withTimetable(schedule("00:01, 00:03, 00:05"))
+    );
+    var requestBuilder = new RaptorRequestBuilder<TestTripSchedule>();
+    requestBuilder.profile(profile).performanceTimers(timers);
+    requestBuilder
+      .searchParams()
+      .addAccessPaths(TestAccessEgress.walk(STOP_B, D30s))
+      .addEgressPaths(TestAccessEgress.walk(STOP_D, D20s))
+      .earliestDepartureTime(T00_00)
+      .latestArrivalTime(T00_10)
+      .searchWindowInSeconds(D2m)
+      .timetable(true);
+
+    new RaptorService<TestTripSchedule>(RaptorConfig.defaultConfigForTest())
+      .route(requestBuilder.build(), data);
+  }
+
+  private class CountsRecorder implements RaptorTimers {
+
+    @Override
+    public void route(Runnable body) {
+      body.run();
+    }
+
+    @Override
+    public void findTransitForRound(Runnable body) {
+      body.run();
+    }
+
+    @Override
+    public void findTransfersForRound(Runnable body) {
+      body.run();
+    }
+
+    @Override
+    public void searchCompleted(RaptorSearchCounts counts) {
+      searches.add(counts);
+    }
+
+    @Override
+    public RaptorTimers withNamePrefix(String namePrefix) {
+      return this;
+    }
+  }
+}
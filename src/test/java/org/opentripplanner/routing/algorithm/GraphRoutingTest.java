@@ -3,6 +3,7 @@ package org.opentripplanner.routing.algorithm;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.annotation.Nullable;
 import org.locationtech.jts.geom.Coordinate;
 import org.opentripplanner.TestOtpModel;
 import org.opentripplanner.framework.geometry.GeometryUtils;
@@ -222,19 +223,33 @@ public abstract class GraphRoutingTest {
     }
 
     RegularStop stopEntity(String id, double latitude, double longitude, boolean noTransfers) {
-      var stopModelBuilder = transitModel.getStopModel().withContext();
-      var testModel = new TransitModelForTest(stopModelBuilder);
-
-      var stopBuilder = testModel.stop(id).withCoordinate(latitude, longitude);
-      if (noTransfers) {
-        stopBuilder.withParentStation(
-          Station
+      return stopEntity(
+        id,
+        latitude,
+        longitude,
+        noTransfers
+          ? Station
             .of(TransitModelForTest.id("1"))
             .withName(new NonLocalizedString("Malmö C"))
             .withCoordinate(latitude, longitude)
             .withTransfersNotAllowed(true)
             .build()
-        );
+          : null
+      );
+    }
+
+    RegularStop stopEntity(
+      String id,
+      double latitude,
+      double longitude,
+      @Nullable Station parentStation
+    ) {
+      var stopModelBuilder = transitModel.getStopModel().withContext();
+      var testModel = new TransitModelForTest(stopModelBuilder);
+
+      var stopBuilder = testModel.stop(id).withCoordinate(latitude, longitude);
+      if (parentStation != null) {
+        stopBuilder.withParentStation(parentStation);
       }
 
       var stop = stopBuilder.build();
@@ -257,6 +272,17 @@ public abstract class GraphRoutingTest {
       );
     }
 
+    public TransitStopVertex stop(
+      String id,
+      double latitude,
+      double longitude,
+      Station parentStation
+    ) {
+      return vertexFactory.transitStop(
+        new TransitStopVertexBuilder().withStop(stopEntity(id, latitude, longitude, parentStation))
+      );
+    }
+
     public TransitEntranceVertex entrance(String id, double latitude, double longitude) {
       return new TransitEntranceVertex(entranceEntity(id, latitude, longitude));
     }
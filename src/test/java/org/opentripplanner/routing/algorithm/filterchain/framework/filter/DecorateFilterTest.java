@@ -5,6 +5,8 @@ import static org.opentripplanner.model.plan.TestItineraryBuilder.newItinerary;
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -57,4 +59,24 @@ class DecorateFilterTest implements ItineraryDecorator, PlanTestConstants {
     new DecorateFilter(this).filter(input);
     assertTrue(!expectedQueue.hasNext(), "All elements are processed");
   }
+
+  @Test
+  void decorateInParallel() {
+    var input = IntStream
+      .range(0, 20)
+      .mapToObj(i -> newItinerary(A, i).walk(1, B).build())
+      .toList();
+    var decorated = new ConcurrentHashMap<Itinerary, List<String>>();
+    ItineraryDecorator first = it -> decorated.put(it, List.of("first"));
+    ItineraryDecorator second = it ->
+      decorated.computeIfPresent(it, (k, v) -> List.of(v.get(0), "second"));
+
+    var result = new DecorateFilter(List.of(first, second), true).filter(input);
+
+    assertEquals(input, result);
+    assertEquals(input.size(), decorated.size());
+    for (var it : input) {
+      assertEquals(List.of("first", "second"), decorated.get(it));
+    }
+  }
 }
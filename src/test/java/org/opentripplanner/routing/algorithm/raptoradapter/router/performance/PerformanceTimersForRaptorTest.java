@@ -0,0 +1,113 @@
+package org.opentripplanner.routing.algorithm.raptoradapter.router.performance;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
+import org.opentripplanner.raptor.api.debug.RaptorTimers;
+import org.opentripplanner.routing.framework.RaptorSearchStatistics;
+
+class PerformanceTimersForRaptorTest {
+
+  private final RaptorSearchStatistics statistics = new RaptorSearchStatistics();
+  private final PerformanceTimersForRaptor subject = new PerformanceTimersForRaptor(
+    "main",
+    List.of(),
+    new SimpleMeterRegistry(),
+    statistics
+  );
+
+  @Test
+  void timeTheHeuristicSearches() {
+    search(subject, 3);
+    assertEquals(0, statistics.heuristicSearchTime());
+
+    search(subject.withNamePrefix("heuristic"), 2);
+    assertTrue(statistics.heuristicSearchTime() > 0);
+  }
+
+  @Test
+  void countTheWorkOfTheMainAndHeuristicSearchesApart() {
+    search(subject, 4);
+    subject.searchCompleted(new RaptorSearchCounts(2, 4, 10, 6, 8, 3, 1));
+    var heuristic = subject.withNamePrefix("heuristic");
+    search(heuristic, 2);
+    heuristic.searchCompleted(new RaptorSearchCounts(1, 2, 6, 4, 5, 2, 0));
+
+    assertEquals(2, statistics.numberOfSearches());
+    assertEquals(6, statistics.numberOfRounds());
+
+    var main = statistics.mainSearches();
+    assertEquals(1, main.numberOfSearches());
+    assertEquals(2, main.numberOfIterations());
+    assertEquals(4, main.numberOfRounds());
+    assertEquals(10, main.numberOfPatternsVisited());
+    assertEquals(6, main.numberOfBoardingsAttempted());
+    assertEquals(8, main.numberOfStopArrivalsAccepted());
+    assertEquals(3, main.numberOfStopArrivalsRejected());
+    assertEquals(1, main.numberOfDestinationArrivals());
+    assertEquals(2.0, main.roundsPerIteration(), 0.001);
+    assertEquals(2.5, main.patternsPerRound(), 0.001);
+
+    var heuristicWork = statistics.heuristicSearches();
+    assertEquals(1, heuristicWork.numberOfSearches());
+    assertEquals(1, heuristicWork.numberOfIterations());
+    assertEquals(2, heuristicWork.numberOfRounds());
+    assertEquals(2.0, heuristicWork.roundsPerIteration(), 0.001);
+    assertEquals(3.0, heuristicWork.patternsPerRound(), 0.001);
+  }
+
+  @Test
+  void emitFlightRecorderEvents() throws IOException {
+    var file = Files.createTempFile("raptor", ".jfr");
+    try (var recording = new Recording()) {
+      recording.enable("org.opentripplanner.RaptorSearch");
+      recording.start();
+      search(subject, 3);
+      search(subject.withNamePrefix("heuristic"), 2);
+      recording.stop();
+      recording.dump(file);
+
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+      assertEquals(2, events.size());
+
+      var main = events.get(0);
+      assertEquals("main", main.getString("name"));
+      assertFalse(main.getBoolean("heuristic"));
+      assertEquals(3, main.getInt("rounds"));
+
+      var heuristic = events.get(1);
+      assertEquals("heuristic", heuristic.getString("name"));
+      assertTrue(heuristic.getBoolean("heuristic"));
+      assertEquals(2, heuristic.getInt("rounds"));
+    } finally {
+      Files.delete(file);
+    }
+  }
+
+  private static void search(RaptorTimers timers, int nRounds) {
+    timers.route(() -> {
+      for (int i = 0; i < nRounds; ++i) {
+        timers.findTransitForRound(PerformanceTimersForRaptorTest::work);
+        timers.findTransfersForRound(PerformanceTimersForRaptorTest::work);
+      }
+    });
+  }
+
+  private static void work() {
+    try {
+      Thread.sleep(1);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
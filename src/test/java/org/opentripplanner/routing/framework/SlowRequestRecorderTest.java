@@ -0,0 +1,108 @@
+package org.opentripplanner.routing.framework;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MockClock;
+import io.micrometer.core.instrument.simple.SimpleConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.raptor.api.debug.RaptorSearchCounts;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.routing.api.request.StreetMode;
+
+class SlowRequestRecorderTest {
+
+  private static final Instant T0 = Instant.parse("2023-10-01T12:00:00Z");
+
+  private Instant now = T0;
+  private final SlowRequestRecorder subject = new SlowRequestRecorder(2, 2, () -> now);
+
+  @Test
+  void keepTheSlowestRequestsOfEachMinute() {
+    record(3);
+    record(1);
+    record(5);
+    record(2);
+
+    assertEquals(List.of(5L, 3L), totalTimesInSeconds());
+
+    now = T0.plusSeconds(60);
+    record(4);
+
+    assertEquals(List.of(4L, 5L, 3L), totalTimesInSeconds());
+
+    now = T0.plusSeconds(120);
+    record(1);
+
+    assertEquals(List.of(1L, 4L), totalTimesInSeconds());
+  }
+
+  @Test
+  void recordTheTimingAndTheRequest() {
+    var request = new RouteRequest();
+    request.setFrom(new GenericLocation(60.0, 10.0));
+    request.setTo(new GenericLocation(61.0, 11.0));
+    request.setDateTime(T0);
+    request.setArriveBy(true);
+    request.setSearchWindow(Duration.ofMinutes(40));
+    request
+      .journey()
+      .setModes(
+        RequestModes.of().withAccessMode(StreetMode.BIKE).withDirectMode(StreetMode.BIKE).build()
+      );
+
+    var timing = timing(7);
+    var raptor = timing.raptorSearchStatistics();
+    raptor.heuristicSearchPerformed(1_000);
+    raptor.searchCompleted(true, new RaptorSearchCounts(1, 1, 0, 0, 0, 0, 0));
+    raptor.searchCompleted(false, new RaptorSearchCounts(1, 0, 0, 0, 0, 0, 0));
+
+    subject.record(request, timing);
+
+    var slowRequest = subject.slowRequests().getFirst();
+    assertEquals(T0, slowRequest.time());
+    assertEquals(Duration.ofSeconds(7).toNanos(), slowRequest.totalTime());
+    assertEquals(2, slowRequest.raptorSearches());
+    assertEquals(1, slowRequest.raptorRounds());
+    assertEquals(1_000, slowRequest.heuristicSearchTime());
+
+    var replay = slowRequest.request().toRouteRequest(new RouteRequest());
+    assertEquals(request.from(), replay.from());
+    assertEquals(request.to(), replay.to());
+    assertEquals(T0, replay.dateTime());
+    assertTrue(replay.arriveBy());
+    assertEquals(Duration.ofMinutes(40), replay.searchWindow());
+    assertEquals(request.journey().modes(), replay.journey().modes());
+  }
+
+  private void record(int seconds) {
+    subject.record(new RouteRequest(), timing(seconds));
+  }
+
+  private List<Long> totalTimesInSeconds() {
+    return subject
+      .slowRequests()
+      .stream()
+      .map(it -> Duration.ofNanos(it.totalTime()).toSeconds())
+      .toList();
+  }
+
+  private static DebugTimingAggregator timing(int seconds) {
+    var clock = new MockClock();
+    var timing = new DebugTimingAggregator(
+      new SimpleMeterRegistry(SimpleConfig.DEFAULT, clock),
+      List.of()
+    );
+    clock.add(seconds, TimeUnit.SECONDS);
+    timing.finishedRouting();
+    timing.finishedFiltering();
+    return timing;
+  }
+}
@@ -0,0 +1,53 @@
+package org.opentripplanner.routing.graph.kryosupport;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BlockCompressingOutputStreamTest {
+
+  @Test
+  void roundTrip() throws IOException {
+    // Two and a half blocks, half of it random data which is stored uncompressed
+    byte[] data = new byte[5 * BlockCompressingOutputStream.BLOCK_SIZE / 2];
+    new Random(7).nextBytes(data);
+    for (int i = 0; i < data.length / 2; i++) {
+      data[i] = (byte) (i % 17);
+    }
+
+    var buffer = new ByteArrayOutputStream();
+    try (var out = new BlockCompressingOutputStream(buffer, 3)) {
+      out.write(data, 0, 1000);
+      out.write(data[1000]);
+      out.write(data, 1001, data.length - 1001);
+      assertEquals(data.length, out.uncompressedSize());
+    }
+    // Data after the blocks is not read by the decompressing stream
+    buffer.write(42);
+    assertTrue(buffer.size() < data.length);
+
+    var source = new ByteArrayInputStream(buffer.toByteArray());
+    try (var in = new BlockDecompressingInputStream(source, 3)) {
+      assertArrayEquals(data, in.readAllBytes());
+      assertEquals(-1, in.read());
+    }
+    assertEquals(42, source.read());
+  }
+
+  @Test
+  void empty() throws IOException {
+    var buffer = new ByteArrayOutputStream();
+    new BlockCompressingOutputStream(buffer, 1).close();
+
+    var source = new ByteArrayInputStream(buffer.toByteArray());
+    try (var in = new BlockDecompressingInputStream(source, 1)) {
+      assertEquals(-1, in.read());
+    }
+  }
+}
@@ -0,0 +1,40 @@
+package org.opentripplanner.routing.linking;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.vertex.IntersectionVertex;
+
+class VertexLinkerTest {
+
+  private static final IntersectionVertex A1 = vertex("A1", 60.01, 10.01);
+  private static final IntersectionVertex A2 = vertex("A2", 60.011, 10.011);
+  private static final IntersectionVertex A3 = vertex("A3", 60.012, 10.01);
+  private static final IntersectionVertex B1 = vertex("B1", 61.01, 10.01);
+  private static final IntersectionVertex B2 = vertex("B2", 61.011, 10.01);
+  private static final IntersectionVertex C1 = vertex("C1", 60.01, 11.01);
+
+  @Test
+  void nearbyVerticesAreSpreadInDifferentBatches() {
+    var batches = VertexLinker.spreadInBatches(List.of(A1, A2, A3, B1, B2, C1), 3);
+
+    assertEquals(List.of(List.of(A1, B1, C1), List.of(A2, B2, A3)), batches);
+  }
+
+  @Test
+  void spreadIsStable() {
+    var vertices = List.of(A1, B1, A2, C1, A3, B2);
+
+    assertEquals(
+      VertexLinker.spreadInBatches(vertices, 2),
+      VertexLinker.spreadInBatches(vertices, 2)
+    );
+    assertEquals(List.of(), VertexLinker.spreadInBatches(List.of(), 2));
+  }
+
+  private static IntersectionVertex vertex(String label, double lat, double lon) {
+    return StreetModelForTest.intersectionVertex(label, lat, lon);
+  }
+}
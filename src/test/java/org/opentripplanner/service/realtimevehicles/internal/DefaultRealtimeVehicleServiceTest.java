@@ -0,0 +1,73 @@
+package org.opentripplanner.service.realtimevehicles.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
+
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicle;
+import org.opentripplanner.service.realtimevehicles.model.RealtimeVehicleSnapshot;
+import org.opentripplanner.transit.model._data.TransitModelForTest;
+import org.opentripplanner.transit.model.network.TripPattern;
+
+class DefaultRealtimeVehicleServiceTest {
+
+  private static final TransitModelForTest TEST_MODEL = TransitModelForTest.of();
+  private static final TripPattern PATTERN_1 = pattern("1");
+  private static final TripPattern PATTERN_2 = pattern("2");
+  private static final RealtimeVehicle VEHICLE = RealtimeVehicle
+    .builder()
+    .withVehicleId(id("vehicle-1"))
+    .build();
+
+  private final DefaultRealtimeVehicleService subject = new DefaultRealtimeVehicleService(null);
+
+  @Test
+  void emptyPattern() {
+    assertSame(RealtimeVehicleSnapshot.EMPTY, subject.getRealtimeVehicleSnapshot(PATTERN_1));
+    assertEquals(List.of(), subject.getRealtimeVehicles(PATTERN_1));
+    assertEquals(0, subject.version());
+  }
+
+  @Test
+  void versionChangesOnEachUpdate() {
+    subject.setRealtimeVehicles(PATTERN_1, List.of(VEHICLE));
+    var first = subject.getRealtimeVehicleSnapshot(PATTERN_1);
+
+    assertEquals(List.of(VEHICLE), first.vehicles());
+    assertEquals(subject.version(), first.version());
+
+    subject.setRealtimeVehicles(PATTERN_2, List.of(VEHICLE));
+    assertSame(first, subject.getRealtimeVehicleSnapshot(PATTERN_1));
+    assertNotEquals(first.version(), subject.getRealtimeVehicleSnapshot(PATTERN_2).version());
+
+    subject.setRealtimeVehicles(PATTERN_1, List.of(VEHICLE));
+    var second = subject.getRealtimeVehicleSnapshot(PATTERN_1);
+    assertTrue(second.version() > first.version());
+  }
+
+  @Test
+  void clear() {
+    subject.setRealtimeVehicles(PATTERN_1, List.of(VEHICLE));
+    var version = subject.version();
+
+    subject.clearRealtimeVehicles(PATTERN_1);
+    assertTrue(subject.getRealtimeVehicleSnapshot(PATTERN_1).isEmpty());
+    assertTrue(subject.version() > version);
+
+    // Clearing an empty pattern does not change anything
+    version = subject.version();
+    subject.clearRealtimeVehicles(PATTERN_1);
+    assertEquals(version, subject.version());
+  }
+
+  private static TripPattern pattern(String id) {
+    return TransitModelForTest
+      .tripPattern(id, TransitModelForTest.route(id(id)).build())
+      .withStopPattern(TEST_MODEL.stopPattern(2))
+      .build();
+  }
+}
@@ -0,0 +1,69 @@
+package org.opentripplanner.standalone.config.routerconfig;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.opentripplanner.standalone.config.framework.json.JsonSupport.jsonNodeForTest;
+
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.framework.application.OtpAppException;
+import org.opentripplanner.routing.api.request.RouteRequest;
+import org.opentripplanner.standalone.config.framework.json.NodeAdapter;
+
+class WarmupConfigTest {
+
+  @Test
+  void parseWarmupDefaults() {
+    var config = new WarmupConfig("warmup", createNodeAdaptor("{}"), new RouteRequest());
+
+    assertEquals(10, config.iterations());
+    assertTrue(config.requests().isEmpty());
+  }
+
+  @Test
+  void parseWarmup() {
+    var root = createNodeAdaptor(
+      """
+      {
+        warmup: {
+          iterations : 3,
+          requests : [
+            { from : "59.91, 10.75", to : "59.95,10.78", numItineraries : 2 }
+          ]
+        }
+      }
+      """
+    );
+    var defaults = new RouteRequest();
+    var config = new WarmupConfig("warmup", root, defaults);
+
+    assertEquals(3, config.iterations());
+    assertEquals(1, config.requests().size());
+    var request = config.requests().get(0);
+    assertEquals(59.91, request.from().lat);
+    assertEquals(10.75, request.from().lng);
+    assertEquals(59.95, request.to().lat);
+    assertEquals(10.78, request.to().lng);
+    assertEquals(2, request.numItineraries());
+    // The defaults are not modified
+    assertEquals(new RouteRequest().numItineraries(), defaults.numItineraries());
+  }
+
+  @Test
+  void parseInvalidCoordinate() {
+    var root = createNodeAdaptor(
+      """
+      {
+        warmup: {
+          requests : [ { from : "59.91", to : "59.95,10.78" } ]
+        }
+      }
+      """
+    );
+    assertThrows(OtpAppException.class, () -> new WarmupConfig("warmup", root, new RouteRequest()));
+  }
+
+  private static NodeAdapter createNodeAdaptor(String jsonText) {
+    return new NodeAdapter(jsonNodeForTest(jsonText), "Test");
+  }
+}
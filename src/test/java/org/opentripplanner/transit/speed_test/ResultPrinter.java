@@ -8,6 +8,8 @@ import java.util.Map;
 import org.opentripplanner.framework.lang.IntUtils;
 import org.opentripplanner.framework.text.Table;
 import org.opentripplanner.transit.speed_test.model.SpeedTestProfile;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestReport;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestResult;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCase;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCaseFailedException;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCases;
@@ -122,6 +124,20 @@ class ResultPrinter {
     }
   }
 
+  static void printLoadTestResult(LoadTestResult result) {
+    System.err.println("\n" + headerLine("LOAD TEST RESULT"));
+    LoadTestReport.toTextRows(result).forEach(System.err::println);
+  }
+
+  static void printLoadTestReport(LoadTestReport report) {
+    System.err.println("\n" + headerLine("LOAD TEST REPORT - BASELINE VS CANDIDATE"));
+    report.toTextRows().forEach(System.err::println);
+    var regressions = report.regressions();
+    if (!regressions.isEmpty()) {
+      System.err.printf("%n!!! %d REGRESSION(S) FOUND: %s !!!%n", regressions.size(), regressions);
+    }
+  }
+
   private static void printResult(
     String status,
     TestCase tc,
@@ -18,6 +18,7 @@ import org.opentripplanner.datastore.OtpDataStore;
 import org.opentripplanner.framework.application.OtpAppException;
 import org.opentripplanner.model.plan.Itinerary;
 import org.opentripplanner.raptor.configure.RaptorConfig;
+import org.opentripplanner.routing.api.request.RouteRequest;
 import org.opentripplanner.routing.api.response.RoutingResponse;
 import org.opentripplanner.routing.framework.DebugTimingAggregator;
 import org.opentripplanner.routing.graph.Graph;
@@ -34,12 +35,15 @@ import org.opentripplanner.standalone.server.DefaultServerRequestContext;
 import org.opentripplanner.transit.service.DefaultTransitService;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.transit.speed_test.model.SpeedTestProfile;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestReport;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestRunner;
 import org.opentripplanner.transit.speed_test.model.testcase.CsvFileSupport;
 import org.opentripplanner.transit.speed_test.model.testcase.ExpectedResults;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCase;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCaseDefinition;
 import org.opentripplanner.transit.speed_test.model.testcase.TestCases;
 import org.opentripplanner.transit.speed_test.model.testcase.TestStatus;
+import org.opentripplanner.transit.speed_test.model.testcase.io.RequestLogJsonFile;
 import org.opentripplanner.transit.speed_test.model.timer.SpeedTestTimer;
 import org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts;
 import org.opentripplanner.transit.speed_test.options.SpeedTestConfig;
@@ -154,7 +158,11 @@ public class SpeedTest {
       assertTestDateHasData(transitModel, config, buildConfig);
 
       // and run it
-      speedTest.runTest();
+      if (opts.loadTest()) {
+        speedTest.runLoadTest();
+      } else {
+        speedTest.runTest();
+      }
 
       if (speedTest.transitModel.getUpdaterManager() != null) {
         speedTest.transitModel.getUpdaterManager().stop();
@@ -186,6 +194,44 @@ public class SpeedTest {
     System.err.println("\nSpeedTest done! " + projectInfo().getVersionString());
   }
 
+  /**
+   * Replay the request log, or the test cases, with concurrent requests. The requests are sent
+   * once to warm up, then the given number of samples times. If a baseline is given, the result is
+   * compared with it and the test fails if a metric is worse than the baseline.
+   */
+  public void runLoadTest() {
+    final int nSamples = opts.numberOfTestsSamplesToRun();
+    var requests = createLoadTestRequests();
+    // The routing modifies the request, so each call routes its own copy
+    var runner = new LoadTestRunner<RouteRequest>(
+      request -> serverContext.routingService().route(request.clone()),
+      opts.concurrency(),
+      opts.virtualThreads()
+    );
+    System.err.printf(
+      "Run Load Test [%d requests, %d samples, concurrency %d%s]%n",
+      requests.size(),
+      nSamples,
+      opts.concurrency(),
+      opts.virtualThreads() ? ", virtual threads" : ""
+    );
+
+    runner.warmUp(requests);
+    forceGCToAvoidGCLater();
+    var result = runner.run(requests, nSamples);
+
+    ResultPrinter.printLoadTestResult(result);
+    tcIO.writeLoadTestResult(result);
+
+    if (opts.baseline() != null) {
+      var baseline = tcIO.readLoadTestResult(opts.baseline());
+      var report = new LoadTestReport(baseline, result, opts.regressionThreshold());
+      ResultPrinter.printLoadTestReport(report);
+      status = status.highestSeverity(report.status());
+    }
+    System.err.println("\nLoadTest done! " + projectInfo().getVersionString());
+  }
+
   /**
    * Run a single sample with all selected testcases for the given profile
    */
@@ -256,6 +302,22 @@ public class SpeedTest {
 
   /* setup helper methods */
 
+  private List<RouteRequest> createLoadTestRequests() {
+    if (opts.requestLog() != null) {
+      return new RequestLogJsonFile(opts.requestLog())
+        .read()
+        .stream()
+        .map(it -> it.toRouteRequest(config.request))
+        .toList();
+    }
+    this.profile = opts.profiles()[0];
+    return createTestCases()
+      .stream()
+      .map(tc -> new SpeedTestRequest(tc, opts, config, profile, transitModel.getTimeZone()))
+      .map(SpeedTestRequest::toRouteRequest)
+      .toList();
+  }
+
   private static void loadOtpFeatures(SpeedTestCmdLineOpts opts) {
     ConfigModel.initializeOtpFeatures(new OtpConfigLoader(opts.rootDir()).loadOtpConfig());
   }
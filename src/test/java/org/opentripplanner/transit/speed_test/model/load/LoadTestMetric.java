@@ -0,0 +1,55 @@
+package org.opentripplanner.transit.speed_test.model.load;
+
+/**
+ * The metrics measured by a load test run. Each metric knows if a higher or lower value is better,
+ * this is used to detect regressions when comparing a candidate run with a baseline run.
+ */
+public enum LoadTestMetric {
+  REQUESTS("Requests", "", Direction.INFO),
+  FAILED_REQUESTS("Failed requests", "", Direction.LOWER_IS_BETTER),
+  CONCURRENCY("Concurrency", "", Direction.INFO),
+  THROUGHPUT("Throughput", "req/s", Direction.HIGHER_IS_BETTER),
+  LATENCY_MEAN("Latency mean", "ms", Direction.LOWER_IS_BETTER),
+  LATENCY_P50("Latency p50", "ms", Direction.LOWER_IS_BETTER),
+  LATENCY_P90("Latency p90", "ms", Direction.LOWER_IS_BETTER),
+  LATENCY_P99("Latency p99", "ms", Direction.LOWER_IS_BETTER),
+  /** The max latency is too noisy to be used to detect regressions. */
+  LATENCY_MAX("Latency max", "ms", Direction.INFO),
+  ALLOCATED_PER_REQUEST("Allocated per request", "MB", Direction.LOWER_IS_BETTER),
+  ALLOCATION_RATE("Allocation rate", "MB/s", Direction.INFO),
+  GC_COUNT("GC collections", "", Direction.INFO),
+  GC_TIME_PER_REQUEST("GC time per request", "ms", Direction.LOWER_IS_BETTER);
+
+  private final String label;
+  private final String unit;
+  private final Direction direction;
+
+  LoadTestMetric(String label, String unit, Direction direction) {
+    this.label = label;
+    this.unit = unit;
+    this.direction = direction;
+  }
+
+  public String label() {
+    return unit.isEmpty() ? label : label + " (" + unit + ")";
+  }
+
+  /**
+   * Return {@code true} if the candidate value is worse than the baseline value by more than the
+   * given threshold. The threshold is a fraction, {@code 0.1} allow a 10% change. Informational
+   * metrics are never regressions.
+   */
+  public boolean isRegression(double baseline, double candidate, double threshold) {
+    return switch (direction) {
+      case LOWER_IS_BETTER -> candidate > baseline * (1.0 + threshold);
+      case HIGHER_IS_BETTER -> candidate < baseline * (1.0 - threshold);
+      case INFO -> false;
+    };
+  }
+
+  private enum Direction {
+    LOWER_IS_BETTER,
+    HIGHER_IS_BETTER,
+    INFO,
+  }
+}
@@ -0,0 +1,95 @@
+package org.opentripplanner.transit.speed_test.model.load;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import org.opentripplanner.framework.text.Table;
+import org.opentripplanner.transit.speed_test.model.testcase.TestStatus;
+
+/**
+ * Compare a candidate load test run with a baseline run. A metric is a regression if it is worse
+ * than the baseline by more than the threshold.
+ */
+public class LoadTestReport {
+
+  private final LoadTestResult baseline;
+  private final LoadTestResult candidate;
+  private final double threshold;
+
+  /**
+   * @param threshold The accepted change in percent before a metric is reported as a regression.
+   */
+  public LoadTestReport(LoadTestResult baseline, LoadTestResult candidate, double threshold) {
+    this.baseline = baseline;
+    this.candidate = candidate;
+    this.threshold = threshold / 100.0;
+  }
+
+  public List<LoadTestMetric> regressions() {
+    return comparableMetrics()
+      .stream()
+      .filter(m -> m.isRegression(baseline.value(m), candidate.value(m), threshold))
+      .toList();
+  }
+
+  /**
+   * The test fails if at least one metric is a regression.
+   */
+  public TestStatus status() {
+    return regressions().isEmpty() ? TestStatus.OK : TestStatus.FAILED;
+  }
+
+  public List<String> toTextRows() {
+    var regressions = regressions();
+    var table = Table
+      .of()
+      .withHeaders("Metric", "Baseline", "Candidate", "Change", "Status")
+      .withAlights(
+        Table.Align.Left,
+        Table.Align.Right,
+        Table.Align.Right,
+        Table.Align.Right,
+        Table.Align.Left
+      );
+    for (var m : comparableMetrics()) {
+      double b = baseline.value(m);
+      double c = candidate.value(m);
+      table.addRow(
+        m.label(),
+        format(b),
+        format(c),
+        b == 0.0 ? "" : String.format(Locale.ROOT, "%+.1f%%", 100.0 * (c - b) / b),
+        regressions.contains(m) ? "REGRESSION" : ""
+      );
+    }
+    return table.build().toTextRows();
+  }
+
+  /**
+   * Format a result for printing, without comparing it to a baseline.
+   */
+  public static List<String> toTextRows(LoadTestResult result) {
+    var table = Table
+      .of()
+      .withHeaders("Metric", "Value")
+      .withAlights(Table.Align.Left, Table.Align.Right);
+    for (var m : result.metrics()) {
+      table.addRow(m.label(), format(result.value(m)));
+    }
+    return table.build().toTextRows();
+  }
+
+  private List<LoadTestMetric> comparableMetrics() {
+    var list = new ArrayList<LoadTestMetric>();
+    for (var m : candidate.metrics()) {
+      if (baseline.contains(m)) {
+        list.add(m);
+      }
+    }
+    return list;
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.2f", value);
+  }
+}
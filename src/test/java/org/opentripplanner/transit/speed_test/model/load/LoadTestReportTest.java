@@ -0,0 +1,102 @@
+package org.opentripplanner.transit.speed_test.model.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.transit.speed_test.model.testcase.TestStatus;
+
+class LoadTestReportTest {
+
+  private static final LoadTestResult BASELINE = new LoadTestResult(
+    Map.of(
+      LoadTestMetric.FAILED_REQUESTS,
+      0.0,
+      LoadTestMetric.THROUGHPUT,
+      100.0,
+      LoadTestMetric.LATENCY_P99,
+      200.0,
+      LoadTestMetric.LATENCY_MAX,
+      400.0
+    )
+  );
+
+  @Test
+  void percentile() {
+    long[] sorted = { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+    assertEquals(5, LoadTestResult.percentile(sorted, 50));
+    assertEquals(9, LoadTestResult.percentile(sorted, 90));
+    assertEquals(10, LoadTestResult.percentile(sorted, 99));
+    assertEquals(1, LoadTestResult.percentile(sorted, 0));
+    assertEquals(0, LoadTestResult.percentile(new long[0], 50));
+  }
+
+  @Test
+  void noRegressionWithinThreshold() {
+    var candidate = new LoadTestResult(
+      Map.of(
+        LoadTestMetric.FAILED_REQUESTS,
+        0.0,
+        LoadTestMetric.THROUGHPUT,
+        95.0,
+        LoadTestMetric.LATENCY_P99,
+        210.0,
+        LoadTestMetric.LATENCY_MAX,
+        4000.0
+      )
+    );
+    var subject = new LoadTestReport(BASELINE, candidate, 10);
+
+    assertTrue(subject.regressions().isEmpty());
+    assertEquals(TestStatus.OK, subject.status());
+  }
+
+  @Test
+  void regressions() {
+    var candidate = new LoadTestResult(
+      Map.of(
+        LoadTestMetric.FAILED_REQUESTS,
+        1.0,
+        LoadTestMetric.THROUGHPUT,
+        80.0,
+        LoadTestMetric.LATENCY_P99,
+        230.0
+      )
+    );
+    var subject = new LoadTestReport(BASELINE, candidate, 10);
+
+    assertEquals(
+      List.of(
+        LoadTestMetric.FAILED_REQUESTS,
+        LoadTestMetric.THROUGHPUT,
+        LoadTestMetric.LATENCY_P99
+      ),
+      subject.regressions()
+    );
+    assertEquals(TestStatus.FAILED, subject.status());
+    // The header and one row for each metric in both results
+    assertEquals(4, subject.toTextRows().size());
+  }
+
+  @Test
+  void runRequestsConcurrentlyInVirtualThreads() {
+    var subject = new LoadTestRunner<Integer>(
+      i -> {
+        if (i == 3) {
+          throw new IllegalStateException("Expected failure");
+        }
+      },
+      4,
+      true
+    );
+
+    var result = subject.run(List.of(1, 2, 3, 4, 5), 2);
+
+    assertEquals(10.0, result.value(LoadTestMetric.REQUESTS));
+    assertEquals(2.0, result.value(LoadTestMetric.FAILED_REQUESTS));
+    assertEquals(4.0, result.value(LoadTestMetric.CONCURRENCY));
+    assertTrue(result.value(LoadTestMetric.THROUGHPUT) > 0.0);
+  }
+}
@@ -0,0 +1,89 @@
+package org.opentripplanner.transit.speed_test.model.load;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The result of a load test run, a value for each {@link LoadTestMetric}. The result can be saved
+ * to a file and used as the baseline for later runs.
+ */
+public class LoadTestResult {
+
+  private static final double NANOS_PER_MILLI = 1_000_000.0;
+  private static final double BYTES_PER_MB = 1_000_000.0;
+
+  private final Map<LoadTestMetric, Double> values;
+
+  public LoadTestResult(Map<LoadTestMetric, Double> values) {
+    this.values = new EnumMap<>(values);
+  }
+
+  /**
+   * @param latencies The latency of each request in nanoseconds.
+   * @param wallTime The time it took to run all requests in nanoseconds.
+   * @param allocatedBytes The bytes allocated by all threads during the run.
+   * @param gcTimeMs The accumulated collection time of all garbage collectors during the run.
+   */
+  public static LoadTestResult of(
+    long[] latencies,
+    int failedRequests,
+    int concurrency,
+    long wallTime,
+    long allocatedBytes,
+    long gcCount,
+    long gcTimeMs
+  ) {
+    long[] sorted = latencies.clone();
+    Arrays.sort(sorted);
+    int n = sorted.length;
+    double seconds = wallTime / 1_000_000_000.0;
+
+    var values = new EnumMap<LoadTestMetric, Double>(LoadTestMetric.class);
+    values.put(LoadTestMetric.REQUESTS, (double) n);
+    values.put(LoadTestMetric.FAILED_REQUESTS, (double) failedRequests);
+    values.put(LoadTestMetric.CONCURRENCY, (double) concurrency);
+    values.put(LoadTestMetric.THROUGHPUT, n / seconds);
+    values.put(
+      LoadTestMetric.LATENCY_MEAN,
+      Arrays.stream(sorted).average().orElse(0) / NANOS_PER_MILLI
+    );
+    values.put(LoadTestMetric.LATENCY_P50, percentile(sorted, 50) / NANOS_PER_MILLI);
+    values.put(LoadTestMetric.LATENCY_P90, percentile(sorted, 90) / NANOS_PER_MILLI);
+    values.put(LoadTestMetric.LATENCY_P99, percentile(sorted, 99) / NANOS_PER_MILLI);
+    values.put(LoadTestMetric.LATENCY_MAX, percentile(sorted, 100) / NANOS_PER_MILLI);
+    values.put(LoadTestMetric.ALLOCATED_PER_REQUEST, allocatedBytes / BYTES_PER_MB / n);
+    values.put(LoadTestMetric.ALLOCATION_RATE, allocatedBytes / BYTES_PER_MB / seconds);
+    values.put(LoadTestMetric.GC_COUNT, (double) gcCount);
+    values.put(LoadTestMetric.GC_TIME_PER_REQUEST, (double) gcTimeMs / n);
+    return new LoadTestResult(values);
+  }
+
+  public Set<LoadTestMetric> metrics() {
+    return values.keySet();
+  }
+
+  public boolean contains(LoadTestMetric metric) {
+    return values.containsKey(metric);
+  }
+
+  public double value(LoadTestMetric metric) {
+    var value = values.get(metric);
+    if (value == null) {
+      throw new IllegalArgumentException("The result does not contain: " + metric);
+    }
+    return value;
+  }
+
+  /**
+   * Return the value at the given percentile using the nearest-rank method.
+   */
+  static long percentile(long[] sorted, double percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, rank - 1)];
+  }
+}
@@ -0,0 +1,145 @@
+package org.opentripplanner.transit.speed_test.model.load;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Replay a list of requests with a fixed number of concurrent clients. Each client sends a new
+ * request as soon as the previous one is done, until all requests are sent. The clients run in
+ * platform or virtual threads.
+ * <p>
+ * The allocated bytes and the GC statistics are read from the JVM before and after the run, so
+ * they include everything else running in the JVM, like the real-time updaters.
+ */
+public class LoadTestRunner<T> {
+
+  private static final Logger LOG = LoggerFactory.getLogger(LoadTestRunner.class);
+
+  private final Consumer<T> client;
+  private final int concurrency;
+  private final boolean virtualThreads;
+
+  public LoadTestRunner(Consumer<T> client, int concurrency, boolean virtualThreads) {
+    if (concurrency < 1) {
+      throw new IllegalArgumentException("The concurrency must be at least 1: " + concurrency);
+    }
+    this.client = client;
+    this.concurrency = concurrency;
+    this.virtualThreads = virtualThreads;
+  }
+
+  /**
+   * Send each request once in the calling thread, to warm up the JIT compiler and the caches.
+   * Failures are ignored.
+   */
+  public void warmUp(List<T> requests) {
+    for (T request : requests) {
+      try {
+        client.accept(request);
+      } catch (RuntimeException e) {
+        LOG.debug("Warm-up request failed: {}", e.getMessage());
+      }
+    }
+  }
+
+  /**
+   * Send all requests the given number of times and measure the latencies, allocations and GC.
+   */
+  public LoadTestResult run(List<T> requests, int nTimes) {
+    int nRequests = requests.size() * nTimes;
+    long[] latencies = new long[nRequests];
+    var nextRequest = new AtomicInteger();
+    var failed = new AtomicInteger();
+
+    Runnable worker = () -> {
+      int i;
+      while ((i = nextRequest.getAndIncrement()) < nRequests) {
+        long start = System.nanoTime();
+        try {
+          client.accept(requests.get(i % requests.size()));
+        } catch (RuntimeException e) {
+          failed.incrementAndGet();
+          LOG.warn("Request {} failed: {}", i % requests.size(), e.getMessage(), e);
+        }
+        latencies[i] = System.nanoTime() - start;
+      }
+    };
+
+    long allocatedBytesBefore = totalAllocatedBytes();
+    long gcCountBefore = gcCount();
+    long gcTimeBefore = gcTimeMs();
+    long start = System.nanoTime();
+
+    try (var executor = Executors.newThreadPerTaskExecutor(threadFactory())) {
+      var workers = IntStream
+        .range(0, concurrency)
+        .mapToObj(i -> executor.submit(worker))
+        .toList();
+      for (Future<?> it : workers) {
+        it.get();
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    } catch (ExecutionException e) {
+      throw new RuntimeException(e.getCause());
+    }
+
+    long wallTime = System.nanoTime() - start;
+
+    return LoadTestResult.of(
+      latencies,
+      failed.get(),
+      concurrency,
+      wallTime,
+      totalAllocatedBytes() - allocatedBytesBefore,
+      gcCount() - gcCountBefore,
+      gcTimeMs() - gcTimeBefore
+    );
+  }
+
+  private ThreadFactory threadFactory() {
+    return virtualThreads
+      ? Thread.ofVirtual().name("load-test-", 0).factory()
+      : Thread.ofPlatform().name("load-test-", 0).factory();
+  }
+
+  /**
+   * The allocations of virtual threads are included, they are accounted to the carrier threads.
+   */
+  private static long totalAllocatedBytes() {
+    var bean = ManagementFactory.getThreadMXBean();
+    if (bean instanceof com.sun.management.ThreadMXBean sunBean) {
+      return Math.max(0, sunBean.getTotalThreadAllocatedBytes());
+    }
+    return 0;
+  }
+
+  private static long gcCount() {
+    return ManagementFactory
+      .getGarbageCollectorMXBeans()
+      .stream()
+      .mapToLong(GarbageCollectorMXBean::getCollectionCount)
+      .filter(it -> it > 0)
+      .sum();
+  }
+
+  private static long gcTimeMs() {
+    return ManagementFactory
+      .getGarbageCollectorMXBeans()
+      .stream()
+      .mapToLong(GarbageCollectorMXBean::getCollectionTime)
+      .filter(it -> it > 0)
+      .sum();
+  }
+}
@@ -7,6 +7,8 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.function.BiConsumer;
 import org.opentripplanner.transit.speed_test.model.SpeedTestProfile;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestResult;
+import org.opentripplanner.transit.speed_test.model.testcase.io.LoadTestResultCsvFile;
 import org.opentripplanner.transit.speed_test.model.testcase.io.ResultCsvFile;
 import org.opentripplanner.transit.speed_test.model.testcase.io.TestCaseDefinitionCsvFile;
 import org.slf4j.Logger;
@@ -19,10 +21,12 @@ public class CsvFileSupport {
 
   private static final String EXPECTED_RESULTS_FILE_NAME = "expected-results";
   private static final String RESULTS_FILE_NAME = "results";
+  private static final String LOAD_TEST_RESULTS_FILE_NAME = "load-test-results";
   private static final Logger LOG = LoggerFactory.getLogger(CsvFileSupport.class);
 
   private final File testCasesFile;
   private final File expectedResultsFile;
+  private final File loadTestResultsFile;
   private final Map<SpeedTestProfile, File> resultsFileByProfile = new HashMap<>();
   private final Map<SpeedTestProfile, File> expectedResultsFileByProfile = new HashMap<>();
   private final String feedId;
@@ -36,6 +40,7 @@ public class CsvFileSupport {
     this.feedId = Objects.requireNonNull(feedId);
     testCasesFile = new File(dir, testSetName + ".csv");
     expectedResultsFile = csvFile(dir, testSetName, EXPECTED_RESULTS_FILE_NAME);
+    loadTestResultsFile = csvFile(dir, testSetName, LOAD_TEST_RESULTS_FILE_NAME);
 
     var resultsFilesName = replaceExpectedResultsFiles
       ? EXPECTED_RESULTS_FILE_NAME
@@ -89,6 +94,18 @@ public class CsvFileSupport {
       .write(testCases.stream().flatMap(it -> it.actualResults().stream()).toList());
   }
 
+  /**
+   * Write the load test result to a CSV file. This file can be copied and used as the baseline
+   * for later runs.
+   */
+  public void writeLoadTestResult(LoadTestResult result) {
+    new LoadTestResultCsvFile(loadTestResultsFile).writeResult(result);
+  }
+
+  public LoadTestResult readLoadTestResult(File file) {
+    return new LoadTestResultCsvFile(file).readResult();
+  }
+
   /* private methods */
 
   private static void addFileToResultsMap(
@@ -0,0 +1,50 @@
+package org.opentripplanner.transit.speed_test.model.testcase.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestMetric;
+import org.opentripplanner.transit.speed_test.model.load.LoadTestResult;
+
+/**
+ * This class is responsible for reading and writing load test results to CSV files, one row for
+ * each metric.
+ */
+public class LoadTestResultCsvFile extends AbstractCsvFile<Map.Entry<LoadTestMetric, Double>> {
+
+  private static final String METRIC = "metric";
+  private static final String VALUE = "value";
+
+  public LoadTestResultCsvFile(File file) {
+    super(file, METRIC, VALUE);
+  }
+
+  public LoadTestResult readResult() {
+    var values = new EnumMap<LoadTestMetric, Double>(LoadTestMetric.class);
+    for (var row : read()) {
+      values.put(row.getKey(), row.getValue());
+    }
+    return new LoadTestResult(values);
+  }
+
+  public void writeResult(LoadTestResult result) {
+    write(result.metrics().stream().map(m -> Map.entry(m, result.value(m))).toList());
+  }
+
+  @Override
+  String cell(Map.Entry<LoadTestMetric, Double> row, String colName) {
+    return switch (colName) {
+      case METRIC -> row.getKey().name();
+      case VALUE -> String.format(Locale.ROOT, "%.3f", row.getValue());
+      default -> throw new IllegalArgumentException("Unexpected column name: " + colName);
+    };
+  }
+
+  @Override
+  Map.Entry<LoadTestMetric, Double> parseRow() throws IOException {
+    return Map.entry(LoadTestMetric.valueOf(parseString(METRIC)), parseDouble(VALUE));
+  }
+}
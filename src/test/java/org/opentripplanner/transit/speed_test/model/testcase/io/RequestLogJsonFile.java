@@ -0,0 +1,96 @@
+package org.opentripplanner.transit.speed_test.model.testcase.io;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import org.opentripplanner.model.GenericLocation;
+import org.opentripplanner.routing.api.request.RequestModes;
+import org.opentripplanner.routing.api.request.StreetMode;
+import org.opentripplanner.routing.framework.SlowRequest;
+import org.opentripplanner.transit.model.framework.FeedScopedId;
+
+/**
+ * Read a log of recorded requests to replay in a load test. The file is a JSON array, either the
+ * output of the {@code /otp/actuators/slowRequests} endpoint or a list of the request parameters
+ * in the same format as the {@code request} element of each slow request.
+ * <p>
+ * The slow requests are not a representative load: there are at most 100 of them and they are
+ * the slowest requests of the server. The {@code modes} element is optional, the street modes
+ * default to WALK.
+ */
+public class RequestLogJsonFile {
+
+  private final File file;
+
+  public RequestLogJsonFile(File file) {
+    this.file = file;
+  }
+
+  public List<SlowRequest.Request> read() {
+    try {
+      var root = new ObjectMapper().readTree(file);
+      if (!root.isArray()) {
+        throw new IllegalArgumentException("The request log is not a JSON array: " + file);
+      }
+      var requests = new ArrayList<SlowRequest.Request>();
+      for (JsonNode node : root) {
+        requests.add(parseRequest(node.has("request") ? node.get("request") : node));
+      }
+      return requests;
+    } catch (IOException e) {
+      throw new RuntimeException("Can not read: " + file + ". Cause: " + e.getMessage(), e);
+    }
+  }
+
+  private static SlowRequest.Request parseRequest(JsonNode node) {
+    return new SlowRequest.Request(
+      parseLocation(node.get("from")),
+      parseLocation(node.get("to")),
+      Instant.parse(node.get("dateTime").asText()),
+      node.path("arriveBy").asBoolean(false),
+      hasValue(node, "searchWindow") ? Duration.parse(node.get("searchWindow").asText()) : null,
+      hasValue(node, "pageCursor") ? node.get("pageCursor").asText() : null,
+      node.path("numItineraries").asInt(50),
+      node.path("wheelchair").asBoolean(false),
+      hasValue(node, "modes") ? parseModes(node.get("modes")) : null
+    );
+  }
+
+  private static RequestModes parseModes(JsonNode node) {
+    var defaults = RequestModes.defaultRequestModes();
+    return RequestModes
+      .of()
+      .withAccessMode(parseStreetMode(node, "accessMode", defaults.accessMode))
+      .withEgressMode(parseStreetMode(node, "egressMode", defaults.egressMode))
+      .withDirectMode(parseStreetMode(node, "directMode", defaults.directMode))
+      .withTransferMode(parseStreetMode(node, "transferMode", defaults.transferMode))
+      .build();
+  }
+
+  private static StreetMode parseStreetMode(JsonNode node, String field, StreetMode defaultValue) {
+    return hasValue(node, field) ? StreetMode.valueOf(node.get(field).asText()) : defaultValue;
+  }
+
+  private static GenericLocation parseLocation(JsonNode node) {
+    FeedScopedId stopId = null;
+    if (hasValue(node, "stopId")) {
+      var id = node.get("stopId");
+      stopId = new FeedScopedId(id.get("feedId").asText(), id.get("id").asText());
+    }
+    return new GenericLocation(
+      hasValue(node, "label") ? node.get("label").asText() : null,
+      stopId,
+      hasValue(node, "lat") ? node.get("lat").asDouble() : null,
+      hasValue(node, "lng") ? node.get("lng").asDouble() : null
+    );
+  }
+
+  private static boolean hasValue(JsonNode node, String field) {
+    return node.hasNonNull(field);
+  }
+}
@@ -25,6 +25,12 @@ public class SpeedTestCmdLineOpts {
   static final String REPLACE_EXPECTED_RESULTS_FILES = "R";
   static final String DEBUG_STOPS = "S";
   static final String DEBUG_PATH = "P";
+  static final String LOAD_TEST = "l";
+  static final String REQUEST_LOG = "L";
+  static final String CONCURRENCY = "C";
+  static final String VIRTUAL_THREADS = "V";
+  static final String BASELINE = "B";
+  static final String REGRESSION_THRESHOLD = "X";
   private static final String GROUP_RESULTS_BY_CATEGORY = "T";
   private static final boolean OPTION_UNKNOWN_THEN_FAIL = false;
 
@@ -111,6 +117,35 @@ public class SpeedTestCmdLineOpts {
     return cmd.hasOption(GROUP_RESULTS_BY_CATEGORY);
   }
 
+  /**
+   * Run a load test instead of the speed test. This is implied by the {@link #requestLog()}
+   * option.
+   */
+  public boolean loadTest() {
+    return cmd.hasOption(LOAD_TEST) || cmd.hasOption(REQUEST_LOG);
+  }
+
+  public File requestLog() {
+    return cmd.hasOption(REQUEST_LOG) ? file(cmd.getOptionValue(REQUEST_LOG)) : null;
+  }
+
+  public int concurrency() {
+    String defaultValue = Integer.toString(Runtime.getRuntime().availableProcessors());
+    return Integer.parseInt(cmd.getOptionValue(CONCURRENCY, defaultValue));
+  }
+
+  public boolean virtualThreads() {
+    return cmd.hasOption(VIRTUAL_THREADS);
+  }
+
+  public File baseline() {
+    return cmd.hasOption(BASELINE) ? file(cmd.getOptionValue(BASELINE)) : null;
+  }
+
+  public double regressionThreshold() {
+    return Double.parseDouble(cmd.getOptionValue(REGRESSION_THRESHOLD, "10"));
+  }
+
   List<String> parseCSVList(String opt) {
     return cmd.hasOption(opt)
       ? Arrays.asList(cmd.getOptionValue(opt).split("\\s*,\\s*"))
@@ -190,9 +225,58 @@ public class SpeedTestCmdLineOpts {
       "Use a '*' to indicate where to start debugging. For example '1,*2,3' will print event at stop 2 and 3, " +
       "but not stop 1 for all trips starting with the given stop sequence."
     );
+
+    // Load test options
+    options.addOption(
+      LOAD_TEST,
+      "loadTest",
+      false,
+      "Run the test cases as a load test, with concurrent requests. The result is compared with " +
+      "the baseline, if given. The test cases are run once for each sample, using the first " +
+      "profile."
+    );
+    options.addOption(
+      REQUEST_LOG,
+      "requestLog",
+      true,
+      "Replay the requests in the given JSON file as a load test, instead of the test cases. The " +
+      "output of the /otp/actuators/slowRequests endpoint can be used, but it is skewed toward " +
+      "slow requests and is not a representative load. Implies --loadTest."
+    );
+    options.addOption(
+      CONCURRENCY,
+      "concurrency",
+      true,
+      "The number of concurrent requests in the load test. Default is the number of processors."
+    );
+    options.addOption(
+      VIRTUAL_THREADS,
+      "virtualThreads",
+      false,
+      "Send the load test requests from virtual threads."
+    );
+    options.addOption(
+      BASELINE,
+      "baseline",
+      true,
+      "A load test result file to compare the load test result with, a regression report is " +
+      "printed. Copy the result file of an earlier run to use it as the baseline."
+    );
+    options.addOption(
+      REGRESSION_THRESHOLD,
+      "regressionThreshold",
+      true,
+      "The change in percent accepted before a load test metric is reported as a regression. " +
+      "Default is 10."
+    );
     return options;
   }
 
+  private File file(String path) {
+    var file = new File(path);
+    return file.isAbsolute() ? file : new File(rootDir(), path);
+  }
+
   private boolean printHelpOptSet() {
     return cmd.hasOption(HELP);
   }
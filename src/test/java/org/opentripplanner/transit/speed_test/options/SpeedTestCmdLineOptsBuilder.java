@@ -1,15 +1,20 @@
 package org.opentripplanner.transit.speed_test.options;
 
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.BASELINE;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.CATEGORIES;
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.CONCURRENCY;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.DEBUG_PATH;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.DEBUG_STOPS;
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.LOAD_TEST;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.NUM_OF_ITINERARIES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.NUM_OF_SAMPLES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.PROFILES;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.REPLACE_EXPECTED_RESULTS_FILES;
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.REQUEST_LOG;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.ROOT_DIR;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.SKIP_COST;
 import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.TEST_CASES;
+import static org.opentripplanner.transit.speed_test.options.SpeedTestCmdLineOpts.VIRTUAL_THREADS;
 
 import java.io.File;
 import java.util.ArrayList;
@@ -37,6 +42,11 @@ public class SpeedTestCmdLineOptsBuilder {
   private boolean replaceExpectedResultsFile = false;
   private final List<String> debugStops = new ArrayList<>();
   private final List<String> debugPath = new ArrayList<>();
+  private boolean loadTest = false;
+  private File requestLog;
+  private int concurrency = -1;
+  private boolean virtualThreads = false;
+  private File baseline;
 
   /**
    * The result options, kept as a member to avoid passing it to helper methods during
@@ -95,6 +105,31 @@ public class SpeedTestCmdLineOptsBuilder {
     return this;
   }
 
+  public SpeedTestCmdLineOptsBuilder loadTest() {
+    this.loadTest = true;
+    return this;
+  }
+
+  public SpeedTestCmdLineOptsBuilder withRequestLog(File requestLog) {
+    this.requestLog = requestLog;
+    return this;
+  }
+
+  public SpeedTestCmdLineOptsBuilder withConcurrency(int concurrency) {
+    this.concurrency = concurrency;
+    return this;
+  }
+
+  public SpeedTestCmdLineOptsBuilder virtualThreads() {
+    this.virtualThreads = true;
+    return this;
+  }
+
+  public SpeedTestCmdLineOptsBuilder withBaseline(File baseline) {
+    this.baseline = baseline;
+    return this;
+  }
+
   public SpeedTestCmdLineOpts build() {
     opts = new ArrayList<>();
     Objects.requireNonNull(rootDirectory);
@@ -112,6 +147,11 @@ public class SpeedTestCmdLineOptsBuilder {
     addOptBool(REPLACE_EXPECTED_RESULTS_FILES, replaceExpectedResultsFile);
     addOptStrings(DEBUG_STOPS, debugStops);
     addOptStrings(DEBUG_PATH, debugPath);
+    addOptBool(LOAD_TEST, loadTest);
+    addOptFile(REQUEST_LOG, requestLog);
+    addOptInt(CONCURRENCY, concurrency);
+    addOptBool(VIRTUAL_THREADS, virtualThreads);
+    addOptFile(BASELINE, baseline);
     return new SpeedTestCmdLineOpts(opts.toArray(new String[0]));
   }
 
@@ -127,6 +167,12 @@ public class SpeedTestCmdLineOptsBuilder {
     }
   }
 
+  private void addOptFile(String flag, File value) {
+    if (value != null) {
+      add(flag, value.getAbsolutePath());
+    }
+  }
+
   private void addOptInts(String flag, List<Integer> values) {
     addOptStrings(flag, values.stream().map(v -> Integer.toString(v)).toList());
   }
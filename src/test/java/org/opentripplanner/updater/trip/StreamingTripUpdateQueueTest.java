@@ -0,0 +1,137 @@
+package org.opentripplanner.updater.trip;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.opentripplanner.updater.GraphWriterRunnable;
+
+class StreamingTripUpdateQueueTest {
+
+  private final List<GraphWriterRunnable> scheduled = new ArrayList<>();
+  private final List<String> applied = new ArrayList<>();
+  private boolean appliedAsFullDataset = false;
+
+  private StreamingTripUpdateQueue<String> subject;
+
+  @BeforeEach
+  void setup() {
+    subject = createQueue(10);
+  }
+
+  @Test
+  void supersededUpdatesAreDropped() throws InterruptedException {
+    subject.offer(List.of("A:1", "B:1"), false);
+    subject.offer(List.of("A:2"), false);
+
+    assertEquals(1, scheduled.size(), "Only one drain task is scheduled");
+    assertEquals(2, subject.size());
+
+    runScheduled();
+
+    assertEquals(List.of("B:1", "A:2"), applied);
+    assertFalse(appliedAsFullDataset);
+    assertEquals(3, subject.receivedCount());
+    assertEquals(1, subject.supersededCount());
+    assertEquals(2, subject.appliedCount());
+    assertEquals(0, subject.size());
+  }
+
+  @Test
+  void updatesWithoutKeyAreNeverSuperseded() throws InterruptedException {
+    subject.offer(List.of("x", "x"), false);
+    runScheduled();
+
+    assertEquals(List.of("x", "x"), applied);
+    assertEquals(0, subject.supersededCount());
+  }
+
+  @Test
+  void newDrainIsScheduledAfterTheQueueIsDrained() throws InterruptedException {
+    subject.offer(List.of("A:1"), false);
+    runScheduled();
+    subject.offer(List.of("A:2"), false);
+
+    assertEquals(1, scheduled.size());
+    runScheduled();
+    assertEquals(List.of("A:1", "A:2"), applied);
+  }
+
+  @Test
+  void fullDatasetReplacesPendingUpdates() throws InterruptedException {
+    subject.offer(List.of("A:1", "B:1"), false);
+    subject.offer(List.of("C:1"), true);
+    subject.offer(List.of("D:1"), false);
+    runScheduled();
+
+    assertTrue(appliedAsFullDataset);
+    assertEquals(List.of("C:1", "D:1"), applied);
+    assertEquals(2, subject.supersededCount());
+  }
+
+  @Test
+  void producerIsBlockedWhenQueueIsFull() throws Exception {
+    subject = createQueue(2);
+    subject.offer(List.of("A:1", "B:1"), false);
+
+    // An update for a pending trip is accepted even if the queue is full
+    subject.offer(List.of("A:2"), false);
+
+    var producer = CompletableFuture.runAsync(() -> {
+      try {
+        subject.offer(List.of("C:1"), false);
+      } catch (InterruptedException e) {
+        throw new RuntimeException(e);
+      }
+    });
+    Thread.sleep(50);
+    assertFalse(producer.isDone(), "The producer should wait for the writer");
+
+    runScheduled();
+    producer.get();
+    runScheduled();
+
+    assertEquals(List.of("B:1", "A:2", "C:1"), applied);
+  }
+
+  @Test
+  void capacityMustBePositive() {
+    assertThrows(IllegalArgumentException.class, () -> createQueue(0));
+  }
+
+  private StreamingTripUpdateQueue<String> createQueue(int capacity) {
+    var queue = new StreamingTripUpdateQueue<String>(
+      "test",
+      "F",
+      capacity,
+      // The trip is the part before ':', updates without ':' have no trip
+      update -> update.contains(":") ? update.substring(0, update.indexOf(':')) : null,
+      (fullDataset, updates) -> {
+        appliedAsFullDataset |= fullDataset;
+        applied.addAll(updates);
+      }
+    );
+    queue.setGraphWriter(runnable -> {
+      synchronized (scheduled) {
+        scheduled.add(runnable);
+      }
+      return CompletableFuture.completedFuture(null);
+    });
+    return queue;
+  }
+
+  private void runScheduled() {
+    List<GraphWriterRunnable> tasks;
+    synchronized (scheduled) {
+      tasks = List.copyOf(scheduled);
+      scheduled.clear();
+    }
+    tasks.forEach(it -> it.run(null, null));
+  }
+}
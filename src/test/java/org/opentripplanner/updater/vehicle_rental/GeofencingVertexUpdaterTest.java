@@ -2,6 +2,7 @@ package org.opentripplanner.updater.vehicle_rental;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.opentripplanner.street.model._data.StreetModelForTest.intersectionVertex;
 import static org.opentripplanner.street.model._data.StreetModelForTest.streetEdge;
 import static org.opentripplanner.transit.model._data.TransitModelForTest.id;
@@ -116,4 +117,32 @@ class GeofencingVertexUpdaterTest {
     var ext = (BusinessAreaBorder) businessBorder.getFromVertex().rentalRestrictions();
     assertInstanceOf(BusinessAreaBorder.class, ext);
   }
+
+  @Test
+  void removedZoneIsRemovedFromEdges() {
+    updater.applyGeofencingZones(List.of(zone, businessArea));
+    assertInstanceOf(
+      GeofencingZoneExtension.class,
+      insideFrognerPark.getFromVertex().rentalRestrictions()
+    );
+
+    var updated = updater.applyGeofencingZones(List.of(businessArea));
+
+    assertEquals(1, updated.size());
+    assertInstanceOf(NoRestriction.class, insideFrognerPark.getFromVertex().rentalRestrictions());
+    assertInstanceOf(
+      BusinessAreaBorder.class,
+      businessBorder.getFromVertex().rentalRestrictions()
+    );
+  }
+
+  @Test
+  void unchangedZoneIsNotAppliedTwice() {
+    updater.applyGeofencingZones(List.of(zone, businessArea));
+    var ext = insideFrognerPark.getFromVertex().rentalRestrictions();
+
+    updater.applyGeofencingZones(List.of(zone, businessArea));
+
+    assertSame(ext, insideFrognerPark.getFromVertex().rentalRestrictions());
+  }
 }
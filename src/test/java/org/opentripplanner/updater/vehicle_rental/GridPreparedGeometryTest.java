@@ -0,0 +1,67 @@
+package org.opentripplanner.updater.vehicle_rental;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Polygon;
+import org.opentripplanner.framework.geometry.GeometryUtils;
+
+class GridPreparedGeometryTest {
+
+  private static final Polygon L_SHAPE = GeometryUtils
+    .getGeometryFactory()
+    .createPolygon(
+      new Coordinate[] {
+        new Coordinate(0, 0),
+        new Coordinate(16, 0),
+        new Coordinate(16, 4),
+        new Coordinate(4, 4),
+        new Coordinate(4, 16),
+        new Coordinate(0, 16),
+        new Coordinate(0, 0),
+      }
+    );
+
+  private final GridPreparedGeometry subject = new GridPreparedGeometry(L_SHAPE);
+
+  @ParameterizedTest
+  @CsvSource(
+    {
+      // Inside a single grid cell
+      "1.1, 1.1, 1.9, 1.9",
+      "12.5, 2.5, 12.6, 2.6",
+      // Inside, but crossing grid cells
+      "1.5, 1.5, 3.5, 14.5",
+      // On the border
+      "3.5, 8, 4.5, 8",
+      "10, 3.5, 10, 4.5",
+    }
+  )
+  void intersects(double x1, double y1, double x2, double y2) {
+    assertIntersects(true, x1, y1, x2, y2);
+  }
+
+  @ParameterizedTest
+  @CsvSource(
+    {
+      // Inside the envelope, but outside the geometry
+      "10.1, 10.1, 10.9, 10.9",
+      "5, 15, 15, 5",
+      // Outside the envelope
+      "20, 20, 21, 21",
+    }
+  )
+  void doesNotIntersect(double x1, double y1, double x2, double y2) {
+    assertIntersects(false, x1, y1, x2, y2);
+  }
+
+  private void assertIntersects(boolean expected, double x1, double y1, double x2, double y2) {
+    var line = GeometryUtils.makeLineString(x1, y1, x2, y2);
+    assertEquals(expected, subject.intersects(line));
+    // Query twice, the second time the grid cells are classified
+    assertEquals(expected, subject.intersects(line));
+    assertEquals(L_SHAPE.intersects(line), subject.intersects(line));
+  }
+}
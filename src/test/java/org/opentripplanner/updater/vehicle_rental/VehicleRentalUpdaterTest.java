@@ -1,8 +1,13 @@
 package org.opentripplanner.updater.vehicle_rental;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
 import com.google.common.util.concurrent.Futures;
 import java.time.Duration;
 import java.util.List;
@@ -14,13 +19,21 @@ import javax.annotation.Nullable;
 import org.junit.jupiter.api.Test;
 import org.opentripplanner.routing.graph.Graph;
 import org.opentripplanner.service.vehiclerental.internal.DefaultVehicleRentalService;
+import org.opentripplanner.service.vehiclerental.model.TestFreeFloatingRentalVehicleBuilder;
 import org.opentripplanner.service.vehiclerental.model.VehicleRentalPlace;
+import org.opentripplanner.service.vehiclerental.street.VehicleRentalPlaceVertex;
+import org.opentripplanner.street.model.StreetTraversalPermission;
+import org.opentripplanner.street.model._data.StreetModelForTest;
+import org.opentripplanner.street.model.vertex.VertexFactory;
+import org.opentripplanner.transit.model.framework.Deduplicator;
+import org.opentripplanner.transit.service.StopModel;
 import org.opentripplanner.transit.service.TransitModel;
 import org.opentripplanner.updater.GraphUpdaterManager;
 import org.opentripplanner.updater.GraphWriterRunnable;
 import org.opentripplanner.updater.spi.HttpHeaders;
 import org.opentripplanner.updater.vehicle_rental.datasources.VehicleRentalDatasource;
 import org.opentripplanner.updater.vehicle_rental.datasources.params.VehicleRentalDataSourceParameters;
+import org.slf4j.LoggerFactory;
 
 class VehicleRentalUpdaterTest {
 
@@ -42,6 +55,91 @@ class VehicleRentalUpdaterTest {
     assertTrue(updater.isPrimed());
   }
 
+  @Test
+  void availabilityChangeDoesNotRequireRelinking() {
+    var vertex = new VehicleRentalPlaceVertex(TestFreeFloatingRentalVehicleBuilder.of().build());
+    var sameSpot = TestFreeFloatingRentalVehicleBuilder.of().build();
+    assertFalse(VehicleRentalUpdater.requiresRelinking(vertex, sameSpot));
+
+    // A couple of meters of GPS noise is ignored
+    var noise = TestFreeFloatingRentalVehicleBuilder
+      .of()
+      .withLatitude(TestFreeFloatingRentalVehicleBuilder.DEFAULT_LATITUDE + 0.00001)
+      .build();
+    assertFalse(VehicleRentalUpdater.requiresRelinking(vertex, noise));
+  }
+
+  @Test
+  void movedPlaceRequiresRelinking() {
+    var vertex = new VehicleRentalPlaceVertex(TestFreeFloatingRentalVehicleBuilder.of().build());
+    var moved = TestFreeFloatingRentalVehicleBuilder
+      .of()
+      .withLatitude(TestFreeFloatingRentalVehicleBuilder.DEFAULT_LATITUDE + 0.001)
+      .build();
+    assertTrue(VehicleRentalUpdater.requiresRelinking(vertex, moved));
+  }
+
+  @Test
+  void changedFormFactorRequiresRelinking() {
+    var vertex = new VehicleRentalPlaceVertex(
+      TestFreeFloatingRentalVehicleBuilder.of().withVehicleScooter().build()
+    );
+    var car = TestFreeFloatingRentalVehicleBuilder.of().withVehicleCar().build();
+    assertTrue(VehicleRentalUpdater.requiresRelinking(vertex, car));
+  }
+
+  @Test
+  void movedVehicleKeepsASingleVertex() {
+    var stopModel = new StopModel();
+    var graph = new Graph(new Deduplicator());
+    var transitModel = new TransitModel(stopModel, new Deduplicator());
+    var factory = new VertexFactory(graph);
+    var lat = TestFreeFloatingRentalVehicleBuilder.DEFAULT_LATITUDE;
+    var lon = TestFreeFloatingRentalVehicleBuilder.DEFAULT_LONGITUDE;
+    StreetModelForTest.streetEdge(
+      factory.intersection("A", lon, lat - 0.01),
+      factory.intersection("B", lon, lat + 0.01),
+      StreetTraversalPermission.PEDESTRIAN
+    );
+    graph.index(stopModel);
+
+    var source = new StaticDatasource();
+    var updater = new VehicleRentalUpdater(
+      new VehicleRentalUpdaterParameters("A", Duration.ZERO, new FakeParams()),
+      source,
+      graph.getLinker(),
+      new DefaultVehicleRentalService()
+    );
+    updater.setGraphUpdaterManager(runnable -> {
+      runnable.run(graph, transitModel);
+      return Futures.immediateVoidFuture();
+    });
+
+    var graphLog = (ch.qos.logback.classic.Logger) LoggerFactory.getLogger(Graph.class);
+    var appender = new ListAppender<ILoggingEvent>();
+    appender.start();
+    graphLog.addAppender(appender);
+    try {
+      for (double offset : new double[] { 0, 0.001, 0.002 }) {
+        var vehicle = TestFreeFloatingRentalVehicleBuilder.of().withLatitude(lat + offset).build();
+        source.places = List.of(vehicle);
+        updater.runPolling();
+
+        var vertices = graph.getVerticesOfType(VehicleRentalPlaceVertex.class);
+        assertEquals(1, vertices.size());
+        var vertex = vertices.get(0);
+        assertEquals(lat + offset, vertex.getLat(), 1e-9);
+        assertSame(vertex, graph.getVertex(vertex.getLabel()));
+      }
+    } finally {
+      graphLog.detachAppender(appender);
+    }
+    assertEquals(
+      List.of(),
+      appender.list.stream().filter(e -> e.getLevel() == Level.ERROR).toList()
+    );
+  }
+
   static class MockManager extends GraphUpdaterManager {
 
     public MockManager(VehicleRentalUpdater updater) {
@@ -54,6 +152,21 @@ class VehicleRentalUpdaterTest {
     }
   }
 
+  static class StaticDatasource implements VehicleRentalDatasource {
+
+    private List<VehicleRentalPlace> places = List.of();
+
+    @Override
+    public boolean update() {
+      return true;
+    }
+
+    @Override
+    public List<VehicleRentalPlace> getUpdates() {
+      return places;
+    }
+  }
+
   static class FailingDatasource implements VehicleRentalDatasource {
 
     private final CompletableFuture<Boolean> hasFailed = new CompletableFuture<>();